@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.databinding.observable.list.DoubleListChangeEvent;
+import org.eclipse.core.databinding.observable.list.DoubleListDiff;
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.IntListChangeEvent;
+import org.eclipse.core.databinding.observable.list.IntListDiff;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.list.LongListChangeEvent;
+import org.eclipse.core.databinding.observable.list.LongListDiff;
+import org.eclipse.core.databinding.observable.map.IObservableMap;
+import org.eclipse.core.databinding.observable.map.MapChangeEvent;
+import org.eclipse.core.databinding.observable.map.MapDiff;
+import org.eclipse.core.databinding.observable.set.IObservableSet;
+import org.eclipse.core.databinding.observable.set.SetChangeEvent;
+import org.eclipse.core.databinding.observable.set.SetDiff;
+import org.eclipse.core.databinding.observable.value.DoubleValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IntValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.LongValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.ValueDiff;
+import org.eclipse.core.internal.databinding.observable.Util;
+
+/**
+ * The change events deferred by a batch of changes in a realm, see
+ * {@link Realm#batch(Runnable)}.
+ * <p>
+ * The change events of an observable are merged into one
+ * {@link ChangeEvent} and one event of each type, whose diff describes all
+ * the changes of the observable during the batch. The events of the
+ * observables of primitive values and lists are merged like their boxed
+ * counterparts. A merged value, set or map event is not fired if the changes
+ * of the batch cancel each other out, for example when a value is changed
+ * and then set back to its old value.
+ * </p>
+ *
+ * @since 1.7
+ */
+/* package */final class ChangeBatch {
+
+	private static final Object ABSENT = new Object();
+
+	/**
+	 * The deferred events of an observable.
+	 */
+	private static final class Pending {
+		final ChangeManager changeManager;
+
+		/**
+		 * The first deferred {@link ChangeEvent}, or <code>null</code>.
+		 */
+		ObservableEvent changeEvent;
+
+		/**
+		 * The deferred typed events by listener type, in the order of the
+		 * first event of each type.
+		 */
+		final Map<Object, List<ObservableEvent>> events = new LinkedHashMap<>(2);
+
+		Pending(ChangeManager changeManager) {
+			this.changeManager = changeManager;
+		}
+	}
+
+	/**
+	 * The observables with deferred events, in the order of their first
+	 * change.
+	 */
+	private final Map<ChangeManager, Pending> pending = new IdentityHashMap<>();
+
+	private final List<Pending> order = new ArrayList<>();
+
+	/**
+	 * Defers the event if it is a change event.
+	 *
+	 * @param changeManager
+	 *            the observable firing the event
+	 * @param event
+	 *            the event
+	 * @return <code>true</code> if the event was deferred, <code>false</code>
+	 *         if it must be fired now
+	 */
+	boolean defer(ChangeManager changeManager, ObservableEvent event) {
+		boolean changeEvent = event instanceof ChangeEvent;
+		if (!changeEvent && !isMergeable(event)) {
+			return false;
+		}
+		Pending events = pending.get(changeManager);
+		if (events == null) {
+			events = new Pending(changeManager);
+			pending.put(changeManager, events);
+			order.add(events);
+		}
+		if (changeEvent) {
+			if (events.changeEvent == null) {
+				events.changeEvent = event;
+			}
+		} else {
+			events.events.computeIfAbsent(event.getListenerType(), type -> new ArrayList<>(1)).add(event);
+		}
+		return true;
+	}
+
+	private static boolean isMergeable(ObservableEvent event) {
+		return event instanceof ListChangeEvent || event instanceof SetChangeEvent
+				|| event instanceof MapChangeEvent || event instanceof ValueChangeEvent
+				|| event instanceof IntValueChangeEvent || event instanceof LongValueChangeEvent
+				|| event instanceof DoubleValueChangeEvent || event instanceof IntListChangeEvent
+				|| event instanceof LongListChangeEvent || event instanceof DoubleListChangeEvent;
+	}
+
+	/**
+	 * Fires the merged events of the observables.
+	 */
+	void fire() {
+		for (Pending events : order) {
+			if (events.changeEvent != null) {
+				events.changeManager.dispatchEvent(events.changeEvent);
+			}
+			for (List<ObservableEvent> typedEvents : events.events.values()) {
+				ObservableEvent event = merge(typedEvents);
+				if (event != null) {
+					events.changeManager.dispatchEvent(event);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Merges the events of the same type fired by an observable.
+	 *
+	 * @return the merged event, or <code>null</code> if the changes cancel
+	 *         each other out
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static ObservableEvent merge(List<ObservableEvent> events) {
+		ObservableEvent event = events.get(0);
+		ObservableEvent lastEvent = events.get(events.size() - 1);
+		if (events.size() == 1) {
+			return event;
+		}
+		if (event instanceof ListChangeEvent) {
+			List<ListDiff<?>> diffs = new ArrayList<>(events.size());
+			for (ObservableEvent listEvent : events) {
+				diffs.add(((ListChangeEvent<?>) listEvent).diff);
+			}
+			return new ListChangeEvent((IObservableList) event.getObservable(), mergeListDiffs(diffs));
+		} else if (event instanceof SetChangeEvent) {
+			List<SetDiff<?>> diffs = new ArrayList<>(events.size());
+			for (ObservableEvent setEvent : events) {
+				diffs.add(((SetChangeEvent<?>) setEvent).diff);
+			}
+			SetDiff<Object> diff = mergeSetDiffs(diffs);
+			if (diff.isEmpty()) {
+				return null;
+			}
+			return new SetChangeEvent((IObservableSet) event.getObservable(), diff);
+		} else if (event instanceof MapChangeEvent) {
+			List<MapDiff<?, ?>> diffs = new ArrayList<>(events.size());
+			for (ObservableEvent mapEvent : events) {
+				diffs.add(((MapChangeEvent<?, ?>) mapEvent).diff);
+			}
+			MapDiff<Object, Object> diff = mergeMapDiffs(diffs);
+			if (diff.isEmpty()) {
+				return null;
+			}
+			return new MapChangeEvent((IObservableMap) event.getObservable(), diff);
+		} else if (event instanceof IntValueChangeEvent) {
+			int oldValue = ((IntValueChangeEvent) event).oldValue;
+			int newValue = ((IntValueChangeEvent) lastEvent).newValue;
+			if (oldValue == newValue) {
+				return null;
+			}
+			return new IntValueChangeEvent(((IntValueChangeEvent) event).getObservableIntValue(), oldValue,
+					newValue);
+		} else if (event instanceof LongValueChangeEvent) {
+			long oldValue = ((LongValueChangeEvent) event).oldValue;
+			long newValue = ((LongValueChangeEvent) lastEvent).newValue;
+			if (oldValue == newValue) {
+				return null;
+			}
+			return new LongValueChangeEvent(((LongValueChangeEvent) event).getObservableLongValue(), oldValue,
+					newValue);
+		} else if (event instanceof DoubleValueChangeEvent) {
+			double oldValue = ((DoubleValueChangeEvent) event).oldValue;
+			double newValue = ((DoubleValueChangeEvent) lastEvent).newValue;
+			if (Double.doubleToLongBits(oldValue) == Double.doubleToLongBits(newValue)) {
+				return null;
+			}
+			return new DoubleValueChangeEvent(((DoubleValueChangeEvent) event).getObservableDoubleValue(),
+					oldValue, newValue);
+		} else if (event instanceof IntListChangeEvent) {
+			List<IntListDiff> diffs = new ArrayList<>(events.size());
+			for (ObservableEvent listEvent : events) {
+				diffs.add(((IntListChangeEvent) listEvent).diff);
+			}
+			return new IntListChangeEvent(((IntListChangeEvent) event).getObservableIntList(),
+					IntListDiff.concat(diffs));
+		} else if (event instanceof LongListChangeEvent) {
+			List<LongListDiff> diffs = new ArrayList<>(events.size());
+			for (ObservableEvent listEvent : events) {
+				diffs.add(((LongListChangeEvent) listEvent).diff);
+			}
+			return new LongListChangeEvent(((LongListChangeEvent) event).getObservableLongList(),
+					LongListDiff.concat(diffs));
+		} else if (event instanceof DoubleListChangeEvent) {
+			List<DoubleListDiff> diffs = new ArrayList<>(events.size());
+			for (ObservableEvent listEvent : events) {
+				diffs.add(((DoubleListChangeEvent) listEvent).diff);
+			}
+			return new DoubleListChangeEvent(((DoubleListChangeEvent) event).getObservableDoubleList(),
+					DoubleListDiff.concat(diffs));
+		}
+		ValueDiff<?> first = ((ValueChangeEvent<?>) event).diff;
+		ValueDiff<?> last = ((ValueChangeEvent<?>) lastEvent).diff;
+		if (Util.equals(first.getOldValue(), last.getNewValue())) {
+			return null;
+		}
+		return new ValueChangeEvent((IObservableValue) event.getObservable(),
+				Diffs.createValueDiff(first.getOldValue(), last.getNewValue()));
+	}
+
+	/**
+	 * Concatenates the entries of the list diffs, which are computed lazily.
+	 */
+	private static ListDiff<Object> mergeListDiffs(final List<ListDiff<?>> diffs) {
+		return new ListDiff<Object>() {
+			private ListDiffEntry<Object>[] differences;
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public ListDiffEntry<Object>[] getDifferences() {
+				if (differences == null) {
+					List<ListDiffEntry<Object>> entries = new ArrayList<>();
+					for (ListDiff<?> diff : diffs) {
+						for (ListDiffEntry<?> entry : diff.getDifferences()) {
+							entries.add((ListDiffEntry<Object>) entry);
+						}
+					}
+					differences = entries.toArray(new ListDiffEntry[entries.size()]);
+				}
+				return differences;
+			}
+		};
+	}
+
+	/**
+	 * Merges the set diffs, so that an element added and removed again within
+	 * the batch is neither added nor removed.
+	 */
+	private static SetDiff<Object> mergeSetDiffs(List<SetDiff<?>> diffs) {
+		Set<Object> additions = new LinkedHashSet<>();
+		Set<Object> removals = new LinkedHashSet<>();
+		for (SetDiff<?> setDiff : diffs) {
+			for (Object removed : setDiff.getRemovals()) {
+				if (!additions.remove(removed)) {
+					removals.add(removed);
+				}
+			}
+			for (Object added : setDiff.getAdditions()) {
+				if (!removals.remove(added)) {
+					additions.add(added);
+				}
+			}
+		}
+		return Diffs.createSetDiff(additions, removals);
+	}
+
+	/**
+	 * Merges the map diffs by comparing the value of each changed key before
+	 * the first diff with its value after the last diff. A key whose value is
+	 * the same after the last diff is left out.
+	 */
+	private static MapDiff<Object, Object> mergeMapDiffs(List<MapDiff<?, ?>> diffs) {
+		// the value of each key before and after the batch, or ABSENT
+		Map<Object, Object[]> values = new LinkedHashMap<>();
+		for (MapDiff<?, ?> mapDiff : diffs) {
+			for (Object key : mapDiff.getRemovedKeys()) {
+				mergeMapValue(values, key, mapDiff.getOldValue(key), ABSENT);
+			}
+			for (Object key : mapDiff.getChangedKeys()) {
+				mergeMapValue(values, key, mapDiff.getOldValue(key), mapDiff.getNewValue(key));
+			}
+			for (Object key : mapDiff.getAddedKeys()) {
+				mergeMapValue(values, key, ABSENT, mapDiff.getNewValue(key));
+			}
+		}
+		Set<Object> addedKeys = new LinkedHashSet<>();
+		Set<Object> removedKeys = new LinkedHashSet<>();
+		Set<Object> changedKeys = new LinkedHashSet<>();
+		Map<Object, Object> oldValues = new HashMap<>();
+		Map<Object, Object> newValues = new HashMap<>();
+		for (Map.Entry<Object, Object[]> entry : values.entrySet()) {
+			Object key = entry.getKey();
+			Object oldValue = entry.getValue()[0];
+			Object newValue = entry.getValue()[1];
+			if (oldValue == ABSENT) {
+				if (newValue != ABSENT) {
+					addedKeys.add(key);
+					newValues.put(key, newValue);
+				}
+			} else if (newValue == ABSENT) {
+				removedKeys.add(key);
+				oldValues.put(key, oldValue);
+			} else if (!Util.equals(oldValue, newValue)) {
+				changedKeys.add(key);
+				oldValues.put(key, oldValue);
+				newValues.put(key, newValue);
+			}
+		}
+		return Diffs.createMapDiff(addedKeys, removedKeys, changedKeys, oldValues, newValues);
+	}
+
+	private static void mergeMapValue(Map<Object, Object[]> values, Object key, Object oldValue,
+			Object newValue) {
+		Object[] value = values.get(key);
+		if (value == null) {
+			values.put(key, new Object[] { oldValue, newValue });
+		} else {
+			value[1] = newValue;
+		}
+	}
+}
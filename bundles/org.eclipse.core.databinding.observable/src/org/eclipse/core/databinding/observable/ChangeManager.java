@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 IBM Corporation and others.
+ * Copyright (c) 2006, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,12 @@
 
 package org.eclipse.core.databinding.observable;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.sideeffect.IPropagationNode;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
+import org.eclipse.core.internal.databinding.observable.sideeffect.Propagation;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ListenerList;
 
@@ -101,6 +107,20 @@ import org.eclipse.core.runtime.ListenerList;
 		return false;
 	}
 
+	/**
+	 * Returns whether listeners of the given type are registered, so that
+	 * events nobody listens to need not be created.
+	 *
+	 * @param listenerType
+	 *            the listener type
+	 * @return whether listeners of the type are registered
+	 * @since 1.7
+	 */
+	protected boolean hasListeners(Object listenerType) {
+		int listenerTypeIndex = findListenerTypeIndex(listenerType);
+		return listenerTypeIndex != -1 && !listenerLists[listenerTypeIndex].isEmpty();
+	}
+
 	private int findListenerTypeIndex(Object listenerType) {
 		if (listenerTypes != null) {
 			for (int i = 0; i < listenerTypes.length; i++) {
@@ -115,10 +135,67 @@ import org.eclipse.core.runtime.ListenerList;
 	protected void fireEvent(ObservableEvent event) {
 		Object listenerType = event.getListenerType();
 		int listenerTypeIndex = findListenerTypeIndex(listenerType);
-		if (listenerTypeIndex != -1) {
-			for (IObservablesListener listener : listenerLists[listenerTypeIndex]) {
+		if (listenerTypeIndex != -1 && !listenerLists[listenerTypeIndex].isEmpty()
+				&& !realm.deferEvent(this, event)) {
+			dispatchEvent(event);
+		}
+	}
+
+	/**
+	 * Notifies the listeners of the event, even if a batch of changes is in
+	 * progress in the realm.
+	 * <p>
+	 * During a propagation wave, the listeners which are
+	 * {@link IPropagationNode}s are notified first. If this observable is an
+	 * {@link IPropagationNode} itself, the other listeners registered now are
+	 * notified when the wave ends, see {@link PropagationScheduler}.
+	 * </p>
+	 *
+	 * @param event
+	 *            the event
+	 */
+	/* package */void dispatchEvent(ObservableEvent event) {
+		int listenerTypeIndex = findListenerTypeIndex(event.getListenerType());
+		if (listenerTypeIndex == -1) {
+			return;
+		}
+		ListenerList<IObservablesListener> listeners = listenerLists[listenerTypeIndex];
+		Propagation propagation = event instanceof DisposeEvent ? null : Propagation.join();
+		if (propagation == null) {
+			for (IObservablesListener listener : listeners) {
 				event.dispatch(listener);
 			}
+			return;
+		}
+		try {
+			List<IObservablesListener> otherListeners = null;
+			for (IObservablesListener listener : listeners) {
+				if (listener instanceof IPropagationNode) {
+					event.dispatch(listener);
+				} else {
+					if (otherListeners == null) {
+						otherListeners = new ArrayList<>();
+					}
+					otherListeners.add(listener);
+				}
+			}
+			if (otherListeners != null) {
+				List<IObservablesListener> snapshot = otherListeners;
+				if (this instanceof IPropagationNode) {
+					int depth = ((IPropagationNode) this).getPropagationDepth();
+					propagation.defer(depth, () -> dispatch(event, snapshot));
+				} else {
+					dispatch(event, snapshot);
+				}
+			}
+		} finally {
+			propagation.exit();
+		}
+	}
+
+	private static void dispatch(ObservableEvent event, List<IObservablesListener> listeners) {
+		for (IObservablesListener listener : listeners) {
+			event.dispatch(listener);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,9 @@
  *******************************************************************************/
 package org.eclipse.core.databinding.observable;
 
-import java.util.Set;
+import java.util.Arrays;
 
 import org.eclipse.core.databinding.util.Policy;
-import org.eclipse.core.internal.databinding.identity.IdentitySet;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -63,21 +62,165 @@ import org.eclipse.core.runtime.Status;
  */
 public class ObservableTracker {
 
+	private static final IObservable[] EMPTY_ARRAY = new IObservable[0];
+
+	/**
+	 * A set of observables with identity semantics, kept in the order in which
+	 * they were added. Small sets are searched linearly, larger ones through an
+	 * open addressing table of indices into the array of observables.
+	 */
+	private static final class DependencySet {
+		private static final int LINEAR_SCAN_SIZE = 8;
+
+		/**
+		 * Sets whose array grew larger than this are not reused.
+		 */
+		private static final int MAX_POOLED_CAPACITY = 1024;
+
+		private IObservable[] elements = new IObservable[LINEAR_SCAN_SIZE];
+
+		private int size;
+
+		/**
+		 * The indices + 1 of the elements by hash slot, or <code>null</code>
+		 * while the elements are searched linearly.
+		 */
+		private int[] table;
+
+		boolean add(IObservable observable) {
+			if (table == null) {
+				for (int i = 0; i < size; i++) {
+					if (elements[i] == observable) {
+						return false;
+					}
+				}
+				if (size < LINEAR_SCAN_SIZE) {
+					elements[size++] = observable;
+					return true;
+				}
+				rehash(LINEAR_SCAN_SIZE * 4);
+			}
+			int mask = table.length - 1;
+			int slot = hash(observable) & mask;
+			int index;
+			while ((index = table[slot]) != 0) {
+				if (elements[index - 1] == observable) {
+					return false;
+				}
+				slot = (slot + 1) & mask;
+			}
+			if (size == elements.length) {
+				elements = Arrays.copyOf(elements, size * 2);
+			}
+			elements[size++] = observable;
+			table[slot] = size;
+			if (size * 2 > table.length) {
+				rehash(table.length * 2);
+			}
+			return true;
+		}
+
+		private void rehash(int capacity) {
+			table = new int[capacity];
+			int mask = capacity - 1;
+			for (int i = 0; i < size; i++) {
+				int slot = hash(elements[i]) & mask;
+				while (table[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = i + 1;
+			}
+		}
+
+		private static int hash(Object object) {
+			int hash = System.identityHashCode(object);
+			return hash ^ (hash >>> 16);
+		}
+
+		/**
+		 * Returns whether the array contains exactly the observables of this
+		 * set, in the same order.
+		 */
+		boolean matches(IObservable[] observables) {
+			if (observables == null || observables.length != size) {
+				return false;
+			}
+			for (int i = 0; i < size; i++) {
+				if (observables[i] != elements[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		IObservable[] toArray() {
+			return size == 0 ? EMPTY_ARRAY : Arrays.copyOf(elements, size);
+		}
+
+		boolean isPoolable() {
+			return elements.length <= MAX_POOLED_CAPACITY;
+		}
+
+		void clear() {
+			Arrays.fill(elements, 0, size, null);
+			size = 0;
+			table = null;
+		}
+	}
+
 	/**
-	 * Threadlocal storage pointing to the current Set of IObservables, or null
-	 * if none. Note that this is actually the top of a stack. Whenever a method
-	 * changes the current value, it remembers the old value as a local variable
-	 * and restores the old value when the method exits.
+	 * The tracking state of a thread. Note that the listeners and sets are
+	 * actually the top of a stack. Whenever a method changes the current
+	 * value, it remembers the old value as a local variable and restores the
+	 * old value when the method exits.
 	 */
-	private static ThreadLocal<IChangeListener> currentChangeListener = new ThreadLocal<>();
+	private static final class TrackingState {
+		private static final int POOL_SIZE = 8;
+
+		IChangeListener changeListener;
+
+		IStaleListener staleListener;
 
-	private static ThreadLocal<IStaleListener> currentStaleListener = new ThreadLocal<>();
+		/**
+		 * The observables read in the current runAndMonitor block, or
+		 * <code>null</code> if none.
+		 */
+		DependencySet getterCalledSet;
 
-	private static ThreadLocal<Set<IObservable>> currentGetterCalledSet = new ThreadLocal<>();
+		/**
+		 * The observables created in the current runAndCollect block, or
+		 * <code>null</code> if none.
+		 */
+		DependencySet observableCreatedSet;
 
-	private static ThreadLocal<Set<IObservable>> currentObservableCreatedSet = new ThreadLocal<>();
+		int ignoreCount;
 
-	private static ThreadLocal<Integer> currentIgnoreCount = new ThreadLocal<>();
+		/**
+		 * Empty sets kept for the next blocks, so that a block allocates no
+		 * set unless it is nested deeper than any block before.
+		 */
+		private final DependencySet[] pool = new DependencySet[POOL_SIZE];
+
+		private int poolSize;
+
+		DependencySet acquire() {
+			if (poolSize == 0) {
+				return new DependencySet();
+			}
+			DependencySet set = pool[--poolSize];
+			pool[poolSize] = null;
+			return set;
+		}
+
+		void release(DependencySet set) {
+			if (poolSize < POOL_SIZE && set.isPoolable()) {
+				set.clear();
+				pool[poolSize++] = set;
+			}
+		}
+	}
+
+	private static final ThreadLocal<TrackingState> currentState = ThreadLocal.withInitial(TrackingState::new);
 
 	/**
 	 * Invokes the given runnable, and returns the set of IObservables that were
@@ -96,31 +239,66 @@ public class ObservableTracker {
 	 */
 	public static IObservable[] runAndMonitor(Runnable runnable,
 			IChangeListener changeListener, IStaleListener staleListener) {
+		TrackingState state = currentState.get();
+		DependencySet observableSet = monitor(state, runnable, changeListener, staleListener);
+		IObservable[] result = observableSet.toArray();
+		state.release(observableSet);
+		return result;
+	}
+
+	/**
+	 * Invokes the given runnable without registering any listener, and
+	 * returns the IObservables that were read by the runnable, like
+	 * {@link #runAndMonitor(Runnable, IChangeListener, IStaleListener)}. If the
+	 * runnable read the same observables in the same order as the given
+	 * dependencies of its last run, the given array is returned, so that
+	 * callers which keep their listeners registered between two runs can tell
+	 * in constant time that no listener needs to be added or removed.
+	 *
+	 * @param runnable
+	 *            runnable to execute
+	 * @param lastDependencies
+	 *            the observables read by the last run of the runnable, or
+	 *            <code>null</code>
+	 * @return <code>lastDependencies</code> if the runnable read the same
+	 *         observables, otherwise a new array of unique observable objects
+	 * @since 1.7
+	 */
+	public static IObservable[] runAndMonitor(Runnable runnable, IObservable[] lastDependencies) {
+		TrackingState state = currentState.get();
+		DependencySet observableSet = monitor(state, runnable, null, null);
+		IObservable[] result = observableSet.matches(lastDependencies) ? lastDependencies
+				: observableSet.toArray();
+		state.release(observableSet);
+		return result;
+	}
+
+	private static DependencySet monitor(TrackingState state, Runnable runnable, IChangeListener changeListener,
+			IStaleListener staleListener) {
 		// Remember the previous value in the listener stack
-		Set<IObservable> lastObservableSet = currentGetterCalledSet.get();
-		IChangeListener lastChangeListener = currentChangeListener.get();
-		IStaleListener lastStaleListener = currentStaleListener.get();
-		Integer lastIgnore = currentIgnoreCount.get();
+		DependencySet lastObservableSet = state.getterCalledSet;
+		IChangeListener lastChangeListener = state.changeListener;
+		IStaleListener lastStaleListener = state.staleListener;
+		int lastIgnore = state.ignoreCount;
 
-		Set<IObservable> observableSet = new IdentitySet<>();
+		DependencySet observableSet = state.acquire();
 		// Push the new listeners to the top of the stack
-		currentGetterCalledSet.set(observableSet);
-		currentChangeListener.set(changeListener);
-		currentStaleListener.set(staleListener);
-		currentIgnoreCount.set(null);
+		state.getterCalledSet = observableSet;
+		state.changeListener = changeListener;
+		state.staleListener = staleListener;
+		state.ignoreCount = 0;
 		try {
 			runnable.run();
 		} finally {
 			// Pop the new listener off the top of the stack (by restoring the
 			// previous listener)
-			currentGetterCalledSet.set(lastObservableSet);
-			currentChangeListener.set(lastChangeListener);
-			currentStaleListener.set(lastStaleListener);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			state.getterCalledSet = lastObservableSet;
+			state.changeListener = lastChangeListener;
+			state.staleListener = lastStaleListener;
+			checkUnmatchedIgnore(state, runnable);
+			state.ignoreCount = lastIgnore;
 		}
-
-		return observableSet.toArray(new IObservable[observableSet.size()]);
+		return observableSet;
 	}
 
 	/**
@@ -140,34 +318,37 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static IObservable[] runAndCollect(Runnable runnable) {
-		Set<IObservable> lastObservableCreatedSet = currentObservableCreatedSet.get();
-		Integer lastIgnore = currentIgnoreCount.get();
+		TrackingState state = currentState.get();
+		DependencySet lastObservableCreatedSet = state.observableCreatedSet;
+		int lastIgnore = state.ignoreCount;
 
-		Set<IObservable> observableSet = new IdentitySet<>();
+		DependencySet observableSet = state.acquire();
 		// Push the new listeners to the top of the stack
-		currentObservableCreatedSet.set(observableSet);
-		currentIgnoreCount.set(null);
+		state.observableCreatedSet = observableSet;
+		state.ignoreCount = 0;
 		try {
 			runnable.run();
 		} finally {
 			// Pop the new listener off the top of the stack (by restoring the
 			// previous listener)
-			currentObservableCreatedSet.set(lastObservableCreatedSet);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			state.observableCreatedSet = lastObservableCreatedSet;
+			checkUnmatchedIgnore(state, runnable);
+			state.ignoreCount = lastIgnore;
 		}
 
-		return observableSet.toArray(new IObservable[observableSet.size()]);
+		IObservable[] result = observableSet.toArray();
+		state.release(observableSet);
+		return result;
 	}
 
-	private static void checkUnmatchedIgnore(Runnable runnable) {
-		if (isIgnore()) {
+	private static void checkUnmatchedIgnore(TrackingState state, Runnable runnable) {
+		if (state.ignoreCount > 0) {
 			Policy.getLog()
 					.log(new Status(
 							IStatus.ERROR,
 							Policy.JFACE_DATABINDING,
 							"There were " //$NON-NLS-1$
-									+ currentIgnoreCount.get()
+									+ state.ignoreCount
 									+ " unmatched setIgnore(true) invocations in runnable " //$NON-NLS-1$
 									+ runnable));
 		}
@@ -194,15 +375,14 @@ public class ObservableTracker {
 	 * @since 1.3
 	 */
 	public static void setIgnore(boolean ignore) {
-		Integer lastCount = currentIgnoreCount.get();
+		TrackingState state = currentState.get();
 
-		int newCount = (lastCount == null ? 0 : lastCount.intValue())
-				+ (ignore ? 1 : -1);
+		int newCount = state.ignoreCount + (ignore ? 1 : -1);
 
 		if (newCount < 0)
 			throw new IllegalStateException("Ignore count is already zero"); //$NON-NLS-1$
 
-		currentIgnoreCount.set(newCount == 0 ? null : Integer.valueOf(newCount));
+		state.ignoreCount = newCount;
 	}
 
 	/**
@@ -231,10 +411,6 @@ public class ObservableTracker {
 				+ Integer.toHexString(System.identityHashCode(observable));
 	}
 
-	private static boolean isIgnore() {
-		return currentIgnoreCount.get() != null;
-	}
-
 	/**
 	 * Notifies the ObservableTracker that an observable was read from. The
 	 * JavaDoc for methods that invoke this method should include the following
@@ -254,16 +430,17 @@ public class ObservableTracker {
 			Assert.isTrue(false, "Getter called outside realm of observable " //$NON-NLS-1$
 					+ toString(observable));
 
-		if (isIgnore())
+		TrackingState state = currentState.get();
+		if (state.ignoreCount > 0)
 			return;
 
-		Set<IObservable> getterCalledSet = currentGetterCalledSet.get();
+		DependencySet getterCalledSet = state.getterCalledSet;
 		if (getterCalledSet != null && getterCalledSet.add(observable)) {
 			// If anyone is listening for observable usage...
-			IChangeListener changeListener = currentChangeListener.get();
+			IChangeListener changeListener = state.changeListener;
 			if (changeListener != null)
 				observable.addChangeListener(changeListener);
-			IStaleListener staleListener = currentStaleListener.get();
+			IStaleListener staleListener = state.staleListener;
 			if (staleListener != null)
 				observable.addStaleListener(staleListener);
 		}
@@ -277,9 +454,10 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static void observableCreated(IObservable observable) {
-		if (isIgnore())
+		TrackingState state = currentState.get();
+		if (state.ignoreCount > 0)
 			return;
-		Set<IObservable> observableCreatedSet = currentObservableCreatedSet.get();
+		DependencySet observableCreatedSet = state.observableCreatedSet;
 		if (observableCreatedSet != null) {
 			observableCreatedSet.add(observable);
 		}
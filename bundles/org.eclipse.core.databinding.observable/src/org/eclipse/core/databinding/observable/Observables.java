@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 Cerner Corporation and others.
+ * Copyright (c) 2006, 2018 Cerner Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,13 +35,19 @@ import org.eclipse.core.databinding.observable.set.IObservableSet;
 import org.eclipse.core.databinding.observable.set.ISetChangeListener;
 import org.eclipse.core.databinding.observable.set.ObservableSet;
 import org.eclipse.core.databinding.observable.value.DecoratingObservableValue;
+import org.eclipse.core.databinding.observable.value.IObservableDoubleValue;
+import org.eclipse.core.databinding.observable.value.IObservableIntValue;
+import org.eclipse.core.databinding.observable.value.IObservableLongValue;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
 import org.eclipse.core.databinding.observable.value.IVetoableValue;
 import org.eclipse.core.databinding.observable.value.ValueChangingEvent;
 import org.eclipse.core.internal.databinding.observable.ConstantObservableValue;
 import org.eclipse.core.internal.databinding.observable.DelayedObservableValue;
+import org.eclipse.core.internal.databinding.observable.DoubleValueAdapter;
 import org.eclipse.core.internal.databinding.observable.EmptyObservableList;
 import org.eclipse.core.internal.databinding.observable.EmptyObservableSet;
+import org.eclipse.core.internal.databinding.observable.IntValueAdapter;
+import org.eclipse.core.internal.databinding.observable.LongValueAdapter;
 import org.eclipse.core.internal.databinding.observable.MapEntryObservableValue;
 import org.eclipse.core.internal.databinding.observable.StalenessObservableValue;
 import org.eclipse.core.internal.databinding.observable.UnmodifiableObservableList;
@@ -645,6 +651,69 @@ public class Observables {
 		return new StalenessObservableValue(observable);
 	}
 
+	/**
+	 * Returns an observable <code>int</code> value backed by the given
+	 * observable value, or the given value itself if it already is an
+	 * {@link IObservableIntValue}. A <code>null</code> value of the given
+	 * observable value is read as <code>0</code>.
+	 *
+	 * @param value
+	 *            the observable value to adapt
+	 * @return an observable <code>int</code> value backed by the given
+	 *         observable value
+	 *
+	 * @since 1.7
+	 */
+	public static IObservableIntValue intObservableValue(IObservableValue<Integer> value) {
+		Assert.isNotNull(value, "Argument 'value' cannot be null"); //$NON-NLS-1$
+		if (value instanceof IObservableIntValue) {
+			return (IObservableIntValue) value;
+		}
+		return new IntValueAdapter(value);
+	}
+
+	/**
+	 * Returns an observable <code>long</code> value backed by the given
+	 * observable value, or the given value itself if it already is an
+	 * {@link IObservableLongValue}. A <code>null</code> value of the given
+	 * observable value is read as <code>0</code>.
+	 *
+	 * @param value
+	 *            the observable value to adapt
+	 * @return an observable <code>long</code> value backed by the given
+	 *         observable value
+	 *
+	 * @since 1.7
+	 */
+	public static IObservableLongValue longObservableValue(IObservableValue<Long> value) {
+		Assert.isNotNull(value, "Argument 'value' cannot be null"); //$NON-NLS-1$
+		if (value instanceof IObservableLongValue) {
+			return (IObservableLongValue) value;
+		}
+		return new LongValueAdapter(value);
+	}
+
+	/**
+	 * Returns an observable <code>double</code> value backed by the given
+	 * observable value, or the given value itself if it already is an
+	 * {@link IObservableDoubleValue}. A <code>null</code> value of the given
+	 * observable value is read as <code>0</code>.
+	 *
+	 * @param value
+	 *            the observable value to adapt
+	 * @return an observable <code>double</code> value backed by the given
+	 *         observable value
+	 *
+	 * @since 1.7
+	 */
+	public static IObservableDoubleValue doubleObservableValue(IObservableValue<Double> value) {
+		Assert.isNotNull(value, "Argument 'value' cannot be null"); //$NON-NLS-1$
+		if (value instanceof IObservableDoubleValue) {
+			return (IObservableDoubleValue) value;
+		}
+		return new DoubleValueAdapter(value);
+	}
+
 	/**
 	 * Returns an observable value that tracks changes to the value of an
 	 * observable map's entry specified by its key.
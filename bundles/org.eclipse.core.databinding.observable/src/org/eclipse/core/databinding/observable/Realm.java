@@ -22,6 +22,8 @@ import java.util.TimerTask;
 
 import org.eclipse.core.databinding.util.Policy;
 import org.eclipse.core.internal.databinding.observable.Queue;
+import org.eclipse.core.internal.databinding.observable.sideeffect.Propagation;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
@@ -120,6 +122,17 @@ public abstract class Realm {
 
 	private Thread workerThread;
 
+	/**
+	 * The number of nested batches in progress. Only accessed within the
+	 * realm.
+	 */
+	private int batchDepth;
+
+	/**
+	 * The events deferred by the batch in progress, or <code>null</code>.
+	 */
+	private ChangeBatch changeBatch;
+
 	private volatile Timer timer;
 
 	Queue workQueue = new Queue();
@@ -324,6 +337,63 @@ public abstract class Realm {
 		}
 	}
 
+	/**
+	 * Runs the runnable as a batch of changes to the observables of this
+	 * realm. Must be called from within this realm.
+	 * <p>
+	 * The change events of the observables changed by the runnable are
+	 * deferred until the batch ends. Each changed observable then fires a
+	 * single {@link ChangeEvent}, followed by a single event of its type whose
+	 * diff merges all the changes of the batch. For example, a list to which
+	 * a thousand elements were added fires one <code>ListChangeEvent</code>
+	 * with a thousand entries. Batches may be nested, in which case the events
+	 * are fired when the outermost batch ends, even if the runnable throws an
+	 * exception.
+	 * </p>
+	 * <p>
+	 * Other events, such as stale events and value changing events, are fired
+	 * immediately. As listeners are only notified when the batch ends,
+	 * observables derived from the changed observables, such as computed
+	 * values, are also updated only then, in a single propagation wave (see
+	 * {@link org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler}).
+	 * </p>
+	 *
+	 * @param runnable
+	 *            the runnable changing the observables
+	 * @since 1.7
+	 */
+	public void batch(Runnable runnable) {
+		Assert.isTrue(isCurrent(), "This operation must be run within the realm"); //$NON-NLS-1$
+		if (batchDepth == 0) {
+			changeBatch = new ChangeBatch();
+		}
+		batchDepth++;
+		try {
+			runnable.run();
+		} finally {
+			if (--batchDepth == 0) {
+				ChangeBatch batch = changeBatch;
+				changeBatch = null;
+				Propagation.run(batch::fire);
+			}
+		}
+	}
+
+	/**
+	 * Defers the event of the observable if a batch is in progress.
+	 *
+	 * @param changeManager
+	 *            the observable firing the event
+	 * @param event
+	 *            the event
+	 * @return <code>true</code> if the event was deferred until the end of the
+	 *         batch
+	 */
+	/* package */boolean deferEvent(ChangeManager changeManager, ObservableEvent event) {
+		ChangeBatch batch = changeBatch;
+		return batch != null && isCurrent() && batch.defer(changeManager, event);
+	}
+
 	/**
 	 * Sets the provided <code>realm</code> as the default for the duration of
 	 * {@link Runnable#run()} and resets the previous realm after completion.
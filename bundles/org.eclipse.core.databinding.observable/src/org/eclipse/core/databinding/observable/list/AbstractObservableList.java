@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,7 +28,9 @@ import org.eclipse.core.databinding.observable.ChangeSupport;
 import org.eclipse.core.databinding.observable.DisposeEvent;
 import org.eclipse.core.databinding.observable.IChangeListener;
 import org.eclipse.core.databinding.observable.IDisposeListener;
+import org.eclipse.core.databinding.observable.IObservablesListener;
 import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.ObservableEvent;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
@@ -71,6 +73,11 @@ public abstract class AbstractObservableList<E> extends AbstractList<E>
 		protected boolean hasListeners() {
 			return super.hasListeners();
 		}
+
+		@Override
+		protected boolean hasListeners(Object listenerType) {
+			return super.hasListeners(listenerType);
+		}
 	}
 
 	private final Realm realm;
@@ -105,6 +112,64 @@ public abstract class AbstractObservableList<E> extends AbstractList<E>
 		return !disposed && changeSupport.hasListeners();
 	}
 
+	/**
+	 * Returns whether this observable list has registered listeners of the
+	 * given type.
+	 *
+	 * @param listenerType
+	 *            the listener type
+	 * @return whether listeners of the type are registered
+	 * @since 1.7
+	 */
+	protected synchronized boolean hasListeners(Object listenerType) {
+		return !disposed && changeSupport.hasListeners(listenerType);
+	}
+
+	/**
+	 * Registers a listener for events of a type this class does not fire
+	 * itself.
+	 *
+	 * @param listenerType
+	 *            the listener type
+	 * @param listener
+	 *            the listener
+	 * @since 1.7
+	 */
+	protected synchronized void addListener(Object listenerType, IObservablesListener listener) {
+		if (!disposed) {
+			changeSupport.addListener(listenerType, listener);
+		}
+	}
+
+	/**
+	 * Removes a listener registered with
+	 * {@link #addListener(Object, IObservablesListener)}.
+	 *
+	 * @param listenerType
+	 *            the listener type
+	 * @param listener
+	 *            the listener
+	 * @since 1.7
+	 */
+	protected synchronized void removeListener(Object listenerType, IObservablesListener listener) {
+		if (!disposed) {
+			changeSupport.removeListener(listenerType, listener);
+		}
+	}
+
+	/**
+	 * Fires the event to the listeners of its type. Must be invoked from the
+	 * current realm.
+	 *
+	 * @param event
+	 *            the event
+	 * @since 1.7
+	 */
+	protected void fireEvent(ObservableEvent event) {
+		checkRealm();
+		changeSupport.fireEvent(event);
+	}
+
 	@Override
 	public boolean isStale() {
 		getterCalled();
@@ -1,5 +1,5 @@
 /************************************************************************************************************
- * Copyright (c) 2007, 2017 Matthew Hall and others.
+ * Copyright (c) 2007, 2018 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,8 @@ import org.eclipse.core.databinding.observable.IStaleListener;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
+import org.eclipse.core.databinding.observable.sideeffect.IPropagationNode;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
 
 /**
@@ -80,7 +82,8 @@ import org.eclipse.core.databinding.observable.value.IObservableValue;
  *
  * @since 1.1
  */
-public abstract class ComputedList<E> extends AbstractObservableList<E> {
+public abstract class ComputedList<E> extends AbstractObservableList<E>
+		implements IPropagationNode {
 	private List<E> cachedList = new ArrayList<E>();
 
 	private boolean dirty = true;
@@ -157,7 +160,7 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 	 *
 	 */
 	private class PrivateInterface implements Runnable, IChangeListener,
-			IStaleListener {
+			IStaleListener, IPropagationNode {
 		@Override
 		public void run() {
 			cachedList = calculate();
@@ -175,10 +178,17 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 		public void handleChange(ChangeEvent event) {
 			makeDirty();
 		}
+
+		@Override
+		public int getPropagationDepth() {
+			return propagationDepth;
+		}
 	}
 
 	private PrivateInterface privateInterface = new PrivateInterface();
 
+	private int propagationDepth = 1;
+
 	private Object elementType;
 
 	@Override
@@ -224,6 +234,7 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 			}
 
 			dependencies = newDependencies;
+			propagationDepth = PropagationScheduler.getPropagationDepth(newDependencies);
 
 			dirty = false;
 		}
@@ -288,6 +299,14 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 		}
 	}
 
+	/**
+	 * @since 1.7
+	 */
+	@Override
+	public int getPropagationDepth() {
+		return propagationDepth;
+	}
+
 	@Override
 	public boolean isStale() {
 		// recalculate list if dirty, to ensure staleness is correct.
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import org.eclipse.core.databinding.observable.IObservablesListener;
+import org.eclipse.core.databinding.observable.ObservableEvent;
+
+/**
+ * List change event describing an incremental change of an
+ * {@link IObservableDoubleList} object, without boxing the added and removed
+ * elements.
+ *
+ * @since 1.7
+ */
+public class DoubleListChangeEvent extends ObservableEvent {
+
+	private static final long serialVersionUID = -6810127730395224366L;
+
+	static final Object TYPE = new Object();
+
+	/**
+	 * Description of the change to the source observable list. Listeners must
+	 * not change this field.
+	 */
+	public DoubleListDiff diff;
+
+	/**
+	 * Creates a new list change event.
+	 *
+	 * @param source
+	 *            the source observable list
+	 * @param diff
+	 *            the list change
+	 */
+	public DoubleListChangeEvent(IObservableDoubleList source, DoubleListDiff diff) {
+		super(source);
+		this.diff = diff;
+	}
+
+	/**
+	 * Returns the observable list from which this event originated.
+	 *
+	 * @return the observable list from which this event originated
+	 */
+	public IObservableDoubleList getObservableDoubleList() {
+		return (IObservableDoubleList) getSource();
+	}
+
+	@Override
+	protected void dispatch(IObservablesListener listener) {
+		((IDoubleListChangeListener) listener).handleDoubleListChange(this);
+	}
+
+	@Override
+	protected Object getListenerType() {
+		return TYPE;
+	}
+}
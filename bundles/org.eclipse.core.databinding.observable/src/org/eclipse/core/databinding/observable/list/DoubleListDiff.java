@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import java.util.Collection;
+
+/**
+ * Object describing a change of an {@link IObservableDoubleList} as a sequence of
+ * additions and removals, like a {@link ListDiff}. The entries are stored in
+ * parallel arrays of positions, kinds and <code>double</code> elements instead of
+ * one {@link ListDiffEntry} per entry.
+ *
+ * @since 1.7
+ */
+public final class DoubleListDiff extends PrimitiveListDiff {
+
+	private final double[] elements;
+
+	/**
+	 * Creates a new diff from the parallel arrays of its entries. The arrays
+	 * are not copied and must not be changed afterwards.
+	 *
+	 * @param positions
+	 *            the position of each entry
+	 * @param additions
+	 *            whether each entry is an addition, or else a removal
+	 * @param elements
+	 *            the element added or removed by each entry
+	 */
+	public DoubleListDiff(int[] positions, boolean[] additions, double[] elements) {
+		super(positions, additions, elements);
+		this.elements = elements;
+	}
+
+	private DoubleListDiff(Collection<DoubleListDiff> diffs, double[] elements) {
+		super(diffs, elements);
+		this.elements = elements;
+	}
+
+	/**
+	 * Returns a diff with the entries of the given diffs, in order.
+	 *
+	 * @param diffs
+	 *            the diffs to concatenate
+	 * @return the concatenated diff
+	 */
+	public static DoubleListDiff concat(Collection<DoubleListDiff> diffs) {
+		return new DoubleListDiff(diffs, new double[size(diffs)]);
+	}
+
+	/**
+	 * @param entry
+	 *            the index of the entry
+	 * @return the added or removed element
+	 */
+	public double getElement(int entry) {
+		return elements[entry];
+	}
+
+	/**
+	 * Applies the changes described by this diff to the given list.
+	 *
+	 * @param list
+	 *            the list to change
+	 */
+	public void applyTo(IObservableDoubleList list) {
+		for (int i = 0; i < elements.length; i++) {
+			if (isAddition(i)) {
+				list.addDouble(getPosition(i), elements[i]);
+			} else {
+				list.removeDouble(getPosition(i));
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link ListDiff} of the boxed elements, which is created
+	 * when first requested.
+	 *
+	 * @return the boxed diff
+	 */
+	public ListDiff<Double> toListDiff() {
+		return getBoxedDiff();
+	}
+}
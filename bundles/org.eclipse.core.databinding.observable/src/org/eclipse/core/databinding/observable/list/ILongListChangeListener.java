@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import org.eclipse.core.databinding.observable.IObservablesListener;
+
+/**
+ * Listener for changes to observable lists of <code>long</code>s.
+ *
+ * @since 1.7
+ */
+@FunctionalInterface
+public interface ILongListChangeListener extends IObservablesListener {
+
+	/**
+	 * Handles a change to an observable list of <code>long</code>s. The given
+	 * event object must only be used locally in this method because it may be
+	 * reused for other change notifications. The diff object referenced by the
+	 * event is immutable and may be used non-locally.
+	 *
+	 * @param event
+	 *            the event
+	 */
+	void handleLongListChange(LongListChangeEvent event);
+}
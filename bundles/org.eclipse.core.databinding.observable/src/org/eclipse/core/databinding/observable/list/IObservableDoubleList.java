@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+/**
+ * An observable list of <code>double</code>s, whose elements can be read, changed
+ * and tracked without boxing.
+ * <p>
+ * The elements are also available as {@link Double}s through the methods of
+ * {@link IObservableList}, for the clients that are not aware of the
+ * <code>double</code> elements.
+ * </p>
+ *
+ * @noimplement This interface is not intended to be implemented by clients.
+ *              Clients should instead subclass one of the framework classes
+ *              that implement this interface. Note that direct implementers of
+ *              this interface outside of the framework will be broken in future
+ *              releases when methods are added to this interface.
+ *
+ * @see WritableDoubleList
+ *
+ * @since 1.7
+ */
+public interface IObservableDoubleList extends IObservableList<Double> {
+
+	/**
+	 * Adds the given listener, which is notified of the changes of the list
+	 * with {@link DoubleListDiff}s.
+	 *
+	 * @param listener
+	 */
+	void addDoubleListChangeListener(IDoubleListChangeListener listener);
+
+	/**
+	 * Removes the given listener. Has no effect if the given listener is not
+	 * registered.
+	 *
+	 * @param listener
+	 */
+	void removeDoubleListChangeListener(IDoubleListChangeListener listener);
+
+	/**
+	 * Returns the element at the given index.
+	 *
+	 * @param index
+	 *            the index of the element
+	 * @return the element at the given index
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of range
+	 * @TrackedGetter
+	 */
+	double getDouble(int index);
+
+	/**
+	 * Replaces the element at the given index.
+	 *
+	 * @param index
+	 *            the index of the element to replace
+	 * @param element
+	 *            the new element
+	 * @return the replaced element
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of range
+	 */
+	double setDouble(int index, double element);
+
+	/**
+	 * Appends the element to the end of the list.
+	 *
+	 * @param element
+	 *            the element to add
+	 */
+	void addDouble(double element);
+
+	/**
+	 * Inserts the element at the given index.
+	 *
+	 * @param index
+	 *            the index at which to insert the element
+	 * @param element
+	 *            the element to add
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of range
+	 */
+	void addDouble(int index, double element);
+
+	/**
+	 * Removes the element at the given index.
+	 *
+	 * @param index
+	 *            the index of the element to remove
+	 * @return the removed element
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of range
+	 */
+	double removeDouble(int index);
+
+	/**
+	 * Returns the index of the first occurrence of the element in the list.
+	 *
+	 * @param element
+	 *            the element to search for
+	 * @return the index of the element, or <code>-1</code> if the list does
+	 *         not contain the element
+	 * @TrackedGetter
+	 */
+	int indexOfDouble(double element);
+
+	/**
+	 * Returns the elements of the list in a new array.
+	 *
+	 * @return the elements of the list
+	 * @TrackedGetter
+	 */
+	double[] toDoubleArray();
+}
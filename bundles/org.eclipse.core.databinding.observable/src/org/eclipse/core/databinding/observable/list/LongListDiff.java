@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import java.util.Collection;
+
+/**
+ * Object describing a change of an {@link IObservableLongList} as a sequence of
+ * additions and removals, like a {@link ListDiff}. The entries are stored in
+ * parallel arrays of positions, kinds and <code>long</code> elements instead of
+ * one {@link ListDiffEntry} per entry.
+ *
+ * @since 1.7
+ */
+public final class LongListDiff extends PrimitiveListDiff {
+
+	private final long[] elements;
+
+	/**
+	 * Creates a new diff from the parallel arrays of its entries. The arrays
+	 * are not copied and must not be changed afterwards.
+	 *
+	 * @param positions
+	 *            the position of each entry
+	 * @param additions
+	 *            whether each entry is an addition, or else a removal
+	 * @param elements
+	 *            the element added or removed by each entry
+	 */
+	public LongListDiff(int[] positions, boolean[] additions, long[] elements) {
+		super(positions, additions, elements);
+		this.elements = elements;
+	}
+
+	private LongListDiff(Collection<LongListDiff> diffs, long[] elements) {
+		super(diffs, elements);
+		this.elements = elements;
+	}
+
+	/**
+	 * Returns a diff with the entries of the given diffs, in order.
+	 *
+	 * @param diffs
+	 *            the diffs to concatenate
+	 * @return the concatenated diff
+	 */
+	public static LongListDiff concat(Collection<LongListDiff> diffs) {
+		return new LongListDiff(diffs, new long[size(diffs)]);
+	}
+
+	/**
+	 * @param entry
+	 *            the index of the entry
+	 * @return the added or removed element
+	 */
+	public long getElement(int entry) {
+		return elements[entry];
+	}
+
+	/**
+	 * Applies the changes described by this diff to the given list.
+	 *
+	 * @param list
+	 *            the list to change
+	 */
+	public void applyTo(IObservableLongList list) {
+		for (int i = 0; i < elements.length; i++) {
+			if (isAddition(i)) {
+				list.addLong(getPosition(i), elements[i]);
+			} else {
+				list.removeLong(getPosition(i));
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link ListDiff} of the boxed elements, which is created
+	 * when first requested.
+	 *
+	 * @return the boxed diff
+	 */
+	public ListDiff<Long> toListDiff() {
+		return getBoxedDiff();
+	}
+}
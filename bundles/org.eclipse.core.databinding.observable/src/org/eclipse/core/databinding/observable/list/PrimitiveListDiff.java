@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.IDiff;
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * Common implementation of the diffs of the lists of primitive values,
+ * {@link IntListDiff}, {@link LongListDiff} and {@link DoubleListDiff}. The
+ * entries are stored in parallel arrays of positions, kinds and elements, the
+ * elements in an array of the primitive type of the list. Subclasses give
+ * typed access to the elements.
+ *
+ * @noextend This class is not intended to be subclassed by clients.
+ * @since 1.7
+ */
+public abstract class PrimitiveListDiff implements IDiff {
+
+	private final int[] positions;
+
+	private final boolean[] additions;
+
+	/**
+	 * The array of the primitive elements of the entries.
+	 */
+	private final Object elements;
+
+	/**
+	 * The boxed diff, created when first requested.
+	 */
+	private ListDiff<?> listDiff;
+
+	/**
+	 * Creates a new diff from the parallel arrays of its entries. The arrays
+	 * are not copied and must not be changed afterwards.
+	 */
+	PrimitiveListDiff(int[] positions, boolean[] additions, Object elements) {
+		Assert.isTrue(positions.length == additions.length && positions.length == Array.getLength(elements),
+				"The arrays of the entries must have the same length"); //$NON-NLS-1$
+		this.positions = positions;
+		this.additions = additions;
+		this.elements = elements;
+	}
+
+	/**
+	 * Creates a diff with the entries of the given diffs, in order. The
+	 * elements are copied to the given array, whose length must be the
+	 * {@link #size(Collection) total size} of the diffs.
+	 */
+	PrimitiveListDiff(Collection<? extends PrimitiveListDiff> diffs, Object elements) {
+		int length = Array.getLength(elements);
+		this.positions = new int[length];
+		this.additions = new boolean[length];
+		this.elements = elements;
+		int offset = 0;
+		for (PrimitiveListDiff diff : diffs) {
+			int size = diff.size();
+			System.arraycopy(diff.positions, 0, positions, offset, size);
+			System.arraycopy(diff.additions, 0, additions, offset, size);
+			System.arraycopy(diff.elements, 0, elements, offset, size);
+			offset += size;
+		}
+	}
+
+	/**
+	 * @return the total number of entries of the diffs
+	 */
+	static int size(Collection<? extends PrimitiveListDiff> diffs) {
+		int length = 0;
+		for (PrimitiveListDiff diff : diffs) {
+			length += diff.size();
+		}
+		return length;
+	}
+
+	/**
+	 * @return the number of entries of this diff
+	 */
+	public int size() {
+		return positions.length;
+	}
+
+	/**
+	 * @return whether this diff has no entries
+	 */
+	public boolean isEmpty() {
+		return positions.length == 0;
+	}
+
+	/**
+	 * @param entry
+	 *            the index of the entry
+	 * @return the position of the added or removed element
+	 */
+	public int getPosition(int entry) {
+		return positions[entry];
+	}
+
+	/**
+	 * @param entry
+	 *            the index of the entry
+	 * @return <code>true</code> if the element was added, <code>false</code>
+	 *         if it was removed
+	 */
+	public boolean isAddition(int entry) {
+		return additions[entry];
+	}
+
+	/**
+	 * Returns the {@link ListDiff} of the boxed elements, created when first
+	 * requested.
+	 */
+	@SuppressWarnings("unchecked")
+	<E> ListDiff<E> getBoxedDiff() {
+		if (listDiff == null) {
+			ListDiffEntry<E>[] entries = new ListDiffEntry[positions.length];
+			for (int i = 0; i < positions.length; i++) {
+				entries[i] = Diffs.createListDiffEntry(positions[i], additions[i], (E) Array.get(elements, i));
+			}
+			listDiff = Diffs.createListDiff(entries);
+		}
+		return (ListDiff<E>) listDiff;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append(getClass().getName()).append("{"); //$NON-NLS-1$
+		for (int i = 0; i < positions.length; i++) {
+			if (i > 0) {
+				buffer.append(", "); //$NON-NLS-1$
+			}
+			buffer.append(additions[i] ? "+" : "-").append(positions[i]).append(':') //$NON-NLS-1$ //$NON-NLS-2$
+					.append(Array.get(elements, i));
+		}
+		return buffer.append('}').toString();
+	}
+}
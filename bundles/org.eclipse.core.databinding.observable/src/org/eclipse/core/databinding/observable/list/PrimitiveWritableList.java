@@ -0,0 +1,369 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Common implementation of the writable lists of primitive values,
+ * {@link WritableIntList}, {@link WritableLongList} and
+ * {@link WritableDoubleList}. The elements are stored in an array of the
+ * primitive type, and the changes are described by the parallel arrays of the
+ * entries of the primitive list diffs. Subclasses convert between the
+ * primitive and the boxed elements, and implement the typed methods on top of
+ * <code>insert</code>, <code>replace</code> and <code>removeAt</code>.
+ *
+ * @param <E>
+ *            the type of the boxed elements
+ * @noextend This class is not intended to be subclassed by clients.
+ * @since 1.7
+ */
+public abstract class PrimitiveWritableList<E> extends AbstractObservableList<E> {
+
+	/**
+	 * The elements, in an array of the primitive type whose length is the
+	 * capacity of the list.
+	 */
+	Object elements;
+
+	int size;
+
+	/**
+	 * @param realm
+	 * @param elements
+	 *            the array of the initial elements, which is copied
+	 */
+	PrimitiveWritableList(Realm realm, Object elements) {
+		super(realm);
+		this.size = Array.getLength(elements);
+		this.elements = newArray(elements.getClass().getComponentType(), size);
+		System.arraycopy(elements, 0, this.elements, 0, size);
+	}
+
+	/**
+	 * Returns the boxed element at the index of the array.
+	 */
+	abstract E box(Object array, int index);
+
+	/**
+	 * Stores the unboxed element at the index of the array.
+	 *
+	 * @throws NullPointerException
+	 *             if the element is <code>null</code>
+	 */
+	abstract void unbox(E element, Object array, int index);
+
+	/**
+	 * Returns whether the object is the boxed element at the index of
+	 * {@link #elements}.
+	 */
+	abstract boolean isElement(Object o, int index);
+
+	/**
+	 * Notifies the listeners of the change described by the entries.
+	 */
+	abstract void fireListChange(int[] positions, boolean[] additions, Object elements);
+
+	private static Object newArray(Class<?> componentType, int length) {
+		return Array.newInstance(componentType, length);
+	}
+
+	private Object newArray(int length) {
+		return newArray(elements.getClass().getComponentType(), length);
+	}
+
+	void getterCalled() {
+		ObservableTracker.getterCalled(this);
+	}
+
+	void checkIndex(int index, int bound) {
+		if (index < 0 || index >= bound)
+			throw new IndexOutOfBoundsException(
+					"index: " + index + ", size:" + size); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void ensureCapacity(int capacity) {
+		int length = Array.getLength(elements);
+		if (capacity > length) {
+			Object newElements = newArray(Math.max(capacity, Math.max(10, length + (length >> 1))));
+			System.arraycopy(elements, 0, newElements, 0, size);
+			elements = newElements;
+		}
+	}
+
+	/**
+	 * Inserts the elements of the array at the index, and notifies the
+	 * listeners with the array as the elements of the diff.
+	 */
+	void insert(int index, Object added) {
+		checkRealm();
+		checkIndex(index, size + 1);
+		int count = Array.getLength(added);
+		ensureCapacity(size + count);
+		System.arraycopy(elements, index, elements, index + count, size - index);
+		System.arraycopy(added, 0, elements, index, count);
+		size += count;
+		int[] positions = new int[count];
+		boolean[] additions = new boolean[count];
+		for (int i = 0; i < count; i++) {
+			positions[i] = index + i;
+			additions[i] = true;
+		}
+		fireListChange(positions, additions, added);
+	}
+
+	/**
+	 * Replaces the element at the index with the element of the array of
+	 * length 1.
+	 *
+	 * @return the array of the old and the new element
+	 */
+	Object replace(int index, Object element) {
+		checkRealm();
+		checkIndex(index, size);
+		Object replaced = newArray(2);
+		System.arraycopy(elements, index, replaced, 0, 1);
+		System.arraycopy(element, 0, replaced, 1, 1);
+		System.arraycopy(element, 0, elements, index, 1);
+		fireListChange(new int[] { index, index }, new boolean[] { false, true }, replaced);
+		return replaced;
+	}
+
+	/**
+	 * Removes the element at the index.
+	 *
+	 * @return the array of length 1 of the removed element
+	 */
+	Object removeAt(int index) {
+		checkRealm();
+		checkIndex(index, size);
+		Object removed = newArray(1);
+		System.arraycopy(elements, index, removed, 0, 1);
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+		fireListChange(new int[] { index }, new boolean[] { false }, removed);
+		return removed;
+	}
+
+	/**
+	 * @return a copy of the elements, in an array of their size
+	 */
+	Object copyElements() {
+		getterCalled();
+		Object copy = newArray(size);
+		System.arraycopy(elements, 0, copy, 0, size);
+		return copy;
+	}
+
+	private int find(Object o) {
+		for (int i = 0; i < size; i++) {
+			if (isElement(o, i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	protected int doGetSize() {
+		return size;
+	}
+
+	/**
+	 * @return the primitive type of the elements
+	 */
+	@Override
+	public Object getElementType() {
+		return elements.getClass().getComponentType();
+	}
+
+	@Override
+	public E get(int index) {
+		getterCalled();
+		checkIndex(index, size);
+		return box(elements, index);
+	}
+
+	@Override
+	public E set(int index, E element) {
+		Object array = newArray(1);
+		unbox(element, array, 0);
+		return box(replace(index, array), 0);
+	}
+
+	@Override
+	public boolean add(E element) {
+		add(size, element);
+		return true;
+	}
+
+	@Override
+	public void add(int index, E element) {
+		Object array = newArray(1);
+		unbox(element, array, 0);
+		insert(index, array);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		return addAll(size, c);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		checkRealm();
+		checkIndex(index, size + 1);
+		Object added = newArray(c.size());
+		int count = 0;
+		for (E element : c) {
+			unbox(element, added, count++);
+		}
+		if (count == 0) {
+			return false;
+		}
+		insert(index, added);
+		return true;
+	}
+
+	@Override
+	public E remove(int index) {
+		return box(removeAt(index), 0);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		checkRealm();
+		int index = find(o);
+		if (index == -1) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return removeMatching(c, false);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return removeMatching(c, true);
+	}
+
+	/**
+	 * Removes the elements contained in the collection, or those not
+	 * contained in it, in a single pass and a single diff.
+	 */
+	private boolean removeMatching(Collection<?> c, boolean retain) {
+		checkRealm();
+		int[] positions = null;
+		Object removed = null;
+		int removedCount = 0;
+		int retainedCount = 0;
+		for (int i = 0; i < size; i++) {
+			if (c.contains(box(elements, i)) == retain) {
+				System.arraycopy(elements, i, elements, retainedCount++, 1);
+			} else {
+				if (positions == null) {
+					positions = new int[size - i];
+					removed = newArray(size - i);
+				}
+				// the preceding removals shift the element to the index of
+				// the retained elements
+				positions[removedCount] = retainedCount;
+				System.arraycopy(elements, i, removed, removedCount++, 1);
+			}
+		}
+		if (removedCount == 0) {
+			return false;
+		}
+		size = retainedCount;
+		int[] removedPositions = new int[removedCount];
+		System.arraycopy(positions, 0, removedPositions, 0, removedCount);
+		Object removedElements = newArray(removedCount);
+		System.arraycopy(removed, 0, removedElements, 0, removedCount);
+		fireListChange(removedPositions, new boolean[removedCount], removedElements);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		checkRealm();
+		if (size == 0) {
+			return;
+		}
+		// remove the elements from back to front, like WritableList
+		int[] positions = new int[size];
+		Object removed = newArray(size);
+		for (int i = 0; i < size; i++) {
+			positions[i] = size - 1 - i;
+			System.arraycopy(elements, size - 1 - i, removed, i, 1);
+		}
+		boolean[] additions = new boolean[size];
+		size = 0;
+		fireListChange(positions, additions, removed);
+	}
+
+	@Override
+	public E move(int oldIndex, int newIndex) {
+		checkRealm();
+		if (oldIndex < 0 || oldIndex >= size)
+			throw new IndexOutOfBoundsException(
+					"oldIndex: " + oldIndex + ", size:" + size); //$NON-NLS-1$ //$NON-NLS-2$
+		if (newIndex < 0 || newIndex >= size)
+			throw new IndexOutOfBoundsException(
+					"newIndex: " + newIndex + ", size:" + size); //$NON-NLS-1$ //$NON-NLS-2$
+		Object moved = newArray(2);
+		System.arraycopy(elements, oldIndex, moved, 0, 1);
+		System.arraycopy(elements, oldIndex, moved, 1, 1);
+		if (oldIndex != newIndex) {
+			if (oldIndex < newIndex) {
+				System.arraycopy(elements, oldIndex + 1, elements, oldIndex, newIndex - oldIndex);
+			} else {
+				System.arraycopy(elements, newIndex, elements, newIndex + 1, oldIndex - newIndex);
+			}
+			System.arraycopy(moved, 0, elements, newIndex, 1);
+			fireListChange(new int[] { oldIndex, newIndex }, new boolean[] { false, true }, moved);
+		}
+		return box(moved, 0);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		getterCalled();
+		return find(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		getterCalled();
+		for (int i = size - 1; i >= 0; i--) {
+			if (isElement(o, i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) != -1;
+	}
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Mutable implementation of {@link IObservableDoubleList} that stores its
+ * elements in a <code>double</code> array, and notifies its listeners of the
+ * changes with {@link DoubleListDiff}s. The {@link ListChangeEvent}s for generic
+ * list change listeners are only created if such listeners are registered.
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ *
+ * @since 1.7
+ */
+public class WritableDoubleList extends PrimitiveWritableList<Double> implements IObservableDoubleList {
+
+	private static final double[] EMPTY_ARRAY = new double[0];
+
+	/**
+	 * Creates an empty list in the default realm.
+	 */
+	public WritableDoubleList() {
+		this(Realm.getDefault());
+	}
+
+	/**
+	 * Creates an empty list in the given realm.
+	 *
+	 * @param realm
+	 */
+	public WritableDoubleList(Realm realm) {
+		this(realm, EMPTY_ARRAY);
+	}
+
+	/**
+	 * Creates a list in the default realm with a copy of the given elements.
+	 *
+	 * @param elements
+	 */
+	public WritableDoubleList(double[] elements) {
+		this(Realm.getDefault(), elements);
+	}
+
+	/**
+	 * Creates a list in the given realm with a copy of the given elements.
+	 *
+	 * @param realm
+	 * @param elements
+	 */
+	public WritableDoubleList(Realm realm, double[] elements) {
+		super(realm, elements);
+	}
+
+	@Override
+	public synchronized void addDoubleListChangeListener(IDoubleListChangeListener listener) {
+		addListener(DoubleListChangeEvent.TYPE, listener);
+	}
+
+	@Override
+	public synchronized void removeDoubleListChangeListener(IDoubleListChangeListener listener) {
+		removeListener(DoubleListChangeEvent.TYPE, listener);
+	}
+
+	/**
+	 * Notifies the listeners of a change of the list. The change listeners
+	 * are notified first, then the <code>double</code> list change listeners and
+	 * the generic list change listeners.
+	 *
+	 * @param diff
+	 *            the change
+	 */
+	protected void fireDoubleListChange(DoubleListDiff diff) {
+		// fire general change event first
+		fireChange();
+		if (hasListeners(DoubleListChangeEvent.TYPE)) {
+			fireEvent(new DoubleListChangeEvent(this, diff));
+		}
+		if (hasListeners(ListChangeEvent.TYPE)) {
+			fireEvent(new ListChangeEvent<>(this, diff.toListDiff()));
+		}
+	}
+
+	@Override
+	void fireListChange(int[] positions, boolean[] additions, Object elements) {
+		fireDoubleListChange(new DoubleListDiff(positions, additions, (double[]) elements));
+	}
+
+	@Override
+	Double box(Object array, int index) {
+		return Double.valueOf(((double[]) array)[index]);
+	}
+
+	@Override
+	void unbox(Double element, Object array, int index) {
+		((double[]) array)[index] = element.doubleValue();
+	}
+
+	@Override
+	boolean isElement(Object o, int index) {
+		return o instanceof Double && Double.doubleToLongBits(((double[]) elements)[index]) == Double.doubleToLongBits(((Double) o).doubleValue());
+	}
+
+	@Override
+	public double getDouble(int index) {
+		getterCalled();
+		checkIndex(index, size);
+		return ((double[]) elements)[index];
+	}
+
+	@Override
+	public double setDouble(int index, double element) {
+		return ((double[]) replace(index, new double[] { element }))[0];
+	}
+
+	@Override
+	public void addDouble(double element) {
+		addDouble(size, element);
+	}
+
+	@Override
+	public void addDouble(int index, double element) {
+		insert(index, new double[] { element });
+	}
+
+	@Override
+	public double removeDouble(int index) {
+		return ((double[]) removeAt(index))[0];
+	}
+
+	@Override
+	public int indexOfDouble(double element) {
+		getterCalled();
+		double[] elements = (double[]) this.elements;
+		for (int i = 0; i < size; i++) {
+			if (Double.doubleToLongBits(elements[i]) == Double.doubleToLongBits(element)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public double[] toDoubleArray() {
+		return (double[]) copyElements();
+	}
+}
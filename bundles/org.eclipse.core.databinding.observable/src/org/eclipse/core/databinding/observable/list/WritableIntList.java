@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Mutable implementation of {@link IObservableIntList} that stores its
+ * elements in a <code>int</code> array, and notifies its listeners of the
+ * changes with {@link IntListDiff}s. The {@link ListChangeEvent}s for generic
+ * list change listeners are only created if such listeners are registered.
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ *
+ * @since 1.7
+ */
+public class WritableIntList extends PrimitiveWritableList<Integer> implements IObservableIntList {
+
+	private static final int[] EMPTY_ARRAY = new int[0];
+
+	/**
+	 * Creates an empty list in the default realm.
+	 */
+	public WritableIntList() {
+		this(Realm.getDefault());
+	}
+
+	/**
+	 * Creates an empty list in the given realm.
+	 *
+	 * @param realm
+	 */
+	public WritableIntList(Realm realm) {
+		this(realm, EMPTY_ARRAY);
+	}
+
+	/**
+	 * Creates a list in the default realm with a copy of the given elements.
+	 *
+	 * @param elements
+	 */
+	public WritableIntList(int[] elements) {
+		this(Realm.getDefault(), elements);
+	}
+
+	/**
+	 * Creates a list in the given realm with a copy of the given elements.
+	 *
+	 * @param realm
+	 * @param elements
+	 */
+	public WritableIntList(Realm realm, int[] elements) {
+		super(realm, elements);
+	}
+
+	@Override
+	public synchronized void addIntListChangeListener(IIntListChangeListener listener) {
+		addListener(IntListChangeEvent.TYPE, listener);
+	}
+
+	@Override
+	public synchronized void removeIntListChangeListener(IIntListChangeListener listener) {
+		removeListener(IntListChangeEvent.TYPE, listener);
+	}
+
+	/**
+	 * Notifies the listeners of a change of the list. The change listeners
+	 * are notified first, then the <code>int</code> list change listeners and
+	 * the generic list change listeners.
+	 *
+	 * @param diff
+	 *            the change
+	 */
+	protected void fireIntListChange(IntListDiff diff) {
+		// fire general change event first
+		fireChange();
+		if (hasListeners(IntListChangeEvent.TYPE)) {
+			fireEvent(new IntListChangeEvent(this, diff));
+		}
+		if (hasListeners(ListChangeEvent.TYPE)) {
+			fireEvent(new ListChangeEvent<>(this, diff.toListDiff()));
+		}
+	}
+
+	@Override
+	void fireListChange(int[] positions, boolean[] additions, Object elements) {
+		fireIntListChange(new IntListDiff(positions, additions, (int[]) elements));
+	}
+
+	@Override
+	Integer box(Object array, int index) {
+		return Integer.valueOf(((int[]) array)[index]);
+	}
+
+	@Override
+	void unbox(Integer element, Object array, int index) {
+		((int[]) array)[index] = element.intValue();
+	}
+
+	@Override
+	boolean isElement(Object o, int index) {
+		return o instanceof Integer && ((int[]) elements)[index] == ((Integer) o).intValue();
+	}
+
+	@Override
+	public int getInt(int index) {
+		getterCalled();
+		checkIndex(index, size);
+		return ((int[]) elements)[index];
+	}
+
+	@Override
+	public int setInt(int index, int element) {
+		return ((int[]) replace(index, new int[] { element }))[0];
+	}
+
+	@Override
+	public void addInt(int element) {
+		addInt(size, element);
+	}
+
+	@Override
+	public void addInt(int index, int element) {
+		insert(index, new int[] { element });
+	}
+
+	@Override
+	public int removeInt(int index) {
+		return ((int[]) removeAt(index))[0];
+	}
+
+	@Override
+	public int indexOfInt(int element) {
+		getterCalled();
+		int[] elements = (int[]) this.elements;
+		for (int i = 0; i < size; i++) {
+			if (elements[i] == element) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int[] toIntArray() {
+		return (int[]) copyElements();
+	}
+}
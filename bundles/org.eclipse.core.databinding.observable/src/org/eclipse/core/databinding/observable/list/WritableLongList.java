@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.list;
+
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Mutable implementation of {@link IObservableLongList} that stores its
+ * elements in a <code>long</code> array, and notifies its listeners of the
+ * changes with {@link LongListDiff}s. The {@link ListChangeEvent}s for generic
+ * list change listeners are only created if such listeners are registered.
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ *
+ * @since 1.7
+ */
+public class WritableLongList extends PrimitiveWritableList<Long> implements IObservableLongList {
+
+	private static final long[] EMPTY_ARRAY = new long[0];
+
+	/**
+	 * Creates an empty list in the default realm.
+	 */
+	public WritableLongList() {
+		this(Realm.getDefault());
+	}
+
+	/**
+	 * Creates an empty list in the given realm.
+	 *
+	 * @param realm
+	 */
+	public WritableLongList(Realm realm) {
+		this(realm, EMPTY_ARRAY);
+	}
+
+	/**
+	 * Creates a list in the default realm with a copy of the given elements.
+	 *
+	 * @param elements
+	 */
+	public WritableLongList(long[] elements) {
+		this(Realm.getDefault(), elements);
+	}
+
+	/**
+	 * Creates a list in the given realm with a copy of the given elements.
+	 *
+	 * @param realm
+	 * @param elements
+	 */
+	public WritableLongList(Realm realm, long[] elements) {
+		super(realm, elements);
+	}
+
+	@Override
+	public synchronized void addLongListChangeListener(ILongListChangeListener listener) {
+		addListener(LongListChangeEvent.TYPE, listener);
+	}
+
+	@Override
+	public synchronized void removeLongListChangeListener(ILongListChangeListener listener) {
+		removeListener(LongListChangeEvent.TYPE, listener);
+	}
+
+	/**
+	 * Notifies the listeners of a change of the list. The change listeners
+	 * are notified first, then the <code>long</code> list change listeners and
+	 * the generic list change listeners.
+	 *
+	 * @param diff
+	 *            the change
+	 */
+	protected void fireLongListChange(LongListDiff diff) {
+		// fire general change event first
+		fireChange();
+		if (hasListeners(LongListChangeEvent.TYPE)) {
+			fireEvent(new LongListChangeEvent(this, diff));
+		}
+		if (hasListeners(ListChangeEvent.TYPE)) {
+			fireEvent(new ListChangeEvent<>(this, diff.toListDiff()));
+		}
+	}
+
+	@Override
+	void fireListChange(int[] positions, boolean[] additions, Object elements) {
+		fireLongListChange(new LongListDiff(positions, additions, (long[]) elements));
+	}
+
+	@Override
+	Long box(Object array, int index) {
+		return Long.valueOf(((long[]) array)[index]);
+	}
+
+	@Override
+	void unbox(Long element, Object array, int index) {
+		((long[]) array)[index] = element.longValue();
+	}
+
+	@Override
+	boolean isElement(Object o, int index) {
+		return o instanceof Long && ((long[]) elements)[index] == ((Long) o).longValue();
+	}
+
+	@Override
+	public long getLong(int index) {
+		getterCalled();
+		checkIndex(index, size);
+		return ((long[]) elements)[index];
+	}
+
+	@Override
+	public long setLong(int index, long element) {
+		return ((long[]) replace(index, new long[] { element }))[0];
+	}
+
+	@Override
+	public void addLong(long element) {
+		addLong(size, element);
+	}
+
+	@Override
+	public void addLong(int index, long element) {
+		insert(index, new long[] { element });
+	}
+
+	@Override
+	public long removeLong(int index) {
+		return ((long[]) removeAt(index))[0];
+	}
+
+	@Override
+	public int indexOfLong(long element) {
+		getterCalled();
+		long[] elements = (long[]) this.elements;
+		for (int i = 0; i < size; i++) {
+			if (elements[i] == element) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public long[] toLongArray() {
+		return (long[]) copyElements();
+	}
+}
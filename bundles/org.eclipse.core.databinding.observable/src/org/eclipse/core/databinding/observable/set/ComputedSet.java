@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2018 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,8 @@ import org.eclipse.core.databinding.observable.IStaleListener;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
+import org.eclipse.core.databinding.observable.sideeffect.IPropagationNode;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
 
 /**
@@ -76,7 +78,8 @@ import org.eclipse.core.databinding.observable.value.IObservableValue;
  *
  * @since 1.2
  */
-public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
+public abstract class ComputedSet<E> extends AbstractObservableSet<E>
+		implements IPropagationNode {
 	private Set<E> cachedSet = new HashSet<>();
 
 	private boolean dirty = true;
@@ -153,7 +156,7 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 	 *
 	 */
 	private class PrivateInterface implements Runnable, IChangeListener,
-			IStaleListener {
+			IStaleListener, IPropagationNode {
 		@Override
 		public void run() {
 			cachedSet = calculate();
@@ -171,10 +174,17 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 		public void handleChange(ChangeEvent event) {
 			makeDirty();
 		}
+
+		@Override
+		public int getPropagationDepth() {
+			return propagationDepth;
+		}
 	}
 
 	private PrivateInterface privateInterface = new PrivateInterface();
 
+	private int propagationDepth = 1;
+
 	private Object elementType;
 
 	protected int doGetSize() {
@@ -218,6 +228,7 @@ privateInterface, privateInterface, null);
 			}
 
 			dependencies = newDependencies;
+			propagationDepth = PropagationScheduler.getPropagationDepth(newDependencies);
 
 			dirty = false;
 		}
@@ -289,6 +300,14 @@ privateInterface, privateInterface, null);
 		}
 	}
 
+	/**
+	 * @since 1.7
+	 */
+	@Override
+	public int getPropagationDepth() {
+		return propagationDepth;
+	}
+
 	@Override
 	public boolean isStale() {
 		// recalculate set if dirty, to ensure staleness is correct.
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.databinding.observable.sideeffect;
+
+import org.eclipse.core.databinding.observable.IObservable;
+
+/**
+ * A node of a graph of observables computed from other observables, whose
+ * changes are propagated by the {@link PropagationScheduler}.
+ * <p>
+ * An {@link IObservable} implements this interface if it is computed from
+ * other observables. During a propagation wave, its listeners are notified of
+ * its changes when the wave ends, after the listeners of the nodes of lower
+ * depth. A listener implements this interface if it marks an observable or a
+ * side-effect dirty when it is notified. During a propagation wave, it is
+ * notified before the other listeners of the observable.
+ * </p>
+ *
+ * @since 1.7
+ */
+public interface IPropagationNode {
+
+	/**
+	 * Returns the depth of this node in the graph of observables: one more
+	 * than the highest depth of the observables it was last computed from,
+	 * where observables which are not nodes have a depth of 0.
+	 *
+	 * @return the propagation depth of this node
+	 * @see PropagationScheduler#getPropagationDepth(IObservable...)
+	 */
+	int getPropagationDepth();
+}
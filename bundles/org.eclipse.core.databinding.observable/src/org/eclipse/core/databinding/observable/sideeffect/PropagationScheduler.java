@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.databinding.observable.sideeffect;
+
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.value.ComputedValue;
+import org.eclipse.core.internal.databinding.observable.sideeffect.Propagation;
+
+/**
+ * Propagates the changes of observables through the graphs of
+ * {@link IPropagationNode}s computed from them, such as {@link ComputedValue}s
+ * and {@link ISideEffect}s, without glitches.
+ * <p>
+ * Changes are only propagated in waves when asked for: a propagation wave
+ * spans a call to {@link #propagate(Runnable)}, or the end of a
+ * {@link org.eclipse.core.databinding.observable.Realm#batch(Runnable) batch}
+ * of changes when the merged events are fired. Outside of a wave, the
+ * listeners of the observables are notified in the order in which they were
+ * added, as soon as the observables change.
+ * </p>
+ * <p>
+ * During a wave, the nodes computed from the changed observables are marked
+ * dirty before any other listener is notified, so that a listener reading a
+ * computed observable never sees a value computed from both changed and
+ * unchanged dependencies. The other listeners of the computed observables are
+ * notified when the wave ends, in the order of the
+ * {@link IPropagationNode#getPropagationDepth() depth} of the observables, and
+ * each side-effect made dirty by the wave is scheduled once, in the order of
+ * its depth as well. As a computed observable is recomputed lazily, it is
+ * therefore recomputed at most once per wave, however many of its
+ * dependencies changed.
+ * </p>
+ *
+ * @since 1.7
+ */
+public final class PropagationScheduler {
+
+	private PropagationScheduler() {
+	}
+
+	/**
+	 * Runs the runnable within a single propagation wave, so that the changes
+	 * made by the runnable are propagated together when it returns.
+	 *
+	 * @param runnable
+	 *            the runnable to run
+	 */
+	public static void propagate(Runnable runnable) {
+		Propagation.run(runnable);
+	}
+
+	/**
+	 * Returns whether a propagation wave is in progress in the current thread.
+	 *
+	 * @return <code>true</code> if changes are being propagated
+	 */
+	public static boolean isPropagating() {
+		return Propagation.isPropagating();
+	}
+
+	/**
+	 * Returns the depth of a node computed from the given observables.
+	 *
+	 * @param dependencies
+	 *            the observables the node was computed from
+	 * @return one more than the highest depth of the dependencies, where
+	 *         observables which are not {@link IPropagationNode}s have a depth
+	 *         of 0
+	 */
+	public static int getPropagationDepth(IObservable... dependencies) {
+		return Propagation.getDepth(dependencies);
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Abstract implementation of {@link IObservableDoubleValue}. Subclasses provide
+ * the value in {@link #doGetDoubleValue()}, set it in
+ * {@link #doSetDoubleValue(double)} if it can be set, and notify the listeners with
+ * {@link #fireDoubleValueChange(double, double)}.
+ * <p>
+ * The value is only boxed by the methods of {@link IObservableValue}, and the
+ * {@link ValueChangeEvent}s for generic value change listeners are only
+ * created if such listeners are registered.
+ * </p>
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ *
+ * @since 1.7
+ */
+public abstract class AbstractObservableDoubleValue extends AbstractObservableValue<Double>
+		implements IObservableDoubleValue {
+
+	/**
+	 * Constructs a new instance with the default realm.
+	 */
+	public AbstractObservableDoubleValue() {
+		this(Realm.getDefault());
+	}
+
+	/**
+	 * @param realm
+	 */
+	public AbstractObservableDoubleValue(Realm realm) {
+		super(realm);
+	}
+
+	@Override
+	public synchronized void addDoubleValueChangeListener(IDoubleValueChangeListener listener) {
+		addListener(DoubleValueChangeEvent.TYPE, listener);
+	}
+
+	@Override
+	public synchronized void removeDoubleValueChangeListener(IDoubleValueChangeListener listener) {
+		removeListener(DoubleValueChangeEvent.TYPE, listener);
+	}
+
+	@Override
+	public final double getDoubleValue() {
+		ObservableTracker.getterCalled(this);
+		return doGetDoubleValue();
+	}
+
+	/**
+	 * Template method for getting the value of the observable.
+	 *
+	 * @return the current value
+	 */
+	protected abstract double doGetDoubleValue();
+
+	@Override
+	public final void setDoubleValue(double value) {
+		checkRealm();
+		doSetDoubleValue(value);
+	}
+
+	/**
+	 * Template method for setting the value of the observable. By default the
+	 * method throws an {@link UnsupportedOperationException}.
+	 *
+	 * @param value
+	 */
+	protected void doSetDoubleValue(double value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected final Double doGetValue() {
+		return Double.valueOf(doGetDoubleValue());
+	}
+
+	/**
+	 * Sets the unboxed value with {@link #doSetDoubleValue(double)}.
+	 *
+	 * @throws NullPointerException
+	 *             if the value is <code>null</code>
+	 */
+	@Override
+	protected final void doSetValue(Double value) {
+		doSetDoubleValue(value.doubleValue());
+	}
+
+	/**
+	 * Notifies the listeners of a change of the value. The change listeners
+	 * are notified first, then the <code>double</code> value change listeners and
+	 * the generic value change listeners.
+	 *
+	 * @param oldValue
+	 *            the value before the change
+	 * @param newValue
+	 *            the value after the change
+	 */
+	protected void fireDoubleValueChange(double oldValue, double newValue) {
+		checkRealm();
+		fireEvent(new ChangeEvent(this));
+		fireDoubleValueEvents(oldValue, newValue);
+	}
+
+	/**
+	 * Notifies the value change listeners, but not the change listeners.
+	 */
+	/* package */void fireDoubleValueEvents(double oldValue, double newValue) {
+		if (hasListeners(DoubleValueChangeEvent.TYPE)) {
+			fireEvent(new DoubleValueChangeEvent(this, oldValue, newValue));
+		}
+		if (hasListeners(ValueChangeEvent.TYPE)) {
+			fireEvent(new ValueChangeEvent<>(this,
+					Diffs.createValueDiff(Double.valueOf(oldValue), Double.valueOf(newValue))));
+		}
+	}
+
+	/**
+	 * Notifies the listeners of the unboxed values of the diff, see
+	 * {@link #fireDoubleValueChange(double, double)}.
+	 *
+	 * @throws NullPointerException
+	 *             if the old or the new value of the diff is <code>null</code>
+	 */
+	@Override
+	protected void fireValueChange(ValueDiff<Double> diff) {
+		fireDoubleValueChange(diff.getOldValue().doubleValue(), diff.getNewValue().doubleValue());
+	}
+
+	/**
+	 * @return <code>Double.TYPE</code>
+	 */
+	@Override
+	public Object getValueType() {
+		return Double.TYPE;
+	}
+}
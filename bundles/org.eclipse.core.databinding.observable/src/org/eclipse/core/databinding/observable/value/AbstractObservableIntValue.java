@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Abstract implementation of {@link IObservableIntValue}. Subclasses provide
+ * the value in {@link #doGetIntValue()}, set it in
+ * {@link #doSetIntValue(int)} if it can be set, and notify the listeners with
+ * {@link #fireIntValueChange(int, int)}.
+ * <p>
+ * The value is only boxed by the methods of {@link IObservableValue}, and the
+ * {@link ValueChangeEvent}s for generic value change listeners are only
+ * created if such listeners are registered.
+ * </p>
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ *
+ * @since 1.7
+ */
+public abstract class AbstractObservableIntValue extends AbstractObservableValue<Integer>
+		implements IObservableIntValue {
+
+	/**
+	 * Constructs a new instance with the default realm.
+	 */
+	public AbstractObservableIntValue() {
+		this(Realm.getDefault());
+	}
+
+	/**
+	 * @param realm
+	 */
+	public AbstractObservableIntValue(Realm realm) {
+		super(realm);
+	}
+
+	@Override
+	public synchronized void addIntValueChangeListener(IIntValueChangeListener listener) {
+		addListener(IntValueChangeEvent.TYPE, listener);
+	}
+
+	@Override
+	public synchronized void removeIntValueChangeListener(IIntValueChangeListener listener) {
+		removeListener(IntValueChangeEvent.TYPE, listener);
+	}
+
+	@Override
+	public final int getIntValue() {
+		ObservableTracker.getterCalled(this);
+		return doGetIntValue();
+	}
+
+	/**
+	 * Template method for getting the value of the observable.
+	 *
+	 * @return the current value
+	 */
+	protected abstract int doGetIntValue();
+
+	@Override
+	public final void setIntValue(int value) {
+		checkRealm();
+		doSetIntValue(value);
+	}
+
+	/**
+	 * Template method for setting the value of the observable. By default the
+	 * method throws an {@link UnsupportedOperationException}.
+	 *
+	 * @param value
+	 */
+	protected void doSetIntValue(int value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected final Integer doGetValue() {
+		return Integer.valueOf(doGetIntValue());
+	}
+
+	/**
+	 * Sets the unboxed value with {@link #doSetIntValue(int)}.
+	 *
+	 * @throws NullPointerException
+	 *             if the value is <code>null</code>
+	 */
+	@Override
+	protected final void doSetValue(Integer value) {
+		doSetIntValue(value.intValue());
+	}
+
+	/**
+	 * Notifies the listeners of a change of the value. The change listeners
+	 * are notified first, then the <code>int</code> value change listeners and
+	 * the generic value change listeners.
+	 *
+	 * @param oldValue
+	 *            the value before the change
+	 * @param newValue
+	 *            the value after the change
+	 */
+	protected void fireIntValueChange(int oldValue, int newValue) {
+		checkRealm();
+		fireEvent(new ChangeEvent(this));
+		fireIntValueEvents(oldValue, newValue);
+	}
+
+	/**
+	 * Notifies the value change listeners, but not the change listeners.
+	 */
+	/* package */void fireIntValueEvents(int oldValue, int newValue) {
+		if (hasListeners(IntValueChangeEvent.TYPE)) {
+			fireEvent(new IntValueChangeEvent(this, oldValue, newValue));
+		}
+		if (hasListeners(ValueChangeEvent.TYPE)) {
+			fireEvent(new ValueChangeEvent<>(this,
+					Diffs.createValueDiff(Integer.valueOf(oldValue), Integer.valueOf(newValue))));
+		}
+	}
+
+	/**
+	 * Notifies the listeners of the unboxed values of the diff, see
+	 * {@link #fireIntValueChange(int, int)}.
+	 *
+	 * @throws NullPointerException
+	 *             if the old or the new value of the diff is <code>null</code>
+	 */
+	@Override
+	protected void fireValueChange(ValueDiff<Integer> diff) {
+		fireIntValueChange(diff.getOldValue().intValue(), diff.getNewValue().intValue());
+	}
+
+	/**
+	 * @return <code>Integer.TYPE</code>
+	 */
+	@Override
+	public Object getValueType() {
+		return Integer.TYPE;
+	}
+}
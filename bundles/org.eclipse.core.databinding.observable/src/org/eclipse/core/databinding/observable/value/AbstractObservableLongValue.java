@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Abstract implementation of {@link IObservableLongValue}. Subclasses provide
+ * the value in {@link #doGetLongValue()}, set it in
+ * {@link #doSetLongValue(long)} if it can be set, and notify the listeners with
+ * {@link #fireLongValueChange(long, long)}.
+ * <p>
+ * The value is only boxed by the methods of {@link IObservableValue}, and the
+ * {@link ValueChangeEvent}s for generic value change listeners are only
+ * created if such listeners are registered.
+ * </p>
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ *
+ * @since 1.7
+ */
+public abstract class AbstractObservableLongValue extends AbstractObservableValue<Long>
+		implements IObservableLongValue {
+
+	/**
+	 * Constructs a new instance with the default realm.
+	 */
+	public AbstractObservableLongValue() {
+		this(Realm.getDefault());
+	}
+
+	/**
+	 * @param realm
+	 */
+	public AbstractObservableLongValue(Realm realm) {
+		super(realm);
+	}
+
+	@Override
+	public synchronized void addLongValueChangeListener(ILongValueChangeListener listener) {
+		addListener(LongValueChangeEvent.TYPE, listener);
+	}
+
+	@Override
+	public synchronized void removeLongValueChangeListener(ILongValueChangeListener listener) {
+		removeListener(LongValueChangeEvent.TYPE, listener);
+	}
+
+	@Override
+	public final long getLongValue() {
+		ObservableTracker.getterCalled(this);
+		return doGetLongValue();
+	}
+
+	/**
+	 * Template method for getting the value of the observable.
+	 *
+	 * @return the current value
+	 */
+	protected abstract long doGetLongValue();
+
+	@Override
+	public final void setLongValue(long value) {
+		checkRealm();
+		doSetLongValue(value);
+	}
+
+	/**
+	 * Template method for setting the value of the observable. By default the
+	 * method throws an {@link UnsupportedOperationException}.
+	 *
+	 * @param value
+	 */
+	protected void doSetLongValue(long value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected final Long doGetValue() {
+		return Long.valueOf(doGetLongValue());
+	}
+
+	/**
+	 * Sets the unboxed value with {@link #doSetLongValue(long)}.
+	 *
+	 * @throws NullPointerException
+	 *             if the value is <code>null</code>
+	 */
+	@Override
+	protected final void doSetValue(Long value) {
+		doSetLongValue(value.longValue());
+	}
+
+	/**
+	 * Notifies the listeners of a change of the value. The change listeners
+	 * are notified first, then the <code>long</code> value change listeners and
+	 * the generic value change listeners.
+	 *
+	 * @param oldValue
+	 *            the value before the change
+	 * @param newValue
+	 *            the value after the change
+	 */
+	protected void fireLongValueChange(long oldValue, long newValue) {
+		checkRealm();
+		fireEvent(new ChangeEvent(this));
+		fireLongValueEvents(oldValue, newValue);
+	}
+
+	/**
+	 * Notifies the value change listeners, but not the change listeners.
+	 */
+	/* package */void fireLongValueEvents(long oldValue, long newValue) {
+		if (hasListeners(LongValueChangeEvent.TYPE)) {
+			fireEvent(new LongValueChangeEvent(this, oldValue, newValue));
+		}
+		if (hasListeners(ValueChangeEvent.TYPE)) {
+			fireEvent(new ValueChangeEvent<>(this,
+					Diffs.createValueDiff(Long.valueOf(oldValue), Long.valueOf(newValue))));
+		}
+	}
+
+	/**
+	 * Notifies the listeners of the unboxed values of the diff, see
+	 * {@link #fireLongValueChange(long, long)}.
+	 *
+	 * @throws NullPointerException
+	 *             if the old or the new value of the diff is <code>null</code>
+	 */
+	@Override
+	protected void fireValueChange(ValueDiff<Long> diff) {
+		fireLongValueChange(diff.getOldValue().longValue(), diff.getNewValue().longValue());
+	}
+
+	/**
+	 * @return <code>Long.TYPE</code>
+	 */
+	@Override
+	public Object getValueType() {
+		return Long.TYPE;
+	}
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import java.util.function.IntSupplier;
+
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.IObservableIntList;
+import org.eclipse.core.databinding.observable.sideeffect.IPropagationNode;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
+import org.eclipse.core.internal.databinding.observable.sideeffect.Propagation;
+
+/**
+ * A lazily calculated <code>int</code> value that automatically computes and
+ * registers listeners on its dependencies, like a {@link ComputedValue}, but
+ * keeps its value unboxed.
+ * <p>
+ * The value change events of this class carry the new value, so the value is
+ * recomputed before the value change listeners are notified: during a
+ * propagation wave, see {@link PropagationScheduler}, once the dependencies
+ * of the value are up to date, and only if the value actually changed. The
+ * change listeners are notified immediately, and if there are no value change
+ * listeners the value is only recomputed when it is read.
+ * </p>
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ * <p>
+ * Example: compute the sum of all elements in an {@link IObservableIntList}.
+ * </p>
+ *
+ * <pre>
+ * IObservableIntList addends = new WritableIntList(new int[] { 0, 1, 2 });
+ *
+ * IObservableIntValue sum = ComputedIntValue.create(() -&gt; {
+ * 	int result = 0;
+ * 	for (int i = 0; i &lt; addends.size(); i++) {
+ * 		result += addends.getInt(i);
+ * 	}
+ * 	return result;
+ * });
+ *
+ * System.out.println(sum.getIntValue()); // =&gt; 3
+ *
+ * addends.addInt(10);
+ * System.out.println(sum.getIntValue()); // =&gt; 13
+ * </pre>
+ *
+ * @since 1.7
+ */
+public abstract class ComputedIntValue extends AbstractObservableIntValue implements IPropagationNode {
+
+	private int cachedValue;
+
+	/**
+	 * Factory method to create {@link ComputedIntValue} objects in an easy
+	 * manner.
+	 *
+	 * @param supplier
+	 *            {@link IntSupplier}, whose {@link IntSupplier#getAsInt()} method
+	 *            is a TrackedGetter. See
+	 *            {@link ObservableTracker#getterCalled(IObservable)} for
+	 *            details.
+	 * @return {@link ComputedIntValue} whose value is computed using the given
+	 *         {@link IntSupplier}.
+	 */
+	public static IObservableIntValue create(IntSupplier supplier) {
+		return new ComputedIntValue() {
+			@Override
+			protected int calculate() {
+				return supplier.getAsInt();
+			}
+		};
+	}
+
+	/**
+	 * Constructs a new instance with the default realm.
+	 */
+	public ComputedIntValue() {
+		this(Realm.getDefault());
+	}
+
+	/**
+	 * @param realm
+	 */
+	public ComputedIntValue(Realm realm) {
+		super(realm);
+	}
+
+	/**
+	 * Inner class that tracks the dependencies and implements interfaces that
+	 * we don't want to expose as public API, see {@link ComputedValue}.
+	 */
+	private class Computation extends PrimitiveComputation {
+		@Override
+		public void run() {
+			cachedValue = calculate();
+		}
+
+		@Override
+		void fireStale() {
+			ComputedIntValue.this.fireStale();
+		}
+
+		@Override
+		void fireDirty() {
+			final int oldValue = cachedValue;
+			checkRealm();
+			fireEvent(new ChangeEvent(ComputedIntValue.this));
+			if (hasListeners(IntValueChangeEvent.TYPE) || hasListeners(ValueChangeEvent.TYPE)) {
+				Propagation.runAfterPropagation(getPropagationDepth(), () -> {
+					if (!isDisposed()) {
+						int newValue = doGetIntValue();
+						if (oldValue != newValue) {
+							fireIntValueEvents(oldValue, newValue);
+						}
+					}
+				});
+			}
+		}
+	}
+
+	private Computation computation = new Computation();
+
+	@Override
+	protected final int doGetIntValue() {
+		computation.update();
+		return cachedValue;
+	}
+
+	/**
+	 * Subclasses must override this method to calculate the value. Any
+	 * dependencies used to calculate the value must be {@link IObservable},
+	 * and implementers must use one of the interface methods tagged
+	 * TrackedGetter for ComputedIntValue to recognize it as a dependency.
+	 *
+	 * @return the value
+	 */
+	protected abstract int calculate();
+
+	/**
+	 * Marks the value as dirty and notifies the listeners, the value change
+	 * listeners once the dependencies of the value are up to date.
+	 */
+	protected final void makeDirty() {
+		computation.makeDirty();
+	}
+
+	@Override
+	public int getPropagationDepth() {
+		return computation.getPropagationDepth();
+	}
+
+	@Override
+	public boolean isStale() {
+		// we need to recompute, otherwise staleness wouldn't mean anything
+		getIntValue();
+		return computation.isStale();
+	}
+
+	@Override
+	public synchronized void addChangeListener(IChangeListener listener) {
+		super.addChangeListener(listener);
+		computeValueForListeners();
+	}
+
+	@Override
+	public synchronized void addValueChangeListener(IValueChangeListener<? super Integer> listener) {
+		super.addValueChangeListener(listener);
+		computeValueForListeners();
+	}
+
+	@Override
+	public synchronized void addIntValueChangeListener(IIntValueChangeListener listener) {
+		super.addIntValueChangeListener(listener);
+		computeValueForListeners();
+	}
+
+	/**
+	 * Computes the value to start listening to the dependencies when a
+	 * listener is added, see {@link ComputedValue}.
+	 */
+	private void computeValueForListeners() {
+		getRealm().exec(() -> {
+			if (!computation.isListening() && hasListeners()) {
+				doGetIntValue();
+			}
+		});
+	}
+
+	@Override
+	public synchronized void dispose() {
+		super.dispose();
+		computation.stopListening();
+	}
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import java.util.function.LongSupplier;
+
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.IObservableLongList;
+import org.eclipse.core.databinding.observable.sideeffect.IPropagationNode;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
+import org.eclipse.core.internal.databinding.observable.sideeffect.Propagation;
+
+/**
+ * A lazily calculated <code>long</code> value that automatically computes and
+ * registers listeners on its dependencies, like a {@link ComputedValue}, but
+ * keeps its value unboxed.
+ * <p>
+ * The value change events of this class carry the new value, so the value is
+ * recomputed before the value change listeners are notified: during a
+ * propagation wave, see {@link PropagationScheduler}, once the dependencies
+ * of the value are up to date, and only if the value actually changed. The
+ * change listeners are notified immediately, and if there are no value change
+ * listeners the value is only recomputed when it is read.
+ * </p>
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ * <p>
+ * Example: compute the sum of all elements in an {@link IObservableLongList}.
+ * </p>
+ *
+ * <pre>
+ * IObservableLongList addends = new WritableLongList(new long[] { 0, 1, 2 });
+ *
+ * IObservableLongValue sum = ComputedLongValue.create(() -&gt; {
+ * 	long result = 0;
+ * 	for (int i = 0; i &lt; addends.size(); i++) {
+ * 		result += addends.getLong(i);
+ * 	}
+ * 	return result;
+ * });
+ *
+ * System.out.println(sum.getLongValue()); // =&gt; 3
+ *
+ * addends.addLong(10);
+ * System.out.println(sum.getLongValue()); // =&gt; 13
+ * </pre>
+ *
+ * @since 1.7
+ */
+public abstract class ComputedLongValue extends AbstractObservableLongValue implements IPropagationNode {
+
+	private long cachedValue;
+
+	/**
+	 * Factory method to create {@link ComputedLongValue} objects in an easy
+	 * manner.
+	 *
+	 * @param supplier
+	 *            {@link LongSupplier}, whose {@link LongSupplier#getAsLong()} method
+	 *            is a TrackedGetter. See
+	 *            {@link ObservableTracker#getterCalled(IObservable)} for
+	 *            details.
+	 * @return {@link ComputedLongValue} whose value is computed using the given
+	 *         {@link LongSupplier}.
+	 */
+	public static IObservableLongValue create(LongSupplier supplier) {
+		return new ComputedLongValue() {
+			@Override
+			protected long calculate() {
+				return supplier.getAsLong();
+			}
+		};
+	}
+
+	/**
+	 * Constructs a new instance with the default realm.
+	 */
+	public ComputedLongValue() {
+		this(Realm.getDefault());
+	}
+
+	/**
+	 * @param realm
+	 */
+	public ComputedLongValue(Realm realm) {
+		super(realm);
+	}
+
+	/**
+	 * Inner class that tracks the dependencies and implements interfaces that
+	 * we don't want to expose as public API, see {@link ComputedValue}.
+	 */
+	private class Computation extends PrimitiveComputation {
+		@Override
+		public void run() {
+			cachedValue = calculate();
+		}
+
+		@Override
+		void fireStale() {
+			ComputedLongValue.this.fireStale();
+		}
+
+		@Override
+		void fireDirty() {
+			final long oldValue = cachedValue;
+			checkRealm();
+			fireEvent(new ChangeEvent(ComputedLongValue.this));
+			if (hasListeners(LongValueChangeEvent.TYPE) || hasListeners(ValueChangeEvent.TYPE)) {
+				Propagation.runAfterPropagation(getPropagationDepth(), () -> {
+					if (!isDisposed()) {
+						long newValue = doGetLongValue();
+						if (oldValue != newValue) {
+							fireLongValueEvents(oldValue, newValue);
+						}
+					}
+				});
+			}
+		}
+	}
+
+	private Computation computation = new Computation();
+
+	@Override
+	protected final long doGetLongValue() {
+		computation.update();
+		return cachedValue;
+	}
+
+	/**
+	 * Subclasses must override this method to calculate the value. Any
+	 * dependencies used to calculate the value must be {@link IObservable},
+	 * and implementers must use one of the interface methods tagged
+	 * TrackedGetter for ComputedLongValue to recognize it as a dependency.
+	 *
+	 * @return the value
+	 */
+	protected abstract long calculate();
+
+	/**
+	 * Marks the value as dirty and notifies the listeners, the value change
+	 * listeners once the dependencies of the value are up to date.
+	 */
+	protected final void makeDirty() {
+		computation.makeDirty();
+	}
+
+	@Override
+	public int getPropagationDepth() {
+		return computation.getPropagationDepth();
+	}
+
+	@Override
+	public boolean isStale() {
+		// we need to recompute, otherwise staleness wouldn't mean anything
+		getLongValue();
+		return computation.isStale();
+	}
+
+	@Override
+	public synchronized void addChangeListener(IChangeListener listener) {
+		super.addChangeListener(listener);
+		computeValueForListeners();
+	}
+
+	@Override
+	public synchronized void addValueChangeListener(IValueChangeListener<? super Long> listener) {
+		super.addValueChangeListener(listener);
+		computeValueForListeners();
+	}
+
+	@Override
+	public synchronized void addLongValueChangeListener(ILongValueChangeListener listener) {
+		super.addLongValueChangeListener(listener);
+		computeValueForListeners();
+	}
+
+	/**
+	 * Computes the value to start listening to the dependencies when a
+	 * listener is added, see {@link ComputedValue}.
+	 */
+	private void computeValueForListeners() {
+		getRealm().exec(() -> {
+			if (!computation.isListening() && hasListeners()) {
+				doGetLongValue();
+			}
+		});
+	}
+
+	@Override
+	public synchronized void dispose() {
+		super.dispose();
+		computation.stopListening();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,8 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.sideeffect.IPropagationNode;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
 
 /**
  * A Lazily calculated value that automatically computes and registers listeners
@@ -71,7 +73,8 @@ import org.eclipse.core.databinding.observable.list.IObservableList;
  *
  * @since 1.0
  */
-public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
+public abstract class ComputedValue<T> extends AbstractObservableValue<T>
+		implements IPropagationNode {
 
 	private boolean dirty = true;
 
@@ -167,7 +170,7 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 	 *
 	 */
 	private class PrivateInterface implements Runnable, IChangeListener,
-			IStaleListener {
+			IStaleListener, IPropagationNode {
 		@Override
 		public void run() {
 			cachedValue = calculate();
@@ -185,10 +188,17 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 		public void handleChange(ChangeEvent event) {
 			makeDirty();
 		}
+
+		@Override
+		public int getPropagationDepth() {
+			return propagationDepth;
+		}
 	}
 
 	private PrivateInterface privateInterface = new PrivateInterface();
 
+	private int propagationDepth = 1;
+
 	private Object valueType;
 
 	@Override
@@ -212,6 +222,7 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 			}
 
 			dependencies = newDependencies;
+			propagationDepth = PropagationScheduler.getPropagationDepth(newDependencies);
 
 			dirty = false;
 		}
@@ -268,6 +279,14 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 		}
 	}
 
+	/**
+	 * @since 1.7
+	 */
+	@Override
+	public int getPropagationDepth() {
+		return propagationDepth;
+	}
+
 	@Override
 	public boolean isStale() {
 		// we need to recompute, otherwise staleness wouldn't mean anything
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import org.eclipse.core.databinding.observable.Observables;
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * An observable value of a <code>long</code>, which can be read, set and
+ * tracked without boxing.
+ * <p>
+ * The value is also available as a {@link Long} through the methods of
+ * {@link IObservableValue}, for the clients that are not aware of the
+ * <code>long</code> value.
+ * </p>
+ *
+ * @noimplement This interface is not intended to be implemented by clients.
+ *              Clients should instead subclass one of the classes that
+ *              implement this interface. Note that direct implementers of this
+ *              interface outside of the framework will be broken in future
+ *              releases when methods are added to this interface.
+ *
+ * @see AbstractObservableLongValue
+ * @see Observables#longObservableValue(IObservableValue)
+ *
+ * @since 1.7
+ */
+public interface IObservableLongValue extends IObservableValue<Long> {
+
+	/**
+	 * Returns the value. Must be invoked in the {@link Realm} of the
+	 * observable.
+	 *
+	 * @return the current value
+	 * @TrackedGetter
+	 */
+	public long getLongValue();
+
+	/**
+	 * Sets the value. Must be invoked in the {@link Realm} of the observable.
+	 *
+	 * @param value
+	 *            the value to set
+	 * @throws UnsupportedOperationException
+	 *             if this observable value cannot be set.
+	 */
+	public void setLongValue(long value);
+
+	/**
+	 * Adds a listener notified of the changes of the value without boxing.
+	 *
+	 * @param listener
+	 */
+	public void addLongValueChangeListener(ILongValueChangeListener listener);
+
+	/**
+	 * @param listener
+	 */
+	public void removeLongValueChangeListener(ILongValueChangeListener listener);
+}
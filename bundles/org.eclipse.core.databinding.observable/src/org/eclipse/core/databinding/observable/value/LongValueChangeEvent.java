@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import org.eclipse.core.databinding.observable.IObservablesListener;
+import org.eclipse.core.databinding.observable.ObservableEvent;
+
+/**
+ * Value change event describing a change of an {@link IObservableLongValue}
+ * object's current value. Unlike a {@link ValueChangeEvent}, the event holds
+ * the old and the new value without boxing them.
+ *
+ * @since 1.7
+ */
+public class LongValueChangeEvent extends ObservableEvent {
+
+	private static final long serialVersionUID = -4402866587921384121L;
+
+	static final Object TYPE = new Object();
+
+	/**
+	 * The value before the change. Listeners must not change this field.
+	 */
+	public long oldValue;
+
+	/**
+	 * The value after the change. Listeners must not change this field.
+	 */
+	public long newValue;
+
+	/**
+	 * Creates a new value change event.
+	 *
+	 * @param source
+	 *            the source observable value
+	 * @param oldValue
+	 *            the value before the change
+	 * @param newValue
+	 *            the value after the change
+	 */
+	public LongValueChangeEvent(IObservableLongValue source, long oldValue, long newValue) {
+		super(source);
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+	}
+
+	/**
+	 * Returns the observable value from which this event originated.
+	 *
+	 * @return returns the observable value from which this event originated
+	 */
+	public IObservableLongValue getObservableLongValue() {
+		return (IObservableLongValue) getSource();
+	}
+
+	@Override
+	protected void dispatch(IObservablesListener listener) {
+		((ILongValueChangeListener) listener).handleLongValueChange(this);
+	}
+
+	@Override
+	protected Object getListenerType() {
+		return TYPE;
+	}
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.StaleEvent;
+import org.eclipse.core.databinding.observable.sideeffect.IPropagationNode;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
+
+/**
+ * The dependency tracking of the computed primitive values, see
+ * {@link ComputedIntValue}. It implements the interfaces that the computed
+ * values do not expose as public API, like the private interface of
+ * {@link ComputedValue}. Each computed value extends it with an inner class
+ * which stores the calculated value and notifies the listeners.
+ */
+/* package */abstract class PrimitiveComputation
+		implements Runnable, IChangeListener, IStaleListener, IPropagationNode {
+
+	private boolean dirty = true;
+
+	private boolean stale = false;
+
+	/**
+	 * Array of observables the value depends on. This field has a value of
+	 * <code>null</code> if we are not currently listening.
+	 */
+	private IObservable[] dependencies = null;
+
+	private int propagationDepth = 1;
+
+	/**
+	 * Calculates the value and caches it. Called while the dependencies are
+	 * tracked.
+	 */
+	@Override
+	public abstract void run();
+
+	/**
+	 * Notifies the stale listeners of the computed value.
+	 */
+	abstract void fireStale();
+
+	/**
+	 * Notifies the listeners of the computed value that it is dirty.
+	 */
+	abstract void fireDirty();
+
+	/**
+	 * Recomputes the value if it is dirty, tracking its dependencies.
+	 */
+	final void update() {
+		if (dirty) {
+			// Run the calculate method and add any observable that is touched
+			// to the dependencies list
+			IObservable[] newDependencies = ObservableTracker.runAndMonitor(this, this, null);
+
+			stale = false;
+			for (IObservable observable : newDependencies) {
+				if (observable.isStale()) {
+					stale = true;
+				} else {
+					observable.addStaleListener(this);
+				}
+			}
+
+			dependencies = newDependencies;
+			propagationDepth = PropagationScheduler.getPropagationDepth(newDependencies);
+
+			dirty = false;
+		}
+	}
+
+	final void makeDirty() {
+		if (!dirty) {
+			dirty = true;
+
+			stopListening();
+
+			fireDirty();
+		}
+	}
+
+	final void stopListening() {
+		// Stop listening for dependency changes.
+		if (dependencies != null) {
+			for (IObservable observable : dependencies) {
+				observable.removeChangeListener(this);
+				observable.removeStaleListener(this);
+			}
+			dependencies = null;
+		}
+	}
+
+	/**
+	 * @return whether the value listens to its dependencies
+	 */
+	final boolean isListening() {
+		return dependencies != null;
+	}
+
+	/**
+	 * @return whether one of the dependencies was stale when the value was
+	 *         last computed, or became stale since
+	 */
+	final boolean isStale() {
+		return stale;
+	}
+
+	@Override
+	public void handleStale(StaleEvent event) {
+		if (!dirty && !stale) {
+			stale = true;
+			fireStale();
+		}
+	}
+
+	@Override
+	public void handleChange(ChangeEvent event) {
+		makeDirty();
+	}
+
+	@Override
+	public int getPropagationDepth() {
+		return propagationDepth;
+	}
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Mutable (writable) implementation of {@link IObservableDoubleValue} that keeps
+ * its value unboxed and notifies its listeners when the value changes.
+ * <p>
+ * The values are compared like {@link Double#equals(Object)}, so that
+ * setting {@link Double#NaN} again does not notify the listeners.
+ * </p>
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ *
+ * @since 1.7
+ */
+public class WritableDoubleValue extends AbstractObservableDoubleValue {
+
+	private double value;
+
+	/**
+	 * Constructs a new instance with the default realm and a value of
+	 * <code>0</code>.
+	 */
+	public WritableDoubleValue() {
+		this(Realm.getDefault(), 0);
+	}
+
+	/**
+	 * Constructs a new instance with the default realm.
+	 *
+	 * @param initialValue
+	 */
+	public WritableDoubleValue(double initialValue) {
+		this(Realm.getDefault(), initialValue);
+	}
+
+	/**
+	 * Constructs a new instance with a value of <code>0</code>.
+	 *
+	 * @param realm
+	 */
+	public WritableDoubleValue(Realm realm) {
+		this(realm, 0);
+	}
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param realm
+	 * @param initialValue
+	 */
+	public WritableDoubleValue(Realm realm, double initialValue) {
+		super(realm);
+		this.value = initialValue;
+	}
+
+	@Override
+	protected double doGetDoubleValue() {
+		return value;
+	}
+
+	@Override
+	protected void doSetDoubleValue(double value) {
+		if (Double.doubleToLongBits(this.value) != Double.doubleToLongBits(value)) {
+			double oldValue = this.value;
+			this.value = value;
+			fireDoubleValueChange(oldValue, value);
+		}
+	}
+}
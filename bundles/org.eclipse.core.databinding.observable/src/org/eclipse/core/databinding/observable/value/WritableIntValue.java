@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.observable.value;
+
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Mutable (writable) implementation of {@link IObservableIntValue} that keeps
+ * its value unboxed and notifies its listeners when the value changes.
+ * <p>
+ * This class is thread safe. All state accessing methods must be invoked from
+ * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
+ * listeners may be invoked from any thread.
+ * </p>
+ *
+ * @since 1.7
+ */
+public class WritableIntValue extends AbstractObservableIntValue {
+
+	private int value;
+
+	/**
+	 * Constructs a new instance with the default realm and a value of
+	 * <code>0</code>.
+	 */
+	public WritableIntValue() {
+		this(Realm.getDefault(), 0);
+	}
+
+	/**
+	 * Constructs a new instance with the default realm.
+	 *
+	 * @param initialValue
+	 */
+	public WritableIntValue(int initialValue) {
+		this(Realm.getDefault(), initialValue);
+	}
+
+	/**
+	 * Constructs a new instance with a value of <code>0</code>.
+	 *
+	 * @param realm
+	 */
+	public WritableIntValue(Realm realm) {
+		this(realm, 0);
+	}
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param realm
+	 * @param initialValue
+	 */
+	public WritableIntValue(Realm realm, int initialValue) {
+		super(realm);
+		this.value = initialValue;
+	}
+
+	@Override
+	protected int doGetIntValue() {
+		return value;
+	}
+
+	@Override
+	protected void doSetIntValue(int value) {
+		if (this.value != value) {
+			int oldValue = this.value;
+			this.value = value;
+			fireIntValueChange(oldValue, value);
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Observables;
+import org.eclipse.core.databinding.observable.value.AbstractObservableDoubleValue;
+import org.eclipse.core.databinding.observable.value.IObservableDoubleValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+
+/**
+ * An {@link IObservableDoubleValue} backed by an observable value of
+ * {@link Double}s, see {@link Observables#doubleObservableValue(IObservableValue)}.
+ * A <code>null</code> value of the wrapped observable is read as
+ * <code>0</code>.
+ */
+public class DoubleValueAdapter extends AbstractObservableDoubleValue {
+
+	private final IObservableValue<Double> wrappedValue;
+
+	private final IValueChangeListener<Double> valueChangeListener = event -> fireDoubleValueChange(
+			unbox(event.diff.getOldValue()), unbox(event.diff.getNewValue()));
+
+	private final IStaleListener staleListener = event -> fireStale();
+
+	/**
+	 * @param wrappedValue
+	 *            the observable value to adapt
+	 */
+	public DoubleValueAdapter(IObservableValue<Double> wrappedValue) {
+		super(wrappedValue.getRealm());
+		this.wrappedValue = wrappedValue;
+	}
+
+	private static double unbox(Double value) {
+		return value == null ? 0 : value.doubleValue();
+	}
+
+	@Override
+	protected void firstListenerAdded() {
+		wrappedValue.addValueChangeListener(valueChangeListener);
+		wrappedValue.addStaleListener(staleListener);
+	}
+
+	@Override
+	protected void lastListenerRemoved() {
+		wrappedValue.removeValueChangeListener(valueChangeListener);
+		wrappedValue.removeStaleListener(staleListener);
+	}
+
+	@Override
+	protected double doGetDoubleValue() {
+		return unbox(wrappedValue.getValue());
+	}
+
+	@Override
+	protected void doSetDoubleValue(double value) {
+		wrappedValue.setValue(Double.valueOf(value));
+	}
+
+	@Override
+	public boolean isStale() {
+		ObservableTracker.getterCalled(this);
+		return wrappedValue.isStale();
+	}
+
+	@Override
+	public synchronized void dispose() {
+		if (!isDisposed() && hasListeners()) {
+			lastListenerRemoved();
+		}
+		super.dispose();
+	}
+}
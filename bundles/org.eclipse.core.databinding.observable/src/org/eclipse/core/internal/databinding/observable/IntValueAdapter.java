@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Observables;
+import org.eclipse.core.databinding.observable.value.AbstractObservableIntValue;
+import org.eclipse.core.databinding.observable.value.IObservableIntValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+
+/**
+ * An {@link IObservableIntValue} backed by an observable value of
+ * {@link Integer}s, see {@link Observables#intObservableValue(IObservableValue)}.
+ * A <code>null</code> value of the wrapped observable is read as
+ * <code>0</code>.
+ */
+public class IntValueAdapter extends AbstractObservableIntValue {
+
+	private final IObservableValue<Integer> wrappedValue;
+
+	private final IValueChangeListener<Integer> valueChangeListener = event -> fireIntValueChange(
+			unbox(event.diff.getOldValue()), unbox(event.diff.getNewValue()));
+
+	private final IStaleListener staleListener = event -> fireStale();
+
+	/**
+	 * @param wrappedValue
+	 *            the observable value to adapt
+	 */
+	public IntValueAdapter(IObservableValue<Integer> wrappedValue) {
+		super(wrappedValue.getRealm());
+		this.wrappedValue = wrappedValue;
+	}
+
+	private static int unbox(Integer value) {
+		return value == null ? 0 : value.intValue();
+	}
+
+	@Override
+	protected void firstListenerAdded() {
+		wrappedValue.addValueChangeListener(valueChangeListener);
+		wrappedValue.addStaleListener(staleListener);
+	}
+
+	@Override
+	protected void lastListenerRemoved() {
+		wrappedValue.removeValueChangeListener(valueChangeListener);
+		wrappedValue.removeStaleListener(staleListener);
+	}
+
+	@Override
+	protected int doGetIntValue() {
+		return unbox(wrappedValue.getValue());
+	}
+
+	@Override
+	protected void doSetIntValue(int value) {
+		wrappedValue.setValue(Integer.valueOf(value));
+	}
+
+	@Override
+	public boolean isStale() {
+		ObservableTracker.getterCalled(this);
+		return wrappedValue.isStale();
+	}
+
+	@Override
+	public synchronized void dispose() {
+		if (!isDisposed() && hasListeners()) {
+			lastListenerRemoved();
+		}
+		super.dispose();
+	}
+}
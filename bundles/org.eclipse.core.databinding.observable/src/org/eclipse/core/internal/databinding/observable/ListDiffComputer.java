@@ -0,0 +1,462 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+
+/**
+ * Computes the differences between two lists, as adapted from EMF's
+ * ListDifferenceAnalyzer.
+ * <p>
+ * The new list is walked from the front. Where the element of the old list
+ * at the current index differs from the one of the new list, the element of
+ * the old list is removed or moved behind the next occurrence of the new
+ * element, or the new element is moved to or added at the current index.
+ * </p>
+ * <p>
+ * The elements of the old list which are not at their final position yet
+ * are kept in an implicit treap, which moves and finds the position of an
+ * element in logarithmic time. The next occurrences of an element in both
+ * lists are found through hash maps, so the differences of lists of n
+ * elements are computed in O(n log&sup2;n) time rather than in quadratic
+ * time, with the same entries.
+ * </p>
+ *
+ * @param <E>
+ *            the list element type
+ */
+public class ListDiffComputer<E> {
+
+	/**
+	 * A node of the treap, holding an element of the old list.
+	 */
+	private static final class Node<E> {
+		final E value;
+
+		final int priority;
+
+		Node<E> left;
+
+		Node<E> right;
+
+		Node<E> parent;
+
+		int size = 1;
+
+		Node(E value, int priority) {
+			this.value = value;
+			this.priority = priority;
+		}
+	}
+
+	/**
+	 * The positions of an element in the new list.
+	 */
+	private static final class Positions {
+		int[] positions = new int[1];
+
+		int count;
+
+		/**
+		 * The first of the positions at or after the current index.
+		 */
+		int next;
+	}
+
+	private final List<? extends E> newList;
+
+	private final List<ListDiffEntry<E>> diffEntries;
+
+	/**
+	 * The root of the treap holding the elements of the old list from the
+	 * current index on, in their current order.
+	 */
+	private Node<E> root;
+
+	/**
+	 * The nodes of the treap by element, either a single node or a priority
+	 * queue of the nodes ordered by their position.
+	 */
+	private final Map<Object, Object> nodesByValue = new HashMap<>();
+
+	private final Map<Object, Positions> newPositions = new HashMap<>();
+
+	private Node<E> splitLeft;
+
+	private Node<E> splitRight;
+
+	private int seed = 0x2545F491;
+
+	private ListDiffComputer(List<? extends E> newList, List<ListDiffEntry<E>> diffEntries) {
+		this.newList = newList;
+		this.diffEntries = diffEntries;
+	}
+
+	/**
+	 * Adds the entries which transform the old list into the new list to the
+	 * given list.
+	 *
+	 * @param <E>
+	 *            the list element type
+	 * @param oldList
+	 *            the old list state
+	 * @param newList
+	 *            the new list state
+	 * @param diffEntries
+	 *            the list to add the entries to
+	 */
+	public static <E> void computeDiffEntries(List<? extends E> oldList, List<? extends E> newList,
+			List<ListDiffEntry<E>> diffEntries) {
+		int oldSize = oldList.size();
+		int newSize = newList.size();
+		int prefix = 0;
+		while (prefix < oldSize && prefix < newSize && Util.equals(oldList.get(prefix), newList.get(prefix))) {
+			prefix++;
+		}
+		if (prefix == oldSize) {
+			// elements were appended
+			for (int index = prefix; index < newSize; index++) {
+				diffEntries.add(Diffs.createListDiffEntry(index, true, newList.get(index)));
+			}
+			return;
+		}
+		if (prefix == newSize) {
+			// the list was truncated
+			for (int index = oldSize; index > prefix;) {
+				index--;
+				diffEntries.add(Diffs.createListDiffEntry(index, false, oldList.get(index)));
+			}
+			return;
+		}
+		new ListDiffComputer<E>(newList, diffEntries).compute(oldList, prefix);
+	}
+
+	private void compute(List<? extends E> oldList, int prefix) {
+		buildTreap(oldList, prefix);
+		int newSize = newList.size();
+		for (int index = prefix; index < newSize; index++) {
+			E newValue = newList.get(index);
+			Positions positions = newPositions.get(newValue);
+			if (positions == null) {
+				positions = new Positions();
+				newPositions.put(newValue, positions);
+			}
+			if (positions.count == positions.positions.length) {
+				int[] grown = new int[positions.count * 2];
+				System.arraycopy(positions.positions, 0, grown, 0, positions.count);
+				positions.positions = grown;
+			}
+			positions.positions[positions.count++] = index;
+		}
+
+		for (int index = prefix; index < newSize; index++) {
+			E newValue = newList.get(index);
+			if (root == null) {
+				// append newValue to newList
+				add(index, newValue);
+				continue;
+			}
+			while (true) {
+				Node<E> oldNode = first();
+				E oldValue = oldNode.value;
+				if (Util.equals(oldValue, newValue)) {
+					removeNode(oldNode);
+					break;
+				}
+				Node<E> newNode = firstNode(newValue);
+				if (newNode == null) {
+					// add newValue at list[index]
+					add(index, newValue);
+					break;
+				}
+				int oldIndexOfNewValue = index + position(newNode);
+				int newIndexOfOldValue = nextNewPosition(oldValue, index);
+				if (newIndexOfOldValue == -1) {
+					// removing oldValue from list[index]
+					remove(index, oldValue);
+					removeNode(oldNode);
+				} else if (newIndexOfOldValue > oldIndexOfNewValue) {
+					// moving oldValue from list[index] to [newIndexOfOldValue]
+					int size = index + root.size;
+					if (size <= newIndexOfOldValue) {
+						// The element cannot be moved to the correct index now,
+						// however later iterations will insert elements in front
+						// of it, eventually moving it into the correct spot.
+						newIndexOfOldValue = size - 1;
+					}
+					remove(index, oldValue);
+					removeNode(oldNode);
+					add(newIndexOfOldValue, oldValue);
+					insertNode(newIndexOfOldValue - index, oldNode);
+				} else {
+					// move newValue from list[oldIndexOfNewValue] to [index]
+					remove(oldIndexOfNewValue, newValue);
+					removeNode(newNode);
+					add(index, newValue);
+					break;
+				}
+			}
+		}
+
+		if (root != null) {
+			// remove excess trailing elements not present in newList
+			Object[] remaining = new Object[root.size];
+			collect(root, remaining, 0);
+			for (int i = remaining.length; i > 0;) {
+				i--;
+				@SuppressWarnings("unchecked")
+				E element = (E) remaining[i];
+				remove(newSize + i, element);
+			}
+		}
+	}
+
+	private void add(int position, E element) {
+		diffEntries.add(Diffs.createListDiffEntry(position, true, element));
+	}
+
+	private void remove(int position, E element) {
+		diffEntries.add(Diffs.createListDiffEntry(position, false, element));
+	}
+
+	/**
+	 * Returns the first position of the element in the new list at or after
+	 * the given index, or -1. The index may not decrease between calls.
+	 */
+	private int nextNewPosition(Object element, int index) {
+		Positions positions = newPositions.get(element);
+		if (positions == null) {
+			return -1;
+		}
+		while (positions.next < positions.count && positions.positions[positions.next] < index) {
+			positions.next++;
+		}
+		return positions.next < positions.count ? positions.positions[positions.next] : -1;
+	}
+
+	private int nextPriority() {
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+
+	/**
+	 * Builds the treap of the elements of the old list from the given index
+	 * on as a cartesian tree of their random priorities.
+	 */
+	private void buildTreap(List<? extends E> oldList, int from) {
+		@SuppressWarnings("unchecked")
+		Node<E>[] nodes = new Node[oldList.size() - from];
+		@SuppressWarnings("unchecked")
+		Node<E>[] stack = new Node[nodes.length];
+		int top = 0;
+		for (int i = 0; i < nodes.length; i++) {
+			Node<E> node = new Node<>(oldList.get(from + i), nextPriority());
+			nodes[i] = node;
+			Node<E> popped = null;
+			while (top > 0 && stack[top - 1].priority < node.priority) {
+				popped = stack[--top];
+			}
+			node.left = popped;
+			if (top > 0) {
+				stack[top - 1].right = node;
+			}
+			stack[top++] = node;
+		}
+		root = stack[0];
+		updateAll(root);
+		for (Node<E> node : nodes) {
+			addToValue(node);
+		}
+	}
+
+	private void updateAll(Node<E> node) {
+		if (node.left != null) {
+			updateAll(node.left);
+		}
+		if (node.right != null) {
+			updateAll(node.right);
+		}
+		update(node);
+	}
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static <E> void update(Node<E> node) {
+		node.size = 1 + size(node.left) + size(node.right);
+		if (node.left != null) {
+			node.left.parent = node;
+		}
+		if (node.right != null) {
+			node.right.parent = node;
+		}
+	}
+
+	private Node<E> merge(Node<E> a, Node<E> b) {
+		if (a == null) {
+			return b;
+		}
+		if (b == null) {
+			return a;
+		}
+		if (a.priority > b.priority) {
+			a.right = merge(a.right, b);
+			update(a);
+			return a;
+		}
+		b.left = merge(a, b.left);
+		update(b);
+		return b;
+	}
+
+	/**
+	 * Splits the tree into its first <code>count</code> nodes, stored in
+	 * <code>splitLeft</code>, and the other nodes, stored in
+	 * <code>splitRight</code>.
+	 */
+	private void split(Node<E> node, int count) {
+		if (node == null) {
+			splitLeft = null;
+			splitRight = null;
+			return;
+		}
+		if (size(node.left) >= count) {
+			split(node.left, count);
+			node.left = splitRight;
+			update(node);
+			splitRight = node;
+		} else {
+			split(node.right, count - size(node.left) - 1);
+			node.right = splitLeft;
+			update(node);
+			splitLeft = node;
+		}
+	}
+
+	private Node<E> first() {
+		Node<E> node = root;
+		while (node.left != null) {
+			node = node.left;
+		}
+		return node;
+	}
+
+	/**
+	 * Returns the position of the node in the treap.
+	 */
+	private static int position(Node<?> node) {
+		int position = size(node.left);
+		for (Node<?> child = node, parent = node.parent; parent != null; child = parent, parent = parent.parent) {
+			if (parent.right == child) {
+				position += size(parent.left) + 1;
+			}
+		}
+		return position;
+	}
+
+	private void insertNode(int position, Node<E> node) {
+		node.left = null;
+		node.right = null;
+		node.parent = null;
+		node.size = 1;
+		split(root, position);
+		Node<E> right = splitRight;
+		root = merge(merge(splitLeft, node), right);
+		root.parent = null;
+		splitLeft = null;
+		splitRight = null;
+		addToValue(node);
+	}
+
+	/**
+	 * Removes the node, which must be the first node of its value, from the
+	 * treap.
+	 */
+	private void removeNode(Node<E> node) {
+		removeFromValue(node);
+		Node<E> merged = merge(node.left, node.right);
+		Node<E> parent = node.parent;
+		if (parent == null) {
+			root = merged;
+		} else if (parent.left == node) {
+			parent.left = merged;
+		} else {
+			parent.right = merged;
+		}
+		if (merged != null) {
+			merged.parent = parent;
+		}
+		for (Node<E> ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+			ancestor.size--;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Node<E> firstNode(Object value) {
+		Object nodes = nodesByValue.get(value);
+		if (nodes instanceof PriorityQueue) {
+			return ((PriorityQueue<Node<E>>) nodes).peek();
+		}
+		return (Node<E>) nodes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addToValue(Node<E> node) {
+		Object nodes = nodesByValue.get(node.value);
+		if (nodes == null) {
+			nodesByValue.put(node.value, node);
+		} else if (nodes instanceof PriorityQueue) {
+			((PriorityQueue<Node<E>>) nodes).add(node);
+		} else {
+			// the relative order of the nodes does not change while they are
+			// in the treap
+			PriorityQueue<Node<E>> queue = new PriorityQueue<>(
+					(node1, node2) -> Integer.compare(position(node1), position(node2)));
+			queue.add((Node<E>) nodes);
+			queue.add(node);
+			nodesByValue.put(node.value, queue);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void removeFromValue(Node<E> node) {
+		Object nodes = nodesByValue.get(node.value);
+		if (nodes instanceof PriorityQueue) {
+			((PriorityQueue<Node<E>>) nodes).poll();
+		} else {
+			nodesByValue.remove(node.value);
+		}
+	}
+
+	private static int collect(Node<?> node, Object[] elements, int index) {
+		if (node.left != null) {
+			index = collect(node.left, elements, index);
+		}
+		elements[index++] = node.value;
+		if (node.right != null) {
+			index = collect(node.right, elements, index);
+		}
+		return index;
+	}
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Observables;
+import org.eclipse.core.databinding.observable.value.AbstractObservableLongValue;
+import org.eclipse.core.databinding.observable.value.IObservableLongValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+
+/**
+ * An {@link IObservableLongValue} backed by an observable value of
+ * {@link Long}s, see {@link Observables#longObservableValue(IObservableValue)}.
+ * A <code>null</code> value of the wrapped observable is read as
+ * <code>0</code>.
+ */
+public class LongValueAdapter extends AbstractObservableLongValue {
+
+	private final IObservableValue<Long> wrappedValue;
+
+	private final IValueChangeListener<Long> valueChangeListener = event -> fireLongValueChange(
+			unbox(event.diff.getOldValue()), unbox(event.diff.getNewValue()));
+
+	private final IStaleListener staleListener = event -> fireStale();
+
+	/**
+	 * @param wrappedValue
+	 *            the observable value to adapt
+	 */
+	public LongValueAdapter(IObservableValue<Long> wrappedValue) {
+		super(wrappedValue.getRealm());
+		this.wrappedValue = wrappedValue;
+	}
+
+	private static long unbox(Long value) {
+		return value == null ? 0 : value.longValue();
+	}
+
+	@Override
+	protected void firstListenerAdded() {
+		wrappedValue.addValueChangeListener(valueChangeListener);
+		wrappedValue.addStaleListener(staleListener);
+	}
+
+	@Override
+	protected void lastListenerRemoved() {
+		wrappedValue.removeValueChangeListener(valueChangeListener);
+		wrappedValue.removeStaleListener(staleListener);
+	}
+
+	@Override
+	protected long doGetLongValue() {
+		return unbox(wrappedValue.getValue());
+	}
+
+	@Override
+	protected void doSetLongValue(long value) {
+		wrappedValue.setValue(Long.valueOf(value));
+	}
+
+	@Override
+	public boolean isStale() {
+		ObservableTracker.getterCalled(this);
+		return wrappedValue.isStale();
+	}
+
+	@Override
+	public synchronized void dispose() {
+		if (!isDisposed() && hasListeners()) {
+			lastListenerRemoved();
+		}
+		super.dispose();
+	}
+}
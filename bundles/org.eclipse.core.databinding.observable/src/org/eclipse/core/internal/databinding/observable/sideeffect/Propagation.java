@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.databinding.observable.sideeffect;
+
+import java.util.PriorityQueue;
+
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.sideeffect.IPropagationNode;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
+
+/**
+ * The propagation waves of a thread, see {@link PropagationScheduler}.
+ * <p>
+ * A wave is only started by {@link #run(Runnable)}. Observables join the wave
+ * in progress in their thread while they notify their listeners, and the
+ * notifications deferred during the wave are run when the wave ends.
+ * </p>
+ */
+public final class Propagation {
+
+	private static final ThreadLocal<Propagation> current = ThreadLocal.withInitial(Propagation::new);
+
+	/**
+	 * A notification deferred to the end of the wave.
+	 */
+	private static final class Deferred implements Comparable<Deferred> {
+		final int depth;
+
+		final long sequence;
+
+		final Runnable runnable;
+
+		Deferred(int depth, long sequence, Runnable runnable) {
+			this.depth = depth;
+			this.sequence = sequence;
+			this.runnable = runnable;
+		}
+
+		@Override
+		public int compareTo(Deferred other) {
+			if (depth != other.depth) {
+				return depth < other.depth ? -1 : 1;
+			}
+			return Long.compare(sequence, other.sequence);
+		}
+	}
+
+	/**
+	 * The number of nested observables notifying their listeners, 0 if no
+	 * wave is in progress.
+	 */
+	private int nesting;
+
+	private long sequence;
+
+	private final PriorityQueue<Deferred> deferred = new PriorityQueue<>();
+
+	private Propagation() {
+	}
+
+	/**
+	 * @return whether a wave is in progress in the current thread
+	 */
+	public static boolean isPropagating() {
+		return current.get().nesting > 0;
+	}
+
+	/**
+	 * Joins the wave in progress in the current thread. Each call returning a
+	 * propagation must be followed by a call to {@link #exit()} on it.
+	 *
+	 * @return the propagation of the current thread, or <code>null</code> if
+	 *         no wave is in progress
+	 */
+	public static Propagation join() {
+		Propagation propagation = current.get();
+		if (propagation.nesting == 0) {
+			return null;
+		}
+		propagation.nesting++;
+		return propagation;
+	}
+
+	/**
+	 * Leaves the wave, running the deferred notifications if it ends.
+	 */
+	public void exit() {
+		try {
+			if (nesting == 1 && !deferred.isEmpty()) {
+				flush();
+			}
+		} finally {
+			nesting--;
+		}
+	}
+
+	private void flush() {
+		try {
+			Deferred next;
+			while ((next = deferred.poll()) != null) {
+				next.runnable.run();
+			}
+		} finally {
+			if (!deferred.isEmpty()) {
+				// a listener threw an exception, notify the others anyway
+				flush();
+			}
+		}
+	}
+
+	/**
+	 * Defers the runnable to the end of the wave in progress.
+	 *
+	 * @param depth
+	 *            the depth of the node notifying its listeners
+	 * @param runnable
+	 *            the notification
+	 */
+	public void defer(int depth, Runnable runnable) {
+		deferred.add(new Deferred(depth, sequence++, runnable));
+	}
+
+	/**
+	 * Runs the runnable when the wave in progress ends, or now if no wave is
+	 * in progress.
+	 *
+	 * @param depth
+	 *            the depth of the node the runnable updates
+	 * @param runnable
+	 *            the runnable to run
+	 */
+	public static void runAfterPropagation(int depth, Runnable runnable) {
+		Propagation propagation = current.get();
+		if (propagation.nesting == 0) {
+			runnable.run();
+		} else {
+			propagation.defer(depth, runnable);
+		}
+	}
+
+	/**
+	 * Runs the runnable within a single wave, started now unless a wave is
+	 * already in progress in the current thread.
+	 *
+	 * @param runnable
+	 *            the runnable to run
+	 */
+	public static void run(Runnable runnable) {
+		Propagation propagation = current.get();
+		propagation.nesting++;
+		try {
+			runnable.run();
+		} finally {
+			propagation.exit();
+		}
+	}
+
+	/**
+	 * @param dependencies
+	 *            the observables a node was computed from
+	 * @return the depth of the node
+	 */
+	public static int getDepth(IObservable[] dependencies) {
+		int depth = 0;
+		if (dependencies != null) {
+			for (IObservable dependency : dependencies) {
+				if (dependency instanceof IPropagationNode) {
+					depth = Math.max(depth, ((IPropagationNode) dependency).getPropagationDepth());
+				}
+			}
+		}
+		return depth + 1;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Google, Inc. and others.
+ * Copyright (c) 2015, 2018 Google, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,7 +14,9 @@
 package org.eclipse.core.internal.databinding.observable.sideeffect;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -23,7 +25,9 @@ import org.eclipse.core.databinding.observable.IChangeListener;
 import org.eclipse.core.databinding.observable.IObservable;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.sideeffect.IPropagationNode;
 import org.eclipse.core.databinding.observable.sideeffect.ISideEffect;
+import org.eclipse.core.internal.databinding.identity.IdentitySet;
 import org.eclipse.core.runtime.Assert;
 
 /**
@@ -94,6 +98,14 @@ public final class SideEffect implements ISideEffect {
 	 * Dependencies which we are currently listening for change events from
 	 */
 	private IObservable[] dependencies;
+	/**
+	 * True while {@link #runnable} is executed by {@link #update()}
+	 */
+	private boolean running;
+	/**
+	 * The propagation depth of the side-effect, see {@link IPropagationNode}
+	 */
+	private int propagationDepth = 1;
 	private Realm realm;
 
 	private PrivateInterface privateInterface = new PrivateInterface();
@@ -148,6 +160,7 @@ public final class SideEffect implements ISideEffect {
 		for (IObservable next : dependencies) {
 			next.addChangeListener(privateInterface);
 		}
+		this.propagationDepth = Propagation.getDepth(dependencies);
 	}
 
 	@Override
@@ -184,19 +197,23 @@ public final class SideEffect implements ISideEffect {
 	private void update() {
 		if (dirty && pauseDepth <= 0) {
 			dirty = false;
-			// Hold a reference to the old dependencies to prevent them from
-			// being garbage collected until we've computed the new set. In the
-			// event that a dependency is lazily created, this prevents it from
-			// being destroyed and immediately recreated.
-
-			// Stop listening for dependency changes.
-			stopListening();
+			// Keep listening to the old dependencies while the runnable runs,
+			// so that the listeners only need to be moved from the
+			// dependencies that are not read anymore to the new ones. Changes
+			// made while running are ignored as if we had stopped listening.
+			IObservable[] oldDependencies = dependencies;
 
 			// This line will do the following:
 			// - Run the calculate method
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
-			IObservable[] newDependencies = ObservableTracker.runAndMonitor(runnable, null, null);
+			IObservable[] newDependencies;
+			running = true;
+			try {
+				newDependencies = ObservableTracker.runAndMonitor(runnable, oldDependencies);
+			} finally {
+				running = false;
+			}
 
 			// If the side-effect disposed itself, exit without attaching any
 			// listeners.
@@ -204,12 +221,40 @@ public final class SideEffect implements ISideEffect {
 				return;
 			}
 
+			// The dependencies are unchanged if the runnable did not stop
+			// listening to them and read the same observables
+			if (newDependencies != dependencies) {
+				updateListeners(newDependencies);
+			}
+			propagationDepth = Propagation.getDepth(newDependencies);
+		}
+	}
+
+	/**
+	 * Removes the listener from the current dependencies that are not among
+	 * the new ones, and adds it to the new dependencies that are not among the
+	 * current ones.
+	 */
+	private void updateListeners(IObservable[] newDependencies) {
+		if (dependencies == null || dependencies.length == 0) {
 			for (IObservable next : newDependencies) {
 				next.addChangeListener(privateInterface);
 			}
-
-			dependencies = newDependencies;
+		} else {
+			Set<IObservable> oldSet = new IdentitySet<>(Arrays.asList(dependencies));
+			Set<IObservable> newSet = new IdentitySet<>(Arrays.asList(newDependencies));
+			for (IObservable next : dependencies) {
+				if (!newSet.contains(next)) {
+					next.removeChangeListener(privateInterface);
+				}
+			}
+			for (IObservable next : newDependencies) {
+				if (!oldSet.contains(next)) {
+					next.addChangeListener(privateInterface);
+				}
+			}
 		}
+		dependencies = newDependencies;
 	}
 
 	@Override
@@ -302,7 +347,9 @@ public final class SideEffect implements ISideEffect {
 		}
 
 		this.asyncScheduled = true;
-		realm.asyncExec(privateInterface);
+		// The side-effects made dirty by a propagation wave are scheduled in
+		// the order of their depth when the wave ends
+		Propagation.runAfterPropagation(propagationDepth, () -> realm.asyncExec(privateInterface));
 	}
 
 	private void checkRealm() {
@@ -334,10 +381,12 @@ public final class SideEffect implements ISideEffect {
 		};
 	}
 
-	private class PrivateInterface implements IChangeListener, Runnable {
+	private class PrivateInterface implements IChangeListener, Runnable, IPropagationNode {
 		@Override
 		public void handleChange(ChangeEvent event) {
-			markDirtyInternal();
+			if (!running) {
+				markDirtyInternal();
+			}
 		}
 
 		@Override
@@ -348,5 +397,10 @@ public final class SideEffect implements ISideEffect {
 			asyncScheduled = false;
 			update();
 		}
+
+		@Override
+		public int getPropagationDepth() {
+			return propagationDepth;
+		}
 	}
 }
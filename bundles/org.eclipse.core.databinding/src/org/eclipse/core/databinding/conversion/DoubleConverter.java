@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.conversion;
+
+import java.util.function.DoubleFunction;
+
+import org.eclipse.core.databinding.observable.value.IObservableDoubleValue;
+
+import com.ibm.icu.text.NumberFormat;
+
+/**
+ * Abstract base class for converters of <code>double</code> values, which convert
+ * the values of an {@link IObservableDoubleValue} without boxing them with
+ * {@link #convertDouble(double)}.
+ * <p>
+ * As an {@link IConverter}, the converter converts {@link Double}s, which must
+ * not be <code>null</code>.
+ * </p>
+ *
+ * @param <T>
+ *            type of the converted value
+ *
+ * @since 1.7
+ */
+public abstract class DoubleConverter<T> extends Converter<Double, T> {
+
+	/**
+	 * @param toType
+	 *            the type to which this converter converts
+	 */
+	public DoubleConverter(Object toType) {
+		super(Double.TYPE, toType);
+	}
+
+	/**
+	 * Returns the result of the conversion of the given value.
+	 *
+	 * @param value
+	 *            the value to convert
+	 * @return the converted value, of type {@link #getToType()}
+	 */
+	public abstract T convertDouble(double value);
+
+	@Override
+	public T convert(Double fromObject) {
+		return convertDouble(fromObject.doubleValue());
+	}
+
+	/**
+	 * Creates a converter of <code>double</code> values.
+	 *
+	 * @param toType
+	 *            the to type
+	 * @param conversion
+	 *            the conversion method
+	 * @return a new converter instance
+	 */
+	public static <T> DoubleConverter<T> create(Object toType, DoubleFunction<T> conversion) {
+		return new DoubleConverter<T>(toType) {
+			@Override
+			public T convertDouble(double value) {
+				return conversion.apply(value);
+			}
+		};
+	}
+
+	/**
+	 * Returns a converter which formats the values with the
+	 * number format of the default locale.
+	 *
+	 * @return a converter to {@link String}s
+	 */
+	public static DoubleConverter<String> toStringConverter() {
+		return toStringConverter(NumberFormat.getNumberInstance());
+	}
+
+	/**
+	 * Returns a converter which formats the values with the given format.
+	 * The converter is thread safe.
+	 *
+	 * @param numberFormat
+	 *            the format of the values
+	 * @return a converter to {@link String}s
+	 */
+	public static DoubleConverter<String> toStringConverter(NumberFormat numberFormat) {
+		return new DoubleConverter<String>(String.class) {
+			@Override
+			public String convertDouble(double value) {
+				synchronized (numberFormat) {
+					return numberFormat.format(value);
+				}
+			}
+		};
+	}
+}
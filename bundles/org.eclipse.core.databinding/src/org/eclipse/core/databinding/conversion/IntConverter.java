@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.conversion;
+
+import java.util.function.IntFunction;
+
+import org.eclipse.core.databinding.observable.value.IObservableIntValue;
+
+import com.ibm.icu.text.NumberFormat;
+
+/**
+ * Abstract base class for converters of <code>int</code> values, which convert
+ * the values of an {@link IObservableIntValue} without boxing them with
+ * {@link #convertInt(int)}.
+ * <p>
+ * As an {@link IConverter}, the converter converts {@link Integer}s, which must
+ * not be <code>null</code>.
+ * </p>
+ *
+ * @param <T>
+ *            type of the converted value
+ *
+ * @since 1.7
+ */
+public abstract class IntConverter<T> extends Converter<Integer, T> {
+
+	/**
+	 * @param toType
+	 *            the type to which this converter converts
+	 */
+	public IntConverter(Object toType) {
+		super(Integer.TYPE, toType);
+	}
+
+	/**
+	 * Returns the result of the conversion of the given value.
+	 *
+	 * @param value
+	 *            the value to convert
+	 * @return the converted value, of type {@link #getToType()}
+	 */
+	public abstract T convertInt(int value);
+
+	@Override
+	public T convert(Integer fromObject) {
+		return convertInt(fromObject.intValue());
+	}
+
+	/**
+	 * Creates a converter of <code>int</code> values.
+	 *
+	 * @param toType
+	 *            the to type
+	 * @param conversion
+	 *            the conversion method
+	 * @return a new converter instance
+	 */
+	public static <T> IntConverter<T> create(Object toType, IntFunction<T> conversion) {
+		return new IntConverter<T>(toType) {
+			@Override
+			public T convertInt(int value) {
+				return conversion.apply(value);
+			}
+		};
+	}
+
+	/**
+	 * Returns a converter which formats the values with the
+	 * integer format of the default locale.
+	 *
+	 * @return a converter to {@link String}s
+	 */
+	public static IntConverter<String> toStringConverter() {
+		return toStringConverter(NumberFormat.getIntegerInstance());
+	}
+
+	/**
+	 * Returns a converter which formats the values with the given format.
+	 * The converter is thread safe.
+	 *
+	 * @param numberFormat
+	 *            the format of the values
+	 * @return a converter to {@link String}s
+	 */
+	public static IntConverter<String> toStringConverter(NumberFormat numberFormat) {
+		return new IntConverter<String>(String.class) {
+			@Override
+			public String convertInt(int value) {
+				synchronized (numberFormat) {
+					return numberFormat.format(value);
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.conversion;
+
+import java.util.function.LongFunction;
+
+import org.eclipse.core.databinding.observable.value.IObservableLongValue;
+
+import com.ibm.icu.text.NumberFormat;
+
+/**
+ * Abstract base class for converters of <code>long</code> values, which convert
+ * the values of an {@link IObservableLongValue} without boxing them with
+ * {@link #convertLong(long)}.
+ * <p>
+ * As an {@link IConverter}, the converter converts {@link Long}s, which must
+ * not be <code>null</code>.
+ * </p>
+ *
+ * @param <T>
+ *            type of the converted value
+ *
+ * @since 1.7
+ */
+public abstract class LongConverter<T> extends Converter<Long, T> {
+
+	/**
+	 * @param toType
+	 *            the type to which this converter converts
+	 */
+	public LongConverter(Object toType) {
+		super(Long.TYPE, toType);
+	}
+
+	/**
+	 * Returns the result of the conversion of the given value.
+	 *
+	 * @param value
+	 *            the value to convert
+	 * @return the converted value, of type {@link #getToType()}
+	 */
+	public abstract T convertLong(long value);
+
+	@Override
+	public T convert(Long fromObject) {
+		return convertLong(fromObject.longValue());
+	}
+
+	/**
+	 * Creates a converter of <code>long</code> values.
+	 *
+	 * @param toType
+	 *            the to type
+	 * @param conversion
+	 *            the conversion method
+	 * @return a new converter instance
+	 */
+	public static <T> LongConverter<T> create(Object toType, LongFunction<T> conversion) {
+		return new LongConverter<T>(toType) {
+			@Override
+			public T convertLong(long value) {
+				return conversion.apply(value);
+			}
+		};
+	}
+
+	/**
+	 * Returns a converter which formats the values with the
+	 * integer format of the default locale.
+	 *
+	 * @return a converter to {@link String}s
+	 */
+	public static LongConverter<String> toStringConverter() {
+		return toStringConverter(NumberFormat.getIntegerInstance());
+	}
+
+	/**
+	 * Returns a converter which formats the values with the given format.
+	 * The converter is thread safe.
+	 *
+	 * @param numberFormat
+	 *            the format of the values
+	 * @return a converter to {@link String}s
+	 */
+	public static LongConverter<String> toStringConverter(NumberFormat numberFormat) {
+		return new LongConverter<String>(String.class) {
+			@Override
+			public String convertLong(long value) {
+				synchronized (numberFormat) {
+					return numberFormat.format(value);
+				}
+			}
+		};
+	}
+}
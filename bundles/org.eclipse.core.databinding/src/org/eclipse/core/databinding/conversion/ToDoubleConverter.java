@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.conversion;
+
+import java.util.function.ToDoubleFunction;
+
+import org.eclipse.core.databinding.observable.value.IObservableDoubleValue;
+
+/**
+ * Abstract base class for converters to <code>double</code> values, which set
+ * the value of an {@link IObservableDoubleValue} without boxing it with
+ * {@link #convertToDouble(Object)}.
+ * <p>
+ * As an {@link IConverter}, the converter returns the boxed value.
+ * </p>
+ *
+ * @param <F>
+ *            type of the source value
+ *
+ * @since 1.7
+ */
+public abstract class ToDoubleConverter<F> extends Converter<F, Double> {
+
+	/**
+	 * @param fromType
+	 *            the type whose instances this converter converts
+	 */
+	public ToDoubleConverter(Object fromType) {
+		super(fromType, Double.TYPE);
+	}
+
+	/**
+	 * Returns the result of the conversion of the given object.
+	 *
+	 * @param fromObject
+	 *            the object to convert, of type {@link #getFromType()}
+	 * @return the converted value
+	 */
+	public abstract double convertToDouble(F fromObject);
+
+	@Override
+	public Double convert(F fromObject) {
+		return Double.valueOf(convertToDouble(fromObject));
+	}
+
+	/**
+	 * Creates a converter to <code>double</code> values.
+	 *
+	 * @param fromType
+	 *            the from type
+	 * @param conversion
+	 *            the conversion method
+	 * @return a new converter instance
+	 */
+	public static <F> ToDoubleConverter<F> create(Object fromType, ToDoubleFunction<F> conversion) {
+		return new ToDoubleConverter<F>(fromType) {
+			@Override
+			public double convertToDouble(F fromObject) {
+				return conversion.applyAsDouble(fromObject);
+			}
+		};
+	}
+}
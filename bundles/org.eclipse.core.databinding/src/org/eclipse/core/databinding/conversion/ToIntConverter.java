@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.conversion;
+
+import java.util.function.ToIntFunction;
+
+import org.eclipse.core.databinding.observable.value.IObservableIntValue;
+
+/**
+ * Abstract base class for converters to <code>int</code> values, which set
+ * the value of an {@link IObservableIntValue} without boxing it with
+ * {@link #convertToInt(Object)}.
+ * <p>
+ * As an {@link IConverter}, the converter returns the boxed value.
+ * </p>
+ *
+ * @param <F>
+ *            type of the source value
+ *
+ * @since 1.7
+ */
+public abstract class ToIntConverter<F> extends Converter<F, Integer> {
+
+	/**
+	 * @param fromType
+	 *            the type whose instances this converter converts
+	 */
+	public ToIntConverter(Object fromType) {
+		super(fromType, Integer.TYPE);
+	}
+
+	/**
+	 * Returns the result of the conversion of the given object.
+	 *
+	 * @param fromObject
+	 *            the object to convert, of type {@link #getFromType()}
+	 * @return the converted value
+	 */
+	public abstract int convertToInt(F fromObject);
+
+	@Override
+	public Integer convert(F fromObject) {
+		return Integer.valueOf(convertToInt(fromObject));
+	}
+
+	/**
+	 * Creates a converter to <code>int</code> values.
+	 *
+	 * @param fromType
+	 *            the from type
+	 * @param conversion
+	 *            the conversion method
+	 * @return a new converter instance
+	 */
+	public static <F> ToIntConverter<F> create(Object fromType, ToIntFunction<F> conversion) {
+		return new ToIntConverter<F>(fromType) {
+			@Override
+			public int convertToInt(F fromObject) {
+				return conversion.applyAsInt(fromObject);
+			}
+		};
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.databinding.conversion;
+
+import java.util.function.ToLongFunction;
+
+import org.eclipse.core.databinding.observable.value.IObservableLongValue;
+
+/**
+ * Abstract base class for converters to <code>long</code> values, which set
+ * the value of an {@link IObservableLongValue} without boxing it with
+ * {@link #convertToLong(Object)}.
+ * <p>
+ * As an {@link IConverter}, the converter returns the boxed value.
+ * </p>
+ *
+ * @param <F>
+ *            type of the source value
+ *
+ * @since 1.7
+ */
+public abstract class ToLongConverter<F> extends Converter<F, Long> {
+
+	/**
+	 * @param fromType
+	 *            the type whose instances this converter converts
+	 */
+	public ToLongConverter(Object fromType) {
+		super(fromType, Long.TYPE);
+	}
+
+	/**
+	 * Returns the result of the conversion of the given object.
+	 *
+	 * @param fromObject
+	 *            the object to convert, of type {@link #getFromType()}
+	 * @return the converted value
+	 */
+	public abstract long convertToLong(F fromObject);
+
+	@Override
+	public Long convert(F fromObject) {
+		return Long.valueOf(convertToLong(fromObject));
+	}
+
+	/**
+	 * Creates a converter to <code>long</code> values.
+	 *
+	 * @param fromType
+	 *            the from type
+	 * @param conversion
+	 *            the conversion method
+	 * @return a new converter instance
+	 */
+	public static <F> ToLongConverter<F> create(Object fromType, ToLongFunction<F> conversion) {
+		return new ToLongConverter<F>(fromType) {
+			@Override
+			public long convertToLong(F fromObject) {
+				return conversion.applyAsLong(fromObject);
+			}
+		};
+	}
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.emf.internal.xpath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Direct evaluation of the xpaths selecting descendants by attribute values,
+ * like <code>//*[@elementId='id']</code>,
+ * <code>//children[@elementId='a' or @elementId='b']</code> or
+ * <code>//*[tags='tag']</code>. Such queries are answered by walking the
+ * containment tree of the context object instead of going through the JXPath
+ * pointers, and each matching object is returned once, in containment order.
+ * The literals are converted to the data types of the attributes, so that the
+ * values of an attribute of type <code>int</code>, <code>boolean</code> or of
+ * an enumeration are compared with the value of the literal.
+ */
+final class DescendantQuery {
+
+	private static final Pattern STEP = Pattern.compile("\\s*//\\s*(\\*|[A-Za-z_][A-Za-z0-9_]*)\\s*\\[");
+
+	private static final Pattern PREDICATE = Pattern
+			.compile("\\s*@?([A-Za-z_][A-Za-z0-9_]*)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")\\s*");
+
+	private static final Pattern OPERATOR = Pattern.compile("(or|and)\\s");
+
+	private static final Pattern END = Pattern.compile("\\]\\s*");
+
+	/**
+	 * The value of a literal which can not be converted to the data type of an
+	 * attribute, and so is equal to none of its values.
+	 */
+	private static final Object NO_VALUE = new Object();
+
+	/**
+	 * The comparison of an attribute with a literal.
+	 */
+	private static final class Predicate {
+		final String feature;
+
+		final String literal;
+
+		/**
+		 * The literal converted to the data types of the attributes named
+		 * <code>feature</code>. The queries are shared by all threads.
+		 */
+		private final Map<EDataType, Object> values = new ConcurrentHashMap<>();
+
+		Predicate(String feature, String literal) {
+			this.feature = feature;
+			this.literal = literal;
+		}
+
+		Object getValue(EDataType type) {
+			if (type.getInstanceClass() == String.class) {
+				return literal;
+			}
+			Object value = values.get(type);
+			if (value == null) {
+				try {
+					value = EcoreUtil.createFromString(type, literal);
+				} catch (RuntimeException e) {
+					value = null;
+				}
+				if (value == null) {
+					value = NO_VALUE;
+				}
+				values.put(type, value);
+			}
+			return value;
+		}
+	}
+
+	private final String name;
+	private final Predicate[] predicates;
+	private final boolean conjunction;
+
+	private DescendantQuery(String name, Predicate[] predicates, boolean conjunction) {
+		this.name = name;
+		this.predicates = predicates;
+		this.conjunction = conjunction;
+	}
+
+	/**
+	 * Parse the xpath.
+	 *
+	 * @return the query or <code>null</code> if the xpath can not be evaluated
+	 *         directly
+	 */
+	static DescendantQuery parse(String xpath) {
+		Matcher matcher = STEP.matcher(xpath);
+		if (!matcher.lookingAt()) {
+			return null;
+		}
+		String name = "*".equals(matcher.group(1)) ? null : matcher.group(1);
+		List<Predicate> predicates = new ArrayList<>();
+		String operator = null;
+		int position = matcher.end();
+		while (true) {
+			matcher = PREDICATE.matcher(xpath).region(position, xpath.length());
+			if (!matcher.lookingAt()) {
+				return null;
+			}
+			predicates.add(new Predicate(matcher.group(1),
+					matcher.group(2) != null ? matcher.group(2) : matcher.group(3)));
+			position = matcher.end();
+
+			matcher = END.matcher(xpath).region(position, xpath.length());
+			if (matcher.matches()) {
+				break;
+			}
+			matcher = OPERATOR.matcher(xpath).region(position, xpath.length());
+			if (!matcher.lookingAt() || (operator != null && !operator.equals(matcher.group(1)))) {
+				// mixed operators are left to JXPath
+				return null;
+			}
+			operator = matcher.group(1);
+			position = matcher.end();
+		}
+		return new DescendantQuery(name, predicates.toArray(new Predicate[0]), "and".equals(operator));
+	}
+
+	/**
+	 * Return the descendants of the root matching the query, computed while
+	 * iterating.
+	 */
+	Iterator<EObject> iterate(EObject root) {
+		final Iterator<EObject> contents = root.eAllContents();
+		return new Iterator<EObject>() {
+			private EObject next;
+
+			@Override
+			public boolean hasNext() {
+				while (next == null && contents.hasNext()) {
+					EObject candidate = contents.next();
+					if (matches(candidate)) {
+						next = candidate;
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public EObject next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				EObject result = next;
+				next = null;
+				return result;
+			}
+		};
+	}
+
+	private boolean matches(EObject eObject) {
+		if (name != null && !name.equals(eObject.eContainmentFeature().getName())) {
+			return false;
+		}
+		for (Predicate predicate : predicates) {
+			boolean match = matches(eObject, predicate);
+			if (match != conjunction) {
+				return match;
+			}
+		}
+		return conjunction;
+	}
+
+	private static boolean matches(EObject eObject, Predicate predicate) {
+		EStructuralFeature feature = eObject.eClass().getEStructuralFeature(predicate.feature);
+		if (!(feature instanceof EAttribute)) {
+			return false;
+		}
+		Object value = predicate.getValue(((EAttribute) feature).getEAttributeType());
+		if (value == NO_VALUE) {
+			return false;
+		}
+		Object featureValue = eObject.eGet(feature);
+		if (feature.isMany()) {
+			return ((Collection<?>) featureValue).contains(value);
+		}
+		return value.equals(featureValue);
+	}
+}
@@ -30,11 +30,14 @@
 package org.eclipse.e4.emf.internal.xpath;
 
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.jxpath.ri.QName;
 import org.apache.commons.jxpath.ri.model.NodePointer;
 import org.apache.commons.jxpath.ri.model.NodePointerFactory;
 import org.eclipse.e4.emf.internal.xpath.helper.JXPathEObjectInfo;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 
 /**
@@ -46,6 +49,8 @@ public class EObjectPointerFactory implements NodePointerFactory {
     /** factory order constant */
     public static final int BEAN_POINTER_FACTORY_ORDER = 900;
 
+    private static final Map<EClass, JXPathEObjectInfo> beanInfos = new ConcurrentHashMap<>();
+
     @Override
 	public int getOrder() {
         return BEAN_POINTER_FACTORY_ORDER;
@@ -53,8 +58,7 @@ public class EObjectPointerFactory implements NodePointerFactory {
 
     @Override
 	public NodePointer createNodePointer(QName name, Object bean, Locale locale) {
-        JXPathEObjectInfo bi = new JXPathEObjectInfo(((EObject)bean).eClass());
-        return new EObjectPointer(name, bean, bi, locale);
+        return new EObjectPointer(name, bean, getBeanInfo((EObject) bean), locale);
     }
 
     @Override
@@ -64,7 +68,14 @@ public class EObjectPointerFactory implements NodePointerFactory {
             return new NullPointer(parent, name);
         }
 
-        JXPathEObjectInfo bi = new JXPathEObjectInfo(((EObject)bean).eClass());
-        return new EObjectPointer(parent, name, bean, bi);
+        return new EObjectPointer(parent, name, bean, getBeanInfo((EObject) bean));
+    }
+
+    /**
+     * The infos are shared by all pointers to objects of the same class, so
+     * that the features of a class are only collected once.
+     */
+    private static JXPathEObjectInfo getBeanInfo(EObject bean) {
+        return beanInfos.computeIfAbsent(bean.eClass(), JXPathEObjectInfo::new);
     }
 }
@@ -15,6 +15,7 @@ package org.eclipse.e4.emf.internal.xpath;
 
 import org.eclipse.e4.emf.xpath.XPathContext;
 import org.eclipse.e4.emf.xpath.XPathContextFactory;
+import org.eclipse.e4.emf.xpath.XPathQuery;
 
 
 /**
@@ -35,4 +36,9 @@ public class JXPathContextFactoryImpl<Type> extends XPathContextFactory<Type> {
 		return new JXPathContextImpl(contextBean);
 	}
 
+	@Override
+	public XPathQuery compile(String xpath) {
+		return JXPathQueryImpl.compile(xpath);
+	}
+
 }
@@ -93,7 +93,7 @@ public final class JXPathContextImpl implements XPathContext {
 		return context.iterate(xpath);
 	}
 
-	private JXPathContext getJXPathContext() {
+	JXPathContext getJXPathContext() {
 		return context;
 	}
 
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.emf.internal.xpath;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.jxpath.CompiledExpression;
+import org.apache.commons.jxpath.JXPathContext;
+import org.apache.commons.jxpath.JXPathNotFoundException;
+import org.eclipse.e4.emf.xpath.XPathContext;
+import org.eclipse.e4.emf.xpath.XPathQuery;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Query which is parsed once by JXPath. The xpaths selecting descendants by
+ * attribute values are evaluated directly on the containment tree of
+ * {@link EObject}s, see {@link DescendantQuery}.
+ */
+final class JXPathQueryImpl implements XPathQuery {
+
+	private static final int MAX_CACHED_QUERIES = 256;
+
+	private static final Map<String, JXPathQueryImpl> queries = new ConcurrentHashMap<>();
+
+	private final String xpath;
+
+	private final DescendantQuery descendantQuery;
+
+	private volatile CompiledExpression expression;
+
+	private JXPathQueryImpl(String xpath) {
+		this.xpath = xpath;
+		this.descendantQuery = DescendantQuery.parse(xpath);
+	}
+
+	/**
+	 * Return the query for the xpath, reusing the queries compiled before.
+	 */
+	static XPathQuery compile(String xpath) {
+		JXPathQueryImpl query = queries.get(xpath);
+		if (query == null) {
+			if (queries.size() >= MAX_CACHED_QUERIES) {
+				queries.clear();
+			}
+			query = new JXPathQueryImpl(xpath);
+			queries.put(xpath, query);
+		}
+		return query;
+	}
+
+	@Override
+	public String getXPath() {
+		return xpath;
+	}
+
+	@Override
+	public Object getValue(XPathContext context) {
+		if (!(context instanceof JXPathContextImpl)) {
+			return context.getValue(xpath);
+		}
+		JXPathContext jContext = ((JXPathContextImpl) context).getJXPathContext();
+		if (descendantQuery != null && jContext.getContextBean() instanceof EObject) {
+			Iterator<EObject> iterator = descendantQuery.iterate((EObject) jContext.getContextBean());
+			if (iterator.hasNext()) {
+				return iterator.next();
+			}
+			if (jContext.isLenient()) {
+				return null;
+			}
+			throw new JXPathNotFoundException("No value for xpath: " + xpath);
+		}
+		return getExpression().getValue(jContext);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <O> Iterator<O> iterate(XPathContext context) {
+		if (!(context instanceof JXPathContextImpl)) {
+			return context.iterate(xpath);
+		}
+		JXPathContext jContext = ((JXPathContextImpl) context).getJXPathContext();
+		if (descendantQuery != null && jContext.getContextBean() instanceof EObject) {
+			return (Iterator<O>) descendantQuery.iterate((EObject) jContext.getContextBean());
+		}
+		return getExpression().iterate(jContext);
+	}
+
+	private CompiledExpression getExpression() {
+		if (expression == null) {
+			expression = JXPathContext.compile(xpath);
+		}
+		return expression;
+	}
+}
@@ -18,13 +18,20 @@ import org.eclipse.emf.ecore.EStructuralFeature;
 
 public class JXPathEObjectInfo {
 	private final EClass eClass;
+	private EStructuralFeature[] propertyDescriptors;
 
 	public JXPathEObjectInfo(EClass eClass) {
 		this.eClass = eClass;
 	}
 
+	/**
+	 * @return the features of the class, shared by all the callers
+	 */
 	public EStructuralFeature[] getPropertyDescriptors() {
-		return eClass.getEAllStructuralFeatures().toArray(new EStructuralFeature[0]);
+		if (propertyDescriptors == null) {
+			propertyDescriptors = eClass.getEAllStructuralFeatures().toArray(new EStructuralFeature[0]);
+		}
+		return propertyDescriptors;
 	}
 
 	public EStructuralFeature getPropertyDescriptor(String propertyName) {
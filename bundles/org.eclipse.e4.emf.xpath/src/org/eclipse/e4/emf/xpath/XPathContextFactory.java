@@ -13,6 +13,7 @@
  ******************************************************************************/
 package org.eclipse.e4.emf.xpath;
 
+import java.util.Iterator;
 import org.eclipse.e4.emf.internal.xpath.JXPathContextFactoryImpl;
 
 /**
@@ -45,6 +46,36 @@ public abstract class XPathContextFactory<Type extends Object> {
 	 */
 	public abstract XPathContext newContext(XPathContext parentContext, Type contextBean);
 
+	/**
+	 * Compiles the xpath into a query which can be evaluated in the contexts
+	 * created by this factory. Subclasses should override this method to
+	 * parse the xpath only once, the default implementation evaluates the
+	 * xpath through the context every time.
+	 *
+	 * @param xpath
+	 *            to compile
+	 * @return XPathQuery
+	 * @since 0.3
+	 */
+	public XPathQuery compile(final String xpath) {
+		return new XPathQuery() {
+			@Override
+			public String getXPath() {
+				return xpath;
+			}
+
+			@Override
+			public Object getValue(XPathContext context) {
+				return context.getValue(xpath);
+			}
+
+			@Override
+			public <O> Iterator<O> iterate(XPathContext context) {
+				return context.iterate(xpath);
+			}
+		};
+	}
+
 	/**
 	 * @param <Type>
 	 *            the object type the xpath is created for
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.emf.xpath;
+
+import java.util.Iterator;
+
+/**
+ * An xpath compiled once by {@link XPathContextFactory#compile(String)}, which
+ * can be evaluated repeatedly against any {@link XPathContext} created by the
+ * same factory without parsing the xpath again.
+ *
+ * @since 0.3
+ */
+public interface XPathQuery {
+
+	/**
+	 * @return the xpath this query was compiled from
+	 */
+	String getXPath();
+
+	/**
+	 * Evaluates the query and returns the resulting object. Primitive types are
+	 * wrapped into objects.
+	 *
+	 * @param context
+	 *            the context to evaluate the query in
+	 * @return Object found
+	 */
+	Object getValue(XPathContext context);
+
+	/**
+	 * Traverses the query and returns an Iterator of all results found. The
+	 * results are computed while iterating. If the query matches no
+	 * properties in the graph, the Iterator will be empty, but not null.
+	 *
+	 * @param <O>
+	 *            the expected object type
+	 *
+	 * @param context
+	 *            the context to evaluate the query in
+	 * @return Iterator<Object>
+	 */
+	<O> Iterator<O> iterate(XPathContext context);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2014 IBM Corporation and others.
+ * Copyright (c) 2010, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,8 +19,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import org.eclipse.core.commands.ParameterizedCommand;
 import org.eclipse.core.commands.contexts.Context;
 import org.eclipse.jface.bindings.Binding;
@@ -29,6 +32,8 @@ import org.eclipse.jface.bindings.TriggerSequence;
 import org.eclipse.jface.bindings.keys.IKeyLookup;
 import org.eclipse.jface.bindings.keys.KeyLookupFactory;
 import org.eclipse.jface.bindings.keys.KeyStroke;
+import org.eclipse.jface.bindings.keys.formatting.IKeyFormatter;
+import org.eclipse.jface.bindings.keys.formatting.KeyFormatterFactory;
 
 /**
  * manage tables of bindings that can be used to look up commands from keys.
@@ -54,6 +59,13 @@ public class BindingTable {
 	static class BindingComparator implements Comparator<Binding> {
 		private String[] activeSchemeIds;
 
+		/**
+		 * the lengths of the formatted trigger sequences, computed with
+		 * {@link #lengthsFormatter}
+		 */
+		private final Map<TriggerSequence, Integer> formattedLengths = new WeakHashMap<TriggerSequence, Integer>();
+		private IKeyFormatter lengthsFormatter;
+
 		public void setActiveSchemes(String[] activeSchemeIds) {
 			this.activeSchemeIds = activeSchemeIds;
 		}
@@ -89,8 +101,22 @@ public class BindingTable {
 			}
 
 			// If this is still a tie, then just chose the shortest text.
-			return o1.getTriggerSequence().format().length()
-					- o2.getTriggerSequence().format().length();
+			return getFormattedLength(o1.getTriggerSequence())
+					- getFormattedLength(o2.getTriggerSequence());
+		}
+
+		private synchronized int getFormattedLength(TriggerSequence sequence) {
+			IKeyFormatter formatter = KeyFormatterFactory.getDefault();
+			if (formatter != lengthsFormatter) {
+				formattedLengths.clear();
+				lengthsFormatter = formatter;
+			}
+			Integer length = formattedLengths.get(sequence);
+			if (length == null) {
+				length = Integer.valueOf(sequence.format().length());
+				formattedLengths.put(sequence, length);
+			}
+			return length.intValue();
 		}
 
 		private final int countStrokes(final Trigger[] triggers) {
@@ -121,16 +147,116 @@ public class BindingTable {
 		}
 	}
 
+	/**
+	 * A node of the trie of the trigger sequences of the active bindings. The
+	 * node of a sequence is reached from the root by following its triggers.
+	 */
+	private static final class TriggerNode {
+		/**
+		 * the children reached by a key stroke, in an open addressing table
+		 * indexed by the modifier keys and natural key of the stroke
+		 */
+		private long[] strokeKeys;
+		private TriggerNode[] strokeChildren;
+		private int strokeCount;
+
+		/** the children reached by other triggers */
+		private Map<Trigger, TriggerNode> otherChildren;
+
+		/** the active binding for the sequence of this node */
+		Binding binding;
+
+		/**
+		 * the active bindings with a longer sequence starting with the sequence of
+		 * this node, or <code>null</code> if there never was one
+		 */
+		ArrayList<Binding> partialMatches;
+
+		TriggerNode getChild(Trigger trigger) {
+			if (!(trigger instanceof KeyStroke)) {
+				return otherChildren == null ? null : otherChildren.get(trigger);
+			}
+			if (strokeKeys == null) {
+				return null;
+			}
+			long key = toKey((KeyStroke) trigger);
+			int mask = strokeKeys.length - 1;
+			for (int i = hash(key) & mask; strokeChildren[i] != null; i = (i + 1) & mask) {
+				if (strokeKeys[i] == key) {
+					return strokeChildren[i];
+				}
+			}
+			return null;
+		}
+
+		TriggerNode getOrCreateChild(Trigger trigger) {
+			TriggerNode child = getChild(trigger);
+			if (child != null) {
+				return child;
+			}
+			child = new TriggerNode();
+			if (!(trigger instanceof KeyStroke)) {
+				if (otherChildren == null) {
+					otherChildren = new HashMap<Trigger, TriggerNode>(4);
+				}
+				otherChildren.put(trigger, child);
+				return child;
+			}
+			if (strokeKeys == null) {
+				strokeKeys = new long[4];
+				strokeChildren = new TriggerNode[4];
+			} else if (2 * (strokeCount + 1) > strokeKeys.length) {
+				long[] keys = strokeKeys;
+				TriggerNode[] children = strokeChildren;
+				strokeKeys = new long[keys.length * 2];
+				strokeChildren = new TriggerNode[keys.length * 2];
+				for (int i = 0; i < keys.length; i++) {
+					if (children[i] != null) {
+						put(keys[i], children[i]);
+					}
+				}
+			}
+			put(toKey((KeyStroke) trigger), child);
+			strokeCount++;
+			return child;
+		}
+
+		private void put(long key, TriggerNode child) {
+			int mask = strokeKeys.length - 1;
+			int i = hash(key) & mask;
+			while (strokeChildren[i] != null) {
+				i = (i + 1) & mask;
+			}
+			strokeKeys[i] = key;
+			strokeChildren[i] = child;
+		}
+
+		private static long toKey(KeyStroke stroke) {
+			return ((long) stroke.getModifierKeys() << 32) | (stroke.getNaturalKey() & 0xffffffffL);
+		}
+
+		private static int hash(long key) {
+			int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+			return h ^ (h >>> 16);
+		}
+	}
+
 	public static final BindingComparator BEST_SEQUENCE = new BindingComparator();
 
 	private Context tableId;
 	private ArrayList<Binding> bindings = new ArrayList<Binding>();
-	private Map<TriggerSequence, Binding> bindingsByTrigger = new HashMap<TriggerSequence, Binding>();
+	private TriggerNode root = new TriggerNode();
 	private Map<ParameterizedCommand, ArrayList<Binding>> bindingsByCommand = new HashMap<ParameterizedCommand, ArrayList<Binding>>();
-	private Map<TriggerSequence, ArrayList<Binding>> bindingsByPrefix = new HashMap<TriggerSequence, ArrayList<Binding>>();
 	private Map<TriggerSequence, ArrayList<Binding>> conflicts = new HashMap<TriggerSequence, ArrayList<Binding>>();
 	private Map<TriggerSequence, ArrayList<Binding>> orderedBindingsByTrigger = new HashMap<TriggerSequence, ArrayList<Binding>>();
 
+	/**
+	 * the lists of {@link #bindingsByCommand} to sort at the end of
+	 * {@link #addBindings(Collection)}, or <code>null</code> if no bindings are
+	 * being added in bulk
+	 */
+	private Set<ArrayList<Binding>> unsortedSequences;
+
 	/**
 	 * @param context
 	 */
@@ -167,7 +293,7 @@ public class BindingTable {
 					+ " does not match " + getId()); //$NON-NLS-1$
 		}
 		ArrayList<Binding> bindingList = orderedBindingsByTrigger.get(binding.getTriggerSequence());
-		Binding possibleConflict = bindingsByTrigger.get(binding.getTriggerSequence());
+		Binding possibleConflict = getPerfectMatch(binding.getTriggerSequence());
 		if (bindingList == null || bindingList.isEmpty()) {
 			if (possibleConflict != null) {
 				if (bindingList == null) {
@@ -192,9 +318,35 @@ public class BindingTable {
 		evaluateOrderedBindings(binding.getTriggerSequence(), binding);
 	}
 
+	/**
+	 * Adds all the bindings, like calling {@link #addBinding(Binding)} for each
+	 * of them. The bindings of each command are only sorted once, after all the
+	 * bindings were added.
+	 *
+	 * @param bindings
+	 *            the bindings to add
+	 */
+	public void addBindings(Collection<Binding> bindings) {
+		boolean outermost = unsortedSequences == null;
+		if (outermost) {
+			unsortedSequences = Collections.newSetFromMap(new IdentityHashMap<ArrayList<Binding>, Boolean>());
+		}
+		try {
+			for (Binding binding : bindings) {
+				addBinding(binding);
+			}
+		} finally {
+			if (outermost) {
+				for (ArrayList<Binding> sequences : unsortedSequences) {
+					Collections.sort(sequences, BEST_SEQUENCE);
+				}
+				unsortedSequences = null;
+			}
+		}
+	}
+
 	private void addBindingSimple(Binding binding) {
 		bindings.add(binding);
-		bindingsByTrigger.put(binding.getTriggerSequence(), binding);
 
 		ArrayList<Binding> sequences = bindingsByCommand.get(binding.getParameterizedCommand());
 		if (sequences == null) {
@@ -202,34 +354,44 @@ public class BindingTable {
 			bindingsByCommand.put(binding.getParameterizedCommand(), sequences);
 		}
 		sequences.add(binding);
-		Collections.sort(sequences, BEST_SEQUENCE);
-
-		TriggerSequence[] prefs = binding.getTriggerSequence().getPrefixes();
-		for (int i = 1; i < prefs.length; i++) {
-			ArrayList<Binding> bindings = bindingsByPrefix.get(prefs[i]);
-			if (bindings == null) {
-				bindings = new ArrayList<Binding>();
-				bindingsByPrefix.put(prefs[i], bindings);
+		if (unsortedSequences != null) {
+			unsortedSequences.add(sequences);
+		} else {
+			Collections.sort(sequences, BEST_SEQUENCE);
+		}
+
+		Trigger[] triggers = binding.getTriggerSequence().getTriggers();
+		TriggerNode node = root;
+		for (int i = 0; i < triggers.length; i++) {
+			node = node.getOrCreateChild(triggers[i]);
+			if (i < triggers.length - 1) {
+				if (node.partialMatches == null) {
+					node.partialMatches = new ArrayList<Binding>();
+				}
+				node.partialMatches.add(binding);
 			}
-			bindings.add(binding);
 		}
+		node.binding = binding;
 	}
 
 	private void removeBindingSimple(Binding binding) {
 		bindings.remove(binding);
-		bindingsByTrigger.remove(binding.getTriggerSequence());
 		ArrayList<Binding> sequences = bindingsByCommand.get(binding.getParameterizedCommand());
 
 		if (sequences != null) {
 			sequences.remove(binding);
 		}
-		TriggerSequence[] prefs = binding.getTriggerSequence().getPrefixes();
-		for (int i = 1; i < prefs.length; i++) {
-			ArrayList<Binding> bindings = bindingsByPrefix.get(prefs[i]);
-			if (bindings != null) {
-				bindings.remove(binding);
+		Trigger[] triggers = binding.getTriggerSequence().getTriggers();
+		TriggerNode node = root;
+		for (int i = 0; i < triggers.length && node != null; i++) {
+			node = node.getChild(triggers[i]);
+			if (node != null && i < triggers.length - 1 && node.partialMatches != null) {
+				node.partialMatches.remove(binding);
 			}
 		}
+		if (node != null) {
+			node.binding = null;
+		}
 	}
 
 	public void removeBinding(Binding binding) {
@@ -238,7 +400,7 @@ public class BindingTable {
 					+ " does not match " + getId()); //$NON-NLS-1$
 		}
 		ArrayList<Binding> bindingList = orderedBindingsByTrigger.get(binding.getTriggerSequence());
-		Binding possibleConflict = bindingsByTrigger.get(binding.getTriggerSequence());
+		Binding possibleConflict = getPerfectMatch(binding.getTriggerSequence());
 		if (possibleConflict == binding) {
 			removeBindingSimple(binding);
 			if (bindingList != null) {
@@ -296,26 +458,44 @@ public class BindingTable {
 					}
 				} else {
 					conflicts.remove(sequence);
-					if (bindingsByTrigger.get(sequence) == null) {
+					if (getPerfectMatch(sequence) == null) {
 						addBindingSimple(msb);
 					}
 				}
 			} else {
-				if (bindingsByTrigger.get(sequence) == null) {
+				if (getPerfectMatch(sequence) == null) {
 					addBindingSimple(bindingList.get(0));
 				}
 				orderedBindingsByTrigger.remove(sequence);
 			}
 		} else if (binding != null) {
 			conflicts.remove(sequence);
-			if (bindingsByTrigger.get(sequence) == null) {
+			if (getPerfectMatch(sequence) == null) {
 				addBindingSimple(binding);
 			}
 		}
 	}
 
 	public Binding getPerfectMatch(TriggerSequence trigger) {
-		return bindingsByTrigger.get(trigger);
+		return getPerfectMatch(trigger.getTriggers());
+	}
+
+	/**
+	 * @param triggers
+	 *            the triggers of the sequence to look up
+	 * @return the binding for the sequence or <code>null</code>
+	 */
+	Binding getPerfectMatch(Trigger[] triggers) {
+		TriggerNode node = getNode(triggers);
+		return node == null ? null : node.binding;
+	}
+
+	private TriggerNode getNode(Trigger[] triggers) {
+		TriggerNode node = root;
+		for (int i = 0; i < triggers.length && node != null; i++) {
+			node = node.getChild(triggers[i]);
+		}
+		return node;
 	}
 
 	public Binding getBestSequenceFor(ParameterizedCommand command) {
@@ -333,11 +513,26 @@ public class BindingTable {
 	}
 
 	public Collection<Binding> getPartialMatches(TriggerSequence sequence) {
-		return bindingsByPrefix.get(sequence);
+		return getPartialMatches(sequence.getTriggers());
+	}
+
+	/**
+	 * @param triggers
+	 *            the triggers of the sequence to look up
+	 * @return the bindings with a longer sequence starting with the triggers,
+	 *         or <code>null</code>
+	 */
+	Collection<Binding> getPartialMatches(Trigger[] triggers) {
+		TriggerNode node = getNode(triggers);
+		return node == null ? null : node.partialMatches;
 	}
 
 	public boolean isPartialMatch(TriggerSequence seq) {
-		return bindingsByPrefix.get(seq) != null;
+		return getPartialMatches(seq) != null;
+	}
+
+	boolean isPartialMatch(Trigger[] triggers) {
+		return getPartialMatches(triggers) != null;
 	}
 
 	public Collection<Binding> getBindings() {
@@ -24,6 +24,7 @@ import org.eclipse.core.commands.ParameterizedCommand;
 import org.eclipse.core.commands.contexts.Context;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.jface.bindings.Binding;
+import org.eclipse.jface.bindings.Trigger;
 import org.eclipse.jface.bindings.TriggerSequence;
 
 /**
@@ -125,13 +126,12 @@ public class BindingTableManager {
 	public Binding getPerfectMatch(ContextSet contextSet, TriggerSequence triggerSequence) {
 		Binding result = null;
 		Binding currentResult = null;
+		Trigger[] triggers = triggerSequence.getTriggers();
 		List<Context> contexts = contextSet.getContexts();
-		ListIterator<Context> it = contexts.listIterator(contexts.size());
-		while (it.hasPrevious()) {
-			Context c = it.previous();
-			BindingTable table = getTable(c.getId());
+		for (int i = contexts.size() - 1; i >= 0; i--) {
+			BindingTable table = getTable(contexts.get(i).getId());
 			if (table != null) {
-				currentResult = table.getPerfectMatch(triggerSequence);
+				currentResult = table.getPerfectMatch(triggers);
 			}
 			if (currentResult != null) {
 				if (isMostActiveScheme(currentResult)) {
@@ -206,13 +206,12 @@ public class BindingTableManager {
 	}
 
 	public boolean isPartialMatch(ContextSet contextSet, TriggerSequence sequence) {
+		Trigger[] triggers = sequence.getTriggers();
 		List<Context> contexts = contextSet.getContexts();
-		ListIterator<Context> it = contexts.listIterator(contexts.size());
-		while (it.hasPrevious()) {
-			Context c = it.previous();
-			BindingTable table = getTable(c.getId());
+		for (int i = contexts.size() - 1; i >= 0; i--) {
+			BindingTable table = getTable(contexts.get(i).getId());
 			if (table != null) {
-				if (table.isPartialMatch(sequence)) {
+				if (table.isPartialMatch(triggers)) {
 					return true;
 				}
 			}
@@ -222,13 +221,12 @@ public class BindingTableManager {
 
 	public Collection<Binding> getPartialMatches(ContextSet contextSet, TriggerSequence sequence) {
 		ArrayList<Binding> bindings = new ArrayList<Binding>();
+		Trigger[] triggers = sequence.getTriggers();
 		List<Context> contexts = contextSet.getContexts();
-		ListIterator<Context> it = contexts.listIterator(contexts.size());
-		while (it.hasPrevious()) {
-			Context c = it.previous();
-			BindingTable table = getTable(c.getId());
+		for (int i = contexts.size() - 1; i >= 0; i--) {
+			BindingTable table = getTable(contexts.get(i).getId());
 			if (table != null) {
-				Collection<Binding> partialMatches = table.getPartialMatches(sequence);
+				Collection<Binding> partialMatches = table.getPartialMatches(triggers);
 				if (partialMatches != null) {
 					bindings.addAll(partialMatches);
 				}
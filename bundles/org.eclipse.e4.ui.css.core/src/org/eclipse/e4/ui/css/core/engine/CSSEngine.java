@@ -16,6 +16,7 @@ package org.eclipse.e4.ui.css.core.engine;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.net.URL;
 import java.util.Collection;
 import org.eclipse.e4.ui.css.core.dom.IElementProvider;
 import org.eclipse.e4.ui.css.core.dom.properties.ICSSPropertyHandler;
@@ -69,6 +70,19 @@ public interface CSSEngine {
 	 */
 	StyleSheet parseStyleSheet(InputSource source) throws IOException;
 
+	/**
+	 * Parse the style sheets at the given URLs and the style sheets they
+	 * import in parallel on background threads, and wait until they are
+	 * parsed. The style sheets are not added to the document; a later call to
+	 * {@link #parseStyleSheet(InputSource)} on this engine with the URL as URI
+	 * reuses the parsed rules as long as the content of the URL did not
+	 * change. The parsed rules are not shared with other engines. Errors
+	 * are reported to the error handler of the engine.
+	 *
+	 * @param urls
+	 */
+	void preparseStyleSheets(Collection<URL> urls);
+
 	/*--------------- Parse style declaration -----------------*/
 
 	/**
@@ -219,6 +233,25 @@ public interface CSSEngine {
 	 */
 	void applyStyles(Object node, boolean applyStylesToChildNodes, boolean computeDefaultStyle);
 
+	/**
+	 * Mark the Object node (SWT Text,...) and its child nodes as needing to be
+	 * restyled, for instance because its CSS class or id changed. Nodes marked
+	 * dirty are restyled together by the next call to
+	 * {@link #restyleDirtyElements()}, which the engine runs itself, right
+	 * away unless the engine defers it.
+	 *
+	 * @param node
+	 */
+	void markDirty(Object node);
+
+	/**
+	 * Restyle the nodes marked with {@link #markDirty(Object)} and their child
+	 * nodes. Nodes whose ancestor is marked dirty too are restyled once, and
+	 * the style declaration of a node is only applied again when the style
+	 * rules matching it have changed since they were last applied.
+	 */
+	void restyleDirtyElements();
+
 	/*--------------- Apply style declaration -----------------*/
 
 	/**
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.impl.sac.AbstractCombinatorCondition;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSAndConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSElementSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSIdConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSPseudoClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedCondition;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.ElementSelector;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSStyleRule;
+
+/**
+ * An index over the selectors of a list of CSS rules. Every
+ * {@link ExtendedSelector} is put into exactly one bucket, chosen from the
+ * right-most compound selector (the part that has to match the element
+ * itself): its id, else one of its CSS classes, else its element name, else
+ * its pseudo-class. Selectors without any of those (like <code>*</code>) are
+ * kept in a universal bucket.
+ * <p>
+ * For a given element only the buckets for its id, its CSS classes, its local
+ * name and the applicable pseudo-classes need to be checked, which avoids
+ * running {@link ExtendedSelector#match(Element, String)} for every selector
+ * of every rule. The candidates are returned in the original rule order, so
+ * that the resulting cascade is the same as with a linear scan.
+ * </p>
+ */
+final class CSSRuleIndex {
+
+	/**
+	 * A selector candidate together with its rule and its position within the
+	 * rule list.
+	 */
+	static final class Entry {
+		final CSSStyleRule rule;
+		final ExtendedSelector selector;
+		final int order;
+
+		Entry(CSSStyleRule rule, ExtendedSelector selector, int order) {
+			this.rule = rule;
+			this.selector = selector;
+			this.order = order;
+		}
+	}
+
+	private final Map<String, List<Entry>> idBuckets = new HashMap<>();
+	private final Map<String, List<Entry>> classBuckets = new HashMap<>();
+	private final Map<String, List<Entry>> localNameBuckets = new HashMap<>();
+	private final Map<String, List<Entry>> pseudoClassBuckets = new HashMap<>();
+	private final List<Entry> universalBucket = new ArrayList<>();
+
+	/** The names of all attributes any selector depends on */
+	private final Set<String> attributeNames = new LinkedHashSet<>();
+	/** The names of all pseudo-classes any selector depends on */
+	private final Set<String> pseudoClassNames = new LinkedHashSet<>();
+	/**
+	 * Whether the selectors only depend on the element itself and its
+	 * ancestors, see {@link #isStyleSharingSupported()}
+	 */
+	private boolean styleSharingSupported = true;
+
+	/**
+	 * Builds the index for the given rules.
+	 *
+	 * @param ruleList
+	 *            the combined rules of all style sheets
+	 */
+	CSSRuleIndex(List<CSSRule> ruleList) {
+		int order = 0;
+		for (CSSRule rule : ruleList) {
+			if (rule.getType() != CSSRule.STYLE_RULE || !(rule instanceof ExtendedCSSRule)) {
+				continue;
+			}
+			SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+			int l = selectorList.getLength();
+			for (int j = 0; j < l; j++) {
+				Selector selector = selectorList.item(j);
+				if (selector instanceof ExtendedSelector) {
+					add(new Entry((CSSStyleRule) rule, (ExtendedSelector) selector, order++));
+					collectDependencies(selector);
+				}
+			}
+		}
+	}
+
+	private void add(Entry entry) {
+		Selector subject = getSubject(entry.selector);
+		if (subject instanceof ConditionalSelector) {
+			ConditionalSelector conditional = (ConditionalSelector) subject;
+			Condition condition = conditional.getCondition();
+			if (addToConditionBucket(entry, condition, idBuckets, CSSIdConditionImpl.class)
+					|| addToConditionBucket(entry, condition, classBuckets, CSSClassConditionImpl.class)) {
+				return;
+			}
+			if (addToLocalNameBucket(entry, conditional.getSimpleSelector())) {
+				return;
+			}
+			if (addToConditionBucket(entry, condition, pseudoClassBuckets, CSSPseudoClassConditionImpl.class)) {
+				return;
+			}
+		} else if (addToLocalNameBucket(entry, subject)) {
+			return;
+		}
+		universalBucket.add(entry);
+	}
+
+	/**
+	 * Collects the attributes and pseudo-classes the selector depends on.
+	 * Selectors looking at siblings or using unknown selectors or conditions
+	 * disable style sharing.
+	 */
+	private void collectDependencies(Selector selector) {
+		if (selector instanceof DescendantSelector) {
+			DescendantSelector descendant = (DescendantSelector) selector;
+			collectDependencies(descendant.getAncestorSelector());
+			collectDependencies(descendant.getSimpleSelector());
+		} else if (selector instanceof ConditionalSelector) {
+			ConditionalSelector conditional = (ConditionalSelector) selector;
+			collectDependencies(conditional.getSimpleSelector());
+			collectDependencies(conditional.getCondition());
+		} else if (!(selector instanceof ElementSelector)) {
+			styleSharingSupported = false;
+		}
+	}
+
+	private void collectDependencies(Condition condition) {
+		if (condition instanceof CSSPseudoClassConditionImpl) {
+			pseudoClassNames.add(((CSSPseudoClassConditionImpl) condition).getValue());
+		} else if (condition instanceof CSSAndConditionImpl) {
+			AbstractCombinatorCondition and = (AbstractCombinatorCondition) condition;
+			collectDependencies(and.getFirstCondition());
+			collectDependencies(and.getSecondCondition());
+		} else if (condition instanceof ExtendedCondition) {
+			((ExtendedCondition) condition).fillAttributeSet(attributeNames);
+		} else {
+			styleSharingSupported = false;
+		}
+	}
+
+	/**
+	 * Returns whether all selectors only depend on the local name, namespace,
+	 * id, CSS class, pseudo-class state and attributes of an element and its
+	 * ancestors. Only then elements with the same {@link StyleSignature} are
+	 * guaranteed to get the same computed style.
+	 */
+	boolean isStyleSharingSupported() {
+		return styleSharingSupported;
+	}
+
+	/**
+	 * Returns the names of all attributes any selector depends on.
+	 */
+	Set<String> getAttributeNames() {
+		return attributeNames;
+	}
+
+	/**
+	 * Returns the names of all pseudo-classes any selector depends on.
+	 */
+	Set<String> getPseudoClassNames() {
+		return pseudoClassNames;
+	}
+
+	/**
+	 * Returns the part of the selector that has to match the element itself.
+	 */
+	private static Selector getSubject(Selector selector) {
+		Selector subject = selector;
+		while (true) {
+			if (subject instanceof DescendantSelector) {
+				subject = ((DescendantSelector) subject).getSimpleSelector();
+			} else if (subject instanceof SiblingSelector) {
+				subject = ((SiblingSelector) subject).getSiblingSelector();
+			} else {
+				return subject;
+			}
+		}
+	}
+
+	private boolean addToLocalNameBucket(Entry entry, Selector selector) {
+		if (selector instanceof CSSElementSelectorImpl) {
+			String localName = ((CSSElementSelectorImpl) selector).getLocalName();
+			if (localName != null) {
+				addToBucket(localNameBuckets, localName, entry);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the entry to the given bucket if the condition is, or is a
+	 * conjunction containing, a condition of the given type.
+	 */
+	private boolean addToConditionBucket(Entry entry, Condition condition, Map<String, List<Entry>> buckets,
+			Class<? extends Condition> type) {
+		if (type.isInstance(condition)) {
+			String value = ((AttributeCondition) condition).getValue();
+			if (value != null) {
+				addToBucket(buckets, value, entry);
+				return true;
+			}
+			return false;
+		}
+		if (condition instanceof CSSAndConditionImpl) {
+			AbstractCombinatorCondition and = (AbstractCombinatorCondition) condition;
+			return addToConditionBucket(entry, and.getFirstCondition(), buckets, type)
+					|| addToConditionBucket(entry, and.getSecondCondition(), buckets, type);
+		}
+		return false;
+	}
+
+	private static void addToBucket(Map<String, List<Entry>> buckets, String key, Entry entry) {
+		buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(entry);
+	}
+
+	/**
+	 * Returns the selectors which may match the given element, in the order of
+	 * the rule list. Every selector which matches the element is contained,
+	 * but the returned selectors still have to be matched against the element.
+	 *
+	 * @param elt
+	 *            the element
+	 * @param pseudoElt
+	 *            the pseudo instance or <code>null</code>
+	 * @return the candidates, never <code>null</code>
+	 */
+	List<Entry> getCandidates(Element elt, String pseudoElt) {
+		List<List<Entry>> buckets = new ArrayList<>();
+		addBucket(buckets, universalBucket);
+		addBucket(buckets, localNameBuckets.get(getLocalName(elt)));
+
+		String id = elt instanceof CSSStylableElement ? ((CSSStylableElement) elt).getCSSId() : elt.getAttribute("id");
+		if (id != null) {
+			addBucket(buckets, idBuckets.get(id));
+		}
+
+		if (!classBuckets.isEmpty()) {
+			String cssClass = elt instanceof CSSStylableElement ? ((CSSStylableElement) elt).getCSSClass()
+					: elt.getAttribute("class");
+			addClassBuckets(buckets, cssClass);
+		}
+
+		if (!pseudoClassBuckets.isEmpty()) {
+			if (pseudoElt != null) {
+				addBucket(buckets, pseudoClassBuckets.get(pseudoElt));
+			} else if (elt instanceof CSSStylableElement) {
+				CSSStylableElement stylableElement = (CSSStylableElement) elt;
+				for (Map.Entry<String, List<Entry>> bucket : pseudoClassBuckets.entrySet()) {
+					if (stylableElement.isPseudoInstanceOf(bucket.getKey())) {
+						addBucket(buckets, bucket.getValue());
+					}
+				}
+			}
+		}
+
+		switch (buckets.size()) {
+		case 0:
+			return Collections.emptyList();
+		case 1:
+			return buckets.get(0);
+		default:
+			List<Entry> candidates = new ArrayList<>();
+			for (List<Entry> bucket : buckets) {
+				candidates.addAll(bucket);
+			}
+			candidates.sort((e1, e2) -> Integer.compare(e1.order, e2.order));
+			return candidates;
+		}
+	}
+
+	private void addClassBuckets(List<List<Entry>> buckets, String cssClass) {
+		if (cssClass == null) {
+			return;
+		}
+		// split the same way CSSClassConditionImpl matches, each class once
+		int length = cssClass.length();
+		int start = -1;
+		List<String> seen = null;
+		for (int i = 0; i <= length; i++) {
+			boolean separator = i == length || Character.isSpaceChar(cssClass.charAt(i));
+			if (!separator) {
+				if (start < 0) {
+					start = i;
+				}
+				continue;
+			}
+			if (start < 0) {
+				continue;
+			}
+			String name = cssClass.substring(start, i);
+			start = -1;
+			List<Entry> bucket = classBuckets.get(name);
+			if (bucket == null) {
+				continue;
+			}
+			if (seen == null) {
+				seen = new ArrayList<>(2);
+			} else if (seen.contains(name)) {
+				continue;
+			}
+			seen.add(name);
+			buckets.add(bucket);
+		}
+	}
+
+	private static void addBucket(List<List<Entry>> buckets, List<Entry> bucket) {
+		if (bucket != null && !bucket.isEmpty()) {
+			buckets.add(bucket);
+		}
+	}
+
+	/**
+	 * Returns the element name the same way
+	 * {@link CSSElementSelectorImpl#match(Element, String)} does.
+	 */
+	private static String getLocalName(Element elt) {
+		return elt.getPrefix() == null ? elt.getNodeName() : elt.getLocalName();
+	}
+}
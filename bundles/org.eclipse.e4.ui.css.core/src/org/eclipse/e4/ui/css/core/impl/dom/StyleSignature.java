@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Set;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Everything the selectors of a {@link CSSRuleIndex} can observe of an
+ * element: its local name, namespace, CSS classes, id, pseudo-class state and
+ * the values of the attributes used by the selectors, together with the
+ * signature of its parent. Two elements with equal signatures are matched by
+ * the same selectors and therefore share the same computed style.
+ */
+final class StyleSignature {
+
+	private final String localName;
+	private final String namespaceURI;
+	private final String cssClass;
+	private final String id;
+	private final String pseudoElt;
+	private final BitSet pseudoState;
+	private final String[] attributeValues;
+	private final StyleSignature parent;
+	private final int hashCode;
+
+	private StyleSignature(Element elt, String pseudoElt, CSSRuleIndex ruleIndex, StyleSignature parent) {
+		this.localName = elt.getPrefix() == null ? elt.getNodeName() : elt.getLocalName();
+		this.namespaceURI = elt.getNamespaceURI();
+		this.pseudoElt = pseudoElt;
+		this.parent = parent;
+
+		String cssClass;
+		if (elt instanceof CSSStylableElement) {
+			CSSStylableElement stylableElement = (CSSStylableElement) elt;
+			cssClass = stylableElement.getCSSClass();
+			this.id = stylableElement.getCSSId();
+			this.pseudoState = computePseudoState(stylableElement, ruleIndex.getPseudoClassNames());
+		} else {
+			cssClass = elt.getAttribute("class");
+			this.id = elt.getAttribute("id");
+			this.pseudoState = null;
+		}
+		this.cssClass = normalizeClasses(cssClass);
+
+		Set<String> attributeNames = ruleIndex.getAttributeNames();
+		this.attributeValues = new String[attributeNames.size()];
+		int i = 0;
+		for (String attributeName : attributeNames) {
+			attributeValues[i++] = elt.getAttribute(attributeName);
+		}
+
+		this.hashCode = Objects.hash(localName, namespaceURI, this.cssClass, id, pseudoElt, pseudoState,
+				Integer.valueOf(Arrays.hashCode(attributeValues)), parent);
+	}
+
+	/**
+	 * Computes the signature of the element, including the signatures of all
+	 * its ancestors.
+	 *
+	 * @param elt
+	 *            the element
+	 * @param pseudoElt
+	 *            the pseudo instance or <code>null</code>
+	 * @param ruleIndex
+	 *            the index of the selectors the signature is used for
+	 * @return the signature
+	 */
+	static StyleSignature compute(Element elt, String pseudoElt, CSSRuleIndex ruleIndex) {
+		Node parentNode = elt.getParentNode();
+		StyleSignature parent = null;
+		if (parentNode instanceof Element && parentNode.getNodeType() == Node.ELEMENT_NODE) {
+			// ancestors are always matched without pseudo instance
+			parent = compute((Element) parentNode, null, ruleIndex);
+		}
+		return new StyleSignature(elt, pseudoElt, ruleIndex, parent);
+	}
+
+	private static BitSet computePseudoState(CSSStylableElement elt, Set<String> pseudoClassNames) {
+		if (pseudoClassNames.isEmpty()) {
+			return null;
+		}
+		BitSet state = new BitSet(pseudoClassNames.size() * 2);
+		int i = 0;
+		for (String pseudoClassName : pseudoClassNames) {
+			if (elt.isPseudoInstanceOf(pseudoClassName)) {
+				state.set(i);
+				if (elt.isStaticPseudoInstance(pseudoClassName)) {
+					state.set(i + 1);
+				}
+			}
+			i += 2;
+		}
+		return state;
+	}
+
+	/**
+	 * Sorts the classes so that elements only differing in the order of their
+	 * classes share their style.
+	 */
+	private static String normalizeClasses(String cssClass) {
+		if (cssClass == null || cssClass.indexOf(' ') < 0) {
+			return cssClass;
+		}
+		String[] classes = cssClass.trim().split("\\s+");
+		Arrays.sort(classes);
+		return String.join(" ", classes);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof StyleSignature)) {
+			return false;
+		}
+		StyleSignature other = (StyleSignature) obj;
+		return hashCode == other.hashCode && Objects.equals(localName, other.localName)
+				&& Objects.equals(namespaceURI, other.namespaceURI) && Objects.equals(cssClass, other.cssClass)
+				&& Objects.equals(id, other.id) && Objects.equals(pseudoElt, other.pseudoElt)
+				&& Objects.equals(pseudoState, other.pseudoState)
+				&& Arrays.equals(attributeValues, other.attributeValues) && Objects.equals(parent, other.parent);
+	}
+}
@@ -18,7 +18,9 @@
 package org.eclipse.e4.ui.css.core.impl.dom;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
 import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
 import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
@@ -42,10 +44,37 @@ import org.w3c.dom.views.DocumentView;
  */
 public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChangeListener {
 
+	/**
+	 * System property to enable sharing of computed styles between elements
+	 * with the same {@link StyleSignature} by default.
+	 */
+	public static final String STYLE_SHARING_PROPERTY = "org.eclipse.e4.ui.css.styleSharing";
+
+	/** Upper bound for the number of shared computed styles */
+	private static final int MAX_SHARED_STYLES = 10000;
+
 	protected DocumentCSS documentCSS;
 	private boolean ruleCachingEnabled;
 	/** Cached state of combined CSS rules for the current stylesheets */
 	private List<CSSRule> currentCombinedRules;
+	/** Cached selector index over {@link #currentCombinedRules} */
+	private CSSRuleIndex currentRuleIndex;
+	private boolean styleSharingEnabled = Boolean.getBoolean(STYLE_SHARING_PROPERTY);
+	/**
+	 * Computed styles shared between elements with the same signature, the
+	 * least recently used are dropped first
+	 */
+	private final Map<StyleSignature, CSSStyleDeclaration> sharedStyles = new LinkedHashMap<StyleSignature, CSSStyleDeclaration>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<StyleSignature, CSSStyleDeclaration> eldest) {
+			return size() > MAX_SHARED_STYLES;
+		}
+	};
+	private long styleSharingHits;
+	private long styleSharingMisses;
 
 	/**
 	 * Creates a new ViewCSS.
@@ -72,10 +101,95 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	 */
 	@Override
 	public CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt) {
+		if (this.ruleCachingEnabled) {
+			CSSRuleIndex ruleIndex = getRuleIndex();
+			if (styleSharingEnabled && ruleIndex.isStyleSharingSupported()) {
+				return getSharedComputedStyle(ruleIndex, elt, pseudoElt);
+			}
+			return getComputedStyle(ruleIndex, elt, pseudoElt);
+		}
 		CSSStyleDeclaration styleDeclaration = getComputedStyle(getCombinedRules(), elt, pseudoElt);
 		return styleDeclaration;
 	}
 
+	/**
+	 * Returns the computed style shared by all elements with the same
+	 * {@link StyleSignature}, computing it on the first request. The CSS class
+	 * is part of the signature, so class changes never see a stale style.
+	 */
+	private CSSStyleDeclaration getSharedComputedStyle(CSSRuleIndex ruleIndex, Element elt, String pseudoElt) {
+		StyleSignature signature = StyleSignature.compute(elt, pseudoElt, ruleIndex);
+		CSSStyleDeclaration style = sharedStyles.get(signature);
+		if (style != null || sharedStyles.containsKey(signature)) {
+			styleSharingHits++;
+			return style;
+		}
+		styleSharingMisses++;
+		style = getComputedStyle(ruleIndex, elt, pseudoElt);
+		sharedStyles.put(signature, style);
+		return style;
+	}
+
+	/**
+	 * Enables or disables sharing of computed styles between elements which
+	 * are indistinguishable for the selectors of the current stylesheets, for
+	 * instance all items of a tool bar. Sharing is only done if no selector
+	 * depends on sibling elements.
+	 *
+	 * @param enabled
+	 *            <code>true</code> to share computed styles
+	 */
+	public void setStyleSharingEnabled(boolean enabled) {
+		this.styleSharingEnabled = enabled;
+		if (!enabled) {
+			sharedStyles.clear();
+		}
+	}
+
+	/**
+	 * @return whether computed styles are shared between elements
+	 * @see #setStyleSharingEnabled(boolean)
+	 */
+	public boolean isStyleSharingEnabled() {
+		return styleSharingEnabled;
+	}
+
+	/**
+	 * @return the number of computed style requests answered by a shared style
+	 */
+	public long getStyleSharingHits() {
+		return styleSharingHits;
+	}
+
+	/**
+	 * @return the number of computed style requests which had to be computed
+	 *         because no shared style was available
+	 */
+	public long getStyleSharingMisses() {
+		return styleSharingMisses;
+	}
+
+	/**
+	 * Resets the style sharing hit and miss counters.
+	 */
+	public void resetStyleSharingStatistics() {
+		styleSharingHits = 0;
+		styleSharingMisses = 0;
+	}
+
+	/**
+	 * Retrieves the selector index for the combined list of CSS rules. The index
+	 * is cached as long as the stylesheets do not change.
+	 *
+	 * @return the selector index for all style sheets
+	 */
+	private CSSRuleIndex getRuleIndex() {
+		if (this.currentRuleIndex == null) {
+			this.currentRuleIndex = new CSSRuleIndex(getCombinedRules());
+		}
+		return this.currentRuleIndex;
+	}
+
 	/**
 	 * Retrieves the combined list of CSS rules for all current stylesheets. This
 	 * method returns a cached state when the stylesheets are the same as on its
@@ -111,6 +225,39 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 		return cssRules;
 	}
 
+	/**
+	 * Determines the relevant style declaration for an DOM element by matching
+	 * only the selectors of the index which may apply to the element.
+	 */
+	private CSSStyleDeclaration getComputedStyle(CSSRuleIndex ruleIndex, Element elt, String pseudoElt) {
+		List<StyleWrapper> styleDeclarations = null;
+		StyleWrapper firstStyleDeclaration = null;
+		int position = 0;
+		for (CSSRuleIndex.Entry candidate : ruleIndex.getCandidates(elt, pseudoElt)) {
+			ExtendedSelector extendedSelector = candidate.selector;
+			if (extendedSelector.match(elt, pseudoElt)) {
+				StyleWrapper wrapper = new StyleWrapper(candidate.rule.getStyle(), extendedSelector.getSpecificity(),
+						position++);
+				if (firstStyleDeclaration == null) {
+					firstStyleDeclaration = wrapper;
+				} else {
+					if (styleDeclarations == null) {
+						styleDeclarations = new ArrayList<>();
+						styleDeclarations.add(firstStyleDeclaration);
+					}
+					styleDeclarations.add(wrapper);
+				}
+			}
+		}
+		if (styleDeclarations != null) {
+			return new CSSComputedStyleImpl(styleDeclarations);
+		}
+		if (firstStyleDeclaration != null) {
+			return firstStyleDeclaration.style;
+		}
+		return null;
+	}
+
 	public CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
 		List<StyleWrapper> styleDeclarations = null;
 		StyleWrapper firstStyleDeclaration = null;
@@ -173,10 +320,14 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	@Override
 	public void styleSheetAdded(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		sharedStyles.clear();
 	}
 
 	@Override
 	public void styleSheetRemoved(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
+		sharedStyles.clear();
 	}
 }
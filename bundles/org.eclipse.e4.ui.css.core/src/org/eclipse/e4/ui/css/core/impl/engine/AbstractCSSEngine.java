@@ -21,6 +21,8 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.css.core.impl.engine;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,13 +33,19 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.CSSProperty;
+import org.eclipse.e4.ui.css.core.dom.CSSPropertyList;
 import org.eclipse.e4.ui.css.core.dom.ChildVisibilityAwareElement;
 import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
 import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
@@ -54,6 +62,7 @@ import org.eclipse.e4.ui.css.core.engine.CSSEngine;
 import org.eclipse.e4.ui.css.core.engine.CSSErrorHandler;
 import org.eclipse.e4.ui.css.core.exceptions.UnsupportedPropertyException;
 import org.eclipse.e4.ui.css.core.impl.dom.CSSRuleListImpl;
+import org.eclipse.e4.ui.css.core.impl.dom.CSSStyleDeclarationImpl;
 import org.eclipse.e4.ui.css.core.impl.dom.CSSStyleSheetImpl;
 import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
 import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
@@ -134,6 +143,12 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 	 */
 	private CSSErrorHandler errorHandler;
 
+	/**
+	 * Style sheets parsed by this engine, reused while their content does not
+	 * change.
+	 */
+	private final StyleSheetCache styleSheetCache = new StyleSheetCache();
+
 	private IResourcesLocatorManager resourcesLocatorManager;
 
 	private IResourcesRegistry resourcesRegistry;
@@ -149,10 +164,25 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	private Map<Object, ICSSValueConverter> valueConverters = null;
 
-	private int parseImport;
-
 	private ResourceRegistryKeyFactory keyFactory;
 
+	/**
+	 * Key of the {@link CSSElementContext} data holding the style properties
+	 * last applied to the element, per pseudo instance.
+	 */
+	private static final String APPLIED_PROPERTIES_KEY = "org.eclipse.e4.ui.css.core.appliedProperties";
+
+	/**
+	 * Native widgets waiting to be restyled by {@link #restyleDirtyElements()}.
+	 */
+	private Set<Object> dirtyElements = new LinkedHashSet<>();
+
+	/**
+	 * True while {@link #restyleDirtyElements()} runs; style declarations whose
+	 * properties were already applied to an element are skipped.
+	 */
+	private boolean restylingDirtyElements;
+
 	public AbstractCSSEngine() {
 		this(new DocumentCSSImpl());
 	}
@@ -181,10 +211,51 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	@Override
 	public StyleSheet parseStyleSheet(InputSource source) throws IOException {
+		CSSStyleSheet styleSheet = loadStyleSheet(source);
+		documentCSS.addStyleSheet(styleSheet);
+		return styleSheet;
+	}
+
+	@Override
+	public void preparseStyleSheets(Collection<URL> urls) {
+		if (urls.isEmpty()) {
+			return;
+		}
+		int threads = Math.min(urls.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "CSS Style Sheet Parser"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<CompletableFuture<Void>> tasks = new ArrayList<>(urls.size());
+			for (URL url : urls) {
+				tasks.add(CompletableFuture.runAsync(() -> {
+					try (InputStream stream = url.openStream()) {
+						InputSource source = new InputSource();
+						source.setURI(url.toString());
+						source.setByteStream(stream);
+						loadStyleSheet(source);
+					} catch (Exception e) {
+						handleExceptions(e);
+					}
+				}, executor));
+			}
+			CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[tasks.size()])).join();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Parse the style sheet and the style sheets it imports, without adding it
+	 * to the document. This method is called from background threads by
+	 * {@link #preparseStyleSheets(Collection)}.
+	 */
+	private CSSStyleSheet loadStyleSheet(InputSource source) throws IOException {
 		// Check that CharacterStream or ByteStream is not null
 		checkInputSource(source);
-		CSSParser parser = makeCSSParser();
-		CSSStyleSheet styleSheet = parser.parseStyleSheet(source);
+		CSSStyleSheet styleSheet = parseSingleStyleSheet(source);
 
 		CSSRuleList rules = styleSheet.getCssRules();
 		int length = rules.getLength();
@@ -220,12 +291,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 				InputSource tempStream = new InputSource();
 				tempStream.setURI(url.toString());
 				tempStream.setByteStream(stream);
-				parseImport++;
-				try {
-					styleSheet = (CSSStyleSheet) this.parseStyleSheet(tempStream);
-				} finally {
-					parseImport--;
-				}
+				styleSheet = loadStyleSheet(tempStream);
 				CSSRuleList tempRules = styleSheet.getCssRules();
 				for (int j = 0; j < tempRules.getLength(); j++) {
 					masterList.add(tempRules.item(j));
@@ -241,12 +307,47 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		// final stylesheet
 		CSSStyleSheetImpl s = new CSSStyleSheetImpl();
 		s.setRuleList(masterList);
-		if (parseImport == 0) {
-			documentCSS.addStyleSheet(s);
-		}
 		return s;
 	}
 
+	/**
+	 * Parse a single style sheet, without resolving its imports. Style sheets
+	 * read from an URI are parsed only once per content, later parses reuse
+	 * the rules of the first one.
+	 */
+	private CSSStyleSheet parseSingleStyleSheet(InputSource source) throws IOException {
+		CSSParser parser = makeCSSParser();
+		String uri = source.getURI();
+		InputStream stream = source.getByteStream();
+		if (uri == null || stream == null || source.getCharacterStream() != null) {
+			return parser.parseStyleSheet(source);
+		}
+
+		byte[] content = readFully(stream);
+		CSSStyleSheet styleSheet = styleSheetCache.get(uri, content);
+		if (styleSheet == null) {
+			InputSource contentSource = new InputSource();
+			contentSource.setURI(uri);
+			contentSource.setEncoding(source.getEncoding());
+			contentSource.setMedia(source.getMedia());
+			contentSource.setTitle(source.getTitle());
+			contentSource.setByteStream(new ByteArrayInputStream(content));
+			styleSheet = parser.parseStyleSheet(contentSource);
+			styleSheetCache.put(uri, content, styleSheet);
+		}
+		return styleSheet;
+	}
+
+	private static byte[] readFully(InputStream stream) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = stream.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
 	/**
 	 * Return true if <code>source</code> is valid and false otherwise.
 	 *
@@ -370,6 +471,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 			 * Compute new Style to apply.
 			 */
 			CSSStyleDeclaration style = viewCSS.getComputedStyle(elt, null);
+			boolean styleChanged = isStyleChanged(elt, style, null);
 			if (computeDefaultStyle) {
 				if (applyStylesToChildNodes) {
 					this.computeDefaultStyle = computeDefaultStyle;
@@ -377,7 +479,9 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 				/*
 				 * Apply default style.
 				 */
-				applyDefaultStyleDeclaration(element, false, style, null);
+				if (styleChanged) {
+					applyDefaultStyleDeclaration(element, false, style, null);
+				}
 			}
 
 			/*
@@ -389,6 +493,9 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 				// apply styles for each pseudo instance.
 				for (String pseudoInstance : pseudoInstances) {
 					CSSStyleDeclaration styleWithPseudoInstance = viewCSS.getComputedStyle(elt, pseudoInstance);
+					if (!isStyleChanged(elt, styleWithPseudoInstance, pseudoInstance)) {
+						continue;
+					}
 					if (computeDefaultStyle) {
 						/*
 						 * Apply default style for the current pseudo instance.
@@ -407,7 +514,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 				}
 			}
 
-			if (style != null) {
+			if (style != null && styleChanged) {
 				applyStyleDeclaration(elt, style, null);
 			}
 			try {
@@ -435,6 +542,113 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	}
 
+	@Override
+	public void markDirty(Object element) {
+		Object widget = getNativeWidget(element);
+		if (widget == null) {
+			return;
+		}
+		boolean schedule = dirtyElements.isEmpty();
+		if (dirtyElements.add(widget) && schedule) {
+			scheduleRestyle();
+		}
+	}
+
+	/**
+	 * Called when the first element is marked dirty after the last restyle
+	 * pass. The default implementation restyles immediately, so that callers
+	 * may rely on the styles of the element afterwards. Engines may defer
+	 * {@link #restyleDirtyElements()} so that all the elements marked dirty
+	 * meanwhile are restyled in a single pass.
+	 */
+	protected void scheduleRestyle() {
+		restyleDirtyElements();
+	}
+
+	@Override
+	public void restyleDirtyElements() {
+		if (dirtyElements.isEmpty()) {
+			return;
+		}
+		Set<Element> dirty = new LinkedHashSet<>();
+		for (Object widget : dirtyElements) {
+			Element elt = getElement(widget);
+			if (elt != null) {
+				dirty.add(elt);
+			}
+		}
+		dirtyElements.clear();
+
+		boolean nested = restylingDirtyElements;
+		restylingDirtyElements = true;
+		try {
+			for (Element elt : dirty) {
+				if (!hasDirtyAncestor(elt, dirty)) {
+					applyStyles(elt, true);
+				}
+			}
+		} finally {
+			restylingDirtyElements = nested;
+		}
+	}
+
+	private boolean hasDirtyAncestor(Element elt, Set<Element> dirty) {
+		Node parentNode = elt.getParentNode();
+		while (parentNode != null) {
+			if (dirty.contains(parentNode)) {
+				return true;
+			}
+			parentNode = parentNode.getParentNode();
+		}
+		return false;
+	}
+
+	/**
+	 * Remember the properties of the style about to be applied to the element
+	 * and return whether they differ from the properties applied last time.
+	 * The properties of a computed style are shared with the rules it was
+	 * computed from, so comparing them by identity tells whether the element
+	 * still matches the same rules. Outside of
+	 * {@link #restyleDirtyElements()} the style is always applied.
+	 */
+	private boolean isStyleChanged(Element elt, CSSStyleDeclaration style, String pseudo) {
+		if (!(style instanceof CSSStyleDeclarationImpl)) {
+			return true;
+		}
+		CSSElementContext context = getCSSElementContext(elt);
+		if (context == null) {
+			return true;
+		}
+		CSSPropertyList propertyList = ((CSSStyleDeclarationImpl) style).getCSSPropertyList();
+		@SuppressWarnings("unchecked")
+		Map<String, CSSProperty[]> appliedProperties = (Map<String, CSSProperty[]>) context
+		.getData(APPLIED_PROPERTIES_KEY);
+		if (appliedProperties == null) {
+			appliedProperties = new HashMap<>(4);
+			context.setData(APPLIED_PROPERTIES_KEY, appliedProperties);
+		} else if (isSameProperties(appliedProperties.get(pseudo), propertyList)) {
+			return !restylingDirtyElements;
+		}
+		CSSProperty[] properties = new CSSProperty[propertyList.getLength()];
+		for (int i = 0; i < properties.length; i++) {
+			properties[i] = propertyList.item(i);
+		}
+		appliedProperties.put(pseudo, properties);
+		return true;
+	}
+
+	private static boolean isSameProperties(CSSProperty[] properties, CSSPropertyList propertyList) {
+		if (properties == null || properties.length != propertyList.getLength()) {
+			return false;
+		}
+		for (int i = 0; i < properties.length; i++) {
+			if (properties[i] != propertyList.item(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Allow the CSS engine to skip particular elements if they are not visible.
 	 * Elements need to be restyled when they become visible.
@@ -891,6 +1105,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		if (elementsContext != null) {
 			elementsContext.remove(widget);
 		}
+		dirtyElements.remove(widget);
 	}
 
 	public Object getDocument() {
@@ -1003,6 +1218,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		// FIXME: should dispose element provider and the property handler
 		// providers
 		elementsContext = null;
+		dirtyElements.clear();
 		if (resourcesRegistry != null) {
 			resourcesRegistry.dispose();
 		}
@@ -1012,6 +1228,12 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 	public void reset() {
 		// Remove All Style Sheets
 		documentCSS.removeAllStyleSheets();
+		// Styles must be applied again in full once new style sheets are parsed
+		if (elementsContext != null) {
+			for (CSSElementContext context : elementsContext.values()) {
+				context.setData(APPLIED_PROPERTIES_KEY, null);
+			}
+		}
 	}
 
 	/*--------------- Resources Registry -----------------*/
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.w3c.dom.css.CSSStyleSheet;
+
+/**
+ * Style sheets parsed from an URI by one engine. Each engine owns its cache, so
+ * that the parsed rules, which are mutable, are never shared between engines.
+ * A style sheet is only reused when the content read from the URI is the same
+ * as when it was parsed, so that changes to the file are never missed. The
+ * style sheets are stored as parsed, before their <code>@import</code> rules
+ * are resolved.
+ */
+final class StyleSheetCache {
+
+	private static final int MAX_ENTRIES = 128;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private static final class Entry {
+		final byte[] content;
+		final CSSStyleSheet styleSheet;
+
+		Entry(byte[] content, CSSStyleSheet styleSheet) {
+			this.content = content;
+			this.styleSheet = styleSheet;
+		}
+	}
+
+	/**
+	 * Return the style sheet parsed from the given content, or
+	 * <code>null</code> if it was not parsed yet.
+	 *
+	 * @param uri
+	 *            the URI of the style sheet
+	 * @param content
+	 *            the content read from the URI
+	 */
+	CSSStyleSheet get(String uri, byte[] content) {
+		Entry entry = entries.get(uri);
+		if (entry != null && Arrays.equals(entry.content, content)) {
+			return entry.styleSheet;
+		}
+		return null;
+	}
+
+	void put(String uri, byte[] content, CSSStyleSheet styleSheet) {
+		if (entries.size() >= MAX_ENTRIES) {
+			entries.clear();
+		}
+		entries.put(uri, new Entry(content, styleSheet));
+	}
+}
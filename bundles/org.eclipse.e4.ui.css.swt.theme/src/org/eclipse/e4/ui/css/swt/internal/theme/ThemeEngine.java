@@ -444,32 +444,40 @@ public class ThemeEngine implements IThemeEngine {
 					.registerResourceLocator(l);
 				}
 			}
+			List<URL> urls = new ArrayList<>();
 			for (String stylesheet : getAllStyles(theme.getId())) {
-				URL url;
-				InputStream stream = null;
 				try {
-					url = FileLocator.resolve(new URL(stylesheet.toString()));
-					for (CSSEngine engine : cssEngines) {
-						try {
-							stream = url.openStream();
-							InputSource source = new InputSource();
-							source.setByteStream(stream);
-							source.setURI(url.toString());
-							engine.parseStyleSheet(source);
-						} catch (IOException e) {
-							ThemeEngineManager.logError(e.getMessage(), e);
-						} finally {
-							if (stream != null) {
-								try {
-									stream.close();
-								} catch (IOException e) {
-									ThemeEngineManager.logError(e.getMessage(), e);
-								}
+					urls.add(FileLocator.resolve(new URL(stylesheet.toString())));
+				} catch (IOException e) {
+					ThemeEngineManager.logError(e.getMessage(), e);
+				}
+			}
+			// parse the style sheets in parallel, each engine then only
+			// resolves the imports and adds the parsed rules. The parsed rules
+			// are cached per engine, so every engine has to preparse them.
+			for (CSSEngine engine : cssEngines) {
+				engine.preparseStyleSheets(urls);
+			}
+			for (URL url : urls) {
+				for (CSSEngine engine : cssEngines) {
+					InputStream stream = null;
+					try {
+						stream = url.openStream();
+						InputSource source = new InputSource();
+						source.setByteStream(stream);
+						source.setURI(url.toString());
+						engine.parseStyleSheet(source);
+					} catch (IOException e) {
+						ThemeEngineManager.logError(e.getMessage(), e);
+					} finally {
+						if (stream != null) {
+							try {
+								stream.close();
+							} catch (IOException e) {
+								ThemeEngineManager.logError(e.getMessage(), e);
 							}
 						}
 					}
-				} catch (IOException e) {
-					ThemeEngineManager.logError(e.getMessage(), e);
 				}
 			}
 		}
@@ -117,6 +117,21 @@ public class WidgetElement extends ElementAdapter implements NodeList {
 		}
 	}
 
+	/**
+	 * Convenience method for requesting the CSS engine to restyle a widget and
+	 * its child nodes in its next restyle pass, for instance after its CSS
+	 * class or id changed.
+	 *
+	 * @param widget
+	 *            widget to be restyled
+	 */
+	public static void markDirty(Widget widget) {
+		CSSEngine engine = getEngine(widget);
+		if (engine != null) {
+			engine.markDirty(widget);
+		}
+	}
+
 	/**
 	 * Convenience method for setting the CSS engine responsible for a display.
 	 *
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2010, 2015 BestSolution.at and others.
+ * Copyright (c) 2010, 2018 BestSolution.at and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,11 @@
 package org.eclipse.e4.ui.model.fragment.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 import org.eclipse.e4.emf.xpath.EcoreXPathContextFactory;
 import org.eclipse.e4.emf.xpath.XPathContext;
@@ -333,13 +336,15 @@ public class StringModelFragmentImpl extends ModelFragmentImpl implements MStrin
 
 		XPathContextFactory<EObject> f = EcoreXPathContextFactory.newInstance();
 		XPathContext xpathContext = f.newContext((EObject) application);
-		Iterator<Object> i = xpathContext.iterate(xPath);
+		Iterator<Object> i = f.compile(xPath).iterate(xpathContext);
 
 		List<MApplicationElement> targetElements = new ArrayList<MApplicationElement>();
+		Set<Object> seenElements = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
 		try {
 			while (i.hasNext()) {
 				Object obj = i.next();
-				if (obj instanceof MApplicationElement) {
+				// the same element can be reached through several references
+				if (obj instanceof MApplicationElement && seenElements.add(obj)) {
 					MApplicationElement o = (MApplicationElement) obj;
 					targetElements.add(o);
 				}
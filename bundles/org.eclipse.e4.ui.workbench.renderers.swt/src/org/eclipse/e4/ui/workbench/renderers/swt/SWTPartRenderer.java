@@ -106,12 +106,22 @@ public abstract class SWTPartRenderer extends AbstractPartRenderer {
 			builder.append(' ').append(tag);
 		}
 
-		// this will trigger style()
 		String id = me.getElementId();
 		if (id != null) {
 			id = id.replace('.', '-');
 		}
-		engine.setClassnameAndId(widget, builder.toString(), id);
+		CSSEngine cssEngine = widget instanceof Widget ? WidgetElement.getEngine((Widget) widget) : null;
+		if (cssEngine == null) {
+			// this will trigger style()
+			engine.setClassnameAndId(widget, builder.toString(), id);
+			return;
+		}
+		// The renderers change the classes of many widgets, only restyle those
+		// whose matching rules changed. The widget is restyled right away as
+		// the renderers read its fonts and colors afterwards.
+		WidgetElement.setCSSClass((Widget) widget, builder.toString());
+		WidgetElement.setID((Widget) widget, id);
+		cssEngine.markDirty(widget);
 	}
 
 	@SuppressWarnings("restriction")
@@ -174,22 +174,15 @@ public class BindingProcessingAddon {
 			table = new BindingTable(bindingContext);
 			bindingTables.addTable(table);
 		}
+		List<Binding> keyBindings = new ArrayList<>(bindingTable.getBindings().size());
 		for (MKeyBinding binding : bindingTable.getBindings()) {
-			defineBinding(table, bindingContext, binding);
-		}
-	}
-
-	/**
-	 * @param bindingTable
-	 * @param binding
-	 */
-	private void defineBinding(BindingTable bindingTable, Context bindingContext, MKeyBinding binding) {
-		Binding keyBinding = createBinding(bindingContext,
-				binding.getCommand(), binding.getParameters(),
-				binding.getKeySequence(), binding);
-		if (keyBinding != null && !binding.getTags().contains(EBindingService.DELETED_BINDING_TAG)) {
-			bindingTable.addBinding(keyBinding);
+			Binding keyBinding = createBinding(bindingContext, binding.getCommand(), binding.getParameters(),
+					binding.getKeySequence(), binding);
+			if (keyBinding != null && !binding.getTags().contains(EBindingService.DELETED_BINDING_TAG)) {
+				keyBindings.add(keyBinding);
+			}
 		}
+		table.addBindings(keyBindings);
 	}
 
 	private Binding createBinding(Context bindingContext, MCommand cmdModel, List<MParameter> modelParms,
@@ -318,6 +311,7 @@ public class BindingProcessingAddon {
 									bindingContext);
 							bindingTables.addTable(table);
 							List<MKeyBinding> bindings = bt.getBindings();
+							List<Binding> keyBindings = new ArrayList<>(bindings.size());
 							for (MKeyBinding binding1 : bindings) {
 								Binding keyBinding = createBinding(
 										bindingContext,
@@ -325,9 +319,10 @@ public class BindingProcessingAddon {
 										binding1.getParameters(),
 										binding1.getKeySequence(), binding1);
 								if (keyBinding != null) {
-									table.addBinding(keyBinding);
+									keyBindings.add(keyBinding);
 								}
 							}
+							table.addBindings(keyBindings);
 						}
 					}
 				}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.EObjectInputStream;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.EObjectOutputStream;
+
+/**
+ * Application model resource stored in the EMF binary format instead of XMI.
+ * The binary format is read and written sequentially without any XML parsing,
+ * which makes loading and saving large models considerably faster.
+ * <p>
+ * The XMI ids of the model elements are stored after the contents, in the
+ * order of {@link #getAllContents()}, so that the ids used to match model
+ * fragments against the persisted model are kept like in an
+ * {@link E4XMIResource}.
+ * </p>
+ */
+public class E4BinaryResource extends E4XMIResource {
+
+	/**
+	 * The file extension of binary application model resources.
+	 */
+	public static final String FILE_EXTENSION = "e4bin"; //$NON-NLS-1$
+
+	private static final int BUFFER_CAPACITY = 64 * 1024;
+
+	/**
+	 * Creates an empty binary resource.
+	 */
+	public E4BinaryResource() {
+	}
+
+	/**
+	 * Creates an empty binary resource with the given URI.
+	 *
+	 * @param uri the URI of the resource
+	 */
+	public E4BinaryResource(URI uri) {
+		super(uri);
+	}
+
+	@Override
+	public String getID(EObject eObject) {
+		if (isLoading()) {
+			// the ids are read after the contents, do not generate new ones
+			// for the elements attached meanwhile
+			return null;
+		}
+		return super.getID(eObject);
+	}
+
+	@Override
+	public void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException {
+		BufferedOutputStream bufferedStream = new BufferedOutputStream(outputStream, BUFFER_CAPACITY);
+		EObjectOutputStream out = new EObjectOutputStream(bufferedStream, options);
+		out.saveResource(this);
+		List<EObject> eObjects = new ArrayList<>();
+		for (TreeIterator<EObject> it = getAllContents(); it.hasNext();) {
+			eObjects.add(it.next());
+		}
+		out.writeCompressedInt(eObjects.size());
+		for (EObject eObject : eObjects) {
+			String id = getID(eObject);
+			out.writeString(id == null ? "" : id); //$NON-NLS-1$
+		}
+		out.flush();
+		bufferedStream.flush();
+	}
+
+	@Override
+	public void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
+		EObjectInputStream in = new EObjectInputStream(new BufferedInputStream(inputStream, BUFFER_CAPACITY),
+				options);
+		in.loadResource(this);
+		int size = in.readCompressedInt();
+		TreeIterator<EObject> it = getAllContents();
+		for (int i = 0; i < size && it.hasNext(); i++) {
+			String id = in.readString();
+			EObject eObject = it.next();
+			if (!id.isEmpty()) {
+				setID(eObject, id);
+			}
+		}
+		in.flush();
+	}
+
+	/**
+	 * Moves the contents of the source resource to the target resource,
+	 * together with the ids of all the elements. Used to convert the
+	 * application model between the XMI and the binary format.
+	 *
+	 * @param source
+	 *            the resource to take the contents from
+	 * @param target
+	 *            the resource to move the contents to
+	 */
+	public static void moveContents(E4XMIResource source, E4XMIResource target) {
+		List<EObject> eObjects = new ArrayList<>();
+		List<String> ids = new ArrayList<>();
+		for (TreeIterator<EObject> it = source.getAllContents(); it.hasNext();) {
+			EObject eObject = it.next();
+			eObjects.add(eObject);
+			ids.add(source.getID(eObject));
+		}
+		target.getContents().addAll(source.getContents());
+		for (int i = 0; i < eObjects.size(); i++) {
+			if (ids.get(i) != null) {
+				target.setID(eObjects.get(i), ids.get(i));
+			}
+		}
+	}
+}
@@ -86,6 +86,13 @@ public class E4Workbench implements IWorkbench {
 	 * Value is: <code>forcedShowLocation</code>
 	 */
 	public static final String FORCED_SHOW_LOCATION = "forcedShowLocation"; //$NON-NLS-1$
+	/**
+	 * The argument for whether the application model should be persisted in
+	 * the EMF binary format instead of XMI (set on the command line)<br>
+	 * <br>
+	 * Value is: <code>binaryModelPersistence</code>
+	 */
+	public static final String BINARY_MODEL_PERSISTENCE = "binaryModelPersistence"; //$NON-NLS-1$
 
 	private final String id;
 	private ServiceRegistration<?> osgiRegistration;
@@ -18,6 +18,7 @@
 
 package org.eclipse.e4.ui.internal.workbench;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -29,6 +30,10 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.inject.Inject;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IContributor;
@@ -52,10 +57,17 @@ import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EFactory;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.Diagnostician;
 import org.eclipse.emf.ecore.util.EContentsEList;
 import org.eclipse.emf.ecore.util.EcoreUtil;
@@ -91,6 +103,12 @@ public class ModelAssembler {
 	private static final String INITIAL = "initial"; //$NON-NLS-1$
 	private static final String NOTEXISTS = "notexists"; //$NON-NLS-1$
 
+	/** whether {@link #processFragments(Collection)} is running */
+	private boolean processingFragments;
+
+	/** the index used to resolve the imports while fragments are processed */
+	private ModelIndex modelIndex;
+
 	/**
 	 * Processes the application model. This will run pre-processors, process the
 	 * fragments, resolve imports and run post-processors, in this order. <br>
@@ -122,25 +140,31 @@ public class ModelAssembler {
 	 *
 	 */
 	private void processFragments(IExtension[] extensions, boolean initial) {
-		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
+		List<IConfigurationElement> fragmentElements = new ArrayList<>();
 		for (IExtension extension : extensions) {
 			IConfigurationElement[] ces = extension.getConfigurationElements();
 			for (IConfigurationElement ce : ces) {
 				if ("fragment".equals(ce.getName()) && (initial || !INITIAL.equals(ce.getAttribute("apply")))) { //$NON-NLS-1$ //$NON-NLS-2$
-					MModelFragments fragmentsContainer = getFragmentsContainer(ce);
-					if (fragmentsContainer == null) {
-						continue;
-					}
-					for (MModelFragment fragment : fragmentsContainer.getFragments()) {
-						boolean checkExist = !initial && NOTEXISTS.equals(ce.getAttribute("apply")); //$NON-NLS-1$
-						wrappers.add(new ModelFragmentWrapper(fragmentsContainer, fragment,
-								ce.getContributor().getName(), URIHelper.constructPlatformURI(ce.getContributor()),
-								checkExist)); // $NON-NLS-1$
-					}
+					fragmentElements.add(ce);
 				}
 			}
 		}
 
+		List<MModelFragments> fragmentsContainers = getFragmentsContainers(fragmentElements);
+		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
+		for (int i = 0; i < fragmentElements.size(); i++) {
+			IConfigurationElement ce = fragmentElements.get(i);
+			MModelFragments fragmentsContainer = fragmentsContainers.get(i);
+			if (fragmentsContainer == null) {
+				continue;
+			}
+			for (MModelFragment fragment : fragmentsContainer.getFragments()) {
+				boolean checkExist = !initial && NOTEXISTS.equals(ce.getAttribute("apply")); //$NON-NLS-1$
+				wrappers.add(new ModelFragmentWrapper(fragmentsContainer, fragment, ce.getContributor().getName(),
+						URIHelper.constructPlatformURI(ce.getContributor()), checkExist)); // $NON-NLS-1$
+			}
+		}
+
 		processFragmentWrappers(wrappers);
 	}
 
@@ -212,10 +236,22 @@ public class ModelAssembler {
 	}
 
 	public void processFragments(Collection<ModelFragmentWrapper> fragmentList) {
-		for (ModelFragmentWrapper fragmentWrapper : fragmentList) {
-			processFragment(fragmentWrapper.getFragmentContainer(), fragmentWrapper.getModelFragment(),
-					fragmentWrapper.getContributorName(), fragmentWrapper.getContributorURI(),
-					fragmentWrapper.isCheckExists());
+		boolean outermost = !processingFragments;
+		processingFragments = true;
+		try {
+			for (ModelFragmentWrapper fragmentWrapper : fragmentList) {
+				processFragment(fragmentWrapper.getFragmentContainer(), fragmentWrapper.getModelFragment(),
+						fragmentWrapper.getContributorName(), fragmentWrapper.getContributorURI(),
+						fragmentWrapper.isCheckExists());
+			}
+		} finally {
+			if (outermost) {
+				processingFragments = false;
+				if (modelIndex != null) {
+					modelIndex.dispose();
+					modelIndex = null;
+				}
+			}
 		}
 	}
 
@@ -267,9 +303,135 @@ public class ModelAssembler {
 		}
 	}
 
-	private MModelFragments getFragmentsContainer(IConfigurationElement ce) {
-		E4XMIResource applicationResource = (E4XMIResource) ((EObject) application).eResource();
-		ResourceSet resourceSet = applicationResource.getResourceSet();
+	/**
+	 * Returns the {@link MModelFragments} of the given configuration elements, in
+	 * the same order. The fragment resources which are not yet part of the
+	 * application's resource set are loaded in parallel by a pool of threads of
+	 * its own, each into a resource set of its own. They are added to the
+	 * application's resource set afterwards on the calling thread, in the order of
+	 * the configuration elements.
+	 * <p>
+	 * The registries and the URI converter of the application's resource set are
+	 * not thread-safe, so they are not used by the loading threads. The resource
+	 * factories are looked up and the registered packages are resolved on the
+	 * calling thread beforehand, and each load gets a copy of the URI converter.
+	 * </p>
+	 *
+	 * @param ces the <code>fragment</code> configuration elements
+	 * @return the fragment containers, with <code>null</code> for the elements
+	 *         which could not be loaded
+	 */
+	private List<MModelFragments> getFragmentsContainers(List<IConfigurationElement> ces) {
+		ResourceSet resourceSet = ((EObject) application).eResource().getResourceSet();
+
+		List<URI> uris = new ArrayList<>(ces.size());
+		Map<URI, Resource.Factory> factories = new LinkedHashMap<>();
+		for (IConfigurationElement ce : ces) {
+			URI uri = getFragmentsURI(ce);
+			uris.add(uri);
+			if (uri != null && !factories.containsKey(uri) && resourceSet.getResource(uri, false) == null) {
+				// without a factory the resource is loaded on the calling thread,
+				// which reports the failure
+				Resource.Factory factory = resourceSet.getResourceFactoryRegistry().getFactory(uri);
+				if (factory != null) {
+					factories.put(uri, factory);
+				}
+			}
+		}
+
+		Map<URI, CompletableFuture<Resource>> loads = new HashMap<>();
+		ExecutorService executor = null;
+		if (!factories.isEmpty()) {
+			EPackage.Registry packageRegistry = getResolvedPackageRegistry(resourceSet.getPackageRegistry());
+			Map<Object, Object> loadOptions = new HashMap<>(resourceSet.getLoadOptions());
+			int threads = Math.min(factories.size(), Runtime.getRuntime().availableProcessors());
+			executor = Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = new Thread(runnable, "Model Fragment Loader"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			for (Entry<URI, Resource.Factory> entry : factories.entrySet()) {
+				URI uri = entry.getKey();
+				Resource.Factory factory = entry.getValue();
+				URIConverter uriConverter = copyURIConverter(resourceSet.getURIConverter());
+				loads.put(uri, CompletableFuture.supplyAsync(() -> {
+					ResourceSet loadingResourceSet = new ResourceSetImpl();
+					loadingResourceSet.setURIConverter(uriConverter);
+					loadingResourceSet.setPackageRegistry(packageRegistry);
+					loadingResourceSet.getLoadOptions().putAll(loadOptions);
+					Resource resource = factory.createResource(uri);
+					loadingResourceSet.getResources().add(resource);
+					try {
+						resource.load(loadOptions);
+					} catch (IOException e) {
+						throw new WrappedException(e);
+					}
+					return resource;
+				}, executor));
+			}
+		}
+
+		try {
+			List<MModelFragments> fragmentsContainers = new ArrayList<>(ces.size());
+			for (int i = 0; i < ces.size(); i++) {
+				IConfigurationElement ce = ces.get(i);
+				URI uri = uris.get(i);
+				fragmentsContainers.add(uri == null ? null : getFragmentsContainer(ce, uri, loads.remove(uri)));
+			}
+			return fragmentsContainers;
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Returns a package registry for the loading threads of
+	 * {@link #getFragmentsContainers(List)}. The packages registered in the given
+	 * registry and the fragment package are resolved on the calling thread, so
+	 * that the loading threads only read them. The other packages are looked up in
+	 * the given registry one thread at a time.
+	 */
+	private static EPackage.Registry getResolvedPackageRegistry(EPackage.Registry packageRegistry) {
+		EPackage.Registry resolved = new EPackageRegistryImpl(packageRegistry) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected EPackage delegatedGetEPackage(String nsURI) {
+				synchronized (packageRegistry) {
+					return super.delegatedGetEPackage(nsURI);
+				}
+			}
+
+			@Override
+			protected EFactory delegatedGetEFactory(String nsURI) {
+				synchronized (packageRegistry) {
+					return super.delegatedGetEFactory(nsURI);
+				}
+			}
+		};
+		synchronized (packageRegistry) {
+			for (String nsURI : new ArrayList<>(packageRegistry.keySet())) {
+				EPackage ePackage = packageRegistry.getEPackage(nsURI);
+				if (ePackage != null) {
+					resolved.put(nsURI, ePackage);
+				}
+			}
+		}
+		resolved.put(FragmentPackageImpl.eNS_URI, FragmentPackageImpl.eINSTANCE);
+		return resolved;
+	}
+
+	private static URIConverter copyURIConverter(URIConverter uriConverter) {
+		URIConverter copy = new ExtensibleURIConverterImpl(uriConverter.getURIHandlers(),
+				uriConverter.getContentHandlers());
+		copy.getURIMap().putAll(uriConverter.getURIMap());
+		return copy;
+	}
+
+	private URI getFragmentsURI(IConfigurationElement ce) {
 		IContributor contributor = ce.getContributor();
 		String attrURI = ce.getAttribute("uri"); //$NON-NLS-1$
 		String bundleName = contributor.getName();
@@ -291,10 +453,33 @@ public class ModelAssembler {
 			logger.warn(e, "Invalid location \"" + attrURI + "\" of model extension \"" + bundleName + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			return null;
 		}
+		return uri;
+	}
 
+	/**
+	 * Returns the {@link MModelFragments} of the resource with the given URI.
+	 *
+	 * @param ce   the <code>fragment</code> configuration element
+	 * @param uri  the URI of the fragment resource
+	 * @param load the load of the resource started in the background, or
+	 *             <code>null</code> if the resource is part of the application's
+	 *             resource set
+	 */
+	private MModelFragments getFragmentsContainer(IConfigurationElement ce, URI uri, CompletableFuture<Resource> load) {
+		ResourceSet resourceSet = ((EObject) application).eResource().getResourceSet();
+		String bundleName = ce.getContributor().getName();
 		Resource resource;
 		try {
-			resource = resourceSet.getResource(uri, true);
+			if (load == null) {
+				resource = resourceSet.getResource(uri, true);
+			} else {
+				resource = load.join();
+				resourceSet.getResources().add(resource);
+			}
+		} catch (CompletionException e) {
+			logger.warn(e.getCause(),
+					"Unable to read model extension from \"" + uri.toString() + "\" of \"" + bundleName + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			return null;
 		} catch (RuntimeException e) {
 			logger.warn(e, "Unable to read model extension from \"" + uri.toString() + "\" of \"" + bundleName + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			return null;
@@ -445,7 +630,7 @@ public class ModelAssembler {
 		// now that we have all components loaded, resolve imports
 		Map<MApplicationElement, MApplicationElement> importMaps = new HashMap<>();
 		for (MApplicationElement importedElement : imports) {
-			MApplicationElement realElement = ModelUtils.findElementById(application, importedElement.getElementId());
+			MApplicationElement realElement = findElementById(importedElement.getElementId());
 			if (realElement == null) {
 				logger.warn("Could not resolve an import element for '" + importedElement.getElementId() + "'"); //$NON-NLS-1$ //$NON-NLS-2$
 			}
@@ -500,4 +685,26 @@ public class ModelAssembler {
 			cmd.run();
 		}
 	}
+
+	/**
+	 * Finds the element of the application model with the given id. While
+	 * fragments are processed, the lookup goes through a {@link ModelIndex} of the
+	 * application instead of traversing the model for each import.
+	 */
+	private MApplicationElement findElementById(String id) {
+		if (processingFragments && id != null && !id.isEmpty()) {
+			if (modelIndex == null) {
+				modelIndex = new ModelIndex(application);
+			}
+			Collection<MApplicationElement> candidates = modelIndex.getCandidates(id, null, null);
+			if (candidates.isEmpty()) {
+				return null;
+			}
+			if (candidates.size() == 1) {
+				return candidates.iterator().next();
+			}
+			// keep returning the first element in the model order
+		}
+		return ModelUtils.findElementById(application, id);
+	}
 }
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.impl.ApplicationPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.advanced.impl.AdvancedPackageImpl;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+/**
+ * Index of the elements contained in an application model by element id, by
+ * tag and by concrete type, and of the placeholders by referenced element. The
+ * index is an {@link EContentAdapter} attached to the application, so it
+ * follows every element added to or removed from the model as well as every
+ * change of an element id, of the tags or of a placeholder reference.
+ * <p>
+ * The index is used by {@link ModelServiceImpl} to limit the model traversal
+ * of a search to the branches that contain possible matches.
+ * </p>
+ */
+final class ModelIndex extends EContentAdapter {
+
+	private final MApplication application;
+
+	private final Map<String, Set<MApplicationElement>> elementsById = new HashMap<>();
+
+	private final Map<String, Set<MApplicationElement>> elementsByTag = new HashMap<>();
+
+	private final Map<EClass, Set<MApplicationElement>> elementsByType = new HashMap<>();
+
+	private final Map<MUIElement, Set<MApplicationElement>> placeholdersByRef = new HashMap<>();
+
+	private int size;
+
+	ModelIndex(MApplication application) {
+		this.application = application;
+		((EObject) application).eAdapters().add(this);
+	}
+
+	MApplication getApplication() {
+		return application;
+	}
+
+	void dispose() {
+		((EObject) application).eAdapters().remove(this);
+	}
+
+	/**
+	 * Return whether the element is contained in the indexed application.
+	 */
+	boolean contains(Object element) {
+		if (!(element instanceof MApplicationElement)) {
+			return false;
+		}
+		Set<MApplicationElement> elements = elementsByType.get(((EObject) element).eClass());
+		return elements != null && elements.contains(element);
+	}
+
+	/**
+	 * Return the placeholders of the application referencing the given element.
+	 */
+	Collection<MApplicationElement> getPlaceholders(Object element) {
+		return get(placeholdersByRef, element);
+	}
+
+	/**
+	 * Return the placeholders of the application referencing an element which
+	 * is not contained in the application.
+	 */
+	Collection<MApplicationElement> getPlaceholdersOfForeignElements() {
+		List<MApplicationElement> placeholders = new ArrayList<>();
+		for (Map.Entry<MUIElement, Set<MApplicationElement>> entry : placeholdersByRef.entrySet()) {
+			if (!contains(entry.getKey())) {
+				placeholders.addAll(entry.getValue());
+			}
+		}
+		return placeholders;
+	}
+
+	/**
+	 * Return the indexed elements which may match the given criteria, or
+	 * <code>null</code> if the criteria are not selective enough for the index
+	 * to help. The returned elements are a superset of the matches, they still
+	 * have to be checked against the criteria.
+	 *
+	 * @param id
+	 *            the element id to match or <code>null</code>
+	 * @param clazz
+	 *            the type to match or <code>null</code>
+	 * @param tags
+	 *            the tags to match or <code>null</code>
+	 */
+	Collection<MApplicationElement> getCandidates(String id, Class<?> clazz, List<String> tags) {
+		if (id != null) {
+			return get(elementsById, id);
+		}
+		if (tags != null && !tags.isEmpty()) {
+			Set<MApplicationElement> smallest = null;
+			for (String tag : tags) {
+				Set<MApplicationElement> tagged = get(elementsByTag, tag);
+				if (smallest == null || tagged.size() < smallest.size()) {
+					smallest = tagged;
+				}
+			}
+			return smallest;
+		}
+		if (clazz == null || clazz == MApplicationElement.class || clazz == MUIElement.class) {
+			return null;
+		}
+		List<MApplicationElement> candidates = new ArrayList<>();
+		for (Map.Entry<EClass, Set<MApplicationElement>> entry : elementsByType.entrySet()) {
+			Class<?> instanceClass = entry.getKey().getInstanceClass();
+			if (instanceClass != null && clazz.isAssignableFrom(instanceClass)) {
+				candidates.addAll(entry.getValue());
+			}
+		}
+		// a traversal restricted to most of the model is not worth it
+		return candidates.size() > size / 2 ? null : candidates;
+	}
+
+	@Override
+	protected void setTarget(EObject target) {
+		super.setTarget(target);
+		if (target instanceof MApplicationElement) {
+			MApplicationElement element = (MApplicationElement) target;
+			add(elementsByType, target.eClass(), element);
+			if (element.getElementId() != null) {
+				add(elementsById, element.getElementId(), element);
+			}
+			for (String tag : element.getTags()) {
+				add(elementsByTag, tag, element);
+			}
+			if (element instanceof MPlaceholder && ((MPlaceholder) element).getRef() != null) {
+				add(placeholdersByRef, ((MPlaceholder) element).getRef(), element);
+			}
+			size++;
+		}
+	}
+
+	@Override
+	protected void unsetTarget(EObject target) {
+		super.unsetTarget(target);
+		if (target instanceof MApplicationElement) {
+			MApplicationElement element = (MApplicationElement) target;
+			remove(elementsByType, target.eClass(), element);
+			if (element.getElementId() != null) {
+				remove(elementsById, element.getElementId(), element);
+			}
+			for (String tag : element.getTags()) {
+				remove(elementsByTag, tag, element);
+			}
+			if (element instanceof MPlaceholder && ((MPlaceholder) element).getRef() != null) {
+				remove(placeholdersByRef, ((MPlaceholder) element).getRef(), element);
+			}
+			size--;
+		}
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+		Object notifier = notification.getNotifier();
+		if (!(notifier instanceof MApplicationElement) || notification.isTouch()) {
+			return;
+		}
+		MApplicationElement element = (MApplicationElement) notifier;
+		Object feature = notification.getFeature();
+		if (feature == ApplicationPackageImpl.Literals.APPLICATION_ELEMENT__ELEMENT_ID) {
+			if (notification.getOldValue() != null) {
+				remove(elementsById, (String) notification.getOldValue(), element);
+			}
+			if (notification.getNewValue() != null) {
+				add(elementsById, (String) notification.getNewValue(), element);
+			}
+		} else if (feature == ApplicationPackageImpl.Literals.APPLICATION_ELEMENT__TAGS) {
+			for (String tag : values(notification.getOldValue())) {
+				// the same tag may be present more than once
+				if (!element.getTags().contains(tag)) {
+					remove(elementsByTag, tag, element);
+				}
+			}
+			for (String tag : values(notification.getNewValue())) {
+				add(elementsByTag, tag, element);
+			}
+		} else if (feature == AdvancedPackageImpl.Literals.PLACEHOLDER__REF) {
+			if (notification.getOldValue() != null) {
+				remove(placeholdersByRef, (MUIElement) notification.getOldValue(), element);
+			}
+			if (notification.getNewValue() != null) {
+				add(placeholdersByRef, (MUIElement) notification.getNewValue(), element);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Collection<String> values(Object value) {
+		if (value instanceof String) {
+			return Collections.singleton((String) value);
+		}
+		if (value instanceof Collection<?>) {
+			return (Collection<String>) value;
+		}
+		return Collections.emptySet();
+	}
+
+	private static Set<MApplicationElement> get(Map<?, Set<MApplicationElement>> map, Object key) {
+		Set<MApplicationElement> elements = map.get(key);
+		return elements == null ? Collections.emptySet() : elements;
+	}
+
+	private static <K> void add(Map<K, Set<MApplicationElement>> map, K key, MApplicationElement element) {
+		map.computeIfAbsent(key, k -> new HashSet<>()).add(element);
+	}
+
+	private static <K> void remove(Map<K, Set<MApplicationElement>> map, K key, MApplicationElement element) {
+		Set<MApplicationElement> elements = map.get(key);
+		if (elements != null && elements.remove(element) && elements.isEmpty()) {
+			map.remove(key);
+		}
+	}
+}
@@ -89,6 +89,17 @@ public class ResourceHandler implements IModelResourceHandler {
 	@Named(IWorkbench.CLEAR_PERSISTED_STATE)
 	private boolean clearPersistedState;
 
+	@Inject
+	@Optional
+	@Named(E4Workbench.BINARY_MODEL_PERSISTENCE)
+	private boolean binaryModelPersistence;
+
+	/**
+	 * The model file in the other persistence format the model was converted
+	 * from, deleted once the converted model is saved.
+	 */
+	private File convertedData;
+
 	/**
 	 * Constructor.
 	 *
@@ -107,6 +118,8 @@ public class ResourceHandler implements IModelResourceHandler {
 		resourceSet = new ResourceSetImpl();
 		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
 				.put(Resource.Factory.Registry.DEFAULT_EXTENSION, new E4XMIResourceFactory());
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(E4BinaryResource.FILE_EXTENSION,
+				new E4BinaryResourceFactory());
 		resourceSet.getPackageRegistry().put(ApplicationPackageImpl.eNS_URI, ApplicationPackageImpl.eINSTANCE);
 		resourceSet.getPackageRegistry().put(CommandsPackageImpl.eNS_URI, CommandsPackageImpl.eINSTANCE);
 		resourceSet.getPackageRegistry().put(UiPackageImpl.eNS_URI, UiPackageImpl.eINSTANCE);
@@ -146,6 +159,14 @@ public class ResourceHandler implements IModelResourceHandler {
 
 		if (saveAndRestore) {
 			workbenchData = getWorkbenchSaveLocation();
+			File otherFormatData = getWorkbenchSaveLocation(!binaryModelPersistence);
+			if (clearPersistedState) {
+				otherFormatData.delete();
+			} else if (!workbenchData.exists() && otherFormatData.exists()) {
+				// the persistence format was switched, the model is converted
+				// when it is loaded
+				workbenchData = otherFormatData;
+			}
 			restoreLocation = URI.createFileURI(workbenchData.getAbsolutePath());
 		}
 
@@ -174,6 +195,12 @@ public class ResourceHandler implements IModelResourceHandler {
 							"The persisted application model has no top-level window. Reinitializing with the default application model."); //$NON-NLS-1$
 				}
 				resource = null;
+			} else if (!isConfiguredFormat(resource)) {
+				Resource converted = createResource();
+				E4BinaryResource.moveContents((E4XMIResource) resource, (E4XMIResource) converted);
+				resourceSet.getResources().remove(resource);
+				resource = converted;
+				convertedData = workbenchData;
 			}
 		}
 		if (resource == null) {
@@ -210,8 +237,15 @@ public class ResourceHandler implements IModelResourceHandler {
 
 	@Override
 	public void save() throws IOException {
-		if (saveAndRestore)
+		if (saveAndRestore) {
 			resource.save(null);
+			if (convertedData != null) {
+				// the model converted from the other format is saved, the
+				// file it was converted from is outdated now
+				convertedData.delete();
+				convertedData = null;
+			}
+		}
 	}
 
 	/**
@@ -237,10 +271,19 @@ public class ResourceHandler implements IModelResourceHandler {
 	}
 
 	private File getWorkbenchSaveLocation() {
-		File workbenchData = new File(getBaseLocation(), "workbench.xmi"); //$NON-NLS-1$
+		return getWorkbenchSaveLocation(binaryModelPersistence);
+	}
+
+	private File getWorkbenchSaveLocation(boolean binary) {
+		String fileName = binary ? "workbench." + E4BinaryResource.FILE_EXTENSION : "workbench.xmi"; //$NON-NLS-1$ //$NON-NLS-2$
+		File workbenchData = new File(getBaseLocation(), fileName);
 		return workbenchData;
 	}
 
+	private boolean isConfiguredFormat(Resource resource) {
+		return (resource instanceof E4BinaryResource) == binaryModelPersistence;
+	}
+
 	private File getBaseLocation() {
 		File baseLocation;
 		try {
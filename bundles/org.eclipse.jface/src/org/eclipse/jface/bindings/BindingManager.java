@@ -279,6 +279,33 @@ public final class BindingManager extends HandleObjectManager implements
 	 */
 	private Map prefixTable;
 
+	/**
+	 * The bindings which can become active in the current state, i.e., which
+	 * are not deleted and match the active locales, platforms and schemes. This
+	 * is a map of triggers (<code>TriggerSequence</code>) to the bindings
+	 * (<code>Binding</code>) for that trigger, in the order of the
+	 * <code>bindings</code> array. It does not depend on the active contexts,
+	 * so it is kept while only the contexts change. This value is
+	 * <code>null</code> if it has not been computed for the current state.
+	 */
+	private Map<TriggerSequence, List<Binding>> candidatesByTrigger;
+
+	/**
+	 * The triggers of the bindings in <code>candidatesByTrigger</code>,
+	 * indexed by the identifier of the context in which they are defined. This
+	 * value is <code>null</code> if <code>candidatesByTrigger</code> is.
+	 */
+	private Map<String, Set<TriggerSequence>> candidateTriggersByContextId;
+
+	/**
+	 * The binding set from which the active bindings are taken. When the
+	 * active contexts change, the next binding set is computed from this one
+	 * by only resolving again the triggers bound in the contexts which were
+	 * activated or deactivated. This value is <code>null</code> if there is
+	 * no existing solution.
+	 */
+	private CachedBindingSet activeBindingSet;
+
 	/**
 	 * <p>
 	 * Constructs a new instance of <code>BindingManager</code>.
@@ -358,6 +385,50 @@ public final class BindingManager extends HandleObjectManager implements
 		addListenerObject(listener);
 	}
 
+	/**
+	 * <p>
+	 * Adds the triggers bound in the contexts which are in the first context
+	 * tree, but not in the second one.
+	 * </p>
+	 * <p>
+	 * This method completes in <code>O(n)</code>, where <code>n</code> is
+	 * the number of contexts and bound triggers.
+	 * </p>
+	 *
+	 * @param contextTree
+	 *            The tree of contexts whose bound triggers are added; must not
+	 *            be <code>null</code>.
+	 * @param otherContextTree
+	 *            The tree of contexts whose contexts are skipped; must not be
+	 *            <code>null</code>.
+	 * @param changedTriggers
+	 *            The set to which the triggers are added; must not be
+	 *            <code>null</code>.
+	 * @return <code>false</code> if a context is in both trees, but with a
+	 *         different parent; <code>true</code> otherwise.
+	 */
+	private final boolean addChangedTriggers(final Map contextTree,
+			final Map otherContextTree, final Set<TriggerSequence> changedTriggers) {
+		final Iterator contextItr = contextTree.entrySet().iterator();
+		while (contextItr.hasNext()) {
+			final Map.Entry entry = (Map.Entry) contextItr.next();
+			final Object contextId = entry.getKey();
+			if (otherContextTree.containsKey(contextId)) {
+				if (!Objects.equals(entry.getValue(), otherContextTree.get(contextId))) {
+					return false;
+				}
+				continue;
+			}
+
+			final Set<TriggerSequence> triggers = candidateTriggersByContextId.get(contextId);
+			if (triggers != null) {
+				changedTriggers.addAll(triggers);
+			}
+		}
+
+		return true;
+	}
+
 	/**
 	 * <p>
 	 * Builds a prefix table look-up for a map of active bindings.
@@ -443,6 +514,9 @@ public final class BindingManager extends HandleObjectManager implements
 	 * This method completes in <code>O(1)</code>.
 	 */
 	private final void clearSolution() {
+		candidatesByTrigger = null;
+		candidateTriggersByContextId = null;
+		activeBindingSet = null;
 		setActiveBindings(null, null, null, null);
 	}
 
@@ -481,6 +555,111 @@ public final class BindingManager extends HandleObjectManager implements
 		return 0;
 	}
 
+	/**
+	 * <p>
+	 * Computes the active bindings for the given context tree from the
+	 * bindings which can become active in the current state. If a previous
+	 * solution for the current state is given, then it is copied, and only the
+	 * triggers bound in the contexts which were activated or deactivated since
+	 * are resolved again.
+	 * </p>
+	 * <p>
+	 * This method completes in <code>O(n)</code>, where <code>n</code> is
+	 * the number of active bindings, or the number of bindings if there is no
+	 * previous solution.
+	 * </p>
+	 *
+	 * @param previous
+	 *            The previous solution computed for the current locales,
+	 *            platforms and schemes; may be <code>null</code>.
+	 * @param activeContextTree
+	 *            The map representing the tree of active contexts; must not be
+	 *            <code>null</code>.
+	 * @param bindingsByTrigger
+	 *            The empty map of triggers to bindings to fill in; must not be
+	 *            <code>null</code>.
+	 * @param triggersByCommandId
+	 *            The empty map of commands to triggers to fill in; must not be
+	 *            <code>null</code>.
+	 * @param conflictsByTrigger
+	 *            The empty map of triggers to conflicting bindings to fill in;
+	 *            must not be <code>null</code>.
+	 */
+	private final void computeActiveBindings(final CachedBindingSet previous,
+			final Map activeContextTree, final Map bindingsByTrigger,
+			final Map triggersByCommandId, final Map conflictsByTrigger) {
+		final Map<TriggerSequence, List<Binding>> candidates = getCandidatesByTrigger();
+		Collection<TriggerSequence> triggers = candidates.keySet();
+
+		if (previous != null) {
+			final Map previousContextTree = previous.getActiveContextTree();
+			final Set<TriggerSequence> changedTriggers = new HashSet<>();
+			if (addChangedTriggers(activeContextTree, previousContextTree, changedTriggers)
+					&& addChangedTriggers(previousContextTree, activeContextTree, changedTriggers)
+					&& changedTriggers.size() * 2 < candidates.size()) {
+				if (DEBUG) {
+					Tracing.printTrace("BINDINGS", "Resolving " //$NON-NLS-1$ //$NON-NLS-2$
+							+ changedTriggers.size() + " changed triggers"); //$NON-NLS-1$
+				}
+
+				bindingsByTrigger.putAll(previous.getBindingsByTrigger());
+				conflictsByTrigger.putAll(previous.getConflictsByTrigger());
+				final Iterator commandItr = previous.getTriggersByCommandId()
+						.entrySet().iterator();
+				while (commandItr.hasNext()) {
+					final Map.Entry entry = (Map.Entry) commandItr.next();
+					triggersByCommandId.put(entry.getKey(),
+							new ArrayList((Collection) entry.getValue()));
+				}
+
+				// Remove the previous resolution of the changed triggers.
+				for (TriggerSequence trigger : changedTriggers) {
+					conflictsByTrigger.remove(trigger);
+					final Binding binding = (Binding) bindingsByTrigger.remove(trigger);
+					if (binding != null) {
+						final Object command = binding.getParameterizedCommand();
+						final Collection commandTriggers = (Collection) triggersByCommandId
+								.get(command);
+						commandTriggers.remove(trigger);
+						if (commandTriggers.isEmpty()) {
+							triggersByCommandId.remove(command);
+						}
+					}
+				}
+				triggers = changedTriggers;
+			}
+		}
+
+		MultiStatus conflicts = new MultiStatus("org.eclipse.jface", 0, //$NON-NLS-1$
+				"Keybinding conflicts occurred.  They may interfere with normal accelerator operation.", //$NON-NLS-1$
+				null);
+		for (TriggerSequence trigger : triggers) {
+			Object match = null;
+			for (Binding binding : candidates.get(trigger)) {
+				if (!activeContextTree.containsKey(binding.getContextId())) {
+					continue;
+				}
+				if (match == null) {
+					match = binding;
+				} else if (match instanceof Binding) {
+					final Collection matches = new ArrayList();
+					matches.add(match);
+					matches.add(binding);
+					match = matches;
+				} else {
+					((Collection) match).add(binding);
+				}
+			}
+			if (match != null) {
+				resolveMatch(trigger, match, activeContextTree, bindingsByTrigger,
+						triggersByCommandId, conflictsByTrigger, conflicts);
+			}
+		}
+		if (conflicts.getSeverity() != IStatus.OK) {
+			Policy.getLog().log(conflicts);
+		}
+	}
+
 	/**
 	 * <p>
 	 * Computes the bindings given the context tree, and inserts them into the
@@ -530,7 +709,6 @@ public final class BindingManager extends HandleObjectManager implements
 		final int length = trimmedBindings.length;
 		for (int i = 0; i < length; i++) {
 			final Binding binding = trimmedBindings[i];
-			boolean found;
 
 			// Check the context.
 			final String contextId = binding.getContextId();
@@ -550,17 +728,7 @@ public final class BindingManager extends HandleObjectManager implements
 			}
 
 			// Check the scheme ids.
-			final String schemeId = binding.getSchemeId();
-			found = false;
-			if (activeSchemeIds != null) {
-				for (String activeSchemeId : activeSchemeIds) {
-					if (Objects.equals(schemeId, activeSchemeId)) {
-						found = true;
-						break;
-					}
-				}
-			}
-			if (!found) {
+			if (!schemeMatches(binding)) {
 				continue;
 			}
 
@@ -626,49 +794,9 @@ public final class BindingManager extends HandleObjectManager implements
 
 			} else {
 				// We are building the flat map of trigger to commands.
-				if (match instanceof Binding) {
-					final Binding binding = (Binding) match;
-					bindingsByTrigger.put(trigger, binding);
-					addReverseLookup(triggersByCommandId, binding
-							.getParameterizedCommand(), trigger);
-
-				} else if (match instanceof Collection) {
-					final Binding winner = resolveConflicts((Collection) match,
-							activeContextTree);
-					if (winner == null) {
-						// warn once ... so as not to flood the logs
-						conflictsByTrigger.put(trigger, match);
-						if (triggerConflicts.add(trigger)) {
-							final StringWriter sw = new StringWriter();
-							final BufferedWriter buffer = new BufferedWriter(sw);
-							try {
-								buffer.write("A conflict occurred for "); //$NON-NLS-1$
-								buffer.write(trigger.toString());
-								buffer.write(':');
-								Iterator i = ((Collection) match).iterator();
-								while (i.hasNext()) {
-									buffer.newLine();
-									buffer.write(i.next().toString());
-								}
-								buffer.flush();
-							} catch (IOException e) {
-								// we should not get this
-							}
-							conflicts.add(new Status(IStatus.WARNING,
-									"org.eclipse.jface", //$NON-NLS-1$
-									sw.toString()));
-						}
-						if (DEBUG) {
-							Tracing.printTrace("BINDINGS", //$NON-NLS-1$
-									"A conflict occurred for " + trigger); //$NON-NLS-1$
-							Tracing.printTrace("BINDINGS", "    " + match); //$NON-NLS-1$ //$NON-NLS-2$
-						}
-					} else {
-						bindingsByTrigger.put(trigger, winner);
-						addReverseLookup(triggersByCommandId, winner
-								.getParameterizedCommand(), trigger);
-					}
-				}
+				resolveMatch(trigger, match, activeContextTree,
+						bindingsByTrigger, triggersByCommandId,
+						conflictsByTrigger, conflicts);
 			}
 		}
 		if (conflicts.getSeverity() != IStatus.OK) {
@@ -1411,6 +1539,55 @@ public final class BindingManager extends HandleObjectManager implements
 		return returnValue;
 	}
 
+	/**
+	 * <p>
+	 * Returns the bindings which can become active in the current state,
+	 * computing them if needed. The caller must not modify the returned map.
+	 * </p>
+	 * <p>
+	 * This method completes in <code>O(1)</code>. If the candidates are not
+	 * yet computed, then this completes in <code>O(n)</code>, where
+	 * <code>n</code> is the number of bindings.
+	 * </p>
+	 *
+	 * @return The map of triggers (<code>TriggerSequence</code>) to the list
+	 *         of bindings (<code>Binding</code>) which are not deleted and
+	 *         match the active locales, platforms and schemes; never
+	 *         <code>null</code>.
+	 */
+	private final Map<TriggerSequence, List<Binding>> getCandidatesByTrigger() {
+		if (candidatesByTrigger == null) {
+			final Map<TriggerSequence, List<Binding>> candidates = new HashMap<>();
+			final Map<String, Set<TriggerSequence>> triggersByContextId = new HashMap<>();
+			for (Binding binding : removeDeletions(bindings)) {
+				if (!localeMatches(binding) || !platformMatches(binding)
+						|| !schemeMatches(binding)) {
+					continue;
+				}
+
+				final TriggerSequence trigger = binding.getTriggerSequence();
+				List<Binding> triggerBindings = candidates.get(trigger);
+				if (triggerBindings == null) {
+					triggerBindings = new ArrayList<>(1);
+					candidates.put(trigger, triggerBindings);
+				}
+				triggerBindings.add(binding);
+
+				final String contextId = binding.getContextId();
+				Set<TriggerSequence> contextTriggers = triggersByContextId.get(contextId);
+				if (contextTriggers == null) {
+					contextTriggers = new HashSet<>();
+					triggersByContextId.put(contextId, contextTriggers);
+				}
+				contextTriggers.add(trigger);
+			}
+			candidatesByTrigger = candidates;
+			candidateTriggersByContextId = triggersByContextId;
+		}
+
+		return candidatesByTrigger;
+	}
+
 	/**
 	 * <p>
 	 * Returns the array of schemes that are defined.
@@ -1519,7 +1696,13 @@ public final class BindingManager extends HandleObjectManager implements
 	 */
 	private final Map getPrefixTable() {
 		if (prefixTable == null) {
-			recomputeBindings();
+			final Map activeBindings = getActiveBindings();
+			if (prefixTable == null) {
+				prefixTable = buildPrefixTable(activeBindings);
+				if (activeBindingSet != null) {
+					activeBindingSet.setPrefixTable(prefixTable);
+				}
+			}
 		}
 
 		return prefixTable;
@@ -1713,6 +1896,7 @@ public final class BindingManager extends HandleObjectManager implements
 	private final void recomputeBindings() {
 		if (bindings == null) {
 			// Not yet initialized. This is happening too early. Do nothing.
+			activeBindingSet = null;
 			setActiveBindings(Collections.EMPTY_MAP, Collections.EMPTY_MAP,
 					Collections.EMPTY_MAP, Collections.EMPTY_MAP);
 			return;
@@ -1741,6 +1925,7 @@ public final class BindingManager extends HandleObjectManager implements
 			if (DEBUG) {
 				Tracing.printTrace("BINDINGS", "Cache hit"); //$NON-NLS-1$ //$NON-NLS-2$
 			}
+			activeBindingSet = existingCache;
 			setActiveBindings(existingCache.getBindingsByTrigger(), existingCache.getTriggersByCommandId(),
 					existingCache.getPrefixTable(),
 					existingCache.getConflictsByTrigger());
@@ -1752,23 +1937,27 @@ public final class BindingManager extends HandleObjectManager implements
 			Tracing.printTrace("BINDINGS", "Cache miss"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 
-		// Compute the active bindings.
+		/*
+		 * Compute the active bindings, starting from the previous solution if
+		 * only the contexts changed. The prefix table is built when it is
+		 * first needed.
+		 */
 		final Map commandIdsByTrigger = new HashMap();
 		final Map triggersByParameterizedCommand = new HashMap();
 		final Map conflictsByTrigger = new HashMap();
-		computeBindings(activeContextTree, commandIdsByTrigger,
+		final CachedBindingSet previous = activeBindingSet != null
+				&& activeBindingSet.isInitialized() ? activeBindingSet : null;
+		computeActiveBindings(previous, activeContextTree, commandIdsByTrigger,
 				triggersByParameterizedCommand, conflictsByTrigger);
-		final Map newPrefixTable = buildPrefixTable(commandIdsByTrigger);
 
 		// init cache
 		existingCache.setBindingsByTrigger(commandIdsByTrigger);
 		existingCache.setTriggersByCommandId(triggersByParameterizedCommand);
 		existingCache.setConflictsByTrigger(conflictsByTrigger);
-		existingCache.setPrefixTable(newPrefixTable);
 
+		activeBindingSet = existingCache;
 		setActiveBindings(commandIdsByTrigger, triggersByParameterizedCommand,
-				newPrefixTable,
-				conflictsByTrigger);
+				null, conflictsByTrigger);
 	}
 
 	/**
@@ -2106,6 +2295,85 @@ public final class BindingManager extends HandleObjectManager implements
 		return bestMatch;
 	}
 
+	/**
+	 * <p>
+	 * Inserts the binding matching a trigger in the current state into the
+	 * maps of active bindings. If there is more than one match, the conflict
+	 * is resolved, or recorded and logged if it can't be resolved.
+	 * </p>
+	 *
+	 * @param trigger
+	 *            The trigger for which the match was found; must not be
+	 *            <code>null</code>.
+	 * @param match
+	 *            The matching <code>Binding</code>, or a
+	 *            <code>Collection</code> of the conflicting bindings; must
+	 *            not be <code>null</code>.
+	 * @param activeContextTree
+	 *            The map representing the tree of active contexts; must not be
+	 *            <code>null</code>.
+	 * @param bindingsByTrigger
+	 *            The map of triggers to bindings to fill in; must not be
+	 *            <code>null</code>.
+	 * @param triggersByCommandId
+	 *            The map of commands to triggers to fill in; must not be
+	 *            <code>null</code>.
+	 * @param conflictsByTrigger
+	 *            The map of triggers to conflicting bindings to fill in; must
+	 *            not be <code>null</code>.
+	 * @param conflicts
+	 *            The status collecting the conflicts to log; must not be
+	 *            <code>null</code>.
+	 */
+	private final void resolveMatch(final TriggerSequence trigger,
+			final Object match, final Map activeContextTree,
+			final Map bindingsByTrigger, final Map triggersByCommandId,
+			final Map conflictsByTrigger, final MultiStatus conflicts) {
+		if (match instanceof Binding) {
+			final Binding binding = (Binding) match;
+			bindingsByTrigger.put(trigger, binding);
+			addReverseLookup(triggersByCommandId, binding
+					.getParameterizedCommand(), trigger);
+
+		} else if (match instanceof Collection) {
+			final Binding winner = resolveConflicts((Collection) match,
+					activeContextTree);
+			if (winner == null) {
+				// warn once ... so as not to flood the logs
+				conflictsByTrigger.put(trigger, match);
+				if (triggerConflicts.add(trigger)) {
+					final StringWriter sw = new StringWriter();
+					final BufferedWriter buffer = new BufferedWriter(sw);
+					try {
+						buffer.write("A conflict occurred for "); //$NON-NLS-1$
+						buffer.write(trigger.toString());
+						buffer.write(':');
+						Iterator i = ((Collection) match).iterator();
+						while (i.hasNext()) {
+							buffer.newLine();
+							buffer.write(i.next().toString());
+						}
+						buffer.flush();
+					} catch (IOException e) {
+						// we should not get this
+					}
+					conflicts.add(new Status(IStatus.WARNING,
+							"org.eclipse.jface", //$NON-NLS-1$
+							sw.toString()));
+				}
+				if (DEBUG) {
+					Tracing.printTrace("BINDINGS", //$NON-NLS-1$
+							"A conflict occurred for " + trigger); //$NON-NLS-1$
+					Tracing.printTrace("BINDINGS", "    " + match); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			} else {
+				bindingsByTrigger.put(trigger, winner);
+				addReverseLookup(triggersByCommandId, winner
+						.getParameterizedCommand(), trigger);
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * Notifies this manager that a scheme has changed. This method is intended
@@ -2148,6 +2416,35 @@ public final class BindingManager extends HandleObjectManager implements
 		}
 	}
 
+	/**
+	 * <p>
+	 * Tests whether the scheme for the binding is one of the active schemes.
+	 * </p>
+	 * <p>
+	 * This method completes in <code>O(n)</code>, where <code>n</code> is
+	 * the number of active schemes.
+	 * </p>
+	 *
+	 * @param binding
+	 *            The binding with which to test; must not be <code>null</code>.
+	 * @return <code>true</code> if the binding's scheme is active;
+	 *         <code>false</code> otherwise.
+	 */
+	private final boolean schemeMatches(final Binding binding) {
+		if (activeSchemeIds == null) {
+			return false;
+		}
+
+		final String schemeId = binding.getSchemeId();
+		for (String activeSchemeId : activeSchemeIds) {
+			if (Objects.equals(schemeId, activeSchemeId)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * Sets the active bindings and the prefix table. This ensures that the two
 	 * values change at the same time, and that any listeners are notified
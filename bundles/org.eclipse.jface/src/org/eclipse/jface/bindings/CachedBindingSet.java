@@ -235,6 +235,18 @@ final class CachedBindingSet {
 		return Arrays.equals(schemeIds, other.schemeIds);
 	}
 
+	/**
+	 * Returns the tree of active contexts for which this binding set was
+	 * computed.
+	 *
+	 * @return A map of context id (<code>String</code>) to parent context id
+	 *         (<code>String</code>). This value may be <code>null</code> if
+	 *         the contexts were disregarded.
+	 */
+	final Map getActiveContextTree() {
+		return activeContextTree;
+	}
+
 	/**
 	 * Returns the map of command identifiers indexed by trigger sequence.
 	 *
@@ -381,10 +393,11 @@ final class CachedBindingSet {
 	}
 
 	/**
-	 * @return true if all the required maps are computed and non null
+	 * @return true if all the required maps are computed and non null. The
+	 *         prefix table is built when it is first needed, and may still be
+	 *         <code>null</code>.
 	 */
 	final boolean isInitialized() {
-		return bindingsByTrigger != null && triggersByCommandId != null && conflictsByTrigger != null
-				&& prefixTable != null;
+		return bindingsByTrigger != null && triggersByCommandId != null && conflictsByTrigger != null;
 	}
 }
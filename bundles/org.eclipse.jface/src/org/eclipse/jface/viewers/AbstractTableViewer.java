@@ -215,6 +215,12 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 
 	private VirtualManager virtualManager;
 
+	/**
+	 * Filters and sorts the elements in the background on full refreshes, or
+	 * <code>null</code> if this is done in the UI thread.
+	 */
+	private BackgroundRefresh backgroundRefresh;
+
 	/**
 	 * Create the new viewer for table like widgets
 	 */
@@ -232,6 +238,9 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 	protected void handleDispose(DisposeEvent event) {
 		super.handleDispose(event);
 		virtualManager = null;
+		if (backgroundRefresh != null) {
+			backgroundRefresh.cancel();
+		}
 	}
 
 	/**
@@ -265,6 +274,9 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		assertElementsNotNull(elements);
 		if (checkBusy())
 			return;
+		if (backgroundRefresh != null) {
+			backgroundRefresh.structureChanged();
+		}
 		Object[] filtered = filter(elements);
 
 		for (Object element : filtered) {
@@ -599,6 +611,9 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		if (backgroundRefresh != null) {
+			backgroundRefresh.structureChanged();
+		}
 		createItem(element, position);
 	}
 
@@ -611,6 +626,13 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 	protected void internalRefresh(Object element, boolean updateLabels) {
 		applyEditorValue();
 		if (element == null || equals(element, getRoot())) {
+			if (backgroundRefresh != null) {
+				if (getRoot() != null && !(getContentProvider() instanceof ILazyContentProvider)) {
+					backgroundRefresh.refresh(getRoot(), updateLabels);
+					return;
+				}
+				backgroundRefresh.cancel();
+			}
 			if (virtualManager == null) {
 				internalRefreshAll(updateLabels);
 			} else {
@@ -646,6 +668,30 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		doClearAll();
 	}
 
+	/**
+	 * Shows the children filtered and sorted in the background, see
+	 * {@link #setBackgroundRefresh(boolean)}.
+	 *
+	 * @param children
+	 *            the sorted and filtered children of the root
+	 * @param updateLabels
+	 *            <code>true</code> to update labels for existing elements
+	 */
+	void backgroundRefreshDone(Object[] children, boolean updateLabels) {
+		if (checkBusy())
+			return;
+		applyEditorValue();
+		preservingSelection(() -> {
+			if (virtualManager == null) {
+				internalRefreshAll(children, updateLabels);
+			} else {
+				virtualManager.cachedElements = children;
+				doSetItemCount(children.length);
+				doClearAll();
+			}
+		});
+	}
+
 	/**
 	 * Refresh all of the elements of the table. update the labels if
 	 * updatLabels is true;
@@ -655,6 +701,17 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 	 * @since 3.1
 	 */
 	private void internalRefreshAll(boolean updateLabels) {
+		internalRefreshAll(getSortedChildren(getRoot()), updateLabels);
+	}
+
+	/**
+	 * Refresh all of the elements of the table with the given children.
+	 *
+	 * @param children
+	 *            the sorted and filtered children of the root
+	 * @param updateLabels
+	 */
+	private void internalRefreshAll(Object[] children, boolean updateLabels) {
 		// the parent
 
 		// in the code below, it is important to do all disassociates
@@ -664,7 +721,6 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		// item 1 could undo
 		// the associate of b to item 0.
 
-		Object[] children = getSortedChildren(getRoot());
 		Item[] items = doGetItems();
 		int min = Math.min(children.length, items.length);
 		for (int i = 0; i < min; ++i) {
@@ -795,6 +851,9 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		if (elements.length == 0) {
 			return;
 		}
+		if (backgroundRefresh != null) {
+			backgroundRefresh.structureChanged();
+		}
 		preservingSelection(() -> internalRemove(elements));
 	}
 
@@ -1039,6 +1098,54 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 
 	}
 
+	/**
+	 * Sets whether the full refreshes of this viewer filter and sort the
+	 * elements in a background thread, keeping the UI responsive for large
+	 * inputs. The elements are obtained from the content provider and their
+	 * labels from the label provider in the UI thread, and the result is
+	 * shown in the UI thread once the last refresh is done. A refresh
+	 * cancels the refresh in progress.
+	 * <p>
+	 * The filters and the comparator of this viewer must be able to be used
+	 * in a background thread. If the comparator orders the elements by their
+	 * category and label, the labels are obtained before the sort and compared
+	 * through collation keys if the strings are compared by a
+	 * {@link java.text.Collator}.
+	 * </p>
+	 * <p>
+	 * This has no effect with an {@link ILazyContentProvider}.
+	 * </p>
+	 *
+	 * @param background
+	 *            <code>true</code> to filter and sort in a background thread,
+	 *            <code>false</code> to do it in the UI thread
+	 * @since 3.15
+	 */
+	public void setBackgroundRefresh(boolean background) {
+		if (background == (backgroundRefresh != null)) {
+			return;
+		}
+		if (background) {
+			backgroundRefresh = new BackgroundRefresh(this);
+		} else {
+			backgroundRefresh.cancel();
+			backgroundRefresh = null;
+		}
+	}
+
+	/**
+	 * Returns whether the full refreshes of this viewer filter and sort the
+	 * elements in a background thread.
+	 *
+	 * @return <code>true</code> if the elements are filtered and sorted in a
+	 *         background thread
+	 * @see #setBackgroundRefresh(boolean)
+	 * @since 3.15
+	 */
+	public boolean isBackgroundRefresh() {
+		return backgroundRefresh != null;
+	}
+
 	/**
 	 * Sets the content provider used by this <code>AbstractTableViewer</code>.
 	 * <p>
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -102,6 +102,12 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 	 */
 	private boolean isExpandableCheckFilters = false;
 
+	/**
+	 * The updates collected by {@link #batchUpdate(Runnable)}, or
+	 * <code>null</code> if no batch is running.
+	 */
+	private TreeUpdateBatch updateBatch;
+
 	/**
 	 * Safe runnable used to update an item.
 	 */
@@ -152,6 +158,10 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		assertElementsNotNull(childElements);
 		if (checkBusy())
 			return;
+		if (updateBatch != null) {
+			updateBatch.add(parentElementOrTreePath, childElements);
+			return;
+		}
 		Widget[] widgets = internalFindItems(parentElementOrTreePath);
 		// If parent hasn't been realized yet, just ignore the add.
 		if (widgets.length == 0) {
@@ -370,14 +380,21 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		// original item array.
 		int indexInItems = 0;
 
+		// When many elements are added, merging them with the items in a
+		// single pass takes fewer comparisons than a binary search for each
+		// element.
+		boolean merge = (long) elements.length
+				* (32 - Integer.numberOfLeadingZeros(items.length)) >= items.length;
+
 		// Count of elements we have added. See bug 205700 for why this is needed.
 		int newItems = 0;
 
 		elementloop: for (int i = 0; i < elements.length; i++) {
 			Object element = elements[i];
 			// update the index relative to the original item array
-			indexInItems = insertionPosition(items, comparator,
-					indexInItems, element, parentPath);
+			indexInItems = merge
+					? mergePosition(items, comparator, indexInItems, element, parentPath)
+					: insertionPosition(items, comparator, indexInItems, element, parentPath);
 			if (indexInItems == items.length) {
 				createTreeItem(widget, element, -1);
 				newItems++;
@@ -497,6 +514,37 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 
 	}
 
+	/**
+	 * Returns the index of the first item from the given index on which is not
+	 * sorted before the element. Unlike
+	 * {@link #insertionPosition(Item[], ViewerComparator, int, Object, TreePath)}
+	 * this scans the items linearly, so that the positions of a sorted list of
+	 * elements are found by a single merge with the items.
+	 *
+	 * @param items
+	 *            the sorted items to search
+	 * @param comparator
+	 *            The comparator to use.
+	 * @param lastInsertion
+	 *            the position of the previous element of the sorted list
+	 * @param element
+	 *            element to find position for.
+	 * @param parentPath
+	 *            the tree path for the element's parent or <code>null</code>
+	 *            if the element is a root element or the sorter is not a
+	 *            {@link TreePathViewerSorter}
+	 * @return the index to use when inserting the element.
+	 */
+	private int mergePosition(Item[] items, ViewerComparator comparator,
+			int lastInsertion, Object element, TreePath parentPath) {
+		int index = lastInsertion;
+		while (index < items.length
+				&& internalCompare(comparator, parentPath, items[index].getData(), element) < 0) {
+			index++;
+		}
+		return index;
+	}
+
 	/**
 	 * Returns the index where the item should be inserted. It uses sorter to
 	 * determine the correct position, if sorter is not assigned, returns the
@@ -721,6 +769,86 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Runs the given code, collecting the calls it makes to the
+	 * <code>add</code>, <code>remove</code>, <code>refresh</code> and
+	 * <code>update</code> methods of this viewer, and applies them afterwards
+	 * in a single pass with redraw turned off and the selection preserved.
+	 * <p>
+	 * Redundant changes are dropped: elements removed after being added are
+	 * not added, elements added to a parent that is also refreshed are left to
+	 * the refresh, and repeated refreshes and updates of an element are
+	 * merged. The children added to a parent are inserted all at once.
+	 * </p>
+	 * <p>
+	 * The removes are applied first, then the adds, the refreshes and the
+	 * updates, so the code must not rely on the tree reflecting its changes
+	 * before it returns. Nested calls are part of the outermost batch.
+	 * </p>
+	 * <p>
+	 * The other methods changing the tree, such as <code>insert</code>,
+	 * <code>setExpandedState</code>, <code>expandToLevel</code>,
+	 * <code>collapseToLevel</code> and the <code>replace</code>,
+	 * <code>setChildCount</code> and <code>setHasChildren</code> methods of
+	 * {@link TreeViewer}, are not collected. They first apply the changes
+	 * collected so far, so that they take effect in the order they were made,
+	 * and the batch goes on collecting the changes made afterwards.
+	 * </p>
+	 *
+	 * @param updates
+	 *            the code changing the viewer
+	 * @since 3.15
+	 */
+	public void batchUpdate(Runnable updates) {
+		if (updateBatch != null) {
+			updates.run();
+			return;
+		}
+		TreeUpdateBatch batch = new TreeUpdateBatch(this);
+		updateBatch = batch;
+		try {
+			updates.run();
+		} finally {
+			updateBatch = null;
+			applyUpdateBatch(batch);
+		}
+	}
+
+	/**
+	 * Applies the changes collected so far by the running
+	 * {@link #batchUpdate(Runnable)}, if any, before a change that the batch
+	 * does not collect. The batch goes on collecting the changes made
+	 * afterwards.
+	 */
+	/* package */void flushUpdateBatch() {
+		TreeUpdateBatch batch = updateBatch;
+		if (batch == null) {
+			return;
+		}
+		updateBatch = null;
+		try {
+			applyUpdateBatch(batch);
+		} finally {
+			updateBatch = new TreeUpdateBatch(this);
+		}
+	}
+
+	private void applyUpdateBatch(TreeUpdateBatch batch) {
+		Control tree = getControl();
+		if (batch.isEmpty() || tree == null || tree.isDisposed() || checkBusy()) {
+			return;
+		}
+		if (batch.hasRefreshes() && isCellEditorActive()) {
+			cancelEditing();
+		}
+		tree.setRedraw(false);
+		try {
+			preservingSelection(batch::apply);
+		} finally {
+			tree.setRedraw(true);
+		}
+	}
+
 	/**
 	 * Collapses all nodes of the viewer's tree, starting with the root. This
 	 * method is equivalent to <code>collapseToLevel(ALL_LEVELS)</code>.
@@ -744,6 +872,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 	 */
 	public void collapseToLevel(Object elementOrTreePath, int level) {
 		Assert.isNotNull(elementOrTreePath);
+		flushUpdateBatch();
 		Widget w = internalGetWidgetToSelect(elementOrTreePath);
 		if (w != null) {
 			internalCollapseToLevel(w, level);
@@ -1111,6 +1240,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 	public void expandToLevel(Object elementOrTreePath, int level, boolean disableRedraw) {
 		if (checkBusy())
 			return;
+		flushUpdateBatch();
 		Control control = getControl();
 		try {
 			if (disableRedraw) {
@@ -2220,6 +2350,28 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 	 */
 	protected abstract Item newItem(Widget parent, int style, int index);
 
+	@Override
+	public void refresh(Object element) {
+		if (updateBatch != null) {
+			if (!checkBusy()) {
+				updateBatch.refresh(element, true);
+			}
+			return;
+		}
+		super.refresh(element);
+	}
+
+	@Override
+	public void refresh(Object element, boolean updateLabels) {
+		if (updateBatch != null) {
+			if (!checkBusy()) {
+				updateBatch.refresh(element, updateLabels);
+			}
+			return;
+		}
+		super.refresh(element, updateLabels);
+	}
+
 	/**
 	 * Removes the given elements from this viewer. The selection is updated if
 	 * required.
@@ -2239,6 +2391,10 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		if (updateBatch != null) {
+			updateBatch.remove(null, elementsOrTreePaths);
+			return;
+		}
 		preservingSelection(() -> internalRemove(elementsOrTreePaths));
 	}
 
@@ -2267,6 +2423,10 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 		if (checkBusy())
 			return;
+		if (updateBatch != null) {
+			updateBatch.remove(parent, elements);
+			return;
+		}
 		preservingSelection(() -> internalRemove(parent, elements));
 	}
 
@@ -2512,6 +2672,7 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		Assert.isNotNull(elementOrTreePath);
 		if (checkBusy())
 			return;
+		flushUpdateBatch();
 		Widget item = internalExpand(elementOrTreePath, false);
 		if (item instanceof Item) {
 			if (expanded) {
@@ -2583,6 +2744,18 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 	 */
 	protected abstract void showItem(Item item);
 
+	@Override
+	public void update(Object element, String[] properties) {
+		if (updateBatch != null) {
+			Assert.isNotNull(element);
+			if (!checkBusy()) {
+				updateBatch.update(element, properties);
+			}
+			return;
+		}
+		super.update(element, properties);
+	}
+
 	/**
 	 * Updates the tree items to correspond to the child elements of the given
 	 * parent element. If null is passed for the children, this method obtains
@@ -3084,6 +3257,8 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 			add(parentElementOrTreePath, new Object[] { element });
 			return;
 		}
+		// the position is relative to the children after the changes made so far
+		flushUpdateBatch();
 		Widget[] items;
 		if (internalIsInputOrEmptyPath(parentElementOrTreePath)) {
 			items = new Widget[] { getControl() };
@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * BackgroundRefresh filters and sorts the elements of an
+ * {@link AbstractTableViewer} in a background thread, see
+ * {@link AbstractTableViewer#setBackgroundRefresh(boolean)}.
+ * <p>
+ * The raw elements are obtained from the content provider in the UI thread,
+ * together with their categories and labels if the comparator orders the
+ * elements by them. The background thread applies the filters and sorts the
+ * elements, comparing collation keys computed once per element if the labels
+ * are compared by a {@link Collator}. A newer refresh cancels the refresh in
+ * progress, and only the result of the last one is applied to the viewer in
+ * the UI thread.
+ * </p>
+ */
+/* package */final class BackgroundRefresh {
+
+	private static final String SORTING = JFaceResources.getString("Sorting"); //$NON-NLS-1$
+
+	/**
+	 * The number of elements filtered or compared between two checks for
+	 * cancellation.
+	 */
+	private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+	/**
+	 * Thrown in the background thread when the refresh was superseded by a
+	 * newer one.
+	 */
+	private static final class CancelledException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		CancelledException() {
+			super(null, null, false, false);
+		}
+	}
+
+	/**
+	 * The snapshot of the viewer taken by a refresh in the UI thread.
+	 */
+	private static final class Request {
+		final int generation;
+
+		final Object parent;
+
+		final Object[] elements;
+
+		final ViewerFilter[] filters;
+
+		final ViewerComparator comparator;
+
+		/**
+		 * The categories and labels of the elements if the comparator orders
+		 * the elements by them, or <code>null</code>.
+		 */
+		final int[] categories;
+
+		final String[] labels;
+
+		final Comparator<? super String> labelComparator;
+
+		final Display display;
+
+		Request(int generation, Object parent, Object[] elements, ViewerFilter[] filters,
+				ViewerComparator comparator, int[] categories, String[] labels,
+				Comparator<? super String> labelComparator, Display display) {
+			this.generation = generation;
+			this.parent = parent;
+			this.elements = elements;
+			this.filters = filters;
+			this.comparator = comparator;
+			this.categories = categories;
+			this.labels = labels;
+			this.labelComparator = labelComparator;
+			this.display = display;
+		}
+	}
+
+	private final AbstractTableViewer viewer;
+
+	/**
+	 * The generation of the last refresh. Refreshes of older generations are
+	 * cancelled.
+	 */
+	private volatile int generation;
+
+	/**
+	 * Whether the labels of unchanged elements need to be updated when the
+	 * last refresh is applied. Only accessed in the UI thread.
+	 */
+	private boolean updateLabels;
+
+	/**
+	 * Whether the viewer changed since the last refresh. Only accessed in the
+	 * UI thread.
+	 */
+	private boolean structureChanged;
+
+	/**
+	 * Protects <code>pending</code> and <code>threadStarted</code>.
+	 */
+	private final Object lock = new Object();
+
+	private Request pending;
+
+	private boolean threadStarted;
+
+	private final class RefreshThread extends Thread {
+		private RefreshThread(String name) {
+			super(name);
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				Request request;
+				synchronized (lock) {
+					request = pending;
+					pending = null;
+					if (request == null) {
+						threadStarted = false;
+						return;
+					}
+				}
+				Object[] result;
+				try {
+					result = filterAndSort(request);
+				} catch (CancelledException e) {
+					continue;
+				} catch (RuntimeException e) {
+					Policy.logException(e);
+					continue;
+				}
+				if (!isCancelled(request) && !request.display.isDisposed()) {
+					request.display.asyncExec(() -> done(request, result));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a new background refresh for the viewer.
+	 *
+	 * @param viewer
+	 *            the viewer to refresh
+	 */
+	BackgroundRefresh(AbstractTableViewer viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * Starts a refresh of the children of the parent, cancelling the refresh
+	 * in progress. Must be called in the UI thread.
+	 *
+	 * @param parent
+	 *            the root element of the viewer
+	 * @param updateLabels
+	 *            <code>true</code> to update labels for existing elements
+	 */
+	void refresh(Object parent, boolean updateLabels) {
+		this.updateLabels |= updateLabels;
+		structureChanged = false;
+		Object[] elements = viewer.getRawChildren(parent).clone();
+		ViewerComparator comparator = viewer.getComparator();
+		int[] categories = null;
+		String[] labels = null;
+		Comparator<? super String> labelComparator = null;
+		if (comparator != null && comparator.isLabelOrder()) {
+			// the label provider is only called in the UI thread
+			categories = new int[elements.length];
+			labels = new String[elements.length];
+			for (int i = 0; i < elements.length; i++) {
+				categories[i] = comparator.category(elements[i]);
+				labels[i] = comparator.getLabel(viewer, elements[i]);
+			}
+			labelComparator = comparator.getComparator();
+			if (labelComparator instanceof Collator) {
+				// collators are not thread safe
+				labelComparator = (Collator) ((Collator) labelComparator).clone();
+			}
+		}
+		ViewerFilter[] filters = viewer.getFilters();
+		Display display = viewer.getControl().getDisplay();
+		Request request = new Request(++generation, parent, elements, filters, comparator, categories,
+				labels, labelComparator, display);
+		synchronized (lock) {
+			pending = request;
+			if (!threadStarted) {
+				threadStarted = true;
+				Thread thread = new RefreshThread(SORTING);
+				thread.setDaemon(true);
+				thread.setPriority(Thread.NORM_PRIORITY - 1);
+				thread.start();
+			}
+		}
+	}
+
+	/**
+	 * Cancels the refresh in progress. Must be called in the UI thread.
+	 */
+	void cancel() {
+		generation++;
+		updateLabels = false;
+		synchronized (lock) {
+			pending = null;
+		}
+	}
+
+	/**
+	 * Notes that elements were added to or removed from the viewer since the
+	 * refresh in progress took its snapshot. Must be called in the UI thread.
+	 */
+	void structureChanged() {
+		structureChanged = true;
+	}
+
+	private boolean isCancelled(Request request) {
+		return request.generation != generation;
+	}
+
+	/**
+	 * Called in the UI thread with the filtered and sorted children.
+	 */
+	private void done(Request request, Object[] children) {
+		if (isCancelled(request)) {
+			return;
+		}
+		Control control = viewer.getControl();
+		if (control == null || control.isDisposed()) {
+			return;
+		}
+		if (structureChanged) {
+			// the snapshot may miss elements added in the meantime
+			refresh(request.parent, false);
+			return;
+		}
+		boolean labels = updateLabels;
+		updateLabels = false;
+		viewer.backgroundRefreshDone(children, labels);
+	}
+
+	private Object[] filterAndSort(Request request) {
+		Object[] elements = request.elements;
+		for (ViewerFilter filter : request.filters) {
+			if (isCancelled(request)) {
+				throw new CancelledException();
+			}
+			elements = filter.filter(viewer, request.parent, elements);
+		}
+		if (request.comparator == null) {
+			return elements;
+		}
+		if (isCancelled(request)) {
+			throw new CancelledException();
+		}
+		if (request.labels == null) {
+			Object[] sorted = elements == request.elements ? elements.clone() : elements;
+			request.comparator.sort(viewer, sorted);
+			return sorted;
+		}
+		return sortByLabel(request, elements);
+	}
+
+	/**
+	 * Sorts the elements by their category and label, using the collation
+	 * keys of the labels if they are compared by a collator.
+	 */
+	private Object[] sortByLabel(Request request, Object[] elements) {
+		Map<Object, Integer> rawIndices = new IdentityHashMap<>(request.elements.length * 2);
+		for (int i = 0; i < request.elements.length; i++) {
+			rawIndices.put(request.elements[i], Integer.valueOf(i));
+		}
+		int length = elements.length;
+		int[] categories = new int[length];
+		String[] labels = new String[length];
+		for (int i = 0; i < length; i++) {
+			Integer rawIndex = rawIndices.get(elements[i]);
+			if (rawIndex != null) {
+				categories[i] = request.categories[rawIndex.intValue()];
+				labels[i] = request.labels[rawIndex.intValue()];
+			} else {
+				// a filter returned an element that was not in the snapshot
+				labels[i] = elements[i].toString();
+			}
+		}
+		Comparator<Integer> byLabel;
+		if (request.labelComparator instanceof Collator) {
+			Collator collator = (Collator) request.labelComparator;
+			CollationKey[] keys = new CollationKey[length];
+			for (int i = 0; i < length; i++) {
+				if (i % CANCEL_CHECK_INTERVAL == 0 && isCancelled(request)) {
+					throw new CancelledException();
+				}
+				keys[i] = collator.getCollationKey(labels[i]);
+			}
+			byLabel = (i1, i2) -> keys[i1.intValue()].compareTo(keys[i2.intValue()]);
+		} else {
+			Comparator<? super String> labelComparator = request.labelComparator;
+			byLabel = (i1, i2) -> labelComparator.compare(labels[i1.intValue()], labels[i2.intValue()]);
+		}
+		Integer[] order = new Integer[length];
+		for (int i = 0; i < length; i++) {
+			order[i] = Integer.valueOf(i);
+		}
+		int[] compareCount = new int[1];
+		Arrays.sort(order, (i1, i2) -> {
+			if (++compareCount[0] % CANCEL_CHECK_INTERVAL == 0 && isCancelled(request)) {
+				throw new CancelledException();
+			}
+			int category1 = categories[i1.intValue()];
+			int category2 = categories[i2.intValue()];
+			if (category1 != category2) {
+				return category1 - category2;
+			}
+			return byLabel.compare(i1, i2);
+		});
+		Object[] sorted = new Object[length];
+		for (int i = 0; i < length; i++) {
+			sorted[i] = elements[order[i].intValue()];
+		}
+		return sorted;
+	}
+}
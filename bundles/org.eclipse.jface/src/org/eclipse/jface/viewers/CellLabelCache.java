@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.eclipse.swt.custom.StyleRange;
+
+/**
+ * A cache of the labels of the cells of a {@link ColumnViewer}, see
+ * {@link ColumnViewer#setLabelCacheSize(int)}.
+ * <p>
+ * The cache keeps the text, image, font, colors and style ranges the label
+ * provider of a column set on the cell of an element, and sets them again on
+ * the cell instead of calling the label provider until the label of the
+ * element is invalidated by a {@link LabelProviderChangedEvent} or by
+ * {@link StructuredViewer#update(Object, String[])}. When the cache holds
+ * more than its maximum number of cells, the least recently used elements
+ * are evicted.
+ * </p>
+ * <p>
+ * This class is not intended to be instantiated or subclassed by clients.
+ * </p>
+ *
+ * @since 3.15
+ */
+public final class CellLabelCache {
+
+	/**
+	 * The cached labels of the columns of an element.
+	 */
+	private static final class Row {
+		ViewerLabel[] labels = new ViewerLabel[1];
+
+		StyleRange[][] styleRanges = new StyleRange[1][];
+
+		int count;
+	}
+
+	/**
+	 * Key used for the elements if the viewer has an element comparer.
+	 */
+	private static final class ComparerKey {
+		final Object element;
+
+		final IElementComparer comparer;
+
+		ComparerKey(Object element, IElementComparer comparer) {
+			this.element = element;
+			this.comparer = comparer;
+		}
+
+		@Override
+		public int hashCode() {
+			return comparer.hashCode(element);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ComparerKey && comparer.equals(element, ((ComparerKey) obj).element);
+		}
+	}
+
+	private final ColumnViewer viewer;
+
+	private final int maximumSize;
+
+	/**
+	 * The rows in access order, the least recently used first.
+	 */
+	private final LinkedHashMap<Object, Row> rows = new LinkedHashMap<>(16, 0.75f, true);
+
+	private int size;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private long evictionCount;
+
+	/**
+	 * Creates a new cache for the viewer.
+	 *
+	 * @param viewer
+	 *            the viewer whose cell labels are cached
+	 * @param maximumSize
+	 *            the maximum number of cells to cache
+	 */
+	CellLabelCache(ColumnViewer viewer, int maximumSize) {
+		this.viewer = viewer;
+		this.maximumSize = maximumSize;
+	}
+
+	private Object key(Object element) {
+		IElementComparer comparer = viewer.getComparer();
+		return comparer == null ? element : new ComparerKey(element, comparer);
+	}
+
+	/**
+	 * Sets the cached label of the cell on the cell.
+	 *
+	 * @param cell
+	 *            the cell to update
+	 * @return <code>true</code> if the label was cached, <code>false</code>
+	 *         if the label provider must update the cell
+	 */
+	boolean apply(ViewerCell cell) {
+		Object element = cell.getElement();
+		Row row = element == null ? null : rows.get(key(element));
+		int column = cell.getColumnIndex();
+		if (row == null || column >= row.labels.length || row.labels[column] == null) {
+			missCount++;
+			return false;
+		}
+		hitCount++;
+		ViewerLabel label = row.labels[column];
+		StyleRange[] styleRanges = row.styleRanges[column];
+		if (!Arrays.equals(cell.getStyleRanges(), styleRanges)) {
+			cell.setStyleRanges(styleRanges);
+			if (cell.getText().equals(label.getText())) {
+				// make sure the item is repainted with the new ranges
+				cell.setText(""); //$NON-NLS-1$
+			}
+		}
+		cell.setText(label.getText());
+		cell.setImage(label.getImage());
+		cell.setFont(label.getFont());
+		cell.setForeground(label.getForeground());
+		cell.setBackground(label.getBackground());
+		return true;
+	}
+
+	/**
+	 * Caches the label the label provider just set on the cell.
+	 *
+	 * @param cell
+	 *            the updated cell
+	 */
+	void store(ViewerCell cell) {
+		Object element = cell.getElement();
+		if (element == null) {
+			return;
+		}
+		ViewerLabel label = new ViewerLabel(cell.getText(), cell.getImage());
+		label.setFont(cell.getFont());
+		label.setForeground(cell.getForeground());
+		label.setBackground(cell.getBackground());
+		StyleRange[] styleRanges = cell.getStyleRanges();
+
+		Object key = key(element);
+		Row row = rows.get(key);
+		if (row == null) {
+			row = new Row();
+			rows.put(key, row);
+		}
+		int column = cell.getColumnIndex();
+		if (column >= row.labels.length) {
+			int length = Math.max(column + 1, row.labels.length * 2);
+			row.labels = Arrays.copyOf(row.labels, length);
+			row.styleRanges = Arrays.copyOf(row.styleRanges, length);
+		}
+		if (row.labels[column] == null) {
+			row.count++;
+			size++;
+		}
+		row.labels[column] = label;
+		row.styleRanges[column] = styleRanges;
+		evict();
+	}
+
+	private void evict() {
+		Iterator<Row> iterator = rows.values().iterator();
+		while (size > maximumSize && iterator.hasNext()) {
+			Row row = iterator.next();
+			iterator.remove();
+			size -= row.count;
+			evictionCount += row.count;
+		}
+	}
+
+	/**
+	 * Removes the labels of the element from the cache.
+	 *
+	 * @param element
+	 *            the element whose label changed
+	 */
+	void invalidate(Object element) {
+		if (rows.isEmpty()) {
+			return;
+		}
+		Row row = rows.remove(key(element));
+		if (row != null) {
+			size -= row.count;
+		}
+	}
+
+	/**
+	 * Removes all labels from the cache.
+	 */
+	void clear() {
+		rows.clear();
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of cells in the cache.
+	 *
+	 * @return the number of cached cells
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the maximum number of cells in the cache.
+	 *
+	 * @return the maximum number of cached cells
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Returns the number of cells updated from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the number of cells updated by the label provider while the
+	 * cache was enabled.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Returns the number of cells evicted to keep the cache within its
+	 * maximum size.
+	 *
+	 * @return the number of evicted cells
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+}
@@ -63,6 +63,8 @@ public abstract class ColumnViewer extends StructuredViewer {
 
 	private MouseListener mouseListener;
 
+	private CellLabelCache labelCache;
+
 	// after logging for the first
 	// time
 
@@ -352,6 +354,7 @@ public abstract class ColumnViewer extends StructuredViewer {
 		if (labelProvider instanceof CellLabelProvider) {
 			((CellLabelProvider) labelProvider).initialize(this, null);
 		}
+		clearLabelCache();
 		super.setLabelProvider(labelProvider);
 	}
 
@@ -540,11 +543,98 @@ public abstract class ColumnViewer extends StructuredViewer {
 
 	@Override
 	public void update(Object element, String[] properties) {
+		if (labelCache != null) {
+			labelCache.invalidate(element);
+		}
 		if (checkBusy())
 			return;
 		super.update(element, properties);
 	}
 
+	@Override
+	public void update(Object[] elements, String[] properties) {
+		if (labelCache != null) {
+			// update stops early if one of the elements needs a refresh
+			for (Object element : elements) {
+				labelCache.invalidate(element);
+			}
+		}
+		super.update(elements, properties);
+	}
+
+	@Override
+	protected void handleLabelProviderChanged(LabelProviderChangedEvent event) {
+		if (labelCache != null && event.getElements() == null) {
+			labelCache.clear();
+		}
+		super.handleLabelProviderChanged(event);
+	}
+
+	@Override
+	protected void unmapAllElements() {
+		clearLabelCache();
+		super.unmapAllElements();
+	}
+
+	@Override
+	public void setComparer(IElementComparer comparer) {
+		clearLabelCache();
+		super.setComparer(comparer);
+	}
+
+	/**
+	 * Sets the maximum number of cells whose labels are cached by this viewer,
+	 * or <code>0</code> to disable the cache. The cache is disabled by
+	 * default.
+	 * <p>
+	 * When the cache is enabled, refreshing the labels of the viewer does not
+	 * call the label providers of the columns for the cells whose labels are
+	 * cached. The label of an element is computed again only after the label
+	 * provider fires a {@link LabelProviderChangedEvent} for the element, or
+	 * after {@link #update(Object, String[])} was called for the element.
+	 * When more cells are cached than the given maximum, the labels of the
+	 * least recently shown elements are evicted. Label providers that paint
+	 * the cells themselves, such as an {@link OwnerDrawLabelProvider}, are
+	 * still called to paint the cells.
+	 * </p>
+	 *
+	 * @param maximumSize
+	 *            the maximum number of cached cells, or <code>0</code> to
+	 *            disable the cache
+	 * @see #getLabelCache()
+	 * @since 3.15
+	 */
+	public void setLabelCacheSize(int maximumSize) {
+		Assert.isTrue(maximumSize >= 0);
+		if (maximumSize == 0) {
+			labelCache = null;
+		} else if (labelCache == null || labelCache.getMaximumSize() != maximumSize) {
+			labelCache = new CellLabelCache(this, maximumSize);
+		}
+	}
+
+	/**
+	 * Returns the cache of the cell labels of this viewer, which gives access
+	 * to its statistics.
+	 *
+	 * @return the label cache, or <code>null</code> if the labels are not
+	 *         cached
+	 * @see #setLabelCacheSize(int)
+	 * @since 3.15
+	 */
+	public CellLabelCache getLabelCache() {
+		return labelCache;
+	}
+
+	/**
+	 * Removes all labels from the label cache, if the labels are cached.
+	 */
+	/* package */void clearLabelCache() {
+		if (labelCache != null) {
+			labelCache.clear();
+		}
+	}
+
 	/**
 	 * Sets the cell editors of this column viewer. If editing is not supported
 	 * by this viewer the call simply has no effect.
@@ -663,6 +753,7 @@ public abstract class ColumnViewer extends StructuredViewer {
 			((Control)event.widget).removeMouseListener(mouseListener);
 			mouseListener = null;
 		}
+		clearLabelCache();
 		super.handleDispose(event);
 	}
 
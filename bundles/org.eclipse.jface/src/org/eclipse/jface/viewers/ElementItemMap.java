@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * ElementItemMap associates the elements of a {@link StructuredViewer} with
+ * the items showing them. An element shown by a single item maps directly to
+ * that <code>Widget</code>, and an element shown by several items maps to a
+ * <code>Widget[]</code>.
+ * <p>
+ * The elements and their items are kept next to each other in a single array
+ * using open addressing with linear probing, so no entry object is allocated
+ * per element. Elements are compared with the given {@link IElementComparer},
+ * or with their <code>equals</code> and <code>hashCode</code> methods if there
+ * is none.
+ * </p>
+ */
+/* package */final class ElementItemMap {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private final IElementComparer comparer;
+
+	/**
+	 * The slots of the map. The element of slot <code>i</code> is at index
+	 * <code>2 * i</code>, and its items at index <code>2 * i + 1</code>, either
+	 * a <code>Widget</code> or a <code>Widget[]</code> of at least two items.
+	 */
+	private Object[] table;
+
+	private int size;
+
+	/**
+	 * The size at which the table grows.
+	 */
+	private int threshold;
+
+	/**
+	 * Constructs a new empty map.
+	 *
+	 * @param comparer
+	 *            the element comparer to use to compare elements and obtain
+	 *            hash codes for elements, or <code>null</code> to use the
+	 *            normal <code>equals</code> and <code>hashCode</code> methods
+	 */
+	ElementItemMap(IElementComparer comparer) {
+		this.comparer = comparer;
+		allocate(MIN_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new map with all associations of the given map, using the
+	 * given element comparer. If several elements of the given map are equal
+	 * for the new comparer, the items of the last one are kept.
+	 *
+	 * @param map
+	 *            the map to copy from
+	 * @param comparer
+	 *            the element comparer to use to compare elements and obtain
+	 *            hash codes for elements, or <code>null</code> to use the
+	 *            normal <code>equals</code> and <code>hashCode</code> methods
+	 */
+	ElementItemMap(ElementItemMap map, IElementComparer comparer) {
+		this.comparer = comparer;
+		int capacity = MIN_CAPACITY;
+		while (capacity * 3 <= map.size * 4) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+		Object[] oldTable = map.table;
+		for (int i = 0; i < oldTable.length; i += 2) {
+			Object element = oldTable[i];
+			if (element != null) {
+				int index = indexOf(element);
+				if (index < 0) {
+					insert(~index, element, oldTable[i + 1]);
+				} else {
+					table[index] = element;
+					table[index + 1] = oldTable[i + 1];
+				}
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		table = new Object[capacity * 2];
+		threshold = capacity * 3 / 4;
+	}
+
+	/**
+	 * Returns the items of the given element.
+	 *
+	 * @param element
+	 *            the element
+	 * @return the <code>Widget</code> or <code>Widget[]</code> showing the
+	 *         element, or <code>null</code> if the element is not mapped. The
+	 *         caller must not modify the returned array.
+	 */
+	Object get(Object element) {
+		int index = indexOf(element);
+		return index < 0 ? null : table[index + 1];
+	}
+
+	/**
+	 * Associates the item with the element, in addition to the items already
+	 * associated with it. Does nothing if the item is already associated with
+	 * the element.
+	 *
+	 * @param element
+	 *            the element
+	 * @param item
+	 *            the item to add
+	 */
+	void add(Object element, Widget item) {
+		int index = indexOf(element);
+		if (index < 0) {
+			insert(~index, element, item);
+			return;
+		}
+		Object value = table[index + 1];
+		if (value instanceof Widget) {
+			if (value == item) {
+				return;
+			}
+			value = new Widget[] { (Widget) value, item };
+		} else {
+			Widget[] widgets = (Widget[]) value;
+			int length = widgets.length;
+			for (int i = 0; i < length; i++) {
+				if (widgets[i] == item) {
+					return;
+				}
+			}
+			Widget[] newWidgets = new Widget[length + 1];
+			System.arraycopy(widgets, 0, newWidgets, 0, length);
+			newWidgets[length] = item;
+			value = newWidgets;
+		}
+		// avoid hanging onto elements that are equal but "old" -- see bug 30607
+		table[index] = element;
+		table[index + 1] = value;
+	}
+
+	/**
+	 * Removes the element and all its items.
+	 *
+	 * @param element
+	 *            the element to remove
+	 */
+	void remove(Object element) {
+		int index = indexOf(element);
+		if (index >= 0) {
+			removeAt(index);
+		}
+	}
+
+	/**
+	 * Removes the association of the item with the element. Does nothing if
+	 * the element is not associated with the item.
+	 *
+	 * @param element
+	 *            the element
+	 * @param item
+	 *            the item to remove
+	 */
+	void remove(Object element, Widget item) {
+		int index = indexOf(element);
+		if (index < 0) {
+			return;
+		}
+		Object value = table[index + 1];
+		if (value instanceof Widget) {
+			if (value == item) {
+				removeAt(index);
+			}
+			return;
+		}
+		Widget[] widgets = (Widget[]) value;
+		int length = widgets.length;
+		int indexOfItem = 0;
+		while (indexOfItem < length && widgets[indexOfItem] != item) {
+			indexOfItem++;
+		}
+		if (indexOfItem == length) {
+			return;
+		}
+		if (length == 2) {
+			value = widgets[1 - indexOfItem];
+		} else {
+			Widget[] newWidgets = new Widget[length - 1];
+			System.arraycopy(widgets, 0, newWidgets, 0, indexOfItem);
+			System.arraycopy(widgets, indexOfItem + 1, newWidgets, indexOfItem, length - indexOfItem - 1);
+			value = newWidgets;
+		}
+		table[index] = element;
+		table[index + 1] = value;
+	}
+
+	/**
+	 * @return the number of mapped elements
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the index of the element in the table, or the one's complement
+	 * of the index of the free slot where it would be inserted.
+	 */
+	private int indexOf(Object element) {
+		Object[] tab = table;
+		int mask = tab.length - 2;
+		int index = slot(element, mask);
+		Object candidate;
+		while ((candidate = tab[index]) != null) {
+			if (candidate == element || keyEquals(element, candidate)) {
+				return index;
+			}
+			index = (index + 2) & mask;
+		}
+		return ~index;
+	}
+
+	private void insert(int index, Object element, Object value) {
+		if (size >= threshold) {
+			grow();
+			index = freeSlot(element);
+		}
+		table[index] = element;
+		table[index + 1] = value;
+		size++;
+	}
+
+	private int freeSlot(Object element) {
+		int mask = table.length - 2;
+		int index = slot(element, mask);
+		while (table[index] != null) {
+			index = (index + 2) & mask;
+		}
+		return index;
+	}
+
+	private void grow() {
+		Object[] oldTable = table;
+		allocate(oldTable.length);
+		for (int i = 0; i < oldTable.length; i += 2) {
+			Object element = oldTable[i];
+			if (element != null) {
+				int index = freeSlot(element);
+				table[index] = element;
+				table[index + 1] = oldTable[i + 1];
+			}
+		}
+	}
+
+	/**
+	 * Removes the slot at the index, moving back the following slots of the
+	 * probe sequence so that no tombstone is needed.
+	 */
+	private void removeAt(int index) {
+		Object[] tab = table;
+		int mask = tab.length - 2;
+		int hole = index;
+		int next = (index + 2) & mask;
+		Object element;
+		while ((element = tab[next]) != null) {
+			int home = slot(element, mask);
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				tab[hole] = element;
+				tab[hole + 1] = tab[next + 1];
+				hole = next;
+			}
+			next = (next + 2) & mask;
+		}
+		tab[hole] = null;
+		tab[hole + 1] = null;
+		size--;
+	}
+
+	/**
+	 * Returns the index of the home slot of the element, spreading the hash
+	 * code so that sequential hash codes don't form long probe sequences.
+	 */
+	private int slot(Object element, int mask) {
+		int h = (comparer == null ? element.hashCode() : comparer.hashCode(element)) * 0x9E3779B9;
+		return (h ^ (h >>> 16)) << 1 & mask;
+	}
+
+	private boolean keyEquals(Object a, Object b) {
+		if (comparer == null) {
+			return a.equals(b);
+		}
+		return comparer.equals(a, b);
+	}
+}
@@ -0,0 +1,423 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * TreeUpdateBatch collects the adds, removes, refreshes and updates made to an
+ * {@link AbstractTreeViewer} during
+ * {@link AbstractTreeViewer#batchUpdate(Runnable)}, and applies them in one
+ * pass afterwards.
+ * <p>
+ * Redundant operations are dropped while collecting: an element added and
+ * then removed is not added, the adds to a parent that is refreshed are left
+ * to the refresh, repeated refreshes and updates of the same element are
+ * merged, and a refresh of the root replaces everything else.
+ * </p>
+ */
+/* package */final class TreeUpdateBatch {
+
+	/**
+	 * The properties of an update of all the properties of an element.
+	 */
+	private static final String[] ALL_PROPERTIES = new String[0];
+
+	/**
+	 * The children added to one parent element or tree path. A child mapped
+	 * to <code>Boolean.FALSE</code> was removed again after being added.
+	 */
+	private static final class Add {
+		final Object parentElementOrTreePath;
+
+		final List<Object> children = new ArrayList<>();
+
+		final CustomHashtable pending;
+
+		Add(Object parentElementOrTreePath, CustomHashtable pending) {
+			this.parentElementOrTreePath = parentElementOrTreePath;
+			this.pending = pending;
+		}
+	}
+
+	/**
+	 * The elements removed from the given parent, or from all their parents if
+	 * the parent is <code>null</code>.
+	 */
+	private static final class Remove {
+		final Object parent;
+
+		final Object[] elementsOrTreePaths;
+
+		Remove(Object parent, Object[] elementsOrTreePaths) {
+			this.parent = parent;
+			this.elementsOrTreePaths = elementsOrTreePaths;
+		}
+	}
+
+	private final AbstractTreeViewer viewer;
+
+	private boolean refreshAll;
+
+	private boolean refreshAllLabels;
+
+	private final List<Remove> removes = new ArrayList<>();
+
+	private final List<Add> adds = new ArrayList<>();
+
+	/**
+	 * The adds to parent elements, keyed by parent.
+	 */
+	private CustomHashtable addsByParent;
+
+	/**
+	 * The adds to tree paths, keyed by path.
+	 */
+	private final Map<TreePath, Add> addsByPath = new HashMap<>();
+
+	/**
+	 * The adds each child is pending in, either an <code>Add</code> or a
+	 * <code>List</code> of them.
+	 */
+	private CustomHashtable addsByChild;
+
+	private final List<Object> refreshes = new ArrayList<>();
+
+	/**
+	 * Whether the labels are updated, keyed by refreshed element.
+	 */
+	private CustomHashtable refreshLabels;
+
+	private final List<Object> updates = new ArrayList<>();
+
+	/**
+	 * The updated properties, keyed by updated element.
+	 */
+	private CustomHashtable updateProperties;
+
+	/**
+	 * Creates a new empty batch.
+	 *
+	 * @param viewer
+	 *            the viewer to apply the batch to
+	 */
+	TreeUpdateBatch(AbstractTreeViewer viewer) {
+		this.viewer = viewer;
+		clear();
+	}
+
+	private void clear() {
+		clearStructure();
+		clearUpdates();
+	}
+
+	private void clearStructure() {
+		removes.clear();
+		adds.clear();
+		addsByPath.clear();
+		refreshes.clear();
+		addsByParent = viewer.newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+		addsByChild = viewer.newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+		refreshLabels = viewer.newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+	}
+
+	private void clearUpdates() {
+		updates.clear();
+		updateProperties = viewer.newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Records the addition of the children to the parent.
+	 *
+	 * @param parentElementOrTreePath
+	 *            the parent element or path
+	 * @param childElements
+	 *            the child elements to add
+	 */
+	void add(Object parentElementOrTreePath, Object[] childElements) {
+		if (refreshAll || childElements.length == 0) {
+			return;
+		}
+		Object parent = parentElementOrTreePath instanceof TreePath
+				? ((TreePath) parentElementOrTreePath).getLastSegment() : parentElementOrTreePath;
+		if (parent != null && refreshLabels.containsKey(parent)) {
+			// the refresh of the parent picks up the new children
+			return;
+		}
+		Add add = getAdd(parentElementOrTreePath);
+		for (Object child : childElements) {
+			Object state = add.pending.get(child);
+			if (state == Boolean.TRUE) {
+				continue;
+			}
+			add.pending.put(child, Boolean.TRUE);
+			if (state == null) {
+				add.children.add(child);
+			}
+			addPendingAdd(child, add);
+		}
+	}
+
+	private Add getAdd(Object parentElementOrTreePath) {
+		Add add;
+		if (parentElementOrTreePath instanceof TreePath) {
+			add = addsByPath.get(parentElementOrTreePath);
+		} else {
+			add = (Add) addsByParent.get(parentElementOrTreePath);
+		}
+		if (add == null) {
+			add = new Add(parentElementOrTreePath, viewer.newHashtable(CustomHashtable.DEFAULT_CAPACITY));
+			if (parentElementOrTreePath instanceof TreePath) {
+				addsByPath.put((TreePath) parentElementOrTreePath, add);
+			} else {
+				addsByParent.put(parentElementOrTreePath, add);
+			}
+			adds.add(add);
+		}
+		return add;
+	}
+
+	private void addPendingAdd(Object child, Add add) {
+		Object value = addsByChild.get(child);
+		if (value == null) {
+			addsByChild.put(child, add);
+		} else if (value instanceof Add) {
+			if (value != add) {
+				List<Add> list = new ArrayList<>(2);
+				list.add((Add) value);
+				list.add(add);
+				addsByChild.put(child, list);
+			}
+		} else {
+			@SuppressWarnings("unchecked")
+			List<Add> list = (List<Add>) value;
+			if (!list.contains(add)) {
+				list.add(add);
+			}
+		}
+	}
+
+	/**
+	 * Records the removal of the elements from the given parent, or from all
+	 * their parents.
+	 *
+	 * @param parent
+	 *            the parent of the elements, or <code>null</code> to remove
+	 *            them wherever they appear
+	 * @param elementsOrTreePaths
+	 *            the elements or paths to remove
+	 */
+	void remove(Object parent, Object[] elementsOrTreePaths) {
+		if (refreshAll) {
+			return;
+		}
+		for (Object elementOrTreePath : elementsOrTreePaths) {
+			if (elementOrTreePath instanceof TreePath) {
+				TreePath path = (TreePath) elementOrTreePath;
+				cancelAdds(path.getLastSegment(), path.getParentPath());
+			} else {
+				cancelAdds(elementOrTreePath, parent);
+			}
+		}
+		// the elements may have been in the tree before they were added
+		removes.add(new Remove(parent, elementsOrTreePaths));
+	}
+
+	/**
+	 * Cancels the pending adds of the child to the given parent, or to all
+	 * parents if the parent is <code>null</code>.
+	 */
+	private void cancelAdds(Object child, Object parent) {
+		Object value = addsByChild.get(child);
+		if (value == null) {
+			return;
+		}
+		List<?> pendingAdds = value instanceof Add ? Collections.singletonList(value) : (List<?>) value;
+		List<Add> remaining = null;
+		for (Object object : pendingAdds) {
+			Add add = (Add) object;
+			if (parent == null || isParent(parent, add.parentElementOrTreePath)) {
+				add.pending.put(child, Boolean.FALSE);
+			} else {
+				if (remaining == null) {
+					remaining = new ArrayList<>(pendingAdds.size());
+				}
+				remaining.add(add);
+			}
+		}
+		if (remaining == null) {
+			addsByChild.remove(child);
+		} else if (remaining.size() == 1) {
+			addsByChild.put(child, remaining.get(0));
+		} else {
+			addsByChild.put(child, remaining);
+		}
+	}
+
+	private boolean isParent(Object parent, Object parentElementOrTreePath) {
+		if (parent instanceof TreePath) {
+			TreePath path = (TreePath) parent;
+			if (parentElementOrTreePath instanceof TreePath) {
+				return path.equals((TreePath) parentElementOrTreePath, viewer.getComparer());
+			}
+			parent = path.getSegmentCount() == 0 ? viewer.getRoot() : path.getLastSegment();
+		} else if (parentElementOrTreePath instanceof TreePath) {
+			TreePath path = (TreePath) parentElementOrTreePath;
+			parentElementOrTreePath = path.getSegmentCount() == 0 ? viewer.getRoot() : path.getLastSegment();
+		}
+		return parent != null && parentElementOrTreePath != null
+				&& viewer.equals(parent, parentElementOrTreePath);
+	}
+
+	/**
+	 * Records the refresh of the element.
+	 *
+	 * @param element
+	 *            the element
+	 * @param updateLabels
+	 *            <code>true</code> to update labels for existing elements
+	 */
+	void refresh(Object element, boolean updateLabels) {
+		if (element == null || viewer.equals(element, viewer.getRoot())) {
+			if (!refreshAll) {
+				// the refresh of the root picks up all the structural changes
+				refreshAll = true;
+				clearStructure();
+			}
+			if (updateLabels) {
+				refreshAllLabels = true;
+				clearUpdates();
+			}
+			return;
+		}
+		if (refreshAll) {
+			return;
+		}
+		Boolean labels = (Boolean) refreshLabels.get(element);
+		if (labels == null) {
+			refreshes.add(element);
+			refreshLabels.put(element, Boolean.valueOf(updateLabels));
+			// the refresh picks up the children added before
+			Add add = (Add) addsByParent.get(element);
+			if (add != null) {
+				for (Object child : add.children) {
+					add.pending.put(child, Boolean.FALSE);
+				}
+			}
+		} else if (updateLabels && !labels.booleanValue()) {
+			refreshLabels.put(element, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Records the update of the properties of the element.
+	 *
+	 * @param element
+	 *            the element
+	 * @param properties
+	 *            the properties that have changed, or <code>null</code> to
+	 *            indicate unknown
+	 */
+	void update(Object element, String[] properties) {
+		if (refreshAll && refreshAllLabels) {
+			return;
+		}
+		if (refreshLabels.get(element) == Boolean.TRUE) {
+			// the refresh updates the labels of the element too
+			return;
+		}
+		String[] pendingProperties = (String[]) updateProperties.get(element);
+		if (pendingProperties == null) {
+			updates.add(element);
+			updateProperties.put(element, properties == null ? ALL_PROPERTIES : properties);
+		} else if (pendingProperties != ALL_PROPERTIES) {
+			updateProperties.put(element, properties == null ? ALL_PROPERTIES : union(pendingProperties, properties));
+		}
+	}
+
+	private static String[] union(String[] properties, String[] moreProperties) {
+		List<String> union = new ArrayList<>(properties.length + moreProperties.length);
+		for (String property : properties) {
+			union.add(property);
+		}
+		for (String property : moreProperties) {
+			if (!union.contains(property)) {
+				union.add(property);
+			}
+		}
+		return union.toArray(new String[union.size()]);
+	}
+
+	/**
+	 * @return whether the batch changes nothing
+	 */
+	boolean isEmpty() {
+		return !refreshAll && removes.isEmpty() && adds.isEmpty() && refreshes.isEmpty() && updates.isEmpty();
+	}
+
+	/**
+	 * @return whether elements are refreshed by the batch
+	 */
+	boolean hasRefreshes() {
+		return refreshAll || !refreshes.isEmpty();
+	}
+
+	/**
+	 * Applies the batch to the viewer: the removes first, then the adds with
+	 * all the children of a parent added at once, then the refreshes, and the
+	 * updates last.
+	 */
+	void apply() {
+		if (refreshAll) {
+			viewer.internalRefresh(viewer.getRoot(), refreshAllLabels);
+		}
+		for (Remove remove : removes) {
+			if (remove.parent == null) {
+				viewer.internalRemove(remove.elementsOrTreePaths);
+			} else {
+				viewer.internalRemove(remove.parent, remove.elementsOrTreePaths);
+			}
+		}
+		for (Add add : adds) {
+			List<Object> children = new ArrayList<>(add.children.size());
+			for (Object child : add.children) {
+				if (add.pending.get(child) == Boolean.TRUE) {
+					children.add(child);
+				}
+			}
+			if (children.isEmpty()) {
+				continue;
+			}
+			Object[] childElements = children.toArray();
+			Widget[] widgets = viewer.internalFindItems(add.parentElementOrTreePath);
+			for (Widget widget : widgets) {
+				viewer.internalAdd(widget, add.parentElementOrTreePath, childElements);
+			}
+		}
+		for (Object element : refreshes) {
+			viewer.internalRefresh(element, ((Boolean) refreshLabels.get(element)).booleanValue());
+		}
+		for (Object element : updates) {
+			String[] properties = (String[]) updateProperties.get(element);
+			viewer.update(element, properties == ALL_PROPERTIES ? null : properties);
+		}
+	}
+}
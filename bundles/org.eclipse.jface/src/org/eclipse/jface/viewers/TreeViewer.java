@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2017 IBM Corporation and others.
+ * Copyright (c) 2004, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -381,6 +381,7 @@ public class TreeViewer extends AbstractTreeViewer {
 	public void setChildCount(final Object elementOrTreePath, final int count) {
 		if (checkBusy())
 			return;
+		flushUpdateBatch();
 		preservingSelection(() -> {
 			if (internalIsInputOrEmptyPath(elementOrTreePath)) {
 				getTree().setItemCount(count);
@@ -422,6 +423,7 @@ public class TreeViewer extends AbstractTreeViewer {
 			final Object element) {
 		if (checkBusy())
 			return;
+		flushUpdateBatch();
 		Item[] selectedItems = getSelection(getControl());
 		TreeSelection selection = (TreeSelection) getSelection();
 		Widget[] itemsToDisassociate;
@@ -930,6 +932,7 @@ public class TreeViewer extends AbstractTreeViewer {
 	public void setHasChildren(final Object elementOrTreePath, final boolean hasChildren) {
 		if (checkBusy())
 			return;
+		flushUpdateBatch();
 		preservingSelection(() -> {
 			if (internalIsInputOrEmptyPath(elementOrTreePath)) {
 				if (hasChildren) {
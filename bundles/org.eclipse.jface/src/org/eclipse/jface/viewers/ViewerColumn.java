@@ -59,6 +59,8 @@ public abstract class ViewerColumn {
 		columnOwner.setData(ViewerColumn.COLUMN_VIEWER_KEY, this);
 		this.listener = viewer::handleLabelProviderChanged;
 		columnOwner.addDisposeListener(e -> handleDispose(viewer));
+		// the cached labels may belong to other columns now
+		viewer.clearLabelCache();
 	}
 
 	/**
@@ -96,6 +98,7 @@ public abstract class ViewerColumn {
 		}
 
 		this.labelProvider = labelProvider;
+		viewer.clearLabelCache();
 
 		if (registerListener) {
 			this.labelProvider.initialize(viewer, this);
@@ -141,7 +144,13 @@ public abstract class ViewerColumn {
 			Assert.isTrue(false, "Column " + cell.getColumnIndex() + //$NON-NLS-1$
 			" has no label provider."); //$NON-NLS-1$
 		}
-		labelProvider.update(cell);
+		CellLabelCache labelCache = viewer.getLabelCache();
+		if (labelCache == null) {
+			labelProvider.update(cell);
+		} else if (!labelCache.apply(cell)) {
+			labelProvider.update(cell);
+			labelCache.store(cell);
+		}
 	}
 
 	/**
@@ -164,6 +173,7 @@ public abstract class ViewerColumn {
 
 	private void handleDispose(ColumnViewer viewer) {
 		handleDispose();
+		viewer.clearLabelCache();
 		viewer.clearLegacyEditingSetup();
 	}
 
@@ -141,7 +141,23 @@ public class ViewerComparator {
         return getComparator().compare(name1, name2);
     }
 
-	private String getLabel(Viewer viewer, Object e1) {
+	/**
+	 * Returns whether the elements are ordered by their category and label
+	 * only, that is whether neither {@link #compare(Viewer, Object, Object)}
+	 * nor {@link #sort(Viewer, Object[])} is overridden.
+	 */
+	boolean isLabelOrder() {
+		try {
+			return getClass().getMethod("compare", Viewer.class, Object.class, Object.class) //$NON-NLS-1$
+					.getDeclaringClass() == ViewerComparator.class
+					&& getClass().getMethod("sort", Viewer.class, Object[].class) //$NON-NLS-1$
+							.getDeclaringClass() == ViewerComparator.class;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/* package */String getLabel(Viewer viewer, Object e1) {
 		String name1;
 		if (viewer == null || !(viewer instanceof ContentViewer)) {
 			name1 = e1.toString();
@@ -0,0 +1,482 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.viewers.deferred;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.jface.viewers.AcceptAllFilter;
+import org.eclipse.jface.viewers.IFilter;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.ITreeViewerListener;
+import org.eclipse.jface.viewers.TreeExpansionEvent;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.TreeItem;
+
+/**
+ * Content provider that sorts and filters the elements of an
+ * {@link ITreeContentProvider} for a <code>TreeViewer</code> created with the
+ * <code>SWT.VIRTUAL</code> flag, so that only the items of the visible rows
+ * are created.
+ * <p>
+ * The sorter and filter must be set directly on the content provider. Any
+ * sorter or filter on the TreeViewer will be ignored.
+ * </p>
+ * <p>
+ * The children of a parent are filtered when the tree asks for their number,
+ * and sorted as an array of indices when the first of them is shown. Large
+ * arrays are sorted in a background thread, showing the children in the
+ * order of the wrapped content provider until the sort completes, so the
+ * sort order must be able to be used in a background thread.
+ * </p>
+ * <p>
+ * The children are kept until their parent is collapsed or refreshed, or an
+ * item below the parent is removed from the tree.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class DeferredTreeContentProvider implements ILazyTreeContentProvider {
+
+	/**
+	 * The number of children from which they are sorted in the background.
+	 */
+	private static final int BACKGROUND_SORT_THRESHOLD = 10000;
+
+	private static final String SORTING = JFaceResources.getString("Sorting"); //$NON-NLS-1$
+
+	private final ITreeContentProvider contentProvider;
+
+	private Comparator<?> sortOrder;
+
+	private IFilter filter = AcceptAllFilter.getInstance();
+
+	private TreeViewer viewer;
+
+	private Object input;
+
+	/**
+	 * The children of the parents the tree asked for.
+	 */
+	private final Map<Object, Children> childrenByParent = new HashMap<>();
+
+	/**
+	 * The children waiting to be sorted in the background. Also protects
+	 * <code>sortThreadStarted</code>.
+	 */
+	private final List<Children> sortQueue = new ArrayList<>();
+
+	private boolean sortThreadStarted = false;
+
+	/**
+	 * Set while the child count of a parent is updated, so that the items
+	 * disposed by the tree do not drop the children just obtained.
+	 */
+	private boolean updatingChildCount = false;
+
+	private final ITreeViewerListener treeListener = new ITreeViewerListener() {
+		@Override
+		public void treeCollapsed(TreeExpansionEvent event) {
+			evict(event.getElement());
+		}
+
+		@Override
+		public void treeExpanded(TreeExpansionEvent event) {
+			// the children are obtained when the tree asks for them
+		}
+	};
+
+	private final Listener itemListener = this::handleItemEvent;
+
+	/**
+	 * The filtered children of a parent.
+	 */
+	private static final class Children {
+		final Object parent;
+
+		final Object[] elements;
+
+		/**
+		 * The indices of the elements which pass the filter, in the sort order
+		 * once <code>sorted</code> is set.
+		 */
+		final int[] order;
+
+		final Comparator<?> sortOrder;
+
+		boolean sorted;
+
+		/**
+		 * The display to show the result of the background sort in.
+		 */
+		Display display;
+
+		/**
+		 * The indices shown while sorting in the background, or
+		 * <code>null</code> if no sort is running.
+		 */
+		BitSet shown;
+
+		/**
+		 * Set when these children are replaced, to drop a sort in progress.
+		 */
+		volatile boolean stale;
+
+		Children(Object parent, Object[] elements, int[] order, Comparator<?> sortOrder) {
+			this.parent = parent;
+			this.elements = elements;
+			this.order = order;
+			this.sortOrder = sortOrder;
+			this.sorted = sortOrder == null || order.length < 2;
+		}
+	}
+
+	private final class SortThread extends Thread {
+		private SortThread(String name) {
+			super(name);
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				Children children;
+				synchronized (sortQueue) {
+					if (sortQueue.isEmpty()) {
+						sortThreadStarted = false;
+						return;
+					}
+					children = sortQueue.remove(0);
+				}
+				if (children.stale) {
+					continue;
+				}
+				int[] order = children.order.clone();
+				try {
+					sort(order, children.elements, children.sortOrder);
+				} catch (RuntimeException e) {
+					Policy.logException(e);
+					continue;
+				}
+				Display display = children.display;
+				if (!display.isDisposed()) {
+					display.asyncExec(() -> sorted(children, order));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create a DeferredTreeContentProvider showing the elements of the given
+	 * content provider in the given sort order.
+	 *
+	 * @param contentProvider
+	 *            the content provider of the elements
+	 * @param sortOrder
+	 *            a comparator that sorts the children of each element, or
+	 *            <code>null</code> to keep the order of the content provider
+	 */
+	public DeferredTreeContentProvider(ITreeContentProvider contentProvider, Comparator<?> sortOrder) {
+		Assert.isNotNull(contentProvider);
+		this.contentProvider = contentProvider;
+		this.sortOrder = sortOrder;
+	}
+
+	@Override
+	public void dispose() {
+		clear();
+		unhookViewer();
+		viewer = null;
+		input = null;
+		contentProvider.dispose();
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		Assert.isTrue(newInput == null || viewer instanceof TreeViewer);
+		clear();
+		if (viewer != this.viewer) {
+			unhookViewer();
+			this.viewer = (TreeViewer) viewer;
+			hookViewer();
+		}
+		this.input = newInput;
+		contentProvider.inputChanged(viewer, oldInput, newInput);
+	}
+
+	/**
+	 * Sets the sort order for this content provider. This sort order takes
+	 * priority over anything that was supplied to the <code>TreeViewer</code>.
+	 *
+	 * @param sortOrder
+	 *            new sort order, or <code>null</code> to keep the order of the
+	 *            wrapped content provider. The comparator must be able to
+	 *            support being used in a background thread.
+	 */
+	public void setSortOrder(Comparator<?> sortOrder) {
+		this.sortOrder = sortOrder;
+		refresh();
+	}
+
+	/**
+	 * Sets the filter for this content provider. This filter takes priority
+	 * over anything that was supplied to the <code>TreeViewer</code>.
+	 *
+	 * @param toSet
+	 *            filter to set
+	 */
+	public void setFilter(IFilter toSet) {
+		Assert.isNotNull(toSet);
+		this.filter = toSet;
+		refresh();
+	}
+
+	private void refresh() {
+		clear();
+		if (viewer != null && input != null && !viewer.getControl().isDisposed()) {
+			viewer.refresh();
+		}
+	}
+
+	private void hookViewer() {
+		if (viewer != null && !viewer.getControl().isDisposed()) {
+			viewer.addTreeListener(treeListener);
+			viewer.getControl().addListener(SWT.SetData, itemListener);
+		}
+	}
+
+	private void unhookViewer() {
+		if (viewer != null && !viewer.getControl().isDisposed()) {
+			viewer.removeTreeListener(treeListener);
+			viewer.getControl().removeListener(SWT.SetData, itemListener);
+		}
+	}
+
+	/**
+	 * Watches the disposal of the items the tree created, as the children of
+	 * their parent no longer match the items once one of them is removed.
+	 */
+	private void handleItemEvent(Event event) {
+		if (event.type == SWT.SetData) {
+			// SetData is sent again for an item that was cleared
+			event.item.removeListener(SWT.Dispose, itemListener);
+			event.item.addListener(SWT.Dispose, itemListener);
+			return;
+		}
+		if (updatingChildCount) {
+			return;
+		}
+		TreeItem parentItem = ((TreeItem) event.widget).getParentItem();
+		if (parentItem == null) {
+			evict(input);
+		} else if (parentItem.getData() != null) {
+			// the data of the parent is gone if the parent is removed as well,
+			// its own item then drops the children of its parent
+			evict(parentItem.getData());
+		}
+	}
+
+	/**
+	 * Drops the children of the parent and of their descendants.
+	 */
+	private void evict(Object parent) {
+		Children children = childrenByParent.remove(parent);
+		if (children == null) {
+			return;
+		}
+		children.stale = true;
+		for (int index : children.order) {
+			evict(children.elements[index]);
+		}
+	}
+
+	private void clear() {
+		for (Children children : childrenByParent.values()) {
+			children.stale = true;
+		}
+		childrenByParent.clear();
+		synchronized (sortQueue) {
+			sortQueue.clear();
+		}
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		if (viewer == null || element == null) {
+			return;
+		}
+		// the tree asks for the count when it refreshes the element, so the
+		// children are obtained again
+		Children children = computeChildren(element);
+		updatingChildCount = true;
+		try {
+			viewer.setChildCount(element, children.order.length);
+		} finally {
+			updatingChildCount = false;
+		}
+	}
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		if (viewer == null || parent == null) {
+			return;
+		}
+		Children children = childrenByParent.get(parent);
+		if (children == null) {
+			children = computeChildren(parent);
+		}
+		if (index >= children.order.length) {
+			return;
+		}
+		if (!children.sorted) {
+			if (children.order.length < BACKGROUND_SORT_THRESHOLD) {
+				sort(children.order, children.elements, children.sortOrder);
+				children.sorted = true;
+			} else {
+				if (children.shown == null) {
+					children.shown = new BitSet();
+					sortInBackground(children);
+				}
+				children.shown.set(index);
+			}
+		}
+		viewer.replace(parent, index, children.elements[children.order[index]]);
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		return contentProvider.getParent(element);
+	}
+
+	private Children computeChildren(Object parent) {
+		Object[] elements = parent == input ? contentProvider.getElements(parent)
+				: contentProvider.getChildren(parent);
+		if (elements == null) {
+			elements = new Object[0];
+		}
+		int[] order = new int[elements.length];
+		int count = 0;
+		IFilter f = filter;
+		for (int i = 0; i < elements.length; i++) {
+			if (f.select(elements[i])) {
+				order[count++] = i;
+			}
+		}
+		if (count < order.length) {
+			int[] filtered = new int[count];
+			System.arraycopy(order, 0, filtered, 0, count);
+			order = filtered;
+		}
+		// the descendants of the previous children may be gone
+		evict(parent);
+		Children children = new Children(parent, elements, order, sortOrder);
+		childrenByParent.put(parent, children);
+		return children;
+	}
+
+	private void sortInBackground(Children children) {
+		children.display = viewer.getControl().getDisplay();
+		synchronized (sortQueue) {
+			sortQueue.add(children);
+			if (!sortThreadStarted) {
+				sortThreadStarted = true;
+				Thread sortThread = new SortThread(SORTING);
+				sortThread.setDaemon(true);
+				sortThread.setPriority(Thread.NORM_PRIORITY - 1);
+				sortThread.start();
+			}
+		}
+	}
+
+	/**
+	 * Called in the UI thread when the background sort of the children is
+	 * done. Replaces the children shown in the meantime.
+	 */
+	private void sorted(Children children, int[] order) {
+		if (children.stale || viewer == null || viewer.getControl().isDisposed()) {
+			return;
+		}
+		System.arraycopy(order, 0, children.order, 0, order.length);
+		children.sorted = true;
+		BitSet shown = children.shown;
+		children.shown = null;
+		for (int i = shown.nextSetBit(0); i >= 0; i = shown.nextSetBit(i + 1)) {
+			viewer.replace(children.parent, i, children.elements[order[i]]);
+			if (children.stale) {
+				// replacing refreshed the parent
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Sorts the indices by comparing the elements they refer to. The sort is
+	 * stable, so that equal elements keep the order of the content provider.
+	 */
+	static void sort(int[] order, Object[] elements, Comparator<?> sortOrder) {
+		if (order.length < 2 || sortOrder == null) {
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		Comparator<Object> comparator = (Comparator<Object>) sortOrder;
+		mergeSort(order.clone(), order, 0, order.length, elements, comparator);
+	}
+
+	/**
+	 * Sorts the range of <code>src</code> into <code>dest</code>, both
+	 * starting with the same indices.
+	 */
+	private static void mergeSort(int[] src, int[] dest, int low, int high, Object[] elements,
+			Comparator<Object> comparator) {
+		int length = high - low;
+		if (length < 7) {
+			for (int i = low + 1; i < high; i++) {
+				int index = dest[i];
+				int j = i;
+				while (j > low && comparator.compare(elements[dest[j - 1]], elements[index]) > 0) {
+					dest[j] = dest[j - 1];
+					j--;
+				}
+				dest[j] = index;
+			}
+			return;
+		}
+		int mid = (low + high) >>> 1;
+		mergeSort(dest, src, low, mid, elements, comparator);
+		mergeSort(dest, src, mid, high, elements, comparator);
+		if (comparator.compare(elements[src[mid - 1]], elements[src[mid]]) <= 0) {
+			System.arraycopy(src, low, dest, low, length);
+			return;
+		}
+		for (int i = low, p = low, q = mid; i < high; i++) {
+			if (q >= high || p < mid && comparator.compare(elements[src[p]], elements[src[q]]) <= 0) {
+				dest[i] = src[p++];
+			} else {
+				dest[i] = src[q++];
+			}
+		}
+	}
+}
@@ -85,6 +85,13 @@ public interface IDEInternalPreferences {
    	//Value of marker limits
 	String MARKER_LIMITS_VALUE = "MARKER_LIMITS_VALUE"; //$NON-NLS-1$
 
+	/**
+	 * Whether the markers views apply the marker deltas to their contents
+	 * instead of gathering all markers on every change. Read when a view is
+	 * opened.
+	 */
+	String INCREMENTAL_MARKER_UPDATES = "INCREMENTAL_MARKER_UPDATES"; //$NON-NLS-1$
+
     // Type of import
 	String IMPORT_FILES_AND_FOLDERS_TYPE = "IMPORT_FILES_AND_FOLDERS_TYPE"; //$NON-NLS-1$
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,12 @@
 package org.eclipse.ui.internal.views.markers;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.jobs.Job;
@@ -26,6 +30,8 @@ import org.eclipse.ui.IMemento;
 import org.eclipse.ui.IWorkingSet;
 import org.eclipse.ui.IWorkingSetManager;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.ide.IDEInternalPreferences;
+import org.eclipse.ui.internal.ide.IDEWorkbenchPlugin;
 import org.eclipse.ui.internal.ide.StatusUtil;
 import org.eclipse.ui.progress.IWorkbenchSiteProgressService;
 import org.eclipse.ui.statushandlers.StatusManager;
@@ -44,6 +50,12 @@ public class CachedMarkerBuilder {
 	private static final String TAG_CATEGORY_GROUP = "categoryGroup"; //$NON-NLS-1$
 	private static final String VALUE_NONE = "none"; //$NON-NLS-1$
 
+	/*
+	 * The number of changed rows above which updating the viewer row by row
+	 * takes longer than refreshing all of it.
+	 */
+	private static final int MAX_CHANGED_ROWS = 1000;
+
 	// The MarkerContentGenerator we are using for building
 	private MarkerContentGenerator generator;
 	private MarkerUpdateJob updateJob;
@@ -52,6 +64,11 @@ public class CachedMarkerBuilder {
 
 	private Markers markers;
 	private Markers markersClone;
+	private MarkerIndex markerIndex;
+
+	// the entries changed by incremental updates since the last UI update, or
+	// null if all rows have to be refreshed
+	private Map<IMarker, MarkerEntry> changedRows;
 
 	final Object MARKER_INCREMENTAL_UPDATE_FAMILY = new Object();
 	final Object CACHE_UPDATE_FAMILY = new Object();
@@ -73,6 +90,7 @@ public class CachedMarkerBuilder {
 
 	private IMemento memento;
 
+	private final boolean incremental;
 
 	/**
 	 * Create a new instance of the receiver. Update using the updateJob.
@@ -81,8 +99,11 @@ public class CachedMarkerBuilder {
 	public CachedMarkerBuilder(ExtendedMarkersView view) {
 		active = false;
 		changeFlags = new boolean[] { true, false, false };
+		incremental = IDEWorkbenchPlugin.getDefault().getPreferenceStore()
+				.getBoolean(IDEInternalPreferences.INCREMENTAL_MARKER_UPDATES);
 		MARKERSVIEW_UPDATE_JOB_FAMILY = view.MARKERSVIEW_UPDATE_JOB_FAMILY;
 		markers = new Markers(this);
+		markerIndex = new MarkerIndex(this);
 		markerListener = new MarkersChangeListener(view, this);
 		scheduler = new MarkerUpdateScheduler(view, this);
 	}
@@ -455,11 +476,12 @@ public class CachedMarkerBuilder {
 				// ensure cancellation before calling the method
 				// updateJob.cancel();
 			} else {
-				/*
-				 * updateJob = isIncremental() ? new IncrementUpdateJob(this):
-				 * new MarkerUpdateJob(this);
-				 */
-				updateJob = new MarkerUpdateJob(this);
+				if (isIncremental()) {
+					incrementJob = new IncrementUpdateJob(this);
+					updateJob = incrementJob;
+				} else {
+					updateJob = new MarkerUpdateJob(this);
+				}
 				updateJob.setPriority(Job.LONG);
 				updateJob.setSystem(true);
 			}
@@ -532,6 +554,13 @@ public class CachedMarkerBuilder {
 	Markers getMarkers() {
 		return markers;
 	}
+
+	/**
+	 * @return Returns the index the incremental updates are applied to.
+	 */
+	MarkerIndex getMarkerIndex() {
+		return markerIndex;
+	}
 	/**
 	 * Create a listener for working set changes.
 	 *
@@ -603,18 +632,61 @@ public class CachedMarkerBuilder {
 ///////	<Incremental update code>///////
 		private IncrementUpdateJob incrementJob;
 	/**
-	 * Checks whether the builder should perform incrementally Note : Incremental
-	 * updating method is NOT used and tested yet but left out for further
-	 * investigation(*).
+	 * Checks whether the builder should perform incrementally, applying the
+	 * marker deltas to the {@link MarkerIndex} instead of gathering all
+	 * markers on every change. A full update is still performed when
+	 * filters, selection or grouping change. Set by the
+	 * {@link IDEInternalPreferences#INCREMENTAL_MARKER_UPDATES} preference
+	 * when the builder is created.
 	 *
 	 * @return Returns true if we should collect markers incrementally.
 	 */
 	boolean isIncremental() {
-		/*
-		 * We do not update incrementally. We have
-		 * code for further investigation(*) for this anyway.
-		 */
-		return false;
+		return incremental;
+	}
+
+	/**
+	 * Record the rows changed by an incremental update, the UI update only
+	 * updates their labels.
+	 *
+	 * @param changedEntries
+	 *            the new entries of the changed markers
+	 * @param removedMarkers
+	 *            the markers no longer shown
+	 */
+	synchronized void addChangedRows(Collection<MarkerEntry> changedEntries, Collection<IMarker> removedMarkers) {
+		if (changedRows == null) {
+			return;
+		}
+		for (IMarker marker : removedMarkers) {
+			changedRows.remove(marker);
+		}
+		for (MarkerEntry entry : changedEntries) {
+			changedRows.put(entry.getMarker(), entry);
+		}
+		if (changedRows.size() > MAX_CHANGED_ROWS) {
+			changedRows = null;
+		}
+	}
+
+	/**
+	 * Require the next UI update to refresh all rows.
+	 */
+	synchronized void refreshAllRows() {
+		changedRows = null;
+	}
+
+	/**
+	 * Return the rows changed since the last call and start recording the
+	 * changes for the next UI update.
+	 *
+	 * @return the changed entries or <code>null</code> if all rows have to be
+	 *         refreshed
+	 */
+	synchronized Collection<MarkerEntry> takeChangedRows() {
+		Map<IMarker, MarkerEntry> rows = changedRows;
+		changedRows = new LinkedHashMap<>();
+		return rows == null ? null : rows.values();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1485,6 +1485,7 @@ public class ExtendedMarkersView extends ViewPart {
 		//viewer.setSelection(new StructuredSelection());
 		//viewer.removeAndClearAll();
 		createColumns(viewer.getTree().getColumns(), widths);
+		builder.refreshAllRows();
 		scheduleUpdate(0L);
 	}
 
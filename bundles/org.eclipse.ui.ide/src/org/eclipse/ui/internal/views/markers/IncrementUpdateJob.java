@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 IBM Corporation and others.
+ * Copyright (c) 2015, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,27 +14,28 @@
 
 package org.eclipse.ui.internal.views.markers;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedList;
 
+import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.views.markers.internal.MarkerMessages;
 
 /**
- * The job that performs incremental update. Once the processing is complete it
- * schedules an UI update. If it'll be possible and beneficial switch to
- * incremental updatation, this has been left out for further investigation(*).
- * only, and not used currently.
+ * The job that performs incremental update. It applies the updates received
+ * from the marker deltas to the {@link MarkerIndex} of the builder and gathers
+ * all markers again only if a clean update was requested, the index is not
+ * valid or the updates change more markers than the index holds. Once the
+ * processing is complete it schedules an UI update of the changed rows.
  *
  * @since 3.6
  *
  */
 class IncrementUpdateJob extends MarkerUpdateJob {
 
-	private LinkedList<MarkerEntry> incrementEntryList;
 	private LinkedList<MarkerUpdate> updateQueue;
 
 	/**
@@ -42,226 +43,113 @@ class IncrementUpdateJob extends MarkerUpdateJob {
 	 */
 	public IncrementUpdateJob(CachedMarkerBuilder builder) {
 		super(builder);
-		incrementEntryList = new LinkedList<>();
 	}
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
 		monitor.beginTask(MarkerMessages.MarkerView_processUpdates, IProgressMonitor.UNKNOWN);
-		boolean clean= isClean();
-		if (clean) {
-			clearEntries();
-		}
-		Collection<MarkerEntry> markerEntries = incrementalEntries();
-		if (clean) {
-			/*
-			 * Unfortunately we cannot lock marker operations between gathering
-			 * and updation. We have this code in place only for further
-			 * investigation
-			 */
-			clean = !clean(markerEntries, monitor);
-			LinkedList<MarkerUpdate> queue = getUpdatesQueue();
-			synchronized (queue) {
-				queue.clear();
-			}
-		}
+		buildMarkers(monitor);
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
-		if (!clean) {
-			builder.registerTypesToListener();
-			if (!processUpdates(monitor)) {
-				return Status.CANCEL_STATUS;
-			}
+		return Status.OK_STATUS;
+	}
+
+	@Override
+	void buildMarkers(IProgressMonitor monitor) {
+		MarkerIndex index = builder.getMarkerIndex();
+		if (isClean() || !index.isValid()) {
+			// gather all the markers, the index is rebuilt from them
+			super.buildMarkers(monitor);
+			return;
 		}
-		if (!processMarkerEntries(markerEntries, monitor)) {
-			return Status.CANCEL_STATUS;
+		if (!index.isSorted() && !index.sort(monitor)) {
+			if (!monitor.isCanceled()) {
+				// the partial sort of a full update still works
+				index.invalidate();
+				super.buildMarkers(monitor);
+			}
+			return;
 		}
 		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
+			return;
 		}
-		// update with sorted entries
-		updateIncrementalList(markerEntries);
-
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
+		// not cancelled from here on, the updates would be lost
+		Collection<MarkerUpdate> updates = takeUpdates();
+		if (index.needsRebuild(updates)) {
+			index.invalidate();
+			super.buildMarkers(monitor);
+			return;
 		}
-		builder.getUpdateScheduler().scheduleUIUpdate(MarkerUpdateScheduler.SHORT_DELAY);
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
+		Collection<MarkerEntry> changedEntries = new ArrayList<>();
+		Collection<IMarker> removedMarkers = new ArrayList<>();
+		boolean changed;
+		try {
+			changed = index.apply(updates, changedEntries, removedMarkers);
+		} catch (RuntimeException e) {
+			MarkerSupportInternalUtilities.logViewError(e);
+			index.invalidate();
+			super.buildMarkers(monitor);
+			return;
+		}
+		if (changed) {
+			index.publish(builder.getMarkers());
+			builder.addChangedRows(changedEntries, removedMarkers);
+			builder.getUpdateScheduler().scheduleUIUpdate(MarkerUpdateScheduler.SHORT_DELAY);
 		}
 		builder.setBuilding(false);
 		updateDone();
-		return Status.OK_STATUS;
 	}
 
-	/**
-	 * Update the list
-	 *
-	 * @param markerEntries
-	 */
-	private boolean updateIncrementalList(Collection<MarkerEntry> markerEntries) {
-		markerEntries.clear();
-		Markers clone = builder.getMarkers();
-		synchronized (clone) {
-			clone = clone.getClone();
-		}
-		for (MarkerEntry entry : clone.getMarkerEntryArray()) {
-			markerEntries.add(entry);
-		}
-		return true;
+	@Override
+	boolean clean(Collection<MarkerEntry> markerEntries, IProgressMonitor monitor) {
+		// the updates received until now are part of the gathered markers
+		clearUpdates();
+		return super.clean(markerEntries, monitor);
 	}
 
-	/**
-	 * Process the incremental updates
-	 *
-	 * @param monitor
-	 */
-	private boolean processUpdates(IProgressMonitor monitor) {
-		Collection<MarkerEntry> markerEntries = incrementalEntries();
-		int addCount = 0, removedCount = 0, changedCount = 0, size = 0, newSize = 0;
-		LinkedList<MarkerUpdate> queue = getUpdatesQueue();
-		MarkerUpdate next = null;
-		do {
-			synchronized (queue) {
-				if (!queue.isEmpty()) {
-					next = queue.removeFirst();
-				} else {
-					next = null;
-				}
-			}
-			if (monitor.isCanceled() || next == null) {
-				break;
-			}
-			/**
-			 * The following performs incremental updation of the markers that
-			 * were gathered intially, and keeps them synched at any point with
-			 * the markers of interest in Workspace
-			 */
-			// unfortunately marker operations cannot be locked
-			// so locking between gathering of markers and
-			// marker deltas is not possible
-			size = markerEntries.size();
-			handleRemovedEntries(markerEntries, next.removed, monitor);
-			newSize = markerEntries.size();
-			removedCount += size - newSize;
-
-			handleChangedEntries(markerEntries, next.changed, monitor);
-			changedCount += next.changed.size();
-
-			size = newSize;
-			handleAddedEntries(markerEntries, next.added, monitor);
-			newSize = markerEntries.size();
-			removedCount += newSize - size;
-		} while (next != null);
-		boolean[] changeFlags = new boolean[] { addCount > 0, removedCount > 0,
-				changedCount > 0 };
-		for (boolean changeFlag : changeFlags) {
-			if (changeFlag) {
-				builder.updateChangeFlags(changeFlags);
-				return true;
+	@Override
+	boolean processMarkerEntries(Collection<MarkerEntry> markerEntries, IProgressMonitor monitor) {
+		MarkerIndex index = builder.getMarkerIndex();
+		if (!index.rebuild(markerEntries, monitor)) {
+			if (monitor.isCanceled()) {
+				return false;
 			}
+			return super.processMarkerEntries(markerEntries, monitor);
 		}
-		return false;
+		index.publish(builder.getMarkers());
+		builder.refreshAllRows();
+		return true;
 	}
 
 	/**
-	 * @param added
-	 * @param monitor
+	 * Remove the queued updates.
 	 */
-	private void handleAddedEntries(Collection<MarkerEntry> markerEntries, Collection<MarkerEntry> added,
-			IProgressMonitor monitor) {
-		MarkerContentGenerator generator = builder.getGenerator();
-		Iterator<MarkerEntry> iterator = added.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			if (generator.select(entry)) {
-				markerEntries.add(entry);
-			}
-		}
+	void clearEntries() {
+		clearUpdates();
+		builder.getMarkerIndex().clear();
 	}
 
-	/**
-	 * @param changed
-	 * @param monitor
-	 */
-	private void handleChangedEntries(Collection<MarkerEntry> markerEntries,
-			Collection<MarkerEntry> changed, IProgressMonitor monitor) {
-		MarkerContentGenerator generator = builder.getGenerator();
-		Iterator<MarkerEntry> iterator = changed.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			Iterator<MarkerEntry> iterator2 = markerEntries.iterator();
-			while (iterator2.hasNext()) {
-				MarkerEntry oldEntry = iterator2.next();
-				if (oldEntry.getMarker().equals(entry.getMarker())) {
-					iterator2.remove();
-				}
-			}
-			if (!generator.select(entry)) {
-				iterator.remove();
-			}
+	private void clearUpdates() {
+		LinkedList<MarkerUpdate> queue = getUpdatesQueue();
+		synchronized (queue) {
+			queue.clear();
 		}
-		markerEntries.addAll(changed);
 	}
 
 	/**
-	 * @param removed
-	 * @param monitor
+	 * Remove the queued updates and return them in the order they were
+	 * received.
 	 */
-	private void handleRemovedEntries(Collection<MarkerEntry> markerEntries,
-			Collection<MarkerEntry> removed, IProgressMonitor monitor) {
-		boolean found = false;
-		Iterator<MarkerEntry> iterator = markerEntries.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			found = entry.getStaleState();
-			if (found) {
-				iterator.remove();
-			}
-			if (removed.isEmpty()) {
-				continue;
-			}
-			Iterator<MarkerEntry> iterator2 = removed.iterator();
-			while (iterator2.hasNext()) {
-				MarkerEntry stale = iterator2.next();
-				if (stale.getMarker().equals(entry.getMarker())) {
-					iterator2.remove();
-					if (!found) {
-						iterator.remove();
-					}
-					break;
-				}
-			}
-		}
-		if (removed.isEmpty()) {
-			// TODO: do we check for residuals?
-			return;
-		}
-		// TODO: do we check for residuals?
-		iterator = markerEntries.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			if (entry.getMarker() != null && !entry.getMarker().exists()) {
-				iterator.remove();
-			}
+	private Collection<MarkerUpdate> takeUpdates() {
+		LinkedList<MarkerUpdate> queue = getUpdatesQueue();
+		synchronized (queue) {
+			Collection<MarkerUpdate> updates = new ArrayList<>(queue);
+			queue.clear();
+			return updates;
 		}
 	}
 
-	/**
-	 * Clean
-	 */
-	void clearEntries() {
-		incrementEntryList = new LinkedList<>();
-	}
-
-	/**
-	 * @return Returns the incrementEntryies.
-	 */
-	Collection<MarkerEntry> incrementalEntries() {
-		return incrementEntryList;
-	}
-
 	/**
 	 * @return the updateQueue that holds the updates and maintains ordering
 	 */
@@ -293,4 +181,4 @@ class IncrementUpdateJob extends MarkerUpdateJob {
 		}
 		return super.belongsTo(family);
 	}
-}
\ No newline at end of file
+}
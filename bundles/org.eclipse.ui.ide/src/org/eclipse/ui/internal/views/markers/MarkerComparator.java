@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -126,6 +126,116 @@ class MarkerComparator implements Comparator<MarkerItem> {
 		return (o1, o2) -> compareFields(o1, o2);
 	}
 
+	/**
+	 * Comparator to compare the two MarkerEntry(s) by the primary sort field
+	 * only
+	 *
+	 * @return Comparator
+	 * @since 3.14
+	 */
+	Comparator<MarkerItem> getPrimaryFieldComparator() {
+		MarkerField primary = fields[0];
+		if (descendingFields.contains(primary)) {
+			return (o1, o2) -> -primary.compare(o1, o2);
+		}
+		return (o1, o2) -> primary.compare(o1, o2);
+	}
+
+	/**
+	 * Return whether the receiver may compare MarkerEntry(s) on several
+	 * threads at once. {@link MarkerField#compare(MarkerItem, MarkerItem)} is
+	 * not required to be thread safe, so this is only the case if the category
+	 * and all the fields are fields of this bundle.
+	 *
+	 * @return boolean
+	 * @since 3.14
+	 */
+	boolean isConcurrent() {
+		if (category != null && !isBuiltIn(category)) {
+			return false;
+		}
+		for (MarkerField field : fields) {
+			if (!isBuiltIn(field)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isBuiltIn(MarkerField field) {
+		return field.getClass().getClassLoader() == MarkerComparator.class.getClassLoader();
+	}
+
+	/**
+	 * Return a copy of the receiver that keeps the current sort order when the
+	 * receiver changes.
+	 *
+	 * @return MarkerComparator
+	 * @since 3.14
+	 */
+	MarkerComparator copy() {
+		MarkerComparator copy = new MarkerComparator(category, fields.clone());
+		copy.descendingFields = new HashSet<>(descendingFields);
+		return copy;
+	}
+
+	/**
+	 * Return whether MarkerEntry(s) that are sorted by previous are sorted by
+	 * the receiver after a stable sort by the primary sort field. That is the
+	 * case if the receiver orders the other fields like previous, e.g. after
+	 * the primary sort field was changed.
+	 *
+	 * @param previous
+	 * @return boolean
+	 * @since 3.14
+	 */
+	boolean isPresortedBy(MarkerComparator previous) {
+		if (category != previous.category || fields.length != previous.fields.length) {
+			return false;
+		}
+		MarkerField primary = fields[0];
+		int previousIndex = 0;
+		for (int i = 1; i < fields.length; i++) {
+			if (previous.fields[previousIndex] == primary) {
+				previousIndex++;
+			}
+			MarkerField field = fields[i];
+			if (field != previous.fields[previousIndex]
+					|| descendingFields.contains(field) != previous.descendingFields.contains(field)) {
+				return false;
+			}
+			previousIndex++;
+		}
+		return true;
+	}
+
+	/**
+	 * Return whether the receiver sorts like previous.
+	 *
+	 * @param previous
+	 * @return boolean
+	 * @since 3.14
+	 */
+	boolean hasSameOrder(MarkerComparator previous) {
+		return fields[0] == previous.fields[0]
+				&& descendingFields.contains(fields[0]) == previous.descendingFields.contains(fields[0])
+				&& isPresortedBy(previous);
+	}
+
+	/**
+	 * Return whether the receiver sorts like previous with the direction of
+	 * the primary sort field reversed.
+	 *
+	 * @param previous
+	 * @return boolean
+	 * @since 3.14
+	 */
+	boolean reversesPrimarySortField(MarkerComparator previous) {
+		return fields[0] == previous.fields[0]
+				&& descendingFields.contains(fields[0]) != previous.descendingFields.contains(fields[0])
+				&& isPresortedBy(previous);
+	}
+
 	/**
 	 * Switch the priority of the field from ascending to descending or vice
 	 * versa.
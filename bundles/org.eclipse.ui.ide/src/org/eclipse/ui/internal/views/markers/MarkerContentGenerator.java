@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1110,10 +1110,11 @@ public class MarkerContentGenerator {
 			if (monitor.isCanceled()) {
 				return false;
 			}
+			MarkerSnapshot snapshot = MarkerSnapshot.capture(markers);
 			MarkerEntry entry = null;
 			int lenght = markers.length;
 			for (int i = 0; i < lenght; i++) {
-				entry = new MarkerEntry(markers[i]);
+				entry = new MarkerEntry(markers[i], snapshot, i);
 				if (select(entry, selected, enabled, filtersAreANDed)) {
 					result.add(entry);
 				}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -82,6 +82,13 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 	 */
 	private IMarker marker;
 
+	/**
+	 * The attributes of the marker captured in bulk or <code>null</code> if
+	 * they are read from the marker when needed.
+	 */
+	private MarkerSnapshot snapshot;
+	private int row;
+
 	/**
 	 * Create a new instance of the receiver.
 	 *
@@ -92,6 +99,31 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 		stale = false;
 	}
 
+	/**
+	 * Create a new instance of the receiver that reads the attributes of the
+	 * marker from the row of the snapshot.
+	 *
+	 * @param marker
+	 * @param snapshot
+	 *            the snapshot the marker was captured in
+	 * @param row
+	 *            the row of the marker in the snapshot
+	 * @since 3.14
+	 */
+	MarkerEntry(IMarker marker, MarkerSnapshot snapshot, int row) {
+		this.marker = marker;
+		this.snapshot = snapshot;
+		this.row = row;
+		stale = !snapshot.isCaptured(row);
+	}
+
+	/**
+	 * @return <code>true</code> if the attributes are read from a snapshot
+	 */
+	private boolean hasSnapshot() {
+		return snapshot != null && !stale;
+	}
+
 	@Override
 	public <T> T getAdapter(Class<T> adapter) {
 		if (adapter.equals(IMarker.class)) {
@@ -131,6 +163,13 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 
 	@Override
 	public int getAttributeValue(String attribute, int defaultValue) {
+		if (hasSnapshot()) {
+			int column = MarkerSnapshot.intColumn(attribute);
+			if (column >= 0) {
+				int value = snapshot.getInt(column, row);
+				return value == MarkerSnapshot.NOT_SET ? defaultValue : value;
+			}
+		}
 		Object value = getAttributeValue(attribute);
 		if (value == null) {
 			return defaultValue;
@@ -169,6 +208,13 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 
 	@Override
 	public String getAttributeValue(String attribute, String defaultValue) {
+		if (hasSnapshot()) {
+			int column = MarkerSnapshot.stringColumn(attribute);
+			if (column >= 0) {
+				String value = snapshot.getString(column, row);
+				return value == null ? defaultValue : value;
+			}
+		}
 		Object value = getAttributeValue(attribute);
 		if (value == null) {
 			return defaultValue;
@@ -229,6 +275,9 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 		if(stale){
 			return -1;
 		}
+		if (hasSnapshot()) {
+			return snapshot.getCreationTime(row);
+		}
 		try {
 			return marker.getCreationTime();
 		} catch (CoreException e) {
@@ -293,6 +342,9 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 		if(stale){
 			return NLS.bind(MarkerMessages.FieldMessage_WrongType, marker.toString());
 		}
+		if (hasSnapshot()) {
+			return MarkerTypesModel.getInstance().getType(snapshot.getType(row)).getLabel();
+		}
 		try {
 			return MarkerTypesModel.getInstance().getType(marker.getType()).getLabel();
 		} catch (CoreException e) {
@@ -306,6 +358,9 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 		if(stale){
 			return NLS.bind(MarkerMessages.FieldMessage_WrongType, marker.toString());
 		}
+		if (hasSnapshot()) {
+			return snapshot.getType(row);
+		}
 		try {
 			return marker.getType();
 		} catch (CoreException e) {
@@ -326,6 +381,10 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 		if (folder != null) {
 			return folder;
 		}
+		if (hasSnapshot()) {
+			folder = snapshot.getFolder(row);
+			return folder == null ? super.getPath() : folder;
+		}
 		if (stale||checkIfMarkerStale()) {
 			return MarkerSupportInternalUtilities.UNKNOWN_ATRRIBTE_VALUE_STRING;
 		}
@@ -340,6 +399,19 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 		return folder;
 	}
 
+	/**
+	 * Return the name of the resource of the marker.
+	 *
+	 * @return String
+	 * @since 3.14
+	 */
+	String getResourceName() {
+		if (hasSnapshot()) {
+			return snapshot.getResourceName(row);
+		}
+		return marker.getResource().getName();
+	}
+
 	@Override
 	boolean isConcrete() {
 		return true;
@@ -362,6 +434,7 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 	 */
 	void setMarker(IMarker marker) {
 		this.marker = marker;
+		snapshot = null;
 		// reset stale
 		stale = false;
 		clearCache();
@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.internal.views.markers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.ui.internal.ide.IDEWorkbenchPlugin;
+import org.eclipse.ui.views.markers.MarkerItem;
+import org.eclipse.ui.views.markers.internal.MarkerGroup;
+import org.eclipse.ui.views.markers.internal.MarkerGroupingEntry;
+
+/**
+ * The MarkerIndex keeps the marker entries of a view sorted within their
+ * categories and applies the marker deltas to them, so that a change of a few
+ * markers does not require gathering, sorting and grouping all the markers
+ * again.
+ * <p>
+ * The index is rebuilt from the markers gathered by a full update and is only
+ * accessed by the update job of the builder. Unlike the partial sort of
+ * {@link Markers}, the entries of each category are completely sorted, so an
+ * added or changed marker is inserted with a binary search and a removed one
+ * does not require sorting the next entries.
+ * </p>
+ *
+ * @since 3.14
+ *
+ */
+class MarkerIndex {
+
+	/*
+	 * The number of changed markers below which the updates are always
+	 * applied, even to a smaller index.
+	 */
+	private static final int MIN_REBUILD_COUNT = 10000;
+
+	/**
+	 * The sorted entries of a category.
+	 */
+	private static class Bucket {
+		MarkerEntry[] entries = Markers.EMPTY_ENTRY_ARRAY;
+
+		int size() {
+			return entries.length;
+		}
+	}
+
+	private final CachedMarkerBuilder builder;
+
+	// the buckets in category order, a single bucket if not showing hierarchy
+	private TreeMap<MarkerGroupingEntry, Bucket> groupedBuckets;
+	private Bucket allEntries;
+
+	// the bucket of every indexed marker
+	private final Map<IMarker, Bucket> bucketOfMarker = new HashMap<>();
+
+	// the group used to categorise the entries, null if not showing hierarchy
+	private MarkerGroup group;
+
+	private volatile boolean valid;
+	private volatile boolean sorted;
+
+	/**
+	 * @param builder
+	 */
+	MarkerIndex(CachedMarkerBuilder builder) {
+		this.builder = builder;
+	}
+
+	/**
+	 * @return <code>true</code> if the index holds the markers of the last
+	 *         full update and the deltas received after it
+	 */
+	boolean isValid() {
+		return valid && group == builder.getCategoryGroup();
+	}
+
+	/**
+	 * Require the index to be rebuilt by the next update.
+	 */
+	void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * Notify the index that the sort order changed, the entries will be
+	 * sorted again before the next deltas are applied.
+	 */
+	void sortOrderChanged() {
+		sorted = false;
+	}
+
+	/**
+	 * @return <code>true</code> if the entries are in the current sort order
+	 */
+	boolean isSorted() {
+		return sorted;
+	}
+
+	/**
+	 * @return the number of entries in the index
+	 */
+	int size() {
+		return bucketOfMarker.size();
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	void clear() {
+		valid = false;
+		groupedBuckets = null;
+		allEntries = null;
+		bucketOfMarker.clear();
+	}
+
+	/**
+	 * Rebuild the index from newly gathered markers.
+	 *
+	 * @param markerEntries
+	 *            the entries of all the markers shown by the view
+	 * @param monitor
+	 * @return <code>false</code> if cancelled or the entries could not be
+	 *         sorted, the index is then invalid
+	 */
+	boolean rebuild(Collection<MarkerEntry> markerEntries, IProgressMonitor monitor) {
+		clear();
+		group = builder.getCategoryGroup();
+		Map<Bucket, List<MarkerEntry>> bucketEntries = new LinkedHashMap<>();
+		for (MarkerEntry entry : markerEntries) {
+			if (monitor.isCanceled()) {
+				clear();
+				return false;
+			}
+			Bucket bucket = findBucket(entry.getMarker());
+			if (bucket == null) {
+				continue;// skip stale markers
+			}
+			List<MarkerEntry> list = bucketEntries.get(bucket);
+			if (list == null) {
+				list = new ArrayList<>();
+				bucketEntries.put(bucket, list);
+			}
+			list.add(entry);
+			bucketOfMarker.put(entry.getMarker(), bucket);
+		}
+		for (Entry<Bucket, List<MarkerEntry>> entry : bucketEntries.entrySet()) {
+			List<MarkerEntry> list = entry.getValue();
+			entry.getKey().entries = list.toArray(new MarkerEntry[list.size()]);
+		}
+		valid = true;
+		sorted = false;
+		if (!sort(monitor)) {
+			clear();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Sort the entries of every category in the current sort order.
+	 *
+	 * @param monitor
+	 * @return <code>false</code> if cancelled or the entries could not be
+	 *         sorted
+	 */
+	boolean sort(IProgressMonitor monitor) {
+		// set the flag first so that a sort order change meanwhile is not lost
+		sorted = true;
+		Comparator<MarkerItem> comparator = getComparator();
+		boolean concurrent = builder.getComparator().isConcurrent();
+		for (Bucket bucket : getBuckets()) {
+			if (monitor.isCanceled()) {
+				sorted = false;
+				return false;
+			}
+			int size = bucket.size();
+			try {
+				MarkerSortUtil.sortStartingKElement(bucket.entries, comparator, 0, size - 1, size, concurrent,
+						monitor);
+			} catch (IllegalArgumentException e) {
+				// see Bug 371586, Markers keeps the partial sort
+				IDEWorkbenchPlugin.log("Broken comparator, fields: " //$NON-NLS-1$
+						+ Arrays.toString(builder.getComparator().getFields()), e);
+				sorted = false;
+				return false;
+			}
+		}
+		if (monitor.isCanceled()) {
+			sorted = false;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return whether applying the updates would take longer than gathering
+	 * all markers again, which is the case if they change more markers than
+	 * the index holds.
+	 *
+	 * @param updates
+	 * @return <code>true</code> if the index should be rebuilt instead
+	 */
+	boolean needsRebuild(Collection<MarkerUpdate> updates) {
+		int count = 0;
+		for (MarkerUpdate update : updates) {
+			count += update.added.size() + update.removed.size() + update.changed.size();
+		}
+		return count > MIN_REBUILD_COUNT && count > size();
+	}
+
+	/**
+	 * Apply the updates received from the marker deltas. Every marker of an
+	 * update is removed from the index and inserted again if it still exists
+	 * and is selected by the filters, so an update received more than once or
+	 * out of order leaves the index in the state of the workspace.
+	 *
+	 * @param updates
+	 *            the updates in the order they were received
+	 * @param changedEntries
+	 *            collects the new entries of the markers that remain in the
+	 *            index
+	 * @param removedMarkers
+	 *            collects the markers removed from the index
+	 * @return <code>true</code> if the index changed
+	 */
+	boolean apply(Collection<MarkerUpdate> updates, Collection<MarkerEntry> changedEntries,
+			Collection<IMarker> removedMarkers) {
+		// the last entry created for every marker
+		Map<IMarker, MarkerEntry> latest = new LinkedHashMap<>();
+		for (MarkerUpdate update : updates) {
+			collect(latest, update.removed);
+			collect(latest, update.added);
+			collect(latest, update.changed);
+		}
+		Map<Bucket, Set<IMarker>> removals = new HashMap<>();
+		Map<Bucket, List<MarkerEntry>> additions = new HashMap<>();
+		MarkerContentGenerator generator = builder.getGenerator();
+		for (Entry<IMarker, MarkerEntry> mapEntry : latest.entrySet()) {
+			IMarker marker = mapEntry.getKey();
+			Bucket oldBucket = bucketOfMarker.remove(marker);
+			if (oldBucket != null) {
+				Set<IMarker> set = removals.get(oldBucket);
+				if (set == null) {
+					set = new HashSet<>();
+					removals.put(oldBucket, set);
+				}
+				set.add(marker);
+			}
+			MarkerEntry entry = mapEntry.getValue();
+			Bucket newBucket = null;
+			if (marker.exists() && generator.select(entry)) {
+				newBucket = findBucket(marker);
+			}
+			if (newBucket == null) {
+				if (oldBucket != null) {
+					removedMarkers.add(marker);
+				}
+				continue;
+			}
+			List<MarkerEntry> list = additions.get(newBucket);
+			if (list == null) {
+				list = new ArrayList<>();
+				additions.put(newBucket, list);
+			}
+			list.add(entry);
+			bucketOfMarker.put(marker, newBucket);
+			if (oldBucket != null) {
+				changedEntries.add(entry);
+			}
+		}
+		if (removals.isEmpty() && additions.isEmpty()) {
+			return false;
+		}
+		Comparator<MarkerItem> comparator = getComparator();
+		Set<Bucket> changedBuckets = new HashSet<>(removals.keySet());
+		changedBuckets.addAll(additions.keySet());
+		for (Bucket bucket : changedBuckets) {
+			Set<IMarker> removed = removals.get(bucket);
+			if (removed != null) {
+				bucket.entries = remove(bucket.entries, removed);
+			}
+			List<MarkerEntry> added = additions.get(bucket);
+			if (added != null) {
+				MarkerEntry[] sortedAdditions = added.toArray(new MarkerEntry[added.size()]);
+				MarkerSortUtil.sortStartingKElement(sortedAdditions, comparator, 0, sortedAdditions.length - 1,
+						sortedAdditions.length, new NullProgressMonitor());
+				bucket.entries = insert(bucket.entries, sortedAdditions, comparator);
+			}
+		}
+		if (groupedBuckets != null) {
+			Iterator<Bucket> iterator = groupedBuckets.values().iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next().size() == 0) {
+					iterator.remove();
+				}
+			}
+		}
+		return true;
+	}
+
+	private static void collect(Map<IMarker, MarkerEntry> latest, Collection<MarkerEntry> entries) {
+		for (MarkerEntry entry : entries) {
+			latest.put(entry.getMarker(), entry);
+		}
+	}
+
+	/**
+	 * Return the entries without the ones of the removed markers. Stops
+	 * looking for them as soon as all are found.
+	 */
+	private static MarkerEntry[] remove(MarkerEntry[] entries, Set<IMarker> removed) {
+		MarkerEntry[] result = new MarkerEntry[entries.length];
+		int found = 0;
+		int to = 0;
+		int i = 0;
+		for (; i < entries.length && found < removed.size(); i++) {
+			if (removed.contains(entries[i].getMarker())) {
+				found++;
+			} else {
+				result[to++] = entries[i];
+			}
+		}
+		int rest = entries.length - i;
+		System.arraycopy(entries, i, result, to, rest);
+		return Arrays.copyOf(result, to + rest);
+	}
+
+	/**
+	 * Merge the sorted additions into the sorted entries, finding the
+	 * position of each one with a binary search in the part of the entries
+	 * after the previous one.
+	 */
+	private static MarkerEntry[] insert(MarkerEntry[] entries, MarkerEntry[] additions,
+			Comparator<MarkerItem> comparator) {
+		MarkerEntry[] result = new MarkerEntry[entries.length + additions.length];
+		int from = 0;
+		int to = 0;
+		for (MarkerEntry entry : additions) {
+			int position = upperBound(entries, from, entry, comparator);
+			int count = position - from;
+			System.arraycopy(entries, from, result, to, count);
+			to += count;
+			from = position;
+			result[to++] = entry;
+			entry.clearCache();
+		}
+		System.arraycopy(entries, from, result, to, entries.length - from);
+		return result;
+	}
+
+	/**
+	 * Return the index of the first entry after from that is greater than the
+	 * given one.
+	 */
+	private static int upperBound(MarkerEntry[] entries, int from, MarkerEntry entry,
+			Comparator<MarkerItem> comparator) {
+		int low = from;
+		int high = entries.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int value = comparator.compare(entries[middle], entry);
+			// we do not keep the caches of the entries not shown
+			entries[middle].clearCache();
+			if (value <= 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Update the markers with the entries of the index.
+	 *
+	 * @param markers
+	 */
+	void publish(Markers markers) {
+		Collection<Bucket> buckets = getBuckets();
+		int size = 0;
+		for (Bucket bucket : buckets) {
+			size += bucket.size();
+		}
+		MarkerEntry[] entries = new MarkerEntry[size];
+		int[] categoryEnds = new int[buckets.size()];
+		int i = 0;
+		int start = 0;
+		for (Bucket bucket : buckets) {
+			System.arraycopy(bucket.entries, 0, entries, start, bucket.size());
+			start += bucket.size();
+			categoryEnds[i++] = start - 1;
+		}
+		markers.updateWithSortedMarkers(entries, group == null ? null : group.getMarkerField(), categoryEnds);
+	}
+
+	/**
+	 * Return the bucket for the marker, create it if necessary.
+	 *
+	 * @param marker
+	 * @return the bucket or <code>null</code> if the marker is stale
+	 */
+	private Bucket findBucket(IMarker marker) {
+		if (marker == null) {
+			return null;
+		}
+		if (group == null) {
+			if (allEntries == null) {
+				allEntries = new Bucket();
+			}
+			return allEntries;
+		}
+		MarkerGroupingEntry groupingEntry;
+		try {
+			groupingEntry = group.findGroupValue(marker.getType(), marker);
+		} catch (CoreException e) {
+			return null;
+		}
+		if (groupedBuckets == null) {
+			groupedBuckets = new TreeMap<>(group.getEntriesComparator());
+		}
+		Bucket bucket = groupedBuckets.get(groupingEntry);
+		if (bucket == null) {
+			bucket = new Bucket();
+			groupedBuckets.put(groupingEntry, bucket);
+		}
+		return bucket;
+	}
+
+	private Collection<Bucket> getBuckets() {
+		if (group == null) {
+			if (allEntries == null) {
+				return Collections.emptyList();
+			}
+			return Collections.singletonList(allEntries);
+		}
+		if (groupedBuckets == null) {
+			return Collections.emptyList();
+		}
+		return groupedBuckets.values();
+	}
+
+	private Comparator<MarkerItem> getComparator() {
+		MarkerComparator comparator = builder.getComparator();
+		if (group == null) {
+			return comparator;
+		}
+		return comparator.getFieldsComparator();
+	}
+}
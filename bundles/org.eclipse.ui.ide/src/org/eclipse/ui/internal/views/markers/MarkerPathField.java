@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,7 +32,12 @@ public class MarkerPathField extends MarkerField {
 		if (item1.getMarker() == null || item2.getMarker() == null)
 			return 0;
 
-		return item1.getPath().compareTo(item2.getPath());
+		String path1 = item1.getPath();
+		String path2 = item2.getPath();
+		// the paths of a snapshot are shared
+		if (path1 == path2)
+			return 0;
+		return path1.compareTo(path2);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,11 @@ public class MarkerResourceField extends MarkerField {
 		if (item.getMarker() == null)
 			return MarkerSupportInternalUtilities.EMPTY_STRING;
 
+		if (item instanceof MarkerEntry) {
+			MarkerEntry entry = (MarkerEntry) item;
+			return TextProcessor
+					.process(entry.getAttributeValue(MarkerViewUtil.NAME_ATTRIBUTE, entry.getResourceName()));
+		}
 		return TextProcessor.process(item.getAttributeValue(MarkerViewUtil.NAME_ATTRIBUTE,
 				item.getMarker().getResource().getName()));
 
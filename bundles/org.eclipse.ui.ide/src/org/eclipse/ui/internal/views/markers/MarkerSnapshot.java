@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.internal.views.markers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.ui.views.markers.MarkerViewUtil;
+
+/**
+ * The MarkerSnapshot holds the attributes of a batch of markers that the
+ * views sort and filter on in columns, one array per attribute and one row per
+ * marker. The attributes of all the markers are read at once when the snapshot
+ * is captured, so comparing and selecting {@link MarkerEntry}s does not access
+ * the {@link IMarker}s again. Strings are shared between the rows, equal values
+ * are the same instance.
+ * <p>
+ * A snapshot is never modified once captured, the entries of markers that
+ * change are replaced by the entries of a new snapshot.
+ * </p>
+ *
+ * @since 3.14
+ *
+ */
+class MarkerSnapshot {
+
+	/**
+	 * The value of an int column if the attribute is not set on the marker.
+	 */
+	static final int NOT_SET = Integer.MIN_VALUE;
+
+	private static final String[] INT_ATTRIBUTES = { IMarker.SEVERITY, IMarker.PRIORITY, IMarker.LINE_NUMBER };
+
+	private static final String[] STRING_ATTRIBUTES = { IMarker.LOCATION, MarkerViewUtil.PATH_ATTRIBUTE,
+			MarkerViewUtil.NAME_ATTRIBUTE };
+
+	private static final String[] ATTRIBUTES = new String[INT_ATTRIBUTES.length + STRING_ATTRIBUTES.length];
+
+	static {
+		System.arraycopy(INT_ATTRIBUTES, 0, ATTRIBUTES, 0, INT_ATTRIBUTES.length);
+		System.arraycopy(STRING_ATTRIBUTES, 0, ATTRIBUTES, INT_ATTRIBUTES.length, STRING_ATTRIBUTES.length);
+	}
+
+	private final boolean[] captured;
+	private final int[][] intColumns;
+	private final String[][] stringColumns;
+	private final long[] creationTimes;
+	private final String[] types;
+	private final String[] folders;
+	private final String[] resourceNames;
+
+	private MarkerSnapshot(int size) {
+		captured = new boolean[size];
+		intColumns = new int[INT_ATTRIBUTES.length][size];
+		stringColumns = new String[STRING_ATTRIBUTES.length][size];
+		creationTimes = new long[size];
+		types = new String[size];
+		folders = new String[size];
+		resourceNames = new String[size];
+	}
+
+	/**
+	 * Capture the attributes of the markers. The row of each marker is its
+	 * index in markers.
+	 *
+	 * @param markers
+	 * @return MarkerSnapshot
+	 */
+	static MarkerSnapshot capture(IMarker[] markers) {
+		MarkerSnapshot snapshot = new MarkerSnapshot(markers.length);
+		Map<String, String> strings = new HashMap<>();
+		IResource resource = null;
+		String folder = null;
+		String resourceName = null;
+		for (int row = 0; row < markers.length; row++) {
+			IMarker marker = markers[row];
+			Object[] values;
+			try {
+				values = marker.getAttributes(ATTRIBUTES);
+				snapshot.creationTimes[row] = marker.getCreationTime();
+				snapshot.types[row] = intern(strings, marker.getType());
+			} catch (CoreException e) {
+				// the marker does not exist anymore
+				continue;
+			}
+			for (int column = 0; column < INT_ATTRIBUTES.length; column++) {
+				Object value = values[column];
+				snapshot.intColumns[column][row] = value instanceof Integer ? ((Integer) value).intValue() : NOT_SET;
+			}
+			for (int column = 0; column < STRING_ATTRIBUTES.length; column++) {
+				Object value = values[INT_ATTRIBUTES.length + column];
+				snapshot.stringColumns[column][row] = value == null ? null : intern(strings, value.toString());
+			}
+			// the markers of a resource are usually next to each other
+			if (!marker.getResource().equals(resource)) {
+				resource = marker.getResource();
+				IPath path = resource.getFullPath();
+				folder = path.segmentCount() > 1
+						? intern(strings, path.removeLastSegments(1).removeTrailingSeparator().toString())
+						: null;
+				resourceName = intern(strings, resource.getName());
+			}
+			snapshot.folders[row] = folder;
+			snapshot.resourceNames[row] = resourceName;
+			snapshot.captured[row] = true;
+		}
+		return snapshot;
+	}
+
+	private static String intern(Map<String, String> strings, String value) {
+		String interned = strings.putIfAbsent(value, value);
+		return interned == null ? value : interned;
+	}
+
+	/**
+	 * Return the column of the int attribute or -1 if the snapshot does not
+	 * hold it.
+	 *
+	 * @param attribute
+	 * @return int
+	 */
+	static int intColumn(String attribute) {
+		for (int column = 0; column < INT_ATTRIBUTES.length; column++) {
+			if (INT_ATTRIBUTES[column].equals(attribute)) {
+				return column;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the column of the String attribute or -1 if the snapshot does not
+	 * hold it.
+	 *
+	 * @param attribute
+	 * @return int
+	 */
+	static int stringColumn(String attribute) {
+		for (int column = 0; column < STRING_ATTRIBUTES.length; column++) {
+			if (STRING_ATTRIBUTES[column].equals(attribute)) {
+				return column;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param row
+	 * @return <code>true</code> if the marker of the row existed when the
+	 *         snapshot was captured
+	 */
+	boolean isCaptured(int row) {
+		return captured[row];
+	}
+
+	/**
+	 * @param column
+	 * @param row
+	 * @return the int value or {@link #NOT_SET}
+	 */
+	int getInt(int column, int row) {
+		return intColumns[column][row];
+	}
+
+	/**
+	 * @param column
+	 * @param row
+	 * @return the String value or <code>null</code> if it is not set
+	 */
+	String getString(int column, int row) {
+		return stringColumns[column][row];
+	}
+
+	long getCreationTime(int row) {
+		return creationTimes[row];
+	}
+
+	String getType(int row) {
+		return types[row];
+	}
+
+	/**
+	 * @param row
+	 * @return the path of the container of the resource or <code>null</code>
+	 *         if the resource is a project
+	 */
+	String getFolder(int row) {
+		return folders[row];
+	}
+
+	String getResourceName(int row) {
+		return resourceNames[row];
+	}
+}
@@ -30,6 +30,8 @@ package org.eclipse.ui.internal.views.markers;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -64,6 +66,126 @@ public class MarkerSortUtil {
 	 */
 	private static float MERGE_OR_HEAP_SWITCH=1.5f;
 
+	/*
+	 * Ranges of at least this number of entries are sorted in parallel on the
+	 * common fork/join pool if the comparator allows it, see
+	 * MarkerComparator#isConcurrent(). The comparator then runs on several
+	 * threads, but every entry is only compared by one thread at a time.
+	 */
+	private static int PARALLEL_THRESHOLD = 2 * BATCH_SIZE;
+
+	/*
+	 * The number of entries a single task sorts, the sorted ranges are then
+	 * merged.
+	 */
+	private static int PARALLEL_GRANULARITY = BATCH_SIZE / 2;
+
+	/**
+	 * Sorts [from,to) of the array with the merge sort of the fork/join
+	 * framework. The sort is stable. If cancelled the range is left in an
+	 * unspecified order.
+	 */
+	private static class SortTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final MarkerEntry[] array;
+		private final MarkerEntry[] buffer;
+		private final Comparator<MarkerItem> comparator;
+		private final int from;
+		private final int to;
+		private final IProgressMonitor monitor;
+
+		SortTask(MarkerEntry[] array, MarkerEntry[] buffer, Comparator<MarkerItem> comparator, int from, int to,
+				IProgressMonitor monitor) {
+			this.array = array;
+			this.buffer = buffer;
+			this.comparator = comparator;
+			this.from = from;
+			this.to = to;
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected void compute() {
+			if (monitor.isCanceled()) {
+				return;
+			}
+			if (to - from <= PARALLEL_GRANULARITY) {
+				Arrays.sort(array, from, to, comparator);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new SortTask(array, buffer, comparator, from, middle, monitor),
+					new SortTask(array, buffer, comparator, middle, to, monitor));
+			if (monitor.isCanceled()) {
+				return;
+			}
+			merge(array, buffer, from, middle, to, comparator);
+		}
+	}
+
+	/**
+	 * Selects the smallest k entries of every chunk of [from,to] of the array.
+	 */
+	private static class SelectTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final MarkerEntry[] array;
+		private final Comparator<MarkerItem> comparator;
+		private final int from;
+		private final int to;
+		private final int k;
+		private final IProgressMonitor monitor;
+
+		SelectTask(MarkerEntry[] array, Comparator<MarkerItem> comparator, int from, int to, int k,
+				IProgressMonitor monitor) {
+			this.array = array;
+			this.comparator = comparator;
+			this.from = from;
+			this.to = to;
+			this.k = k;
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected void compute() {
+			sortSequentially(array, comparator, from, to, Math.min(k, to - from + 1), monitor);
+		}
+	}
+
+	/**
+	 * Merges the sorted ranges [from,middle) and [middle,to) of the array. The
+	 * left range is copied to the same positions of the buffer.
+	 *
+	 * @param array
+	 * @param buffer
+	 * @param from
+	 * @param middle
+	 * @param to
+	 * @param comparator
+	 */
+	private static void merge(MarkerEntry[] array, MarkerEntry[] buffer, int from, int middle, int to,
+			Comparator<MarkerItem> comparator) {
+		if (comparator.compare(array[middle - 1], array[middle]) <= 0) {
+			// the ranges are in order already, e.g. when presorted
+			return;
+		}
+		System.arraycopy(array, from, buffer, from, middle - from);
+		int left = from;
+		int right = middle;
+		int target = from;
+		while (left < middle && right < to) {
+			if (comparator.compare(array[right], buffer[left]) < 0) {
+				array[target++] = array[right++];
+			} else {
+				array[target++] = buffer[left++];
+			}
+		}
+		System.arraycopy(buffer, left, array, target, middle - left);
+	}
+
 	/**
 	 * Sorts [first,middle] in the array of [first,last] using a variant of
 	 * modified heapsort, such that
@@ -314,12 +436,60 @@ public class MarkerSortUtil {
 	public static void sortStartingKElement(MarkerEntry[] entries,
  Comparator<MarkerItem> comparator, int from, int to,
 			int k, IProgressMonitor monitor) {
+		sortStartingKElement(entries, comparator, from, to, k, false, monitor);
+	}
+
+	/**
+	 * Sorts [from,from+k-1] of [from,to] like
+	 * {@link #sortStartingKElement(MarkerEntry[], Comparator, int, int, int, IProgressMonitor)},
+	 * in parallel for large ranges if concurrent is <code>true</code>.
+	 *
+	 * @param entries
+	 * @param comparator
+	 * @param from
+	 * @param to
+	 * @param k
+	 * @param concurrent
+	 *            whether comparator may run on several threads at once
+	 * @param monitor
+	 * @since 3.14
+	 */
+	public static void sortStartingKElement(MarkerEntry[] entries, Comparator<MarkerItem> comparator, int from,
+			int to, int k, boolean concurrent, IProgressMonitor monitor) {
 		// check range valid
 		int last = from + k-1;
 		if (entries.length == 0 || from < 0 || from >= to || last < from
 				|| last > to || to > entries.length - 1 || to < 0)
 			return;
 		int n=to-from+1;
+		if (concurrent && n >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+			// the batches of the heapsort cost more than a complete sort
+			if (k > BATCH_SIZE || ((float) n / k) <= MERGE_OR_HEAP_SWITCH) {
+				sort(entries, comparator, from, to, true, monitor);
+			} else {
+				parallelSelect(entries, comparator, from, to, k, monitor);
+			}
+			return;
+		}
+		sortSequentially(entries, comparator, from, to, k, monitor);
+	}
+
+	/**
+	 * Sorts [from,from+k-1] of the valid range [from,to] on the current
+	 * thread, see
+	 * {@link #sortStartingKElement(MarkerEntry[], Comparator, int, int, int, IProgressMonitor)}
+	 *
+	 * @param entries
+	 * @param comparator
+	 * @param from
+	 * @param to
+	 * @param k
+	 * @param monitor
+	 */
+	private static void sortSequentially(MarkerEntry[] entries, Comparator<MarkerItem> comparator, int from,
+			int to, int k, IProgressMonitor monitor) {
+		int last = from + k-1;
+		int n=to-from+1;
 		if (n <= BATCH_SIZE && (((float) n / k) <= MERGE_OR_HEAP_SWITCH)
 				/*|| ((float) n / k) <= MERGE_OR_HEAP_SWITCH*/) {
 			// use arrays sort
@@ -363,6 +533,150 @@ public class MarkerSortUtil {
 		}
 	}
 
+	/**
+	 * Selects the smallest k entries of [from,to] in parallel. Every chunk
+	 * of the range sorts its smallest k entries, the smallest k entries of
+	 * the range are among them. These candidates are then merged.
+	 *
+	 * @param entries
+	 * @param comparator
+	 * @param from
+	 * @param to
+	 * @param k
+	 * @param monitor
+	 */
+	private static void parallelSelect(MarkerEntry[] entries, Comparator<MarkerItem> comparator, int from,
+			int to, int k, IProgressMonitor monitor) {
+		int n = to - from + 1;
+		int chunkSize = Math.max(PARALLEL_GRANULARITY,
+				(n + ForkJoinPool.getCommonPoolParallelism() - 1) / ForkJoinPool.getCommonPoolParallelism());
+		int chunkCount = (n + chunkSize - 1) / chunkSize;
+		SelectTask[] tasks = new SelectTask[chunkCount];
+		for (int i = 0; i < chunkCount; i++) {
+			int chunkFrom = from + i * chunkSize;
+			tasks[i] = new SelectTask(entries, comparator, chunkFrom, Math.min(chunkFrom + chunkSize - 1, to), k,
+					monitor);
+		}
+		ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				invokeAll(tasks);
+			}
+		});
+		if (monitor.isCanceled()) {
+			return;
+		}
+		// the candidates first, followed by the rest of every chunk
+		MarkerEntry[] buffer = new MarkerEntry[n];
+		int candidates = 0;
+		for (int i = 0; i < chunkCount; i++) {
+			int chunkFrom = from + i * chunkSize;
+			int chunkLength = Math.min(k, Math.min(chunkSize, to - chunkFrom + 1));
+			System.arraycopy(entries, chunkFrom, buffer, candidates, chunkLength);
+			candidates += chunkLength;
+		}
+		int rest = candidates;
+		for (int i = 0; i < chunkCount; i++) {
+			int chunkFrom = from + i * chunkSize;
+			int chunkTo = Math.min(chunkFrom + chunkSize - 1, to);
+			int chunkLength = Math.min(k, chunkTo - chunkFrom + 1);
+			System.arraycopy(entries, chunkFrom + chunkLength, buffer, rest, chunkTo - chunkFrom + 1 - chunkLength);
+			rest += chunkTo - chunkFrom + 1 - chunkLength;
+		}
+		// the candidates are sorted runs
+		Arrays.sort(buffer, 0, candidates, comparator);
+		for (int i = 0; i < candidates; i++) {
+			buffer[i].clearCache();
+		}
+		System.arraycopy(buffer, 0, entries, from, n);
+	}
+
+	/**
+	 * Sorts [from,to] in the array completely on the current thread. The sort
+	 * is stable, entries that are equal keep their order.
+	 *
+	 * @param entries
+	 * @param comparator
+	 * @param from
+	 * @param to
+	 * @param monitor
+	 * @since 3.14
+	 */
+	public static void sort(MarkerEntry[] entries, Comparator<MarkerItem> comparator, int from, int to,
+			IProgressMonitor monitor) {
+		sort(entries, comparator, from, to, false, monitor);
+	}
+
+	/**
+	 * Sorts [from,to] in the array completely. The sort is stable, entries
+	 * that are equal keep their order, and runs in parallel for large ranges
+	 * if concurrent is <code>true</code>. If the monitor is cancelled the
+	 * range is left in an unspecified order.
+	 *
+	 * @param entries
+	 * @param comparator
+	 * @param from
+	 * @param to
+	 * @param concurrent
+	 *            whether comparator may run on several threads at once
+	 * @param monitor
+	 * @since 3.14
+	 */
+	public static void sort(MarkerEntry[] entries, Comparator<MarkerItem> comparator, int from, int to,
+			boolean concurrent, IProgressMonitor monitor) {
+		if (from < 0 || from >= to || to > entries.length - 1)
+			return;
+		if (!concurrent || to - from + 1 < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+			Arrays.sort(entries, from, to + 1, comparator);
+		} else {
+			MarkerEntry[] buffer = new MarkerEntry[entries.length];
+			ForkJoinPool.commonPool().invoke(new SortTask(entries, buffer, comparator, from, to + 1, monitor));
+		}
+		for (int i = from; i <= to; i++) {
+			entries[i].clearCache();
+		}
+	}
+
+	/**
+	 * Reverses the order of the runs of [from,to] in the array, the entries
+	 * of a run keep their order. A run is a sequence of entries that are
+	 * equal for runComparator. Reorders entries sorted by a field to entries
+	 * sorted by the field in the other direction, without comparing the
+	 * other fields.
+	 *
+	 * @param entries
+	 * @param runComparator
+	 * @param from
+	 * @param to
+	 * @since 3.14
+	 */
+	public static void reverseRuns(MarkerEntry[] entries, Comparator<MarkerItem> runComparator, int from,
+			int to) {
+		if (from < 0 || from >= to || to > entries.length - 1)
+			return;
+		reverse(entries, from, to);
+		int runStart = from;
+		for (int i = from + 1; i <= to + 1; i++) {
+			if (i > to || runComparator.compare(entries[i - 1], entries[i]) != 0) {
+				reverse(entries, runStart, i - 1);
+				runStart = i;
+			}
+		}
+		for (int i = from; i <= to; i++) {
+			entries[i].clearCache();
+		}
+	}
+
+	private static void reverse(MarkerEntry[] entries, int from, int to) {
+		while (from < to) {
+			MarkerEntry tmp = entries[from];
+			entries[from++] = entries[to];
+			entries[to--] = tmp;
+		}
+	}
+
 	/**
 	 * @param fArray1
 	 * @param comparator
@@ -373,7 +687,8 @@ public class MarkerSortUtil {
 	public static void sortStartingKElement(MockMarkerEntry[] fArray1,
  Comparator<MarkerItem> comparator, int from,
 			int k, int limit) {
-		sortStartingKElement(fArray1, comparator, from, k, limit,new NullProgressMonitor());
+		// the comparators of the tests may run concurrently
+		sortStartingKElement(fArray1, comparator, from, k, limit, true, new NullProgressMonitor());
 	}
 	/**
 	 * Sorts [0,k-1] in the array of [0,entries.length-1] using a variant of
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -353,6 +353,23 @@ public class MarkerSupportInternalUtilities {
 		return new MarkerEntry(marker);
 	}
 
+	/**
+	 * Create the MarkerItems that wrap markers, reading the attributes of all
+	 * the markers at once into a {@link MarkerSnapshot}.
+	 *
+	 * @param markers
+	 * @return MarkerItem[] holding the item of each marker at its index
+	 * @since 3.14
+	 */
+	public static MarkerItem[] newMarkerItems(IMarker[] markers) {
+		MarkerSnapshot snapshot = MarkerSnapshot.capture(markers);
+		MarkerItem[] items = new MarkerItem[markers.length];
+		for (int row = 0; row < markers.length; row++) {
+			items[row] = new MarkerEntry(markers[row], snapshot, row);
+		}
+		return items;
+	}
+
 	/**
 	 * Show the marker in view if possible.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,12 @@ public class MarkerTypeFieldFilter extends CompatibilityFieldFilter {
 		if (marker == null) {
 			return contentGenerator.allTypesSelected(selectedTypes);
 		}
+		if (item instanceof MarkerEntry) {
+			MarkerEntry entry = (MarkerEntry) item;
+			if (!entry.getStaleState()) {
+				return selectedTypes.contains(MarkerTypesModel.getInstance().getType(entry.getMarkerTypeId()));
+			}
+		}
 		try {
 			return selectedTypes.contains(MarkerTypesModel.getInstance().getType(marker.getType()));
 		} catch (CoreException e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 IBM Corporation and others.
+ * Copyright (c) 2015, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -70,7 +70,7 @@ class MarkerUpdateJob extends Job {
 		// MarkerMessages.MarkerView_searching_for_markers, false);
 
 		Collection<MarkerEntry> markerEntries = new LinkedList<>();
-		//this is not incremental clean every time
+		//this is not incremental clean every time, see IncrementUpdateJob
 		clean = !clean(markerEntries, monitor);
 		if (monitor.isCanceled()) {
 			return;
@@ -125,6 +125,7 @@ class MarkerUpdateJob extends Job {
 		if (monitor.isCanceled()) {
 			return false;
 		}
+		builder.refreshAllRows();
 		return markers.updateWithNewMarkers(markerEntries, true, monitor);
 	}
 
@@ -189,6 +190,8 @@ class SortingJob extends MarkerUpdateJob {
 		builder.getUpdateScheduler().cancelQueuedUIUpdates();
 		// builder.getUpdateScheduler().indicateStatus(
 		// MarkerMessages.MarkerView_19, false);
+		builder.getMarkerIndex().sortOrderChanged();
+		builder.refreshAllRows();
 		builder.getMarkers().sortMarkerEntries(monitor);
 		builder.getUpdateScheduler().scheduleUIUpdate(0L);
 		if (monitor.isCanceled()) {
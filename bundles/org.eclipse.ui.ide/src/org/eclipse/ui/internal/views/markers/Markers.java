@@ -30,6 +30,7 @@ import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.ui.internal.ide.IDEWorkbenchPlugin;
+import org.eclipse.ui.views.markers.MarkerField;
 import org.eclipse.ui.views.markers.MarkerItem;
 import org.eclipse.ui.views.markers.internal.MarkerGroup;
 import org.eclipse.ui.views.markers.internal.MarkerGroupingEntry;
@@ -56,6 +57,9 @@ class Markers {
 
 	private volatile boolean inChange;
 
+	// the order the marker entries are completely sorted in, or null
+	private MarkerComparator sortedBy;
+
 	// markerToEntryMap is a lazily created map from the markers to thier
 	// corresponding entry
 	private Map<IMarker, MarkerEntry> markerToEntryMap;
@@ -84,6 +88,7 @@ class Markers {
 				markerToEntryMap = null;
 			}
 			markerCounts = null;
+			sortedBy = null;
 			if (markerEntries.isEmpty()) {
 				categories = EMPTY_CATEGORY_ARRAY;
 				markerEntryArray = EMPTY_ENTRY_ARRAY;
@@ -113,6 +118,47 @@ class Markers {
 		}
 	}
 
+	/**
+	 * Update with marker entries that are already sorted and grouped, see
+	 * {@link MarkerIndex}.
+	 *
+	 * @param sortedEntries
+	 *            the sorted marker entries
+	 * @param categoryField
+	 *            the field that provides the category names, or
+	 *            <code>null</code> if not showing hierarchy
+	 * @param categoryEnds
+	 *            the index of the last entry of every category
+	 */
+	synchronized void updateWithSortedMarkers(MarkerEntry[] sortedEntries, MarkerField categoryField,
+			int[] categoryEnds) {
+		boolean initialVal = inChange;
+		try {
+			inChange = true;
+			if (markerToEntryMap != null) {
+				markerToEntryMap.clear();
+				markerToEntryMap = null;
+			}
+			markerCounts = null;
+			sortedBy = null;
+			markerEntryArray = sortedEntries;
+			if (categoryField == null || sortedEntries.length == 0) {
+				categories = EMPTY_CATEGORY_ARRAY;
+				return;
+			}
+			MarkerCategory[] markerCategories = new MarkerCategory[categoryEnds.length];
+			int start = 0;
+			for (int i = 0; i < categoryEnds.length; i++) {
+				markerCategories[i] = new MarkerCategory(this, start, categoryEnds[i],
+						categoryField.getValue(sortedEntries[start]));
+				start = categoryEnds[i] + 1;
+			}
+			categories = markerCategories;
+		} finally {
+			inChange = initialVal;
+		}
+	}
+
 	/**
 	 * Sort the contained marker entries and build categories if required.
 	 *
@@ -122,6 +168,7 @@ class Markers {
 		boolean initialVal = inChange;
 		try {
 			inChange = true;
+			sortedBy = null;
 			// Sort by Category first
 			if (builder.isShowingHierarchy()) {
 				MarkerCategory[] markerCategories = groupIntoCategories(monitor, markerEntryArray);
@@ -149,10 +196,14 @@ class Markers {
 			return false;
 		}
 		boolean initialVal = inChange;
-		MarkerComparator markerComparator = builder.getComparator();
+		// sort by a copy, the order may change while sorting
+		MarkerComparator markerComparator = builder.getComparator().copy();
+		MarkerComparator previous = sortedBy;
 		MarkerCategory lastCategory = null;
 		try {
 			inChange = true;
+			sortedBy = null;
+			boolean complete = true;
 			if (builder.isShowingHierarchy()) {
 				Comparator<MarkerItem> comparator = markerComparator.getFieldsComparator();
 				for (MarkerCategory category : categories) {
@@ -164,9 +215,8 @@ class Markers {
 					category.resetChildren(); // reset cached children
 					int avaliable = category.end - category.start + 1;
 					int effLimit = getShowingLimit(avaliable);
-					MarkerSortUtil.sortStartingKElement(markerEntryArray,
-							comparator, category.start, category.end, effLimit,
-							monitor);
+					complete &= sortMarkerEntries(comparator, markerComparator, previous, category.start,
+							category.end, effLimit, monitor);
 				}
 			} else {
 				if (monitor.isCanceled()) {
@@ -174,12 +224,15 @@ class Markers {
 				}
 				int avaialble = markerEntryArray.length - 1;
 				int effLimit = getShowingLimit(avaialble);
-				MarkerSortUtil.sortStartingKElement(markerEntryArray,
-						markerComparator, effLimit, monitor);
+				complete = sortMarkerEntries(markerComparator, markerComparator, previous, 0,
+						markerEntryArray.length - 1, effLimit, monitor);
 			}
 			if (monitor.isCanceled()) {
 				return false;
 			}
+			if (complete) {
+				sortedBy = markerComparator;
+			}
 			monitor.worked(50);
 			return true;
 		} catch (IllegalArgumentException e) {
@@ -198,6 +251,44 @@ class Markers {
 		}
 	}
 
+	/**
+	 * Sort [from,to] of the marker entries such that the first limit entries
+	 * are sorted. The order of the previous sort is reused if the entries only
+	 * need to be reordered by the primary sort field.
+	 *
+	 * @param comparator
+	 * @param order
+	 *            the sort order of comparator
+	 * @param previous
+	 *            the order the entries are completely sorted in, or
+	 *            <code>null</code>
+	 * @param from
+	 * @param to
+	 * @param limit
+	 * @param monitor
+	 * @return <code>true</code> if [from,to] is sorted completely
+	 */
+	private boolean sortMarkerEntries(Comparator<MarkerItem> comparator, MarkerComparator order,
+			MarkerComparator previous, int from, int to, int limit, IProgressMonitor monitor) {
+		if (previous != null) {
+			if (order.hasSameOrder(previous)) {
+				return true;
+			}
+			if (order.reversesPrimarySortField(previous)) {
+				MarkerSortUtil.reverseRuns(markerEntryArray, order.getPrimaryFieldComparator(), from, to);
+				return true;
+			}
+			if (order.isPresortedBy(previous)) {
+				MarkerSortUtil.sort(markerEntryArray, order.getPrimaryFieldComparator(), from, to,
+						order.isConcurrent(), monitor);
+				return true;
+			}
+		}
+		MarkerSortUtil.sortStartingKElement(markerEntryArray, comparator, from, to, limit, order.isConcurrent(),
+				monitor);
+		return limit >= to - from;
+	}
+
 	/**
 	 * get marker limit to show, if any.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 IBM Corporation and others.
+ * Copyright (c) 2015, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 
 package org.eclipse.ui.internal.views.markers;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 
@@ -181,10 +182,8 @@ class MarkersChangeListener implements IResourceChangeListener {
 	 * of the markers that were gathered initially, and keeps them synched at
 	 * any point with the markers of interest in Workspace. Unfortunately marker
 	 * operations cannot be locked so locking between gathering of markers and
-	 * marker deltas is not possible.
-	 *
-	 * Note : this method of updating is NOT used and tested yet and has holes
-	 * but left out SOLELY for further investigation(*).
+	 * marker deltas is not possible, the {@link MarkerIndex} therefore checks
+	 * the current state of every marker of a delta when applying it.
 	 *
 	 * @param event
 	 */
@@ -194,6 +193,8 @@ class MarkersChangeListener implements IResourceChangeListener {
 			return;
 		}
 		Collection<MarkerEntry> removed = new LinkedList<>(), added = new LinkedList<>(), changed = new LinkedList<>();
+		// the attributes of the added and changed markers are captured at once
+		Collection<IMarker> addedMarkers = new ArrayList<>(), changedMarkers = new ArrayList<>();
 		String[] types = listeningTypes;
 		for (IMarkerDelta markerDelta : markerDeltas) {
 			try {
@@ -202,18 +203,17 @@ class MarkersChangeListener implements IResourceChangeListener {
 					continue;
 				}
 				IMarker marker = markerDelta.getMarker();
-				MarkerEntry markerEntry = new MarkerEntry(marker);
 				switch (markerDelta.getKind()) {
 				case IResourceDelta.REMOVED: {
-					removed.add(markerEntry);
+					removed.add(new MarkerEntry(marker));
 					break;
 				}
 				case IResourceDelta.ADDED: {
-					added.add(markerEntry);
+					addedMarkers.add(marker);
 					break;
 				}
 				case IResourceDelta.CHANGED: {
-					changed.add(markerEntry);
+					changedMarkers.add(marker);
 					break;
 				}
 				default:{
@@ -225,6 +225,25 @@ class MarkersChangeListener implements IResourceChangeListener {
 				MarkerSupportInternalUtilities.logViewError(e);
 			}
 		}
+		if (addedMarkers.size() > 0 || changedMarkers.size() > 0) {
+			IMarker[] markers = new IMarker[addedMarkers.size() + changedMarkers.size()];
+			int row = 0;
+			for (IMarker marker : addedMarkers) {
+				markers[row++] = marker;
+			}
+			for (IMarker marker : changedMarkers) {
+				markers[row++] = marker;
+			}
+			MarkerSnapshot snapshot = MarkerSnapshot.capture(markers);
+			for (row = 0; row < markers.length; row++) {
+				MarkerEntry markerEntry = new MarkerEntry(markers[row], snapshot, row);
+				if (row < addedMarkers.size()) {
+					added.add(markerEntry);
+				} else {
+					changed.add(markerEntry);
+				}
+			}
+		}
 		if (removed.size() > 0 || added.size() > 0 || changed.size() > 0) {
 			MarkerUpdate update = new MarkerUpdate(added, removed, changed);
 			builder.incrementalUpdate(update);
@@ -541,6 +560,19 @@ class MarkerUpdateScheduler {
 		// updateTimer.reset();
 	}
 
+	/**
+	 * Schedule marker update for received marker changes. The markers are
+	 * gathered again only if the builder does not update incrementally.
+	 */
+	void scheduleChangesUpdate(long delay, boolean cancelPrevious) {
+		builder.setBuilding(true);
+		if (cancelPrevious) {
+			cancelQueuedUIUpdates();
+			cancelUpdate();
+		}
+		updateJob = builder.scheduleUpdateJob(delay, !builder.isIncremental());
+	}
+
 	/**
 	 * Schedule marker update.
 	 */
@@ -804,7 +836,7 @@ class MarkerUpdateScheduler {
 
 		private void go(long delay, boolean cancelPrevious) {
 			timeB4Update = System.currentTimeMillis() + delay;
-			scheduleUpdate(delay + AFTER_MARGIN, cancelPrevious);
+			scheduleChangesUpdate(delay + AFTER_MARGIN, cancelPrevious);
 		}
 	}
 }
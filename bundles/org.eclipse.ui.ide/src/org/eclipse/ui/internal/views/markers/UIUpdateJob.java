@@ -15,6 +15,8 @@
 
 package org.eclipse.ui.internal.views.markers;
 
+import java.util.Collection;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -105,7 +107,19 @@ class UIUpdateJob extends WorkbenchJob {
 				contentProvider.inputChanged(viewer, view.getViewerInput(), clone);
 
 				viewer.getTree().setRedraw(false);
-				viewer.refresh(true);
+				Collection<MarkerEntry> changedRows = view.getBuilder().takeChangedRows();
+				if (changedRows == null) {
+					viewer.refresh(true);
+				} else {
+					/*
+					 * only incremental updates since the last refresh: the
+					 * structure refresh updates the labels of the moved rows,
+					 * the changed markers and the category counts remain.
+					 */
+					viewer.refresh(false);
+					viewer.update(clone.getCategories(), null);
+					viewer.update(changedRows.toArray(), null);
+				}
 				if (!monitor.isCanceled()) {
 					//do not expand if canceled
 					view.reexpandCategories();
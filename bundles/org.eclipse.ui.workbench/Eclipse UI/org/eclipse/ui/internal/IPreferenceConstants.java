@@ -287,4 +287,16 @@ public interface IPreferenceConstants {
 	 */
 	String SAVE_AUTOMATICALLY_INTERVAL = "SAVE_AUTOMATICALLY_INTERVAL"; //$NON-NLS-1$
 
+	/**
+	 * Preference id for whether the text decorations of resources are saved
+	 * between sessions, so that they are shown before the decorators have
+	 * decorated the resources again.
+	 * <p>
+	 * The boolean default value for this preference is: <code>false</code>.
+	 * </p>
+	 *
+	 * @since 3.112
+	 */
+	String PERSIST_DECORATIONS = "PERSIST_DECORATIONS"; //$NON-NLS-1$
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -169,8 +169,13 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      * <p>
      * It is likely easier to just toss the whole cache rather than trying to be
      * smart and remove only those entries affected.
+     * <p>
+     * The caches are only read and written while holding the lock of the
+     * receiver, as the contributors may be looked up by several threads at
+     * once.
+     * </p>
      */
-    public void flushLookup() {
+    public synchronized void flushLookup() {
         objectLookup = null;
         resourceAdapterLookup = null;
         adaptableLookup = null;
@@ -316,13 +321,15 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      */
     public void registerContributor(IObjectContributor contributor,
             String targetType) {
-        List contributorList = (List) contributors.get(targetType);
-        if (contributorList == null) {
-            contributorList = new ArrayList(5);
-            contributors.put(targetType, contributorList);
+        synchronized (this) {
+            List contributorList = (List) contributors.get(targetType);
+            if (contributorList == null) {
+                contributorList = new ArrayList(5);
+                contributors.put(targetType, contributorList);
+            }
+            contributorList.add(contributor);
+            flushLookup();
         }
-        contributorList.add(contributor);
-        flushLookup();
 
         IConfigurationElement element = Adapters.adapt(contributor, IConfigurationElement.class);
 
@@ -340,7 +347,7 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
     /**
      * Unregister all contributors.
      */
-    public void unregisterAllContributors() {
+    public synchronized void unregisterAllContributors() {
         contributors = new Hashtable(5);
         flushLookup();
     }
@@ -351,7 +358,7 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      * @param contributor the contributor
      * @param targetType the target type
      */
-    public void unregisterContributor(IObjectContributor contributor,
+    public synchronized void unregisterContributor(IObjectContributor contributor,
             String targetType) {
         List contributorList = (List) contributors.get(targetType);
         if (contributorList == null) {
@@ -370,7 +377,7 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      *
      * @param targetType the target type
      */
-    public void unregisterContributors(String targetType) {
+    public synchronized void unregisterContributors(String targetType) {
         contributors.remove(targetType);
         flushLookup();
     }
@@ -415,7 +422,7 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      *
      * @since 3.1
      */
-    protected List getObjectContributors(Class objectClass) {
+    protected synchronized List getObjectContributors(Class objectClass) {
 		List objectList = null;
 		// Lookup the results in the cache first.
 		if (objectLookup != null) {
@@ -445,7 +452,7 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      *
      * @since 3.1
      */
-	protected List getResourceContributors(Class resourceClass) {
+	protected synchronized List getResourceContributors(Class resourceClass) {
 		List resourceList = null;
 		if (resourceAdapterLookup != null) {
 			resourceList = (List) resourceAdapterLookup.get(resourceClass);
@@ -471,7 +478,7 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      *
      * @since 3.1
      */
-	protected List getAdaptableContributors(String adapterType) {
+	protected synchronized List getAdaptableContributors(String adapterType) {
 		List adaptableList = null;
 		// Lookup the results in the cache first, there are two caches
 		// one that stores non-adapter contributions and the other
@@ -834,6 +834,7 @@ public class WorkbenchMessages extends NLS {
 	public static String DecorationScheduler_CalculatingTask;
 	public static String DecorationScheduler_ClearResultsJob;
 	public static String DecorationScheduler_DecoratingSubtask;
+	public static String DecorationScheduler_RestoreJob;
 
 	public static String PerspectiveBar_showText;
 	public static String PerspectiveBar_customize;
@@ -122,6 +122,9 @@ public class WorkbenchPreferenceInitializer extends AbstractPreferenceInitialize
 		node.putBoolean(IPreferenceConstants.SAVE_AUTOMATICALLY, false);
 		node.putInt(IPreferenceConstants.SAVE_AUTOMATICALLY_INTERVAL, 20);
 
+		// Decorations
+		node.putBoolean(IPreferenceConstants.PERSIST_DECORATIONS, false);
+
 		// Progress view
 		node.putInt(IPreferenceConstants.MAX_PROGRESS_ENTRIES, 20);
 
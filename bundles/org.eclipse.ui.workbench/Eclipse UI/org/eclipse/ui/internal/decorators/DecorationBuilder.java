@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -192,6 +192,40 @@ public class DecorationBuilder implements IDecoration {
 		valueSet = true;
 	}
 
+	/**
+	 * Apply the decorations a single decorator contributed to an element to
+	 * the receiver, as if the decorator decorated the receiver again.
+	 * Overlays do not replace the overlays of the decorators applied before.
+	 *
+	 * @param contribution
+	 *            a result created by a builder of the decorator alone
+	 */
+	void applyContribution(DecorationResult contribution) {
+		if (contribution == DecorationCache.NO_DECORATION) {
+			return;
+		}
+		prefixes.addAll(contribution.getPrefixes());
+		suffixes.addAll(contribution.getSuffixes());
+		ImageDescriptor[] contributedDescriptors = contribution.getDescriptors();
+		if (contributedDescriptors != null) {
+			for (int i = 0; i < descriptors.length; i++) {
+				if (descriptors[i] == null) {
+					descriptors[i] = contributedDescriptors[i];
+				}
+			}
+		}
+		if (contribution.getForegroundColor() != null) {
+			foregroundColor = contribution.getForegroundColor();
+		}
+		if (contribution.getBackgroundColor() != null) {
+			backgroundColor = contribution.getBackgroundColor();
+		}
+		if (contribution.getFont() != null) {
+			font = contribution.getFont();
+		}
+		valueSet = true;
+	}
+
 
 	@Override
 	public void setBackgroundColor(Color bgColor) {
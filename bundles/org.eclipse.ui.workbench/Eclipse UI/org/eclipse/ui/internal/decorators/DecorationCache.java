@@ -0,0 +1,504 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.decorators;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.viewers.DecorationContext;
+import org.eclipse.jface.viewers.IDecorationContext;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.WorkbenchException;
+import org.eclipse.ui.XMLMemento;
+import org.eclipse.ui.internal.LegacyResourceSupport;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+
+/**
+ * The DecorationCache holds what each lightweight decorator contributed to the
+ * decorations of the elements decorated most recently. A contribution is
+ * valid while the generation of its decorator does not change, so an element
+ * is only decorated again by the decorators that changed since. The cache
+ * holds the decorations of at most {@link #MAX_ELEMENTS} elements, the least
+ * recently used are dropped first. The elements are identified by identity
+ * and only weakly referenced, the decorations of the elements that are
+ * garbage collected are dropped too.
+ * <p>
+ * The text decorations of resources may be saved in the state location of the
+ * workbench on shutdown. They are shown in the next session until the
+ * decorators have decorated the resources again.
+ * </p>
+ *
+ * @since 3.112
+ */
+class DecorationCache {
+
+	/**
+	 * The maximum number of elements and contexts the cache holds decorations
+	 * for.
+	 */
+	static final int MAX_ELEMENTS = 10000;
+
+	/**
+	 * The contribution of a decorator that did not decorate the element.
+	 */
+	static final DecorationResult NO_DECORATION = new DecorationResult(Collections.EMPTY_LIST,
+			Collections.EMPTY_LIST, new ImageDescriptor[0], null, null, null);
+
+	private static final String STATE_FILE = "decorations.xml"; //$NON-NLS-1$
+
+	private static final String TAG_DECORATIONS = "decorations"; //$NON-NLS-1$
+
+	private static final String TAG_ELEMENT = "element"; //$NON-NLS-1$
+
+	private static final String TAG_DECORATION = "decoration"; //$NON-NLS-1$
+
+	private static final String TAG_PREFIX = "prefix"; //$NON-NLS-1$
+
+	private static final String TAG_SUFFIX = "suffix"; //$NON-NLS-1$
+
+	private static final String ATT_KEY = "key"; //$NON-NLS-1$
+
+	private static final String ATT_ID = "id"; //$NON-NLS-1$
+
+	private static final String ATT_TEXT = "text"; //$NON-NLS-1$
+
+	private static final String ATT_REPLAY = "replay"; //$NON-NLS-1$
+
+	/**
+	 * The decorations of an element in one decoration context.
+	 */
+	static class Decorations {
+
+		// The generation of the manager when the decorators were looked up
+		final int generation;
+
+		final LightweightDecoratorDefinition[] decorators;
+
+		// The generation of each decorator when it decorated the element
+		final int[] generations;
+
+		final DecorationResult[] contributions;
+
+		Decorations(int generation, LightweightDecoratorDefinition[] decorators, int[] generations,
+				DecorationResult[] contributions) {
+			this.generation = generation;
+			this.decorators = decorators;
+			this.generations = generations;
+			this.contributions = contributions;
+		}
+
+		/**
+		 * Return whether the decorators that apply to the element are still
+		 * the same.
+		 *
+		 * @param managerGeneration
+		 *            the current generation of the manager
+		 * @return boolean
+		 */
+		boolean hasCurrentDecorators(int managerGeneration) {
+			if (generation != managerGeneration) {
+				return false;
+			}
+			for (LightweightDecoratorDefinition decorator : decorators) {
+				if (!decorator.isEnabled()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Return whether all of the contributions are still valid.
+		 *
+		 * @param managerGeneration
+		 *            the current generation of the manager
+		 * @return boolean
+		 */
+		boolean isValid(int managerGeneration) {
+			if (!hasCurrentDecorators(managerGeneration)) {
+				return false;
+			}
+			for (int i = 0; i < decorators.length; i++) {
+				if (generations[i] != decorators[i].getGeneration()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Return the contribution of the decorator if it is still valid.
+		 *
+		 * @param decorator
+		 * @param decoratorGeneration
+		 *            the current generation of the decorator
+		 * @return DecorationResult or <code>null</code>
+		 */
+		DecorationResult getContribution(LightweightDecoratorDefinition decorator, int decoratorGeneration) {
+			for (int i = 0; i < decorators.length; i++) {
+				if (decorators[i] == decorator) {
+					return generations[i] == decoratorGeneration ? contributions[i] : null;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * The text decorations of an element restored from the last session.
+	 */
+	private static class RestoredDecorations {
+
+		final String[] decoratorIds;
+
+		// Whether the decorator is declarative and decorates the element again
+		final boolean[] replay;
+
+		final String[][] prefixes;
+
+		final String[][] suffixes;
+
+		RestoredDecorations(int size) {
+			decoratorIds = new String[size];
+			replay = new boolean[size];
+			prefixes = new String[size][];
+			suffixes = new String[size][];
+		}
+	}
+
+	/**
+	 * The key of the decorations of an element in a context. A key that lost
+	 * its element is only equal to itself.
+	 */
+	private static class Key extends WeakReference<Object> {
+
+		final IDecorationContext context;
+
+		private final int hash;
+
+		Key(Object element, IDecorationContext context, ReferenceQueue<Object> queue) {
+			super(element, queue);
+			this.context = context;
+			this.hash = System.identityHashCode(element) * 31 + context.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			Object element = get();
+			return element != null && element == other.get() && context.equals(other.context);
+		}
+	}
+
+	private static Method getFullPathMethod;
+
+	private final LinkedHashMap<Key, Decorations> decorations = new LinkedHashMap<Key, Decorations>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Decorations> eldest) {
+			return size() > MAX_ELEMENTS;
+		}
+	};
+
+	private final ReferenceQueue<Object> collectedElements = new ReferenceQueue<>();
+
+	private volatile Map<String, RestoredDecorations> restored = Collections.emptyMap();
+
+	/**
+	 * Return the decorations of the element in the context.
+	 *
+	 * @param element
+	 * @param context
+	 * @return Decorations or <code>null</code> if there are none
+	 */
+	synchronized Decorations get(Object element, IDecorationContext context) {
+		expungeCollectedElements();
+		return decorations.get(new Key(element, context, null));
+	}
+
+	/**
+	 * Cache the decorations of the element in the context.
+	 *
+	 * @param element
+	 * @param context
+	 * @param elementDecorations
+	 */
+	void put(Object element, IDecorationContext context, Decorations elementDecorations) {
+		synchronized (this) {
+			expungeCollectedElements();
+			decorations.put(new Key(element, context, collectedElements), elementDecorations);
+		}
+		// The restored decorations are obsolete once decorated again
+		if (!restored.isEmpty() && context == DecorationContext.DEFAULT_CONTEXT) {
+			String key = getPersistentKey(element);
+			if (key != null) {
+				restored.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Remove all of the cached decorations.
+	 */
+	synchronized void clear() {
+		decorations.clear();
+		while (collectedElements.poll() != null) {
+			// the keys are removed already
+		}
+	}
+
+	/**
+	 * Remove the decorations of the elements that were garbage collected.
+	 */
+	private void expungeCollectedElements() {
+		Object key;
+		while ((key = collectedElements.poll()) != null) {
+			decorations.remove(key);
+		}
+	}
+
+	/**
+	 * Return the decorations of the element restored from the last session.
+	 *
+	 * @param element
+	 * @param context
+	 * @param manager
+	 *            the manager of the decorators
+	 * @return DecorationResult or <code>null</code> if none were restored
+	 */
+	DecorationResult getRestoredResult(Object element, IDecorationContext context,
+			LightweightDecoratorManager manager) {
+		if (restored.isEmpty() || context != DecorationContext.DEFAULT_CONTEXT) {
+			return null;
+		}
+		String key = getPersistentKey(element);
+		RestoredDecorations restoredDecorations = key == null ? null : restored.get(key);
+		if (restoredDecorations == null) {
+			return null;
+		}
+		DecorationBuilder builder = new DecorationBuilder(context);
+		for (int i = 0; i < restoredDecorations.decoratorIds.length; i++) {
+			LightweightDecoratorDefinition decorator = manager
+					.getDecoratorDefinition(restoredDecorations.decoratorIds[i]);
+			if (decorator == null || !decorator.isEnabled()) {
+				continue;
+			}
+			builder.setCurrentDefinition(decorator);
+			if (restoredDecorations.replay[i]) {
+				manager.decorate(element, builder, decorator);
+			} else {
+				for (String prefix : restoredDecorations.prefixes[i]) {
+					builder.addPrefix(prefix);
+				}
+				for (String suffix : restoredDecorations.suffixes[i]) {
+					builder.addSuffix(suffix);
+				}
+			}
+		}
+		return builder.createResult();
+	}
+
+	/**
+	 * Return the key of the element that is saved between sessions, made of
+	 * the type of the element and the path of the resource it adapts to.
+	 *
+	 * @param element
+	 * @return String or <code>null</code> if the element is not a resource
+	 */
+	private static String getPersistentKey(Object element) {
+		Object resource = LegacyResourceSupport.getAdaptedResource(element);
+		if (resource == null) {
+			return null;
+		}
+		try {
+			if (getFullPathMethod == null) {
+				Class<?> resourceClass = LegacyResourceSupport.getResourceClass();
+				getFullPathMethod = resourceClass.getMethod("getFullPath"); //$NON-NLS-1$
+			}
+			return element.getClass().getName() + ':' + getFullPathMethod.invoke(resource);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Return the file the decorations are saved in.
+	 *
+	 * @return File or <code>null</code> if there is no state location
+	 */
+	private static File getStateFile() {
+		WorkbenchPlugin plugin = WorkbenchPlugin.getDefault();
+		if (plugin == null || plugin.getDataLocation() == null) {
+			return null;
+		}
+		return plugin.getDataLocation().append(STATE_FILE).toFile();
+	}
+
+	/**
+	 * Restore the decorations saved in the last session.
+	 */
+	void restore() {
+		File stateFile = getStateFile();
+		if (stateFile == null || !stateFile.exists()) {
+			return;
+		}
+		Map<String, RestoredDecorations> restoredDecorations = new ConcurrentHashMap<>();
+		try (Reader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(stateFile), StandardCharsets.UTF_8))) {
+			IMemento memento = XMLMemento.createReadRoot(reader);
+			for (IMemento elementMemento : memento.getChildren(TAG_ELEMENT)) {
+				String key = elementMemento.getString(ATT_KEY);
+				IMemento[] decorationMementos = elementMemento.getChildren(TAG_DECORATION);
+				if (key == null) {
+					continue;
+				}
+				RestoredDecorations elementDecorations = new RestoredDecorations(decorationMementos.length);
+				for (int i = 0; i < decorationMementos.length; i++) {
+					IMemento decorationMemento = decorationMementos[i];
+					elementDecorations.decoratorIds[i] = decorationMemento.getString(ATT_ID);
+					elementDecorations.replay[i] = Boolean.TRUE.equals(decorationMemento.getBoolean(ATT_REPLAY));
+					elementDecorations.prefixes[i] = getTexts(decorationMemento.getChildren(TAG_PREFIX));
+					elementDecorations.suffixes[i] = getTexts(decorationMemento.getChildren(TAG_SUFFIX));
+				}
+				restoredDecorations.put(key, elementDecorations);
+			}
+		} catch (IOException | WorkbenchException e) {
+			WorkbenchPlugin.log(e);
+			return;
+		}
+		restored = restoredDecorations;
+	}
+
+	private static String[] getTexts(IMemento[] mementos) {
+		String[] texts = new String[mementos.length];
+		for (int i = 0; i < mementos.length; i++) {
+			String text = mementos[i].getString(ATT_TEXT);
+			texts[i] = text == null ? "" : text; //$NON-NLS-1$
+		}
+		return texts;
+	}
+
+	/**
+	 * Save the valid decorations of the resources in the default context. The
+	 * text of the decorations is saved, and which declarative decorators
+	 * decorated the resource. Overlays, colors and fonts of the other
+	 * decorators are not saved.
+	 *
+	 * @param managerGeneration
+	 *            the current generation of the manager
+	 */
+	void save(int managerGeneration) {
+		File stateFile = getStateFile();
+		if (stateFile == null) {
+			return;
+		}
+		List<Map.Entry<Key, Decorations>> entries;
+		synchronized (this) {
+			entries = new ArrayList<>(decorations.entrySet());
+		}
+		XMLMemento memento = XMLMemento.createWriteRoot(TAG_DECORATIONS);
+		for (Map.Entry<Key, Decorations> entry : entries) {
+			Decorations elementDecorations = entry.getValue();
+			if (entry.getKey().context != DecorationContext.DEFAULT_CONTEXT
+					|| !elementDecorations.isValid(managerGeneration)) {
+				continue;
+			}
+			Object element = entry.getKey().get();
+			String key = element == null ? null : getPersistentKey(element);
+			if (key == null) {
+				continue;
+			}
+			IMemento elementMemento = null;
+			for (int i = 0; i < elementDecorations.decorators.length; i++) {
+				LightweightDecoratorDefinition decorator = elementDecorations.decorators[i];
+				DecorationResult contribution = elementDecorations.contributions[i];
+				boolean replay = decorator.isDeclarative();
+				if (contribution == NO_DECORATION || !replay && !isText(contribution)) {
+					continue;
+				}
+				if (elementMemento == null) {
+					elementMemento = memento.createChild(TAG_ELEMENT);
+					elementMemento.putString(ATT_KEY, key);
+				}
+				IMemento decorationMemento = elementMemento.createChild(TAG_DECORATION);
+				decorationMemento.putString(ATT_ID, decorator.getId());
+				if (replay) {
+					decorationMemento.putBoolean(ATT_REPLAY, true);
+					continue;
+				}
+				for (Object prefix : contribution.getPrefixes()) {
+					decorationMemento.createChild(TAG_PREFIX).putString(ATT_TEXT, String.valueOf(prefix));
+				}
+				for (Object suffix : contribution.getSuffixes()) {
+					decorationMemento.createChild(TAG_SUFFIX).putString(ATT_TEXT, String.valueOf(suffix));
+				}
+			}
+		}
+		try (Writer writer = new BufferedWriter(
+				new OutputStreamWriter(new FileOutputStream(stateFile), StandardCharsets.UTF_8))) {
+			memento.save(writer);
+		} catch (IOException e) {
+			stateFile.delete();
+			WorkbenchPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Return whether the contribution only decorates the text.
+	 */
+	private static boolean isText(DecorationResult contribution) {
+		return contribution.getDescriptors() == null && contribution.getForegroundColor() == null
+				&& contribution.getBackgroundColor() == null && contribution.getFont() == null;
+	}
+
+	/**
+	 * Delete the decorations saved in an earlier session.
+	 */
+	static void deleteSaved() {
+		File stateFile = getStateFile();
+		if (stateFile != null && stateFile.exists()) {
+			stateFile.delete();
+		}
+	}
+}
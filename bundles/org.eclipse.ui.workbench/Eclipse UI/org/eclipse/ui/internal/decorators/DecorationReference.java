@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,9 @@ class DecorationReference {
 
     boolean forceUpdate = false;
 
+	// Whether the element is queued with the elements shown in viewers
+	boolean prioritized = false;
+
 	IDecorationContext[] contexts;
 
     DecorationReference(Object object, Object adaptedObject, IDecorationContext context) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,14 +15,15 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.decorators;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -44,18 +45,24 @@ import org.eclipse.ui.progress.WorkbenchJob;
 
 /**
  * The DecorationScheduler is the class that handles the decoration of elements
- * using a background thread.
+ * using background threads. Up to {@link #WORKER_COUNT} jobs decorate elements
+ * at once, the elements shown in viewers before the others.
  */
 public class DecorationScheduler {
 
 	static final ILabelProviderListener[] EMPTY_LISTENER_LIST = new ILabelProviderListener[0];
 
 	// When decorations are computed they are added to this cache via
-	// decorated() method
-	Map resultCache = new HashMap();
+	// decorated() method. Several decoration jobs add to it concurrently.
+	Map<IDecorationContext, Map<Object, DecorationResult>> resultCache = new ConcurrentHashMap<>();
 
-	// Objects that need an icon and text computed for display to the user
-	List awaitingDecoration = new ArrayList();
+	// Objects that need an icon and text computed for display to the user.
+	// These are shown in viewers and are decorated first.
+	List awaitingDecoration = new LinkedList();
+
+	// Objects that need an icon and text computed but may not be shown. An
+	// element is in both lists if it is shown after it was queued here.
+	List awaitingBackgroundDecoration = new LinkedList();
 
 	// Objects that are awaiting a label update.
 	Set pendingUpdate = new HashSet();
@@ -69,7 +76,13 @@ public class DecorationScheduler {
 
 	boolean shutdown = false;
 
-	Job decorationJob;
+	/** The number of jobs that decorate elements at once. */
+	public static final int WORKER_COUNT = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	Job[] decorationJobs;
+
+	// The number of elements that the decoration jobs are working on
+	int decorating = 0;
 
 	UIJob updateJob;
 
@@ -83,6 +96,12 @@ public class DecorationScheduler {
 	/** Amount of time to delay the update notification when max reached. */
 	static final int UPDATE_DELAY = 100;
 
+	/**
+	 * Amount of time to delay the update notification while elements are
+	 * decorated, about a frame.
+	 */
+	static final int FRAME_DELAY = 16;
+
 	/**
 	 * Return a new instance of the receiver configured for the supplied
 	 * DecoratorManager.
@@ -91,7 +110,7 @@ public class DecorationScheduler {
 	 */
 	DecorationScheduler(DecoratorManager manager) {
 		decoratorManager = manager;
-		createDecorationJob();
+		createDecorationJobs();
 	}
 
 	/**
@@ -132,10 +151,13 @@ public class DecorationScheduler {
 	 *            The original text for the element if it is known.
 	 * @param context
 	 *            The decoration context
+	 * @param shown
+	 *            If true the element is shown in a viewer and is decorated
+	 *            before the elements that are not.
 	 */
 
 	synchronized void queueForDecoration(Object element, Object adaptedElement, boolean forceUpdate,
-			String undecoratedText, IDecorationContext context) {
+			String undecoratedText, IDecorationContext context, boolean shown) {
 
 		Assert.isNotNull(context);
 		DecorationReference reference = (DecorationReference) awaitingDecorationValues.get(element);
@@ -144,16 +166,31 @@ public class DecorationScheduler {
 				reference.setForceUpdate(forceUpdate);
 			}
 			reference.addContext(context);
+			if (shown && !reference.prioritized) {
+				reference.prioritized = true;
+				awaitingDecoration.add(element);
+			}
 		} else {
 			reference = new DecorationReference(element, adaptedElement, context);
 			reference.setForceUpdate(forceUpdate);
 			reference.setUndecoratedText(undecoratedText);
+			reference.prioritized = shown;
 			awaitingDecorationValues.put(element, reference);
-			awaitingDecoration.add(element);
+			if (shown) {
+				awaitingDecoration.add(element);
+			} else {
+				awaitingBackgroundDecoration.add(element);
+			}
 			if (shutdown) {
 				return;
 			}
-			decorationJob.schedule();
+			// Start a job for every element queued or being decorated until
+			// all of them are working. Scheduling a job that is waiting has no
+			// effect, a running one checks the queue again when it is done.
+			int needed = Math.min(decorationJobs.length, awaitingDecorationValues.size() + decorating);
+			for (int i = 0; i < needed; i++) {
+				decorationJobs[i].schedule();
+			}
 		}
 
 	}
@@ -183,8 +220,10 @@ public class DecorationScheduler {
 	}
 
 	/**
-	 * Return the DecorationResult for element. If there isn't one queue for
-	 * decoration and return <code>null</code>.
+	 * Return the DecorationResult for element. If there isn't one and the
+	 * cached decorations of the decorators are obsolete queue for decoration
+	 * and return the decoration saved in the last session or
+	 * <code>null</code>.
 	 *
 	 * @param element
 	 *            The element to be decorated. If it is <code>null</code>
@@ -203,38 +242,60 @@ public class DecorationScheduler {
 		}
 
 		DecorationResult decoration = internalGetResult(element, context);
+		if (decoration == null) {
+			decoration = getCachedResult(element, context);
+		}
 
 		if (decoration == null) {
-			queueForDecoration(element, adaptedElement, false, null, context);
-			return null;
+			// Asked for by a label provider, so the element is shown
+			queueForDecoration(element, adaptedElement, false, null, context, true);
+			return decoratorManager.getLightweightManager().getRestoredDecorationResult(element, context);
 		}
 		return decoration;
 
 	}
 
+	/**
+	 * Return the decoration of the element built from the contributions the
+	 * decorators made before, if none of them is obsolete, and keep it until
+	 * the next update.
+	 *
+	 * @param element
+	 * @param context
+	 * @return DecorationResult or <code>null</code>
+	 */
+	private DecorationResult getCachedResult(Object element, IDecorationContext context) {
+		DecorationResult decoration = decoratorManager.getLightweightManager().getCachedDecorationResult(element,
+				context);
+		if (decoration != null) {
+			internalPutResult(element, context, decoration);
+		}
+		return decoration;
+	}
+
 	private DecorationResult internalGetResult(Object element,
 			IDecorationContext context) {
-		Map results = (Map) resultCache.get(context);
+		Map<Object, DecorationResult> results = resultCache.get(context);
 		if (results != null) {
-			return (DecorationResult) results.get(element);
+			return results.get(element);
 		}
 		return null;
 	}
 
 	protected void internalPutResult(Object element,
 			IDecorationContext context, DecorationResult result) {
-		Map results = (Map) resultCache.get(context);
-		if (results == null) {
-			results = new HashMap();
-			resultCache.put(context, results);
-		}
-		results.put(element, result);
+		resultCache.computeIfAbsent(context, key -> new ConcurrentHashMap<>()).put(element, result);
 	}
 
 	/**
 	 * Execute a label update using the pending decorations.
 	 */
 	synchronized void decorated() {
+		// Give it a bit of a lag for other updates to occur
+		decorated(UPDATE_DELAY);
+	}
+
+	private synchronized void decorated(long delay) {
 
 		// Don't bother if we are shutdown now
 		if (shutdown) {
@@ -246,8 +307,30 @@ public class DecorationScheduler {
 			updateJob = getUpdateJob();
 		}
 
-		// Give it a bit of a lag for other updates to occur
-		updateJob.schedule(UPDATE_DELAY);
+		updateJob.schedule(delay);
+	}
+
+	/**
+	 * An element has been decorated. Update the labels once all elements are
+	 * decorated, and every frame until then so that the elements that are
+	 * shown are updated while the others are decorated.
+	 */
+	synchronized void decorationDone() {
+		decorating--;
+		if (awaitingDecorationValues.isEmpty()) {
+			decorated();
+		} else if (updateJob == null || updateJob.getState() == Job.NONE) {
+			decorated(FRAME_DELAY);
+		}
+	}
+
+	/**
+	 * Return whether elements are queued for decoration or being decorated.
+	 *
+	 * @return boolean
+	 */
+	synchronized boolean isDecorating() {
+		return !awaitingDecorationValues.isEmpty() || decorating > 0;
 	}
 
 	/**
@@ -264,19 +347,46 @@ public class DecorationScheduler {
 	 */
 	synchronized DecorationReference nextElement() {
 
-		if (shutdown || awaitingDecoration.isEmpty()) {
+		if (shutdown) {
 			return null;
 		}
-		Object element = awaitingDecoration.remove(0);
+		while (true) {
+			Object element;
+			if (!awaitingDecoration.isEmpty()) {
+				element = awaitingDecoration.remove(0);
+			} else if (!awaitingBackgroundDecoration.isEmpty()) {
+				element = awaitingBackgroundDecoration.remove(0);
+			} else {
+				return null;
+			}
+			DecorationReference reference = (DecorationReference) awaitingDecorationValues.remove(element);
+			// Skip the elements taken from the other list already
+			if (reference != null) {
+				decorating++;
+				return reference;
+			}
+		}
+	}
 
-		return (DecorationReference) awaitingDecorationValues.remove(element);
+	/**
+	 * Create the jobs used for running decoration.
+	 */
+	private void createDecorationJobs() {
+		decorationJobs = new Job[WORKER_COUNT];
+		for (int i = 0; i < decorationJobs.length; i++) {
+			decorationJobs[i] = createDecorationJob();
+		}
+		decorationJobs[0].schedule();
 	}
 
 	/**
-	 * Create the Thread used for running decoration.
+	 * Create a job that decorates the queued elements until there are none
+	 * left.
+	 *
+	 * @return Job
 	 */
-	private void createDecorationJob() {
-		decorationJob = new Job(WorkbenchMessages.DecorationScheduler_CalculationJobName) {
+	private Job createDecorationJob() {
+		Job decorationJob = new Job(WorkbenchMessages.DecorationScheduler_CalculationJobName) {
 			@Override
 			public IStatus run(IProgressMonitor monitor) {
 
@@ -286,39 +396,30 @@ public class DecorationScheduler {
 					}
 				}
 
-				while (updatesPending()) {
-
-					try {
-						Thread.sleep(100);
-					} catch (InterruptedException e) {
-						// Cancel and try again if there was an error
-						schedule();
-						return Status.CANCEL_STATUS;
-					}
+				// Do not calculate results that are about to be cleared
+				if (clearJob != null && clearJob.getState() != Job.NONE) {
+					schedule(UPDATE_DELAY);
+					return Status.OK_STATUS;
 				}
 
 				SubMonitor subMonitor = SubMonitor.convert(monitor);
 				subMonitor.setTaskName(WorkbenchMessages.DecorationScheduler_CalculatingTask);
-				// will block if there are no resources to be decorated
 				DecorationReference reference;
 
 				while ((reference = nextElement()) != null) {
 
-					SubMonitor loopMonitor = subMonitor.setWorkRemaining(100).split(1);
-					Object element = reference.getElement();
-					boolean force = reference.shouldForceUpdate();
-					IDecorationContext[] contexts = reference.getContexts();
-					loopMonitor.setWorkRemaining(contexts.length);
-					for (IDecorationContext context : contexts) {
-						ensureResultCached(element, force, context);
-						loopMonitor.split(1);
-					}
-					// Only notify listeners when we have exhausted the
-					// queue of decoration requests.
-					synchronized (DecorationScheduler.this) {
-						if (awaitingDecoration.isEmpty()) {
-							decorated();
+					try {
+						SubMonitor loopMonitor = subMonitor.setWorkRemaining(100).split(1);
+						Object element = reference.getElement();
+						boolean force = reference.shouldForceUpdate();
+						IDecorationContext[] contexts = reference.getContexts();
+						loopMonitor.setWorkRemaining(contexts.length);
+						for (IDecorationContext context : contexts) {
+							ensureResultCached(element, force, context);
+							loopMonitor.split(1);
 						}
+					} finally {
+						decorationDone();
 					}
 				}
 				return Status.OK_STATUS;
@@ -347,7 +448,8 @@ public class DecorationScheduler {
 				if (!elementIsCached) {
 					DecorationBuilder cacheResult = new DecorationBuilder(context);
 					// Calculate the decoration
-					decoratorManager.getLightweightManager().getDecorations(element, cacheResult);
+					// A forced update does not trust the cached contributions
+					decoratorManager.getLightweightManager().getDecorations(element, cacheResult, force);
 
 					// If we should update regardless then put a result
 					// anyways
@@ -389,7 +491,7 @@ public class DecorationScheduler {
 
 		decorationJob.setSystem(true);
 		decorationJob.setPriority(Job.DECORATE);
-		decorationJob.schedule();
+		return decorationJob;
 	}
 
 	/**
@@ -520,7 +622,7 @@ public class DecorationScheduler {
                 // Other decoration requests may have occurred due to
                 // updates or we may have timed out updating listeners.
                 // Only clear the results if there are none pending.
-                if (awaitingDecoration.isEmpty()) {
+                if (!isDecorating()) {
                     resultCache.clear();
                 }
             }
@@ -562,7 +664,20 @@ public class DecorationScheduler {
 	 * @return boolean true if the element is ready.
 	 */
 	public boolean isDecorationReady(Object element, IDecorationContext context) {
-		return internalGetResult(element, context) != null;
+		return internalGetResult(element, context) != null || getCachedResult(element, context) != null;
+	}
+
+	/**
+	 * Return whether there is a decoration for this element saved in the last
+	 * session that can be shown until it is decorated.
+	 *
+	 * @param element
+	 * @param context
+	 *            The decoration context
+	 * @return boolean
+	 */
+	boolean isDecorationRestored(Object element, IDecorationContext context) {
+		return decoratorManager.getLightweightManager().getRestoredDecorationResult(element, context) != null;
 	}
 
 	/**
@@ -628,7 +743,7 @@ public class DecorationScheduler {
 	 * @return boolean
 	 */
 	public boolean processingUpdates() {
-		return !hasPendingUpdates() && !awaitingDecoration.isEmpty();
+		return !hasPendingUpdates() && isDecorating();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -707,6 +707,33 @@ public class DecoratorManager implements ILabelProviderListener,
 		writeDecoratorsPreference();
 	}
 
+	/**
+	 * Return the timing metrics of the lightweight decorators.
+	 *
+	 * @return DecoratorMetrics[]
+	 */
+	public DecoratorMetrics[] getDecoratorMetrics() {
+		LightweightDecoratorDefinition[] definitions = getLightweightManager().getDefinitions();
+		DecoratorMetrics[] metrics = new DecoratorMetrics[definitions.length];
+		for (int i = 0; i < definitions.length; i++) {
+			metrics[i] = definitions[i].getMetrics();
+		}
+		return metrics;
+	}
+
+	/**
+	 * Return the timing metrics of the lightweight decorator with the supplied
+	 * id.
+	 *
+	 * @param decoratorId
+	 * @return DecoratorMetrics or <code>null</code> if there is no lightweight
+	 *         decorator with the id
+	 */
+	public DecoratorMetrics getDecoratorMetrics(String decoratorId) {
+		LightweightDecoratorDefinition definition = getLightweightManager().getDecoratorDefinition(decoratorId);
+		return definition == null ? null : definition.getMetrics();
+	}
+
 	/**
 	 * Get the DecoratorDefinitions defined on the receiver.
 	 *
@@ -730,6 +757,7 @@ public class DecoratorManager implements ILabelProviderListener,
 	@Override
 	public void labelProviderChanged(LabelProviderChangedEvent event) {
 		Object[] elements = event.getElements();
+		invalidateDecorations(event.getSource());
 		scheduler.clearResults();
 		// If the elements are not specified send out a general update
 		if (elements == null) {
@@ -741,12 +769,37 @@ public class DecoratorManager implements ILabelProviderListener,
 				Object adapted = getResourceAdapter(element);
 				// Force an update in case full decorators are the only ones
 				// enabled
+				// The elements may not be shown, decorate those of the viewers
+				// first
 				scheduler.queueForDecoration(element, adapted, true, null,
-						DecorationContext.DEFAULT_CONTEXT);
+						DecorationContext.DEFAULT_CONTEXT, false);
 			}
 		}
 	}
 
+	/**
+	 * The decorations of the source changed. Only the cached decorations of
+	 * a lightweight decorator are obsolete if it is the source, all of them
+	 * if the source is unknown.
+	 *
+	 * @param source
+	 */
+	private void invalidateDecorations(Object source) {
+		for (LightweightDecoratorDefinition definition : getLightweightManager().getDefinitions()) {
+			if (definition.getDecorator() == source) {
+				definition.invalidateDecorations();
+				return;
+			}
+		}
+		for (FullDecoratorDefinition definition : getFullDefinitions()) {
+			if (definition.getDecorator() == source) {
+				// Full decorators are not cached
+				return;
+			}
+		}
+		getLightweightManager().clearDecorationCache();
+	}
+
 	/**
 	 * Store the currently enabled decorators in preference store.
 	 */
@@ -1034,6 +1087,11 @@ public class DecoratorManager implements ILabelProviderListener,
 	@Override
 	public void update(String decoratorId) {
 
+		LightweightDecoratorDefinition definition = getLightweightManager().getDecoratorDefinition(decoratorId);
+		if (definition != null) {
+			// Only the cached decorations of the decorator are obsolete
+			definition.invalidateDecorations();
+		}
 		IBaseLabelProvider provider = getBaseLabelProvider(decoratorId);
 		if (provider != null) {
 			scheduler.clearResults();
@@ -1060,10 +1118,11 @@ public class DecoratorManager implements ILabelProviderListener,
 
 		// Queue the decoration.
 		scheduler.queueForDecoration(element, getResourceAdapter(element),
-				force, originalText, context);
+				force, originalText, context, true);
 
-		// If we are going to force an update just let that happen later.
-		return !force;
+		// If we are going to force an update just let that happen later,
+		// unless the decoration of the last session can be shown until then
+		return !force || scheduler.isDecorationRestored(element, context);
 	}
 
 	@Override
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.decorators;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The DecoratorMetrics records the time a lightweight decorator takes to
+ * decorate elements. The decorations are recorded by the threads of the
+ * {@link DecorationScheduler}, the values may be read from any thread.
+ *
+ * @since 3.112
+ */
+public class DecoratorMetrics {
+
+	private final String decoratorId;
+
+	private final LongAdder decorationCount = new LongAdder();
+
+	private final LongAdder totalTime = new LongAdder();
+
+	private final AtomicLong maximumTime = new AtomicLong();
+
+	DecoratorMetrics(String decoratorId) {
+		this.decoratorId = decoratorId;
+	}
+
+	/**
+	 * Record a decoration.
+	 *
+	 * @param nanos
+	 *            the time the decoration took in nanoseconds
+	 */
+	void record(long nanos) {
+		decorationCount.increment();
+		totalTime.add(nanos);
+		maximumTime.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * Return the id of the decorator.
+	 *
+	 * @return String
+	 */
+	public String getDecoratorId() {
+		return decoratorId;
+	}
+
+	/**
+	 * Return the number of elements decorated.
+	 *
+	 * @return long
+	 */
+	public long getDecorationCount() {
+		return decorationCount.sum();
+	}
+
+	/**
+	 * Return the time of all decorations in nanoseconds.
+	 *
+	 * @return long
+	 */
+	public long getTotalTime() {
+		return totalTime.sum();
+	}
+
+	/**
+	 * Return the time of the slowest decoration in nanoseconds.
+	 *
+	 * @return long
+	 */
+	public long getMaximumTime() {
+		return maximumTime.get();
+	}
+
+	/**
+	 * Return the average time of a decoration in nanoseconds.
+	 *
+	 * @return long
+	 */
+	public long getAverageTime() {
+		long count = getDecorationCount();
+		return count == 0 ? 0 : getTotalTime() / count;
+	}
+
+	@Override
+	public String toString() {
+		return decoratorId + ": " + getDecorationCount() + " decorations, average " //$NON-NLS-1$ //$NON-NLS-2$
+				+ getAverageTime() / 1000 + "us, maximum " + getMaximumTime() / 1000 + "us"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
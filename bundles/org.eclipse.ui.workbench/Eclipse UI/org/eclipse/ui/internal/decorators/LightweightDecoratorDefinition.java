@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.decorators;
 
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.ISafeRunnable;
@@ -85,7 +87,7 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements
 	 * The DeclarativeDecorator is the internal decorator supplied by the
 	 * decorator definition.
 	 */
-	private ILightweightLabelDecorator decorator;
+	private volatile ILightweightLabelDecorator decorator;
 
 	private int quadrant;
 
@@ -93,27 +95,47 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements
 
 	private String[] objectClasses;
 
+	// Bounds the number of elements decorated by the receiver at once
+	private final Semaphore decorationPermits;
+
+	private final DecoratorMetrics metrics;
+
+	// Incremented whenever the decorations of the receiver become obsolete
+	private final AtomicInteger generation = new AtomicInteger();
+
 	LightweightDecoratorDefinition(String identifier,
 			IConfigurationElement element) {
 		super(identifier, element);
+		// Only declarative decorators are known to be thread safe
+		decorationPermits = new Semaphore(isDeclarative() ? DecorationScheduler.WORKER_COUNT : 1);
+		metrics = new DecoratorMetrics(identifier);
 	}
 
 	/**
 	 * Gets the decorator and creates it if it does not exist yet. Throws a
 	 * CoreException if there is a problem creating the decorator. This method
 	 * should not be called unless a check for enabled to be true is done first.
+	 * The decorator is created once even if several decoration jobs ask for it
+	 * at the same time.
 	 *
 	 * @return Returns a ILabelDecorator
 	 */
 	protected ILightweightLabelDecorator internalGetDecorator()
 			throws CoreException {
-		if (labelProviderCreationFailed) {
-			return null;
+		ILightweightLabelDecorator current = decorator;
+		if (current != null || labelProviderCreationFailed) {
+			return current;
 		}
 
-		final CoreException[] exceptions = new CoreException[1];
+		synchronized (this) {
+			if (labelProviderCreationFailed) {
+				return null;
+			}
+			if (decorator != null) {
+				return decorator;
+			}
 
-		if (decorator == null) {
+			final CoreException[] exceptions = new CoreException[1];
 
 			if (isDeclarative()) {
 				decorator = new DeclarativeDecorator(definingElement,
@@ -124,11 +146,13 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements
 					@Override
 					public void run() {
 						try {
-							decorator = (ILightweightLabelDecorator) WorkbenchPlugin
+							ILightweightLabelDecorator created = (ILightweightLabelDecorator) WorkbenchPlugin
 									.createExtension(definingElement,
 											DecoratorDefinition.ATT_CLASS);
-							decorator.addListener(WorkbenchPlugin.getDefault()
+							created.addListener(WorkbenchPlugin.getDefault()
 									.getDecoratorManager());
+							// Only publish the decorator once it is listened to
+							decorator = created;
 						} catch (CoreException exception) {
 							exceptions[0] = exception;
 						}
@@ -140,20 +164,18 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements
 					}
 				});
 			}
-		} else {
-			return decorator;
-		}
 
-		if (decorator == null) {
-			this.labelProviderCreationFailed = true;
-			setEnabled(false);
-		}
+			if (decorator == null) {
+				this.labelProviderCreationFailed = true;
+				setEnabled(false);
+			}
 
-		if (exceptions[0] != null) {
-			throw exceptions[0];
-		}
+			if (exceptions[0] != null) {
+				throw exceptions[0];
+			}
 
-		return decorator;
+			return decorator;
+		}
 	}
 
 	/**
@@ -161,7 +183,7 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements
 	 *
 	 * @return boolean <code>true</code> if this is declarative
 	 */
-	private boolean isDeclarative() {
+	boolean isDeclarative() {
 		return definingElement.getAttribute(DecoratorDefinition.ATT_CLASS) == null;
 	}
 
@@ -266,6 +288,54 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements
 
 	}
 
+	/**
+	 * Run the decoration of an element with the receiver. Decorators that are
+	 * not declarative decorate one element at a time, the jobs of the
+	 * {@link DecorationScheduler} wait for each other. The time of the
+	 * decoration is recorded in the metrics of the receiver.
+	 *
+	 * @param runnable
+	 *            the runnable that decorates the element
+	 */
+	void runDecoration(ISafeRunnable runnable) {
+		decorationPermits.acquireUninterruptibly();
+		long start = System.nanoTime();
+		try {
+			SafeRunner.run(runnable);
+		} finally {
+			metrics.record(System.nanoTime() - start);
+			decorationPermits.release();
+		}
+	}
+
+	/**
+	 * Return the timing metrics of the receiver.
+	 *
+	 * @return DecoratorMetrics
+	 */
+	DecoratorMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Return the generation of the decorations of the receiver. The
+	 * decorations cached for an element are valid while the generation does
+	 * not change.
+	 *
+	 * @return int
+	 */
+	int getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * The decorations of the receiver are obsolete. Increment the generation
+	 * so that the cached decorations are calculated again.
+	 */
+	void invalidateDecorations() {
+		generation.incrementAndGet();
+	}
+
 	/**
 	 * Returns the lightweight decorator, or <code>null</code> if not enabled.
 	 *
@@ -277,6 +347,7 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements
 
 	@Override
 	protected void refreshDecorator() {
+		invalidateDecorations();
 		// Only do something if disabled so as to prevent
 		// gratutitous activation
 		if (!this.enabled && decorator != null) {
@@ -286,6 +357,12 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements
 		}
 	}
 
+	@Override
+	public void crashDisable() {
+		super.crashDisable();
+		invalidateDecorations();
+	}
+
 	@Override
 	public boolean isApplicableTo(Object object) {
 		return isEnabledFor(object);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,12 +16,16 @@ package org.eclipse.ui.internal.decorators;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.IDecorationContext;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.internal.IPreferenceConstants;
 import org.eclipse.ui.internal.ObjectContributorManager;
 import org.eclipse.ui.internal.WorkbenchMessages;
 import org.eclipse.ui.internal.WorkbenchPlugin;
@@ -119,17 +123,38 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 		}
 	}
 
-	private LightweightRunnable runnable = new LightweightRunnable();
-
 	// The lightweight definitions read from the registry
-	private LightweightDecoratorDefinition[] lightweightDefinitions;
+	private volatile LightweightDecoratorDefinition[] lightweightDefinitions;
 
 	private static final LightweightDecoratorDefinition[] EMPTY_LIGHTWEIGHT_DEF = new LightweightDecoratorDefinition[0];
 
+	// The contributions of the decorators to the elements decorated recently
+	private final DecorationCache decorationCache = new DecorationCache();
+
+	// Incremented whenever the decorators that apply to an element may change
+	private final AtomicInteger generation = new AtomicInteger();
+
 	LightweightDecoratorManager(LightweightDecoratorDefinition[] definitions) {
 		super();
 		lightweightDefinitions = definitions;
 		buildContributors();
+		if (isPersistent()) {
+			Job restoreJob = Job.create(WorkbenchMessages.DecorationScheduler_RestoreJob, monitor -> {
+				decorationCache.restore();
+				return Status.OK_STATUS;
+			});
+			restoreJob.setSystem(true);
+			restoreJob.schedule();
+		}
+	}
+
+	/**
+	 * Return whether the decorations are saved between sessions.
+	 *
+	 * @return boolean
+	 */
+	private static boolean isPersistent() {
+		return WorkbenchPlugin.getDefault().getPreferenceStore().getBoolean(IPreferenceConstants.PERSIST_DECORATIONS);
 	}
 
 	/**
@@ -164,10 +189,11 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	public boolean addDecorator(LightweightDecoratorDefinition decorator) {
 		if (getLightweightDecoratorDefinition(decorator.getId()) == null) {
 			LightweightDecoratorDefinition[] oldDefs = lightweightDefinitions;
-			lightweightDefinitions = new LightweightDecoratorDefinition[lightweightDefinitions.length + 1];
-			System.arraycopy(oldDefs, 0, lightweightDefinitions, 0,
-					oldDefs.length);
-			lightweightDefinitions[oldDefs.length] = decorator;
+			// Fill the new array before publishing it to the decoration jobs
+			LightweightDecoratorDefinition[] newDefs = new LightweightDecoratorDefinition[oldDefs.length + 1];
+			System.arraycopy(oldDefs, 0, newDefs, 0, oldDefs.length);
+			newDefs[oldDefs.length] = decorator;
+			lightweightDefinitions = newDefs;
 			// no reset - handled in the DecoratorManager
 			String[] types = getTargetTypes(decorator);
 			for (String type : types) {
@@ -199,11 +225,9 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	public boolean removeDecorator(LightweightDecoratorDefinition decorator) {
 		int idx = getLightweightDecoratorDefinitionIdx(decorator.getId());
 		if (idx != -1) {
-			LightweightDecoratorDefinition[] oldDefs = lightweightDefinitions;
-			Util.arrayCopyWithRemoval(
-							oldDefs,
-							lightweightDefinitions = new LightweightDecoratorDefinition[lightweightDefinitions.length - 1],
-							idx);
+			LightweightDecoratorDefinition[] newDefs = new LightweightDecoratorDefinition[lightweightDefinitions.length - 1];
+			Util.arrayCopyWithRemoval(lightweightDefinitions, newDefs, idx);
+			lightweightDefinitions = newDefs;
 			// no reset - handled in the DecoratorManager
 			for (String type : getTargetTypes(decorator)) {
 				unregisterContributor(decorator, type);
@@ -282,10 +306,19 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	}
 
 	/**
-	 * Reset any cached values.
+	 * Reset any cached values. The decorators that apply to each element are
+	 * looked up again, the cached contributions of the decorators that did
+	 * not change are kept.
 	 */
 	void reset() {
-		runnable.clearReferences();
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * Remove all of the cached decorations.
+	 */
+	void clearDecorationCache() {
+		decorationCache.clear();
 	}
 
 	/**
@@ -293,6 +326,12 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 * dispose() will be called on them.
 	 */
 	void shutdown() {
+		// Save before the decorators are disabled, that invalidates them
+		if (isPersistent()) {
+			decorationCache.save(generation.get());
+		} else {
+			DecorationCache.deleteSaved();
+		}
 		// Disable all fo the enabled decorators
 		// so as to force a dispose of thier decorators
 		for (LightweightDecoratorDefinition lightweightDefinition : lightweightDefinitions) {
@@ -348,7 +387,9 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	}
 
 	/**
-	 * Fill the decoration with all of the results of the decorators.
+	 * Fill the decoration with all of the results of the decorators. The
+	 * cached contributions of the decorators are applied again, only the
+	 * decorators whose contribution is obsolete decorate the element.
 	 *
 	 * @param element
 	 *            The source element
@@ -357,14 +398,96 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 *            true.
 	 */
 	public void getDecorations(Object element, DecorationBuilder decoration) {
-		for (LightweightDecoratorDefinition decorator : getDecoratorsFor(element)) {
-			decoration.setCurrentDefinition(decorator);
-			decorate(element, decoration, decorator);
+		getDecorations(element, decoration, false);
+	}
+
+	/**
+	 * Fill the decoration with all of the results of the decorators, see
+	 * {@link #getDecorations(Object, DecorationBuilder)}. If force is
+	 * <code>true</code> the cached contributions are not used, all of the
+	 * decorators decorate the element.
+	 *
+	 * @param element
+	 *            The source element
+	 * @param decoration
+	 *            The DecorationResult we are working on.
+	 * @param force
+	 *            whether the decorators decorate the element even if their
+	 *            cached contribution is valid
+	 */
+	void getDecorations(Object element, DecorationBuilder decoration, boolean force) {
+		if (element == null) {
+			return;
+		}
+		IDecorationContext context = decoration.getDecorationContext();
+		int currentGeneration = generation.get();
+		DecorationCache.Decorations cached = force ? null : decorationCache.get(element, context);
+		LightweightDecoratorDefinition[] decorators;
+		if (cached != null && cached.hasCurrentDecorators(currentGeneration)) {
+			decorators = cached.decorators;
+		} else {
+			decorators = getDecoratorsFor(element);
+		}
+		int[] generations = new int[decorators.length];
+		DecorationResult[] contributions = new DecorationResult[decorators.length];
+		for (int i = 0; i < decorators.length; i++) {
+			LightweightDecoratorDefinition decorator = decorators[i];
+			// Read before decorating so that a change meanwhile invalidates it
+			generations[i] = decorator.getGeneration();
+			DecorationResult contribution = cached == null ? null
+					: cached.getContribution(decorator, generations[i]);
+			if (contribution == null) {
+				DecorationBuilder builder = new DecorationBuilder(context);
+				builder.setCurrentDefinition(decorator);
+				decorate(element, builder, decorator);
+				contribution = builder.hasValue() ? builder.createResult() : DecorationCache.NO_DECORATION;
+			}
+			contributions[i] = contribution;
+			decoration.applyContribution(contribution);
 		}
+		decorationCache.put(element, context,
+				new DecorationCache.Decorations(currentGeneration, decorators, generations, contributions));
+	}
+
+	/**
+	 * Return the decoration of the element built from the cached contributions
+	 * if none of them is obsolete. The decorators are not run, so this may be
+	 * called in the UI thread.
+	 *
+	 * @param element
+	 * @param context
+	 * @return DecorationResult or <code>null</code> if the element has to be
+	 *         decorated
+	 */
+	DecorationResult getCachedDecorationResult(Object element, IDecorationContext context) {
+		DecorationCache.Decorations cached = decorationCache.get(element, context);
+		if (cached == null || !cached.isValid(generation.get())) {
+			return null;
+		}
+		DecorationBuilder builder = new DecorationBuilder(context);
+		for (DecorationResult contribution : cached.contributions) {
+			builder.applyContribution(contribution);
+		}
+		return builder.createResult();
+	}
+
+	/**
+	 * Return the decoration of the element saved in the last session, to be
+	 * shown until the element is decorated.
+	 *
+	 * @param element
+	 * @param context
+	 * @return DecorationResult or <code>null</code> if none was saved
+	 */
+	DecorationResult getRestoredDecorationResult(Object element, IDecorationContext context) {
+		return decorationCache.getRestoredResult(element, context, this);
 	}
 
 	/**
-	 * Decorate the element receiver in a SafeRunnable.
+	 * Decorate the element receiver in a SafeRunnable. Elements may be
+	 * decorated by several threads at once, so every decoration has its own
+	 * runnable. The decorator runs it, bounding the elements it decorates at
+	 * once and recording the time taken.
 	 *
 	 * @param element
 	 *            The Object to be decorated
@@ -373,11 +496,12 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 * @param decorator
 	 *            The decorator being applied.
 	 */
-	private void decorate(Object element, DecorationBuilder decoration,
+	void decorate(Object element, DecorationBuilder decoration,
 			LightweightDecoratorDefinition decorator) {
 
+		LightweightRunnable runnable = new LightweightRunnable();
 		runnable.setValues(element, decoration, decorator);
-		SafeRunner.run(runnable);
+		decorator.runDecoration(runnable);
 	}
 
 
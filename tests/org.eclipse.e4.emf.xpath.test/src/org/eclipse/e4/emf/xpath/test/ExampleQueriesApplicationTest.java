@@ -13,19 +13,34 @@
  ******************************************************************************/
 package org.eclipse.e4.emf.xpath.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.apache.commons.jxpath.JXPathNotFoundException;
 import org.eclipse.e4.emf.xpath.EcoreXPathContextFactory;
 import org.eclipse.e4.emf.xpath.XPathContext;
 import org.eclipse.e4.emf.xpath.XPathContextFactory;
+import org.eclipse.e4.emf.xpath.XPathQuery;
 import org.eclipse.e4.ui.internal.workbench.E4XMIResourceFactory;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.commands.impl.CommandsPackageImpl;
 import org.eclipse.e4.ui.model.application.impl.ApplicationPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
 import org.eclipse.e4.ui.model.application.ui.advanced.impl.AdvancedPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
 import org.eclipse.e4.ui.model.application.ui.basic.impl.BasicPackageImpl;
 import org.eclipse.e4.ui.model.application.ui.impl.UiPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.menu.ItemType;
+import org.eclipse.e4.ui.model.application.ui.menu.MItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MMenu;
 import org.eclipse.e4.ui.model.application.ui.menu.impl.MenuPackageImpl;
 import org.eclipse.emf.common.util.URI;
@@ -93,5 +108,118 @@ public class ExampleQueriesApplicationTest {
 		assertNotNull(menuEntries);
 	}
 
+	@Test
+	public void testCompiledQueryById() {
+		XPathContextFactory<EObject> f = EcoreXPathContextFactory.newInstance();
+		XPathQuery query = f.compile("//*[@elementId='aaaa.part.sample']");
+		assertSame(query, f.compile("//*[@elementId='aaaa.part.sample']"));
+
+		List<Object> parts = toList(query.iterate(xpathContext));
+		assertEquals(8, parts.size());
+		for (Object part : parts) {
+			assertTrue(part instanceof MPart);
+		}
+		assertEquals(distinct(xpathContext.iterate(query.getXPath())), parts);
+		assertSame(parts.get(0), query.getValue(xpathContext));
+	}
+
+	@Test
+	public void testCompiledQueryWithStepAndAlternatives() {
+		XPathContextFactory<EObject> f = EcoreXPathContextFactory.newInstance();
+		XPathQuery query = f.compile("//children[@elementId='file' or @elementId=\"help\"]");
+
+		List<Object> menus = toList(query.iterate(xpathContext));
+		assertEquals(2, menus.size());
+		assertEquals("file", ((MMenu) menus.get(0)).getElementId());
+		assertEquals("help", ((MMenu) menus.get(1)).getElementId());
+		assertEquals(distinct(xpathContext.iterate(query.getXPath())), menus);
+
+		assertTrue(toList(f.compile("//mainMenu[@elementId='file']").iterate(xpathContext)).isEmpty());
+	}
+
+	@Test
+	public void testCompiledQueryByTag() {
+		MApplication application = (MApplication) resource.getContents().get(0);
+		MUIElement window = application.getChildren().get(0);
+		window.getTags().add("marker");
+		window.getTags().add("other");
+
+		XPathContextFactory<EObject> f = EcoreXPathContextFactory.newInstance();
+		assertEquals(Collections.singletonList(window), toList(f.compile("//*[tags='marker']").iterate(xpathContext)));
+		assertEquals(Collections.singletonList(window),
+				toList(f.compile("//*[@tags='marker' and @elementId='aaaa.window.main']").iterate(xpathContext)));
+		assertTrue(toList(f.compile("//*[tags='marker' and tags='missing']").iterate(xpathContext)).isEmpty());
+	}
+
+	@Test
+	public void testCompiledQueryByIntAttribute() {
+		MApplication application = (MApplication) resource.getContents().get(0);
+		MWindow window = application.getChildren().get(0);
+		window.setX(25);
+
+		XPathContextFactory<EObject> f = EcoreXPathContextFactory.newInstance();
+		XPathQuery query = f.compile("//*[@x='25']");
+		assertEquals(Collections.singletonList(window), toList(query.iterate(xpathContext)));
+		assertEquals(distinct(xpathContext.iterate(query.getXPath())), toList(query.iterate(xpathContext)));
+		// the values are compared, not their text
+		assertEquals(Collections.singletonList(window), toList(f.compile("//*[@x='025']").iterate(xpathContext)));
+		assertTrue(toList(f.compile("//*[@x='26']").iterate(xpathContext)).isEmpty());
+		assertTrue(toList(f.compile("//*[@x='abc']").iterate(xpathContext)).isEmpty());
+	}
+
+	@Test
+	public void testCompiledQueryByBooleanAttribute() {
+		MApplication application = (MApplication) resource.getContents().get(0);
+		MWindow window = application.getChildren().get(0);
+		window.setToBeRendered(false);
+
+		XPathContextFactory<EObject> f = EcoreXPathContextFactory.newInstance();
+		assertEquals(Collections.singletonList(window),
+				toList(f.compile("//*[@toBeRendered='false']").iterate(xpathContext)));
+		assertTrue(toList(f.compile("//*[@toBeRendered='true' and @elementId='aaaa.window.main']")
+				.iterate(xpathContext)).isEmpty());
+		assertTrue(toList(f.compile("//*[@toBeRendered='no']").iterate(xpathContext)).isEmpty());
+	}
+
+	@Test
+	public void testCompiledQueryByEnumAttribute() {
+		XPathContextFactory<EObject> f = EcoreXPathContextFactory.newInstance();
+		List<Object> items = toList(f.compile("//*[@type='Push']").iterate(xpathContext));
+		assertEquals(8, items.size());
+		MItem item = (MItem) items.get(0);
+		item.setType(ItemType.CHECK);
+
+		XPathQuery query = f.compile("//*[@type='Check']");
+		assertEquals(Collections.singletonList(item), toList(query.iterate(xpathContext)));
+		assertEquals(distinct(xpathContext.iterate(query.getXPath())), toList(query.iterate(xpathContext)));
+		assertEquals(7, toList(f.compile("//*[@type='Push']").iterate(xpathContext)).size());
+		assertTrue(toList(f.compile("//*[@type='CHECK']").iterate(xpathContext)).isEmpty());
+	}
+
+	@Test
+	public void testCompiledQueryFallback() {
+		XPathContextFactory<EObject> f = EcoreXPathContextFactory.newInstance();
+		XPathQuery query = f.compile("//mainMenu/children");
+		assertEquals(toList(xpathContext.iterate("//mainMenu/children")), toList(query.iterate(xpathContext)));
+		assertSame(xpathContext.getValue("//mainMenu"), f.compile("//mainMenu").getValue(xpathContext));
+
+		try {
+			f.compile("//*[@elementId='missing']").getValue(xpathContext);
+			fail("Missing value must not be found");
+		} catch (JXPathNotFoundException e) {
+			// expected
+		}
+	}
+
+	private static List<Object> toList(Iterator<Object> iterator) {
+		List<Object> list = new ArrayList<>();
+		iterator.forEachRemaining(list::add);
+		return list;
+	}
+
+	private static List<Object> distinct(Iterator<Object> iterator) {
+		return new ArrayList<>(new LinkedHashSet<>(toList(iterator)));
+	}
+
 
 }
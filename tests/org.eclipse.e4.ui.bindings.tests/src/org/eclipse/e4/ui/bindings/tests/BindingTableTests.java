@@ -18,10 +18,12 @@ package org.eclipse.e4.ui.bindings.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -37,6 +39,7 @@ import org.eclipse.e4.ui.bindings.internal.BindingTable;
 import org.eclipse.e4.ui.bindings.internal.BindingTableManager;
 import org.eclipse.e4.ui.bindings.internal.ContextSet;
 import org.eclipse.jface.bindings.Binding;
+import org.eclipse.jface.bindings.TriggerSequence;
 import org.eclipse.jface.bindings.keys.KeyBinding;
 import org.eclipse.jface.bindings.keys.KeySequence;
 import org.junit.Before;
@@ -193,6 +196,53 @@ public class BindingTableTests {
 		assertFalse(table.isPartialMatch(ctrl8));
 	}
 
+	@Test
+	public void testRemoveBinding() throws Exception {
+		BindingTable table = loadTable(ID_DIALOG_AND_WINDOW);
+		Binding about = getTestBinding(ABOUT_ID);
+		KeySequence ctrl5 = KeySequence.getInstance("CTRL+5");
+
+		table.removeBinding(about);
+		assertNull(table.getPerfectMatch(about.getTriggerSequence()));
+		assertTrue(table.getPartialMatches(ctrl5).isEmpty());
+		assertNull(table.getBestSequenceFor(about.getParameterizedCommand()));
+		assertFalse(table.getBindings().contains(about));
+
+		table.addBinding(about);
+		assertEquals(about, table.getPerfectMatch(about.getTriggerSequence()));
+		assertEquals(Collections.singletonList(about), table.getPartialMatches(ctrl5));
+		assertNull(table.getPerfectMatch(ctrl5));
+		assertNull(table.getPartialMatches(about.getTriggerSequence()));
+	}
+
+	@Test
+	public void testAddBindings() throws Exception {
+		for (String contextId : ORDERED_IDS) {
+			BindingTable table = loadTable(contextId);
+			Context context = contextManager.getContext(contextId);
+			BindingTable bulkTable = new BindingTable(context);
+			ArrayList<Binding> bindings = new ArrayList<>();
+			for (Binding b : loadedBindings) {
+				if (context.getId().equals(b.getContextId())) {
+					bindings.add(b);
+				}
+			}
+			bulkTable.addBindings(bindings);
+
+			assertEquals(new ArrayList<>(table.getBindings()), new ArrayList<>(bulkTable.getBindings()));
+			for (Binding b : bindings) {
+				ParameterizedCommand command = b.getParameterizedCommand();
+				assertEquals(table.getSequencesFor(command), bulkTable.getSequencesFor(command));
+				assertEquals(table.getBestSequenceFor(command), bulkTable.getBestSequenceFor(command));
+				assertEquals(table.getPerfectMatch(b.getTriggerSequence()),
+						bulkTable.getPerfectMatch(b.getTriggerSequence()));
+				for (TriggerSequence prefix : b.getTriggerSequence().getPrefixes()) {
+					assertEquals(table.getPartialMatches(prefix), bulkTable.getPartialMatches(prefix));
+				}
+			}
+		}
+	}
+
 	@Test
 	public void testContextSet() {
 		BindingTableManager manager = ContextInjectionFactory
@@ -16,24 +16,75 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.tests.css.core;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
 import org.eclipse.e4.ui.css.core.impl.engine.CSSEngineImpl;
 import org.eclipse.e4.ui.tests.css.core.util.TestElement;
 import org.junit.Test;
+import org.w3c.css.sac.InputSource;
 import org.w3c.css.sac.Selector;
 import org.w3c.css.sac.SelectorList;
 import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSStyleRule;
+import org.w3c.dom.css.CSSStyleSheet;
 
 public class CSSEngineTest {
 
 	private static class TestCSSEngine extends CSSEngineImpl {
+		private final List<Object> styledElements = new ArrayList<>();
+
 		@Override
 		public void reapply() {
 		}
+
+		@Override
+		protected void scheduleRestyle() {
+			// restyled explicitly by the tests
+		}
+
+		@Override
+		public void applyStyleDeclaration(Object element, CSSStyleDeclaration style, String pseudo) {
+			styledElements.add(element);
+			super.applyStyleDeclaration(element, style, pseudo);
+		}
+	}
+
+	/**
+	 * Element which is its own native widget, so that each element gets its
+	 * own element context.
+	 */
+	private static class WidgetTestElement extends TestElement {
+		public WidgetTestElement(String type, CSSEngine engine) {
+			super(type, engine);
+		}
+
+		public WidgetTestElement(String type, TestElement parent, CSSEngine engine) {
+			super(type, parent, engine);
+		}
+
+		@Override
+		public Object getNativeWidget() {
+			return this;
+		}
 	}
 
 	@Test
@@ -80,6 +131,92 @@ public class CSSEngineTest {
 		assertFalse(engine.matches(selector, "", null));
 	}
 
+	@Test
+	public void testRestyleDirtyElements() throws Exception {
+		TestCSSEngine engine = new TestCSSEngine();
+		engine.parseStyleSheet(new StringReader("Root { color: black; }\n"
+				+ "Root.active { background-color: red; }\n" + "Root.active Child { color: blue; }\n"
+				+ "Leaf { color: green; }"));
+		WidgetTestElement root = new WidgetTestElement("Root", engine);
+		WidgetTestElement child1 = new WidgetTestElement("Child", root, engine);
+		WidgetTestElement child2 = new WidgetTestElement("Child", root, engine);
+		WidgetTestElement leaf1 = new WidgetTestElement("Leaf", child1, engine);
+		WidgetTestElement leaf2 = new WidgetTestElement("Leaf", child2, engine);
+
+		engine.applyStyles(root, true);
+		assertEquals(Arrays.asList(root, leaf1, leaf2), engine.styledElements);
+
+		// the leaves still match the same rules, child1 is restyled only once
+		engine.styledElements.clear();
+		root.setClass("active");
+		engine.markDirty(root);
+		engine.markDirty(child1);
+		engine.restyleDirtyElements();
+		assertEquals(Arrays.asList(root, child1, child2), engine.styledElements);
+
+		// nothing changed
+		engine.styledElements.clear();
+		engine.markDirty(root);
+		engine.restyleDirtyElements();
+		assertTrue(engine.styledElements.isEmpty());
+
+		// applyStyles always applies the styles
+		engine.applyStyles(child2, true);
+		assertEquals(Arrays.asList(child2, leaf2), engine.styledElements);
+
+		// the style is applied again once it changes back
+		engine.styledElements.clear();
+		root.setClass(null);
+		engine.markDirty(leaf1);
+		engine.markDirty(root);
+		engine.restyleDirtyElements();
+		assertEquals(Arrays.asList(root), engine.styledElements);
+	}
+
+	@Test
+	public void testParsedStyleSheetReused() throws Exception {
+		String uri = "platform:/plugin/org.eclipse.e4.ui.tests.css.core/testParsedStyleSheetReused.css";
+		TestCSSEngine engine = new TestCSSEngine();
+		CSSStyleSheet first = parseStyleSheet(engine, uri, "Root { color: red; }");
+		CSSStyleSheet second = parseStyleSheet(engine, uri, "Root { color: red; }");
+		assertSame(first.getCssRules().item(0), second.getCssRules().item(0));
+
+		CSSStyleSheet changed = parseStyleSheet(engine, uri, "Root { color: blue; }");
+		assertNotSame(first.getCssRules().item(0), changed.getCssRules().item(0));
+		assertEquals("blue", ((CSSStyleRule) changed.getCssRules().item(0)).getStyle()
+				.getPropertyCSSValue("color").getCssText());
+
+		// the parsed rules are mutable and not shared with other engines
+		CSSStyleSheet other = parseStyleSheet(new TestCSSEngine(), uri, "Root { color: blue; }");
+		assertNotSame(changed.getCssRules().item(0), other.getCssRules().item(0));
+	}
+
+	@Test
+	public void testPreparseStyleSheets() throws Exception {
+		File file = File.createTempFile("testPreparseStyleSheets", ".css");
+		try {
+			Files.write(file.toPath(), "Root { color: red; }".getBytes(StandardCharsets.UTF_8));
+			URL url = file.toURI().toURL();
+			TestCSSEngine engine = new TestCSSEngine();
+			engine.preparseStyleSheets(Collections.singletonList(url));
+			assertEquals(0, engine.getDocumentCSS().getStyleSheets().getLength());
+
+			CSSStyleSheet first = parseStyleSheet(engine, url.toString(),
+					new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+			CSSStyleSheet second = parseStyleSheet(engine, url.toString(), "Root { color: red; }");
+			assertEquals(2, engine.getDocumentCSS().getStyleSheets().getLength());
+			assertSame(first.getCssRules().item(0), second.getCssRules().item(0));
+		} finally {
+			file.delete();
+		}
+	}
+
+	private CSSStyleSheet parseStyleSheet(CSSEngine engine, String uri, String css) throws IOException {
+		InputSource source = new InputSource();
+		source.setURI(uri);
+		source.setByteStream(new ByteArrayInputStream(css.getBytes(StandardCharsets.UTF_8)));
+		return (CSSStyleSheet) engine.parseStyleSheet(source);
+	}
 
 	private TestCSSEngine engineWhichProducesElementsWithAttributeA() {
 		TestCSSEngine engine = new TestCSSEngine();
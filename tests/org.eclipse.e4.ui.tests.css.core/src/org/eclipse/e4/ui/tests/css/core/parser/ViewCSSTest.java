@@ -25,6 +25,7 @@ import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
@@ -168,6 +169,91 @@ public class ViewCSSTest {
 		assertTrue(cssRules2.size() > cssRules.size());
 	}
 
+	@Test
+	public void testIndexedRuleMatching() throws Exception {
+		String css = "* { color: black; }\n" + "Button { color: blue; }\n" + ".primary { font-weight: bold; }\n"
+				+ "Button.primary { color: green; }\n" + "#ok { color: red; }\n"
+				+ "Shell > * > .primary { background-color: white; }\n" + ".primary.default { font-style: italic; }\n"
+				+ "Label { color: gray; }\n";
+		CSSStyleSheet styleSheet = ParserTestUtil.parseCss(css);
+		DocumentCSSImpl docCss = new DocumentCSSImpl();
+		docCss.addStyleSheet(styleSheet);
+		ViewCSSImpl viewCSS = new ViewCSSImpl(docCss);
+
+		final TestElement shell = new TestElement("Shell", engine);
+		final TestElement composite = new TestElement("Composite", shell, engine);
+		final TestElement button = new TestElement("Button", composite, engine);
+		button.setClass("primary  default");
+		button.setId("ok");
+		final TestElement label = new TestElement("Label", composite, engine);
+		label.setClass("primary");
+
+		List<CSSRule> cssRules = new ArrayList<>();
+		for (int i = 0; i < styleSheet.getCssRules().getLength(); i++) {
+			cssRules.add(styleSheet.getCssRules().item(i));
+		}
+
+		for (TestElement element : new TestElement[] { shell, composite, button, label }) {
+			CSSStyleDeclaration indexed = viewCSS.getComputedStyle(element, null);
+			CSSStyleDeclaration scanned = viewCSS.getComputedStyle(cssRules, element, null);
+			assertEquals(scanned.getCssText(), indexed.getCssText());
+		}
+
+		CSSStyleDeclaration buttonStyle = viewCSS.getComputedStyle(button, null);
+		assertEquals("red", buttonStyle.getPropertyCSSValue("color").getCssText());
+		assertEquals("italic", buttonStyle.getPropertyCSSValue("font-style").getCssText());
+		assertEquals("white", buttonStyle.getPropertyCSSValue("background-color").getCssText());
+
+		CSSStyleDeclaration labelStyle = viewCSS.getComputedStyle(label, null);
+		assertEquals("gray", labelStyle.getPropertyCSSValue("color").getCssText());
+		assertNull(labelStyle.getPropertyCSSValue("font-style"));
+	}
+
+	@Test
+	public void testStyleSharing() throws Exception {
+		String css = "Button { color: blue; }\n" + ".primary { font-weight: bold; }\n"
+				+ "Composite > Button { font-style: italic; }\n";
+		CSSStyleSheet styleSheet = ParserTestUtil.parseCss(css);
+		DocumentCSSImpl docCss = new DocumentCSSImpl();
+		docCss.addStyleSheet(styleSheet);
+		ViewCSSImpl viewCSS = new ViewCSSImpl(docCss);
+		viewCSS.setStyleSharingEnabled(true);
+
+		final TestElement shell = new TestElement("Shell", engine);
+		final TestElement composite = new TestElement("Composite", shell, engine);
+		final TestElement button1 = new TestElement("Button", composite, engine);
+		final TestElement button2 = new TestElement("Button", composite, engine);
+		button1.setClass("primary");
+		button2.setClass("primary");
+
+		CSSStyleDeclaration style1 = viewCSS.getComputedStyle(button1, null);
+		CSSStyleDeclaration style2 = viewCSS.getComputedStyle(button2, null);
+		assertSame(style1, style2);
+		assertEquals(3, style1.getLength());
+		assertEquals(1, viewCSS.getStyleSharingHits());
+		assertEquals(1, viewCSS.getStyleSharingMisses());
+
+		// the CSS class is part of the signature
+		button2.setClass(null);
+		style2 = viewCSS.getComputedStyle(button2, null);
+		assertNotSame(style1, style2);
+		assertEquals(2, style2.getLength());
+
+		// the parent is part of the signature
+		final TestElement button3 = new TestElement("Button", shell, engine);
+		button3.setClass("primary");
+		CSSStyleDeclaration style3 = viewCSS.getComputedStyle(button3, null);
+		assertNotSame(style1, style3);
+		assertEquals(2, style3.getLength());
+
+		// adding a stylesheet drops the shared styles
+		docCss.addStyleSheet(ParserTestUtil.parseCss("Button { background-color: red; }"));
+		viewCSS.resetStyleSharingStatistics();
+		assertEquals(4, viewCSS.getComputedStyle(button1, null).getLength());
+		assertEquals(0, viewCSS.getStyleSharingHits());
+		assertEquals(1, viewCSS.getStyleSharingMisses());
+	}
+
 	private static ViewCSS createViewCss(String css) throws IOException {
 		CSSStyleSheet styleSheet = ParserTestUtil.parseCss(css);
 		DocumentCSSImpl docCss = new DocumentCSSImpl();
@@ -32,6 +32,7 @@ import org.eclipse.e4.ui.model.application.commands.MBindingTable;
 import org.eclipse.e4.ui.model.application.commands.MHandler;
 import org.eclipse.e4.ui.model.application.commands.MKeyBinding;
 import org.eclipse.e4.ui.model.application.ui.MDirtyable;
+import org.eclipse.e4.ui.model.application.ui.MElementContainer;
 import org.eclipse.e4.ui.model.application.ui.MUIElement;
 import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
 import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
@@ -444,4 +445,73 @@ public class EModelServiceFindTest {
 		assertEquals(1, elements.size());
 		assertEquals(part, elements.get(0));
 	}
+
+	@Test
+	public void testFindElementsAfterModelChanges() {
+		MApplication application = createApplication();
+
+		EModelService modelService = application.getContext().get(EModelService.class);
+		assertNotNull(modelService);
+
+		assertEquals(2, modelService.findElements(application, "twoValidIds", null, null).size());
+		MPart part = modelService.findElements(application, "twoValidIds", MPart.class, null).get(0);
+
+		part.setElementId("changedId");
+		assertEquals(1, modelService.findElements(application, "twoValidIds", null, null).size());
+		assertSame(part, modelService.find("changedId", application));
+
+		part.getTags().add("newTag");
+		List<String> tags = new ArrayList<>();
+		tags.add("newTag");
+		assertEquals(1, modelService.findElements(application, null, null, tags).size());
+		part.getTags().remove("newTag");
+		assertEquals(0, modelService.findElements(application, null, null, tags).size());
+
+		MElementContainer<MUIElement> stack = part.getParent();
+		MPart newPart = modelService.createModelElement(MPart.class);
+		newPart.setElementId("changedId");
+		stack.getChildren().add(newPart);
+		assertEquals(2, modelService.findElements(application, "changedId", MPart.class, null).size());
+
+		stack.getChildren().remove(part);
+		List<MPart> parts = modelService.findElements(application, "changedId", MPart.class, null);
+		assertEquals(1, parts.size());
+		assertSame(newPart, parts.get(0));
+	}
+
+	@Test
+	public void testFindSharedElementsById() {
+		MApplication application = createApplication();
+
+		EModelService modelService = application.getContext().get(EModelService.class);
+		assertNotNull(modelService);
+
+		MWindow window = modelService.createModelElement(MWindow.class);
+		application.getChildren().add(window);
+
+		MPerspectiveStack perspectiveStack = modelService.createModelElement(MPerspectiveStack.class);
+		window.getChildren().add(perspectiveStack);
+
+		MPerspective perspective = modelService.createModelElement(MPerspective.class);
+		perspectiveStack.getChildren().add(perspective);
+
+		MPart part = modelService.createModelElement(MPart.class);
+		part.setElementId("sharedPartId");
+		window.getSharedElements().add(part);
+
+		MPlaceholder placeholder = modelService.createModelElement(MPlaceholder.class);
+		perspective.getChildren().add(placeholder);
+		assertNull(modelService.find("sharedPartId", perspective));
+
+		placeholder.setRef(part);
+		assertSame(part, modelService.find("sharedPartId", perspective));
+
+		// shared elements which are not part of the model yet are found too
+		MPart detachedPart = modelService.createModelElement(MPart.class);
+		detachedPart.setElementId("detachedPartId");
+		MPlaceholder detachedPlaceholder = modelService.createModelElement(MPlaceholder.class);
+		detachedPlaceholder.setRef(detachedPart);
+		perspective.getChildren().add(detachedPlaceholder);
+		assertSame(detachedPart, modelService.find("detachedPartId", perspective));
+	}
 }
@@ -39,6 +39,7 @@ import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
 import org.eclipse.e4.ui.internal.workbench.E4XMIResourceFactory;
 import org.eclipse.e4.ui.internal.workbench.ExtensionsSort;
 import org.eclipse.e4.ui.internal.workbench.ModelAssembler;
+import org.eclipse.e4.ui.internal.workbench.ModelFragmentWrapper;
 import org.eclipse.e4.ui.internal.workbench.swt.E4Application;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
@@ -49,6 +50,7 @@ import org.eclipse.e4.ui.model.application.ui.advanced.MArea;
 import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
 import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
 import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartSashContainer;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
 import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
 import org.eclipse.e4.ui.model.fragment.MFragmentFactory;
@@ -282,6 +284,56 @@ public class ModelAssemblerTests {
 		verifyZeroInteractions(logger);
 	}
 
+	/**
+	 * Tests that imports are resolved to the elements contributed by the
+	 * fragments processed before.
+	 */
+	@Test
+	public void testImports_elementOfPreviousFragment() {
+		MTrimmedWindow window = MBasicFactory.INSTANCE.createTrimmedWindow();
+		window.setElementId("testImports_elementOfPreviousFragment_window");
+		MPartSashContainer sash = MBasicFactory.INSTANCE.createPartSashContainer();
+		sash.setElementId("testImports_elementOfPreviousFragment_sash");
+		window.getChildren().add(sash);
+		MPart part = MBasicFactory.INSTANCE.createPart();
+		part.setElementId("testImports_elementOfPreviousFragment_part");
+		sash.getChildren().add(part);
+
+		MModelFragments fragments1 = MFragmentFactory.INSTANCE.createModelFragments();
+		MStringModelFragment fragment1 = MFragmentFactory.INSTANCE.createStringModelFragment();
+		fragment1.setFeaturename("children");
+		fragment1.setParentElementId(APPLICATION_ID);
+		fragment1.getElements().add(window);
+		fragments1.getFragments().add(fragment1);
+		Resource fragmentResource1 = factory.createResource(URI.createURI("fragment1virtualuri"));
+		resourceSet.getResources().add(fragmentResource1);
+		fragmentResource1.getContents().add((EObject) fragments1);
+
+		MPart importedPart = MBasicFactory.INSTANCE.createPart();
+		importedPart.setElementId(part.getElementId());
+		MPlaceholder placeholder = MAdvancedFactory.INSTANCE.createPlaceholder();
+		placeholder.setRef(importedPart);
+		MModelFragments fragments2 = MFragmentFactory.INSTANCE.createModelFragments();
+		fragments2.getImports().add(importedPart);
+		MStringModelFragment fragment2 = MFragmentFactory.INSTANCE.createStringModelFragment();
+		fragment2.setFeaturename("children");
+		fragment2.setParentElementId(sash.getElementId());
+		fragment2.getElements().add(placeholder);
+		fragments2.getFragments().add(fragment2);
+		Resource fragmentResource2 = factory.createResource(URI.createURI("fragment2virtualuri"));
+		resourceSet.getResources().add(fragmentResource2);
+		fragmentResource2.getContents().add((EObject) fragments2);
+
+		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
+		wrappers.add(new ModelFragmentWrapper(fragments1, fragment1, BUNDLE_SYMBOLIC_NAME, null, false));
+		wrappers.add(new ModelFragmentWrapper(fragments2, fragment2, BUNDLE_SYMBOLIC_NAME, null, false));
+		assembler.processFragments(wrappers);
+
+		assertEquals(sash, placeholder.getParent());
+		assertEquals(part, placeholder.getRef());
+		verifyZeroInteractions(logger);
+	}
+
 	/** Tests the processing of an import with a null/incorrect element id. */
 	@Test
 	public void testImports_noImportElementId() {
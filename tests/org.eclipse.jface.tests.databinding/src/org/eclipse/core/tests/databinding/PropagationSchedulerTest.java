@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.tests.databinding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.sideeffect.ISideEffect;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
+import org.eclipse.core.databinding.observable.value.ComputedValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link PropagationScheduler}.
+ */
+public class PropagationSchedulerTest extends AbstractDefaultRealmTestCase {
+
+	private WritableValue<Integer> source;
+
+	private ComputedValue<Integer> left;
+
+	private ComputedValue<Integer> right;
+
+	private ComputedValue<Integer> sum;
+
+	private int sumCalculations;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+
+		// a diamond: sum = (source + 1) + (source * 2)
+		source = new WritableValue<>(Integer.valueOf(1), null);
+		left = new ComputedValue<Integer>() {
+			@Override
+			protected Integer calculate() {
+				return Integer.valueOf(source.getValue().intValue() + 1);
+			}
+		};
+		right = new ComputedValue<Integer>() {
+			@Override
+			protected Integer calculate() {
+				return Integer.valueOf(source.getValue().intValue() * 2);
+			}
+		};
+		sum = new ComputedValue<Integer>() {
+			@Override
+			protected Integer calculate() {
+				sumCalculations++;
+				return Integer.valueOf(left.getValue().intValue() + right.getValue().intValue());
+			}
+		};
+	}
+
+	private static int expectedSum(int value) {
+		return value + 1 + value * 2;
+	}
+
+	@Test
+	public void testDiamond_ListenerSeesConsistentValue() {
+		List<Integer> values = new ArrayList<>();
+		sum.addValueChangeListener(event -> values.add(event.diff.getNewValue()));
+		sumCalculations = 0;
+
+		PropagationScheduler.propagate(() -> source.setValue(Integer.valueOf(2)));
+		PropagationScheduler.propagate(() -> source.setValue(Integer.valueOf(3)));
+
+		assertEquals(Arrays.asList(expectedSum(2), expectedSum(3)), values);
+		assertEquals(2, sumCalculations);
+	}
+
+	@Test
+	public void testDiamond_WithoutScheduler() {
+		List<Integer> values = new ArrayList<>();
+		sum.addValueChangeListener(event -> values.add(event.diff.getNewValue()));
+		sumCalculations = 0;
+
+		source.setValue(Integer.valueOf(2));
+
+		// the listener first sees the sum of the new left and the old right
+		assertEquals(Integer.valueOf(3 + 2), values.get(0));
+		assertEquals(Integer.valueOf(expectedSum(2)), values.get(values.size() - 1));
+		assertTrue(sumCalculations > 1);
+	}
+
+	@Test
+	public void testListenerOfSourceSeesConsistentValue() {
+		List<Integer> values = new ArrayList<>();
+		// added before the computed values start listening to the source
+		source.addChangeListener(event -> values.add(sum.getValue()));
+		sum.getValue();
+
+		PropagationScheduler.propagate(() -> source.setValue(Integer.valueOf(2)));
+
+		assertEquals(Arrays.asList(expectedSum(2)), values);
+	}
+
+	@Test
+	public void testPropagate() {
+		WritableValue<Integer> other = new WritableValue<>(Integer.valueOf(0), null);
+		IObservableValue<Integer> total = ComputedValue
+				.create(() -> Integer.valueOf(sum.getValue().intValue() + other.getValue().intValue()));
+		List<Integer> values = new ArrayList<>();
+		total.addValueChangeListener(event -> values.add(event.diff.getNewValue()));
+
+		assertFalse(PropagationScheduler.isPropagating());
+		PropagationScheduler.propagate(() -> {
+			assertTrue(PropagationScheduler.isPropagating());
+			source.setValue(Integer.valueOf(2));
+			other.setValue(Integer.valueOf(10));
+			assertTrue(values.isEmpty());
+		});
+		assertFalse(PropagationScheduler.isPropagating());
+
+		assertEquals(Arrays.asList(expectedSum(2) + 10), values);
+	}
+
+	@Test
+	public void testDeferredListenersAreTakenWhenTheNodeChanges() {
+		List<String> notified = new ArrayList<>();
+		sum.getValue();
+		sum.addValueChangeListener(event -> notified.add("before"));
+
+		PropagationScheduler.propagate(() -> {
+			source.setValue(Integer.valueOf(2));
+			// added after the change, while its notification is deferred
+			sum.addValueChangeListener(event -> notified.add("after"));
+		});
+
+		assertEquals(Arrays.asList("before"), notified);
+	}
+
+	@Test
+	public void testPropagationDepth() {
+		sum.getValue();
+		assertEquals(1, left.getPropagationDepth());
+		assertEquals(1, right.getPropagationDepth());
+		assertEquals(2, sum.getPropagationDepth());
+		assertEquals(3, PropagationScheduler.getPropagationDepth(source, sum));
+	}
+
+	@Test
+	public void testSideEffectsRunOnceInDepthOrder() {
+		List<String> runs = new ArrayList<>();
+		ISideEffect.create(() -> runs.add("sum " + sum.getValue()));
+		ISideEffect.create(() -> runs.add("source " + source.getValue()));
+		runAsync();
+		runs.clear();
+
+		PropagationScheduler.propagate(() -> source.setValue(Integer.valueOf(2)));
+		runAsync();
+
+		assertEquals(Arrays.asList("source 2", "sum " + expectedSum(2)), runs);
+	}
+}
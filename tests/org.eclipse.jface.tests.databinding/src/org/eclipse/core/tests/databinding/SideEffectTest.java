@@ -21,6 +21,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
+import org.eclipse.core.databinding.observable.IChangeListener;
 import org.eclipse.core.databinding.observable.sideeffect.ISideEffect;
 import org.eclipse.core.databinding.observable.value.ComputedValue;
 import org.eclipse.core.databinding.observable.value.WritableValue;
@@ -399,6 +400,48 @@ public class SideEffectTest extends AbstractDefaultRealmTestCase {
 		assertFalse(hasRun.get());
 	}
 
+	@Test
+	public void testRerunWithSameDependenciesKeepsListeners() throws Exception {
+		AtomicInteger listenersAdded = new AtomicInteger();
+		WritableValue<String> dependency = new WritableValue<String>("", null) {
+			@Override
+			public synchronized void addChangeListener(IChangeListener listener) {
+				listenersAdded.incrementAndGet();
+				super.addChangeListener(listener);
+			}
+		};
+		ISideEffect.create(() -> {
+			dependency.getValue();
+			sideEffectInvocations++;
+		});
+		assertEquals(1, listenersAdded.get());
+
+		dependency.setValue("foo");
+		runAsync();
+		assertEquals(2, sideEffectInvocations);
+		dependency.setValue("bar");
+		runAsync();
+		assertEquals(3, sideEffectInvocations);
+		assertEquals(1, listenersAdded.get());
+	}
+
+	@Test
+	public void testChangingOwnDependencyDoesntRerunSideEffect() throws Exception {
+		ISideEffect.create(() -> {
+			defaultDependency.setValue(defaultDependency.getValue() + "x");
+			sideEffectInvocations++;
+		});
+		runAsync();
+		assertEquals(1, sideEffectInvocations);
+
+		defaultDependency.setValue("foo");
+		runAsync();
+		assertEquals(2, sideEffectInvocations);
+		assertEquals("foox", defaultDependency.getValue());
+		runAsync();
+		assertEquals(2, sideEffectInvocations);
+	}
+
 	// Doesn't currently work, but this would be a desirable property for
 	// SideEffect to have
 	// public void testInvalidateSelf() throws Exception {
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.conversion;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.core.databinding.conversion.DoubleConverter;
+import org.eclipse.core.databinding.conversion.IntConverter;
+import org.eclipse.core.databinding.conversion.LongConverter;
+import org.eclipse.core.databinding.conversion.ToDoubleConverter;
+import org.eclipse.core.databinding.conversion.ToIntConverter;
+import org.eclipse.core.databinding.conversion.ToLongConverter;
+import org.junit.Test;
+
+import com.ibm.icu.text.NumberFormat;
+
+public class PrimitiveConverterTest {
+	@Test
+	public void testTypes() throws Exception {
+		IntConverter<String> toString = IntConverter.toStringConverter();
+		assertEquals(Integer.TYPE, toString.getFromType());
+		assertEquals(String.class, toString.getToType());
+
+		ToDoubleConverter<String> parse = ToDoubleConverter.create(String.class, Double::parseDouble);
+		assertEquals(String.class, parse.getFromType());
+		assertEquals(Double.TYPE, parse.getToType());
+	}
+
+	@Test
+	public void testToStringConverter() throws Exception {
+		NumberFormat integerFormat = NumberFormat.getIntegerInstance();
+		NumberFormat numberFormat = NumberFormat.getNumberInstance();
+
+		assertEquals(integerFormat.format(12345), IntConverter.toStringConverter().convertInt(12345));
+		assertEquals(integerFormat.format(Long.MAX_VALUE),
+				LongConverter.toStringConverter().convertLong(Long.MAX_VALUE));
+		assertEquals(numberFormat.format(1.5), DoubleConverter.toStringConverter(numberFormat).convert(Double.valueOf(1.5)));
+	}
+
+	@Test
+	public void testCreate() throws Exception {
+		IntConverter<Long> widen = IntConverter.create(Long.TYPE, value -> Long.valueOf(value));
+		assertEquals(Long.valueOf(3), widen.convertInt(3));
+		assertEquals(Long.valueOf(4), widen.convert(Integer.valueOf(4)));
+
+		ToIntConverter<String> length = ToIntConverter.create(String.class, String::length);
+		assertEquals(3, length.convertToInt("abc"));
+		assertEquals(Integer.valueOf(2), length.convert("ab"));
+	}
+
+	@Test
+	public void testCreateLong() throws Exception {
+		LongConverter<String> hex = LongConverter.create(String.class, Long::toHexString);
+		assertEquals(Long.TYPE, hex.getFromType());
+		assertEquals("ff", hex.convertLong(255L));
+		assertEquals("7fffffffffffffff", hex.convert(Long.valueOf(Long.MAX_VALUE)));
+
+		ToLongConverter<String> parse = ToLongConverter.create(String.class, Long::parseLong);
+		assertEquals(Long.TYPE, parse.getToType());
+		assertEquals(Long.MIN_VALUE, parse.convertToLong(String.valueOf(Long.MIN_VALUE)));
+		assertEquals(Long.valueOf(2), parse.convert("2"));
+	}
+
+	@Test
+	public void testCreateDouble() throws Exception {
+		DoubleConverter<Long> round = DoubleConverter.create(Long.TYPE, value -> Long.valueOf(Math.round(value)));
+		assertEquals(Double.TYPE, round.getFromType());
+		assertEquals(Long.valueOf(3), round.convertDouble(2.5));
+		assertEquals(Long.valueOf(-2), round.convert(Double.valueOf(-2.4)));
+
+		ToDoubleConverter<String> parse = ToDoubleConverter.create(String.class, Double::parseDouble);
+		assertEquals(0.25, parse.convertToDouble("0.25"), 0);
+		assertEquals(Double.valueOf(Double.NaN), parse.convert("NaN"));
+	}
+}
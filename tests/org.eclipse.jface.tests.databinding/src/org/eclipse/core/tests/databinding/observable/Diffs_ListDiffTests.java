@@ -21,7 +21,9 @@ import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.eclipse.core.databinding.observable.Diffs;
 import org.eclipse.core.databinding.observable.list.ListDiff;
@@ -286,6 +288,155 @@ public class Diffs_ListDiffTests {
 				Arrays.asList(new Object[] { "c", "a", "b" }));
 	}
 
+	@Test
+	public void testComputeListDiff_MatchesReference() {
+		Random random = new Random(4711);
+		for (int i = 0; i < 2000; i++) {
+			int alphabet = 1 + random.nextInt(20);
+			List<Object> oldList = randomList(random, random.nextInt(30), alphabet);
+			List<Object> newList = random.nextBoolean() ? randomList(random, random.nextInt(30), alphabet)
+					: shuffleSome(random, oldList, alphabet);
+			checkComputedEntries(oldList, newList);
+			assertSameEntries(oldList, newList);
+		}
+	}
+
+	@Test
+	public void testComputeListDiff_LargeLists() {
+		Random random = new Random(42);
+		List<Object> oldList = randomList(random, 50000, 40000);
+		List<Object> newList = shuffleSome(random, oldList, 40000);
+		checkComputedEntries(oldList, newList);
+
+		List<Object> reversed = new ArrayList<>(oldList);
+		Collections.reverse(reversed);
+		checkComputedEntries(oldList, reversed);
+	}
+
+	private static List<Object> randomList(Random random, int size, int alphabet) {
+		List<Object> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			int value = random.nextInt(alphabet + 1);
+			list.add(value == alphabet ? null : "e" + value);
+		}
+		return list;
+	}
+
+	private static List<Object> shuffleSome(Random random, List<Object> list, int alphabet) {
+		List<Object> result = new ArrayList<>(list);
+		int changes = 1 + random.nextInt(Math.max(1, list.size() / 10 + 1));
+		for (int i = 0; i < changes; i++) {
+			int position = result.isEmpty() ? 0 : random.nextInt(result.size());
+			switch (random.nextInt(4)) {
+			case 0:
+				result.add(position, "e" + random.nextInt(alphabet));
+				break;
+			case 1:
+				if (!result.isEmpty()) {
+					result.remove(position);
+				}
+				break;
+			case 2:
+				if (!result.isEmpty()) {
+					result.add(random.nextInt(result.size()), result.remove(position));
+				}
+				break;
+			default:
+				if (!result.isEmpty()) {
+					result.set(position, "e" + random.nextInt(alphabet));
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void checkComputedEntries(List<Object> oldList, List<Object> newList) {
+		List<Object> list = new ArrayList<>(oldList);
+		for (ListDiffEntry<?> entry : Diffs.computeListDiff(oldList, newList).getDifferences()) {
+			if (entry.isAddition()) {
+				list.add(entry.getPosition(), entry.getElement());
+			} else {
+				assertEquals(entry.getElement(), list.remove(entry.getPosition()));
+			}
+		}
+		assertEquals("Applying the entries to the old list should make it equal to the new list", newList, list);
+	}
+
+	private static void assertSameEntries(List<Object> oldList, List<Object> newList) {
+		List<ListDiffEntry<Object>> expected = new ArrayList<>();
+		referenceListDiffs(new ArrayList<>(oldList), newList, expected);
+		ListDiffEntry<?>[] actual = Diffs.computeListDiff(oldList, newList).getDifferences();
+		String message = oldList + " -> " + newList;
+		assertEquals(message, expected.size(), actual.length);
+		for (int i = 0; i < actual.length; i++) {
+			assertEquals(message, expected.get(i).isAddition(), actual[i].isAddition());
+			assertEquals(message, expected.get(i).getPosition(), actual[i].getPosition());
+			assertEquals(message, expected.get(i).getElement(), actual[i].getElement());
+		}
+	}
+
+	/**
+	 * The quadratic list diff adapted from EMF's ListDifferenceAnalyzer which
+	 * Diffs used before, as a reference for the entries.
+	 */
+	private static void referenceListDiffs(List<Object> oldList, List<Object> newList,
+			List<ListDiffEntry<Object>> listDiffs) {
+		int index = 0;
+		for (Object newValue : newList) {
+			if (oldList.size() <= index) {
+				listDiffs.add(Diffs.createListDiffEntry(index, true, newValue));
+			} else {
+				boolean done;
+				do {
+					done = true;
+					Object oldValue = oldList.get(index);
+					if (oldValue == null ? newValue != null : !oldValue.equals(newValue)) {
+						int oldIndexOfNewValue = indexOf(oldList, newValue, index);
+						if (oldIndexOfNewValue != -1) {
+							int newIndexOfOldValue = indexOf(newList, oldValue, index);
+							if (newIndexOfOldValue == -1) {
+								listDiffs.add(Diffs.createListDiffEntry(index, false, oldValue));
+								oldList.remove(index);
+								done = false;
+							} else if (newIndexOfOldValue > oldIndexOfNewValue) {
+								if (oldList.size() <= newIndexOfOldValue) {
+									newIndexOfOldValue = oldList.size() - 1;
+								}
+								listDiffs.add(Diffs.createListDiffEntry(index, false, oldValue));
+								oldList.remove(index);
+								listDiffs.add(Diffs.createListDiffEntry(newIndexOfOldValue, true, oldValue));
+								oldList.add(newIndexOfOldValue, oldValue);
+								done = false;
+							} else {
+								listDiffs.add(Diffs.createListDiffEntry(oldIndexOfNewValue, false, newValue));
+								oldList.remove(oldIndexOfNewValue);
+								listDiffs.add(Diffs.createListDiffEntry(index, true, newValue));
+								oldList.add(index, newValue);
+							}
+						} else {
+							oldList.add(index, newValue);
+							listDiffs.add(Diffs.createListDiffEntry(index, true, newValue));
+						}
+					}
+				} while (!done);
+			}
+			++index;
+		}
+		for (int i = oldList.size(); i > index;) {
+			listDiffs.add(Diffs.createListDiffEntry(--i, false, oldList.get(i)));
+		}
+	}
+
+	private static int indexOf(List<Object> list, Object object, int index) {
+		for (int i = index; i < list.size(); i++) {
+			Object candidate = list.get(i);
+			if (candidate == null ? object == null : candidate.equals(object)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	private static void checkComputedListDiff(List<Object> oldList, List<Object> newList) {
 		ListDiff diff = Diffs.computeListDiff(oldList, newList);
 
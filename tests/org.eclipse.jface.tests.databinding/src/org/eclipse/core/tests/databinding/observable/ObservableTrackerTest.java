@@ -47,6 +47,62 @@ public class ObservableTrackerTest extends AbstractDefaultRealmTestCase {
 		assertSame(observable, result[0]);
 	}
 
+	@Test
+	public void testRunAndMonitor_ManyObservables() throws Exception {
+		final IObservable[] observables = new IObservable[100];
+		for (int i = 0; i < observables.length; i++) {
+			observables[i] = new ObservableStub();
+		}
+		IObservable[] result = ObservableTracker.runAndMonitor(() -> {
+			for (int i = 0; i < observables.length; i++) {
+				ObservableTracker.getterCalled(observables[i]);
+				ObservableTracker.getterCalled(observables[i / 2]);
+			}
+		}, null, null);
+		assertEquals(Arrays.asList(observables), Arrays.asList(result));
+	}
+
+	@Test
+	public void testRunAndMonitor_Nested() throws Exception {
+		final IObservable outer = new ObservableStub();
+		final IObservable inner = new ObservableStub();
+		final IObservable[][] innerResult = new IObservable[2][];
+		IObservable[] result = ObservableTracker.runAndMonitor(() -> {
+			innerResult[0] = ObservableTracker.runAndMonitor(() -> ObservableTracker.getterCalled(inner), null,
+					null);
+			ObservableTracker.getterCalled(outer);
+			innerResult[1] = ObservableTracker.runAndMonitor(() -> ObservableTracker.getterCalled(outer), null,
+					null);
+		}, null, null);
+		assertEquals(Arrays.asList(outer), Arrays.asList(result));
+		assertEquals(Arrays.asList(inner), Arrays.asList(innerResult[0]));
+		assertEquals(Arrays.asList(outer), Arrays.asList(innerResult[1]));
+	}
+
+	@Test
+	public void testRunAndMonitor_LastDependenciesUnchanged() throws Exception {
+		final IObservable observable1 = new ObservableStub();
+		final IObservable observable2 = new ObservableStub();
+		Runnable runnable = () -> {
+			ObservableTracker.getterCalled(observable1);
+			ObservableTracker.getterCalled(observable2);
+		};
+		IObservable[] dependencies = ObservableTracker.runAndMonitor(runnable, null);
+		assertEquals(Arrays.asList(observable1, observable2), Arrays.asList(dependencies));
+		assertSame(dependencies, ObservableTracker.runAndMonitor(runnable, dependencies));
+	}
+
+	@Test
+	public void testRunAndMonitor_LastDependenciesChanged() throws Exception {
+		final IObservable observable1 = new ObservableStub();
+		final IObservable observable2 = new ObservableStub();
+		IObservable[] dependencies = { observable1, observable2 };
+		IObservable[] result = ObservableTracker.runAndMonitor(() -> ObservableTracker.getterCalled(observable2),
+				dependencies);
+		assertEquals(Arrays.asList(observable2), Arrays.asList(result));
+		assertEquals(Arrays.asList(observable1, observable2), Arrays.asList(dependencies));
+	}
+
 	@Test
 	public void testGetterCalled_ObservableDisposed() throws Exception {
 		try {
@@ -15,8 +15,27 @@
 package org.eclipse.core.tests.databinding.observable;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.IntListDiff;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.WritableIntList;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.core.databinding.observable.map.MapChangeEvent;
+import org.eclipse.core.databinding.observable.map.MapDiff;
+import org.eclipse.core.databinding.observable.map.WritableMap;
+import org.eclipse.core.databinding.observable.set.SetChangeEvent;
+import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableIntValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
 import org.eclipse.jface.databinding.conformance.util.RealmTester;
 import org.junit.Test;
@@ -35,4 +54,173 @@ public class RealmTest {
 
 		assertEquals("old realm should have been restored", oldRealm, Realm.getDefault());
 	}
+
+	@Test
+	public void testBatchMergesListChanges() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableList<String> list = new WritableList<>(realm, new ArrayList<>(Arrays.asList("a", "b")), null);
+		List<ListChangeEvent<? extends String>> events = new ArrayList<>();
+		int[] changeCount = new int[1];
+		list.addListChangeListener(events::add);
+		list.addChangeListener(event -> changeCount[0]++);
+
+		realm.batch(() -> {
+			list.add("c");
+			list.remove("a");
+			list.add(0, "d");
+			assertEquals("no events during the batch", 0, events.size());
+		});
+
+		assertEquals("one change event", 1, changeCount[0]);
+		assertEquals("one list change event", 1, events.size());
+		List<String> applied = new ArrayList<>(Arrays.asList("a", "b"));
+		events.get(0).diff.applyTo(applied);
+		assertEquals(Arrays.asList("d", "b", "c"), applied);
+	}
+
+	@Test
+	public void testBatchNested() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<Integer> value = new WritableValue<>(realm, Integer.valueOf(0), Integer.class);
+		List<ValueChangeEvent<? extends Integer>> events = new ArrayList<>();
+		value.addValueChangeListener(events::add);
+
+		realm.batch(() -> {
+			value.setValue(Integer.valueOf(1));
+			realm.batch(() -> value.setValue(Integer.valueOf(2)));
+			assertEquals("no events before the outermost batch ends", 0, events.size());
+			value.setValue(Integer.valueOf(3));
+		});
+
+		assertEquals(1, events.size());
+		assertEquals(Integer.valueOf(0), events.get(0).diff.getOldValue());
+		assertEquals(Integer.valueOf(3), events.get(0).diff.getNewValue());
+	}
+
+	@Test
+	public void testBatchMergesPrimitiveChanges() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableIntValue value = new WritableIntValue(realm, 0);
+		WritableIntList list = new WritableIntList(realm, new int[] { 1, 2 });
+		List<int[]> valueEvents = new ArrayList<>();
+		List<IntListDiff> listDiffs = new ArrayList<>();
+		List<ValueChangeEvent<? extends Integer>> boxedEvents = new ArrayList<>();
+		value.addIntValueChangeListener(event -> valueEvents.add(new int[] { event.oldValue, event.newValue }));
+		value.addValueChangeListener(boxedEvents::add);
+		list.addIntListChangeListener(event -> listDiffs.add(event.diff));
+
+		realm.batch(() -> {
+			value.setIntValue(1);
+			value.setIntValue(2);
+			list.addInt(3);
+			list.removeInt(0);
+		});
+
+		assertEquals(1, valueEvents.size());
+		assertEquals(0, valueEvents.get(0)[0]);
+		assertEquals(2, valueEvents.get(0)[1]);
+		assertEquals(1, boxedEvents.size());
+		assertEquals(Integer.valueOf(2), boxedEvents.get(0).diff.getNewValue());
+		assertEquals(1, listDiffs.size());
+		WritableIntList applied = new WritableIntList(realm, new int[] { 1, 2 });
+		listDiffs.get(0).applyTo(applied);
+		assertEquals(Arrays.asList(Integer.valueOf(2), Integer.valueOf(3)), applied);
+	}
+
+	@Test
+	public void testBatchMergesSetChanges() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableSet<String> set = new WritableSet<>(realm, new HashSet<>(Arrays.asList("a", "b")), null);
+		List<SetChangeEvent<? extends String>> events = new ArrayList<>();
+		set.addSetChangeListener(events::add);
+
+		realm.batch(() -> {
+			set.add("c");
+			set.remove("a");
+			set.remove("c");
+			set.add("d");
+		});
+
+		assertEquals(1, events.size());
+		assertEquals(Collections.singleton("d"), events.get(0).diff.getAdditions());
+		assertEquals(Collections.singleton("a"), events.get(0).diff.getRemovals());
+	}
+
+	@Test
+	public void testBatchMergesMapChanges() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableMap<String, String> map = new WritableMap<>(realm);
+		map.put("changed", "old");
+		map.put("removed", "value");
+		List<MapChangeEvent<? extends String, ? extends String>> events = new ArrayList<>();
+		map.addMapChangeListener(events::add);
+
+		realm.batch(() -> {
+			map.put("added", "first");
+			map.put("added", "second");
+			map.put("changed", "new");
+			map.remove("removed");
+			map.put("temporary", "value");
+			map.remove("temporary");
+		});
+
+		assertEquals(1, events.size());
+		MapDiff<? extends String, ? extends String> diff = events.get(0).diff;
+		assertEquals(Collections.singleton("added"), diff.getAddedKeys());
+		assertEquals("second", diff.getNewValue("added"));
+		assertEquals(Collections.singleton("changed"), diff.getChangedKeys());
+		assertEquals("old", diff.getOldValue("changed"));
+		assertEquals("new", diff.getNewValue("changed"));
+		assertEquals(Collections.singleton("removed"), diff.getRemovedKeys());
+		assertEquals("value", diff.getOldValue("removed"));
+	}
+
+	@Test
+	public void testBatchDropsRevertedChanges() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		WritableIntValue intValue = new WritableIntValue(realm, 0);
+		WritableMap<String, String> map = new WritableMap<>(realm);
+		map.put("key", "old");
+		List<Object> events = new ArrayList<>();
+		int[] changeCount = new int[1];
+		value.addValueChangeListener(events::add);
+		value.addChangeListener(event -> changeCount[0]++);
+		intValue.addIntValueChangeListener(events::add);
+		intValue.addValueChangeListener(events::add);
+		map.addMapChangeListener(events::add);
+
+		realm.batch(() -> {
+			value.setValue("b");
+			value.setValue("a");
+			intValue.setIntValue(1);
+			intValue.setIntValue(0);
+			map.put("key", "new");
+			map.put("key", "old");
+		});
+
+		assertEquals("no value or map change events", 0, events.size());
+		assertEquals("the change event is still fired", 1, changeCount[0]);
+	}
+
+	@Test
+	public void testBatchFiresEventsAfterException() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		List<ValueChangeEvent<? extends String>> events = new ArrayList<>();
+		value.addValueChangeListener(events::add);
+
+		try {
+			realm.batch(() -> {
+				value.setValue("b");
+				throw new IllegalStateException();
+			});
+			fail("exception expected");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+
+		assertEquals(1, events.size());
+		assertEquals("b", events.get(0).diff.getNewValue());
+	}
 }
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.list;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.IObservableCollection;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.DoubleListDiff;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.WritableDoubleList;
+import org.eclipse.jface.databinding.conformance.MutableObservableCollectionContractTest;
+import org.eclipse.jface.databinding.conformance.ObservableListContractTest;
+import org.eclipse.jface.databinding.conformance.delegate.AbstractObservableCollectionContractDelegate;
+import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
+import org.eclipse.jface.databinding.conformance.util.RealmTester;
+import org.eclipse.jface.databinding.conformance.util.SuiteBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class WritableDoubleListTest {
+
+	private WritableDoubleList list;
+
+	private List<DoubleListDiff> diffs;
+
+	@Before
+	public void setUp() throws Exception {
+		RealmTester.setDefault(new CurrentRealm(true));
+		list = new WritableDoubleList(new double[] { 1.0, 2.0, 3.0 });
+		diffs = new ArrayList<>();
+		list.addDoubleListChangeListener(event -> diffs.add(event.diff));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		RealmTester.setDefault(null);
+	}
+
+	/**
+	 * Applies the recorded diffs to the initial elements and checks that the
+	 * result matches the list.
+	 */
+	private void assertDiffsApply(double... initialElements) {
+		WritableDoubleList copy = new WritableDoubleList(initialElements);
+		for (DoubleListDiff diff : diffs) {
+			diff.applyTo(copy);
+		}
+		assertArrayEquals(list.toDoubleArray(), copy.toDoubleArray(), 0);
+	}
+
+	@Test
+	public void testElementType() throws Exception {
+		assertEquals(Double.TYPE, list.getElementType());
+		assertEquals(Double.valueOf(2.0), list.get(1));
+		assertEquals(2.0, list.getDouble(1), 0);
+	}
+
+	@Test
+	public void testAddSetRemove() throws Exception {
+		list.addDouble(4.0);
+		list.addDouble(0, 0.0);
+		assertEquals(3.0, list.setDouble(3, 7.0), 0);
+		assertEquals(1.0, list.removeDouble(1), 0);
+		assertTrue(list.remove(Double.valueOf(4.0)));
+		assertFalse(list.remove("4"));
+
+		assertArrayEquals(new double[] { 0.0, 2.0, 7.0 }, list.toDoubleArray(), 0);
+		assertEquals(5, diffs.size());
+		assertDiffsApply(1.0, 2.0, 3.0);
+	}
+
+	@Test
+	public void testIndexOfDouble() throws Exception {
+		list.addDouble(2.0);
+		assertEquals(1, list.indexOfDouble(2.0));
+		assertEquals(3, list.lastIndexOf(Double.valueOf(2.0)));
+		assertEquals(-1, list.indexOfDouble(5.0));
+		assertTrue(list.contains(Double.valueOf(3.0)));
+	}
+
+	@Test
+	public void testNaNAndSignedZeros() throws Exception {
+		list.addDouble(Double.NaN);
+		list.addDouble(-0.0);
+		assertEquals(3, list.indexOfDouble(Double.NaN));
+		assertTrue(list.contains(Double.valueOf(Double.NaN)));
+		assertEquals(4, list.indexOfDouble(-0.0));
+		assertEquals(-1, list.indexOfDouble(0.0));
+		assertTrue(list.remove(Double.valueOf(Double.NaN)));
+		assertEquals(4, list.size());
+		assertDiffsApply(1.0, 2.0, 3.0);
+	}
+
+	@Test
+	public void testBulkChangesFireOneDiff() throws Exception {
+		list.addAll(1, Arrays.asList(Double.valueOf(5.0), Double.valueOf(6.0)));
+		list.removeAll(Arrays.asList(Double.valueOf(1.0), Double.valueOf(6.0), Double.valueOf(3.0)));
+		list.retainAll(Arrays.asList(Double.valueOf(2.0)));
+
+		assertArrayEquals(new double[] { 2.0 }, list.toDoubleArray(), 0);
+		assertEquals(3, diffs.size());
+		assertEquals(2, diffs.get(0).size());
+		assertEquals(3, diffs.get(1).size());
+		assertEquals(1, diffs.get(2).size());
+		assertDiffsApply(1.0, 2.0, 3.0);
+	}
+
+	@Test
+	public void testMoveAndClear() throws Exception {
+		assertEquals(Double.valueOf(1.0), list.move(0, 2));
+		assertArrayEquals(new double[] { 2.0, 3.0, 1.0 }, list.toDoubleArray(), 0);
+		list.clear();
+		assertEquals(0, list.size());
+		assertEquals(2, diffs.size());
+		assertDiffsApply(1.0, 2.0, 3.0);
+	}
+
+	@Test
+	public void testGenericListenersReceiveBoxedDiff() throws Exception {
+		List<ListChangeEvent<? extends Double>> events = new ArrayList<>();
+		list.addListChangeListener(events::add);
+
+		list.addDouble(1, 9.0);
+
+		assertEquals(1, events.size());
+		List<Double> applied = new ArrayList<>(Arrays.asList(Double.valueOf(1.0), Double.valueOf(2.0),
+				Double.valueOf(3.0)));
+		events.get(0).diff.applyTo(applied);
+		assertEquals(list, applied);
+	}
+
+	@Test
+	public void testConcatDiffs() throws Exception {
+		list.addDouble(4.0);
+		list.removeDouble(0);
+		DoubleListDiff diff = DoubleListDiff.concat(diffs);
+		assertEquals(2, diff.size());
+		assertTrue(diff.isAddition(0));
+		assertEquals(3, diff.getPosition(0));
+		assertFalse(diff.isAddition(1));
+		assertEquals(1.0, diff.getElement(1), 0);
+	}
+
+	public static void addConformanceTest(TestSuite suite) {
+		// The elements are boxed when read, so the identity checks of
+		// MutableObservableListContractTest cannot hold for doubles, which
+		// unlike small ints and longs are not cached by valueOf.
+		Delegate delegate = new Delegate();
+		suite.addTest(new SuiteBuilder().addObservableContractTest(MutableObservableCollectionContractTest.class, delegate)
+				.addObservableContractTest(ObservableListContractTest.class, delegate).build());
+	}
+
+	/* package */static class Delegate extends AbstractObservableCollectionContractDelegate {
+		@Override
+		public Object createElement(IObservableCollection collection) {
+			return Double.valueOf(collection.size() + 1);
+		}
+
+		@Override
+		public Object getElementType(IObservableCollection collection) {
+			return Double.TYPE;
+		}
+
+		@Override
+		public IObservableCollection createObservableCollection(Realm realm, final int itemCount) {
+			WritableDoubleList observable = new WritableDoubleList(realm);
+			for (int i = 0; i < itemCount; i++) {
+				observable.addDouble(i);
+			}
+			return observable;
+		}
+
+		@Override
+		public void change(IObservable observable) {
+			((WritableDoubleList) observable).addDouble(-1.0);
+		}
+	}
+}
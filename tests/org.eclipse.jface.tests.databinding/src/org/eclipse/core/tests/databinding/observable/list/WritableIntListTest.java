@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.list;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.IObservableCollection;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.IntListDiff;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.WritableIntList;
+import org.eclipse.jface.databinding.conformance.MutableObservableListContractTest;
+import org.eclipse.jface.databinding.conformance.delegate.AbstractObservableCollectionContractDelegate;
+import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
+import org.eclipse.jface.databinding.conformance.util.RealmTester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class WritableIntListTest {
+
+	private WritableIntList list;
+
+	private List<IntListDiff> diffs;
+
+	@Before
+	public void setUp() throws Exception {
+		RealmTester.setDefault(new CurrentRealm(true));
+		list = new WritableIntList(new int[] { 1, 2, 3 });
+		diffs = new ArrayList<>();
+		list.addIntListChangeListener(event -> diffs.add(event.diff));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		RealmTester.setDefault(null);
+	}
+
+	/**
+	 * Applies the recorded diffs to the initial elements and checks that the
+	 * result matches the list.
+	 */
+	private void assertDiffsApply(int... initialElements) {
+		WritableIntList copy = new WritableIntList(initialElements);
+		for (IntListDiff diff : diffs) {
+			diff.applyTo(copy);
+		}
+		assertArrayEquals(list.toIntArray(), copy.toIntArray());
+	}
+
+	@Test
+	public void testElementType() throws Exception {
+		assertEquals(Integer.TYPE, list.getElementType());
+		assertEquals(Integer.valueOf(2), list.get(1));
+		assertEquals(2, list.getInt(1));
+	}
+
+	@Test
+	public void testAddSetRemove() throws Exception {
+		list.addInt(4);
+		list.addInt(0, 0);
+		assertEquals(3, list.setInt(3, 7));
+		assertEquals(1, list.removeInt(1));
+		assertTrue(list.remove(Integer.valueOf(4)));
+		assertFalse(list.remove("4"));
+
+		assertArrayEquals(new int[] { 0, 2, 7 }, list.toIntArray());
+		assertEquals(5, diffs.size());
+		assertDiffsApply(1, 2, 3);
+	}
+
+	@Test
+	public void testIndexOfInt() throws Exception {
+		list.addInt(2);
+		assertEquals(1, list.indexOfInt(2));
+		assertEquals(3, list.lastIndexOf(Integer.valueOf(2)));
+		assertEquals(-1, list.indexOfInt(5));
+		assertTrue(list.contains(Integer.valueOf(3)));
+	}
+
+	@Test
+	public void testBulkChangesFireOneDiff() throws Exception {
+		list.addAll(1, Arrays.asList(Integer.valueOf(5), Integer.valueOf(6)));
+		list.removeAll(Arrays.asList(Integer.valueOf(1), Integer.valueOf(6), Integer.valueOf(3)));
+		list.retainAll(Arrays.asList(Integer.valueOf(2)));
+
+		assertArrayEquals(new int[] { 2 }, list.toIntArray());
+		assertEquals(3, diffs.size());
+		assertEquals(2, diffs.get(0).size());
+		assertEquals(3, diffs.get(1).size());
+		assertEquals(1, diffs.get(2).size());
+		assertDiffsApply(1, 2, 3);
+	}
+
+	@Test
+	public void testMoveAndClear() throws Exception {
+		assertEquals(Integer.valueOf(1), list.move(0, 2));
+		assertArrayEquals(new int[] { 2, 3, 1 }, list.toIntArray());
+		list.clear();
+		assertEquals(0, list.size());
+		assertEquals(2, diffs.size());
+		assertDiffsApply(1, 2, 3);
+	}
+
+	@Test
+	public void testGenericListenersReceiveBoxedDiff() throws Exception {
+		List<ListChangeEvent<? extends Integer>> events = new ArrayList<>();
+		list.addListChangeListener(events::add);
+
+		list.addInt(1, 9);
+
+		assertEquals(1, events.size());
+		List<Integer> applied = new ArrayList<>(Arrays.asList(Integer.valueOf(1), Integer.valueOf(2),
+				Integer.valueOf(3)));
+		events.get(0).diff.applyTo(applied);
+		assertEquals(list, applied);
+	}
+
+	@Test
+	public void testConcatDiffs() throws Exception {
+		list.addInt(4);
+		list.removeInt(0);
+		IntListDiff diff = IntListDiff.concat(diffs);
+		assertEquals(2, diff.size());
+		assertTrue(diff.isAddition(0));
+		assertEquals(3, diff.getPosition(0));
+		assertFalse(diff.isAddition(1));
+		assertEquals(1, diff.getElement(1));
+	}
+
+	public static void addConformanceTest(TestSuite suite) {
+		suite.addTest(MutableObservableListContractTest.suite(new Delegate()));
+	}
+
+	/* package */static class Delegate extends AbstractObservableCollectionContractDelegate {
+		@Override
+		public Object createElement(IObservableCollection collection) {
+			return Integer.valueOf(collection.size() + 1);
+		}
+
+		@Override
+		public Object getElementType(IObservableCollection collection) {
+			return Integer.TYPE;
+		}
+
+		@Override
+		public IObservableCollection createObservableCollection(Realm realm, final int itemCount) {
+			WritableIntList observable = new WritableIntList(realm);
+			for (int i = 0; i < itemCount; i++) {
+				observable.addInt(i);
+			}
+			return observable;
+		}
+
+		@Override
+		public void change(IObservable observable) {
+			((WritableIntList) observable).addInt(-1);
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.list;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.IObservableCollection;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.LongListDiff;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.WritableLongList;
+import org.eclipse.jface.databinding.conformance.MutableObservableListContractTest;
+import org.eclipse.jface.databinding.conformance.delegate.AbstractObservableCollectionContractDelegate;
+import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
+import org.eclipse.jface.databinding.conformance.util.RealmTester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class WritableLongListTest {
+
+	private WritableLongList list;
+
+	private List<LongListDiff> diffs;
+
+	@Before
+	public void setUp() throws Exception {
+		RealmTester.setDefault(new CurrentRealm(true));
+		list = new WritableLongList(new long[] { 1, 2, 3 });
+		diffs = new ArrayList<>();
+		list.addLongListChangeListener(event -> diffs.add(event.diff));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		RealmTester.setDefault(null);
+	}
+
+	/**
+	 * Applies the recorded diffs to the initial elements and checks that the
+	 * result matches the list.
+	 */
+	private void assertDiffsApply(long... initialElements) {
+		WritableLongList copy = new WritableLongList(initialElements);
+		for (LongListDiff diff : diffs) {
+			diff.applyTo(copy);
+		}
+		assertArrayEquals(list.toLongArray(), copy.toLongArray());
+	}
+
+	@Test
+	public void testElementType() throws Exception {
+		assertEquals(Long.TYPE, list.getElementType());
+		assertEquals(Long.valueOf(2), list.get(1));
+		assertEquals(2, list.getLong(1));
+	}
+
+	@Test
+	public void testAddSetRemove() throws Exception {
+		list.addLong(4);
+		list.addLong(0, 0);
+		assertEquals(3, list.setLong(3, 7));
+		assertEquals(1, list.removeLong(1));
+		assertTrue(list.remove(Long.valueOf(4)));
+		assertFalse(list.remove("4"));
+
+		assertArrayEquals(new long[] { 0, 2, 7 }, list.toLongArray());
+		assertEquals(5, diffs.size());
+		assertDiffsApply(1, 2, 3);
+	}
+
+	@Test
+	public void testIndexOfLong() throws Exception {
+		list.addLong(2);
+		assertEquals(1, list.indexOfLong(2));
+		assertEquals(3, list.lastIndexOf(Long.valueOf(2)));
+		assertEquals(-1, list.indexOfLong(5));
+		assertTrue(list.contains(Long.valueOf(3)));
+	}
+
+	@Test
+	public void testValuesOutsideIntRange() throws Exception {
+		list.addLong(Long.MAX_VALUE);
+		list.addLong(0, Long.MIN_VALUE);
+		assertEquals(4, list.indexOfLong(Long.MAX_VALUE));
+		assertEquals(-1, list.indexOfLong((int) Long.MAX_VALUE));
+		assertEquals(Long.valueOf(Long.MIN_VALUE), list.get(0));
+		assertDiffsApply(1, 2, 3);
+	}
+
+	@Test
+	public void testBulkChangesFireOneDiff() throws Exception {
+		list.addAll(1, Arrays.asList(Long.valueOf(5), Long.valueOf(6)));
+		list.removeAll(Arrays.asList(Long.valueOf(1), Long.valueOf(6), Long.valueOf(3)));
+		list.retainAll(Arrays.asList(Long.valueOf(2)));
+
+		assertArrayEquals(new long[] { 2 }, list.toLongArray());
+		assertEquals(3, diffs.size());
+		assertEquals(2, diffs.get(0).size());
+		assertEquals(3, diffs.get(1).size());
+		assertEquals(1, diffs.get(2).size());
+		assertDiffsApply(1, 2, 3);
+	}
+
+	@Test
+	public void testMoveAndClear() throws Exception {
+		assertEquals(Long.valueOf(1), list.move(0, 2));
+		assertArrayEquals(new long[] { 2, 3, 1 }, list.toLongArray());
+		list.clear();
+		assertEquals(0, list.size());
+		assertEquals(2, diffs.size());
+		assertDiffsApply(1, 2, 3);
+	}
+
+	@Test
+	public void testGenericListenersReceiveBoxedDiff() throws Exception {
+		List<ListChangeEvent<? extends Long>> events = new ArrayList<>();
+		list.addListChangeListener(events::add);
+
+		list.addLong(1, 9);
+
+		assertEquals(1, events.size());
+		List<Long> applied = new ArrayList<>(Arrays.asList(Long.valueOf(1), Long.valueOf(2),
+				Long.valueOf(3)));
+		events.get(0).diff.applyTo(applied);
+		assertEquals(list, applied);
+	}
+
+	@Test
+	public void testConcatDiffs() throws Exception {
+		list.addLong(4);
+		list.removeLong(0);
+		LongListDiff diff = LongListDiff.concat(diffs);
+		assertEquals(2, diff.size());
+		assertTrue(diff.isAddition(0));
+		assertEquals(3, diff.getPosition(0));
+		assertFalse(diff.isAddition(1));
+		assertEquals(1, diff.getElement(1));
+	}
+
+	public static void addConformanceTest(TestSuite suite) {
+		suite.addTest(MutableObservableListContractTest.suite(new Delegate()));
+	}
+
+	/* package */static class Delegate extends AbstractObservableCollectionContractDelegate {
+		@Override
+		public Object createElement(IObservableCollection collection) {
+			return Long.valueOf(collection.size() + 1);
+		}
+
+		@Override
+		public Object getElementType(IObservableCollection collection) {
+			return Long.TYPE;
+		}
+
+		@Override
+		public IObservableCollection createObservableCollection(Realm realm, final int itemCount) {
+			WritableLongList observable = new WritableLongList(realm);
+			for (int i = 0; i < itemCount; i++) {
+				observable.addLong(i);
+			}
+			return observable;
+		}
+
+		@Override
+		public void change(IObservable observable) {
+			((WritableLongList) observable).addLong(-1);
+		}
+	}
+}
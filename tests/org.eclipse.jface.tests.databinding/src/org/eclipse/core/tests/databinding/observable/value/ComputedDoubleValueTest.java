@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.list.WritableDoubleList;
+import org.eclipse.core.databinding.observable.value.ComputedDoubleValue;
+import org.eclipse.core.databinding.observable.value.DoubleValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.IObservableDoubleValue;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableDoubleValue;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Test;
+
+public class ComputedDoubleValueTest extends AbstractDefaultRealmTestCase {
+	@Test
+	public void testCalculatesLazily() throws Exception {
+		WritableDoubleValue a = new WritableDoubleValue(1.0);
+		int[] calculations = new int[1];
+		IObservableDoubleValue doubled = ComputedDoubleValue.create(() -> {
+			calculations[0]++;
+			return a.getDoubleValue() * 2.0;
+		});
+
+		assertEquals(2.0, doubled.getDoubleValue(), 0);
+		assertEquals(2.0, doubled.getDoubleValue(), 0);
+		assertEquals(1, calculations[0]);
+
+		a.setDoubleValue(5.0);
+		assertEquals("not recomputed until read", 1, calculations[0]);
+		assertEquals(10.0, doubled.getDoubleValue(), 0);
+		assertEquals(2, calculations[0]);
+	}
+
+	@Test
+	public void testValueChangeEventCarriesNewValue() throws Exception {
+		WritableDoubleList addends = new WritableDoubleList(new double[] { 1.0, 2.0 });
+		IObservableDoubleValue sum = ComputedDoubleValue.create(() -> {
+			double result = 0;
+			for (int i = 0; i < addends.size(); i++) {
+				result += addends.getDouble(i);
+			}
+			return result;
+		});
+		List<double[]> events = new ArrayList<>();
+		sum.addDoubleValueChangeListener(event -> events.add(new double[] { event.oldValue, event.newValue }));
+		List<ValueChangeEvent<? extends Double>> boxedEvents = new ArrayList<>();
+		sum.addValueChangeListener(boxedEvents::add);
+
+		addends.addDouble(10.0);
+
+		assertEquals(1, events.size());
+		assertEquals(3.0, events.get(0)[0], 0);
+		assertEquals(13.0, events.get(0)[1], 0);
+		assertEquals(1, boxedEvents.size());
+		assertEquals(Double.valueOf(13.0), boxedEvents.get(0).diff.getNewValue());
+	}
+
+	@Test
+	public void testNoValueChangeEventIfValueUnchanged() throws Exception {
+		WritableDoubleValue a = new WritableDoubleValue(1.0);
+		IObservableDoubleValue parity = ComputedDoubleValue.create(() -> a.getDoubleValue() % 2.0);
+		int[] changeCount = new int[1];
+		int[] valueChangeCount = new int[1];
+		parity.addChangeListener(event -> changeCount[0]++);
+		parity.addDoubleValueChangeListener(event -> valueChangeCount[0]++);
+
+		a.setDoubleValue(3.0);
+		assertEquals(1, changeCount[0]);
+		assertEquals(0, valueChangeCount[0]);
+
+		a.setDoubleValue(4.0);
+		assertEquals(2, changeCount[0]);
+		assertEquals(1, valueChangeCount[0]);
+		assertEquals(0.0, parity.getDoubleValue(), 0);
+	}
+
+	@Test
+	public void testNaNIsNotAChange() throws Exception {
+		WritableDoubleValue a = new WritableDoubleValue(-1.0);
+		IObservableDoubleValue root = ComputedDoubleValue.create(() -> Math.sqrt(a.getDoubleValue()));
+		List<DoubleValueChangeEvent> events = new ArrayList<>();
+		root.addDoubleValueChangeListener(events::add);
+
+		a.setDoubleValue(-4.0);
+		assertEquals(0, events.size());
+		assertTrue(Double.isNaN(root.getDoubleValue()));
+
+		a.setDoubleValue(4.0);
+		assertEquals(1, events.size());
+		assertEquals(2.0, events.get(0).newValue, 0);
+	}
+
+	@Test
+	public void testValueType() throws Exception {
+		IObservableDoubleValue value = ComputedDoubleValue.create(() -> 1.0);
+		assertEquals(Double.TYPE, value.getValueType());
+		assertEquals(Double.valueOf(1.0), value.getValue());
+	}
+}
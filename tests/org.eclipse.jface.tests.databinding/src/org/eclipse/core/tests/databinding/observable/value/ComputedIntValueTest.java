@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.value;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.list.WritableIntList;
+import org.eclipse.core.databinding.observable.value.ComputedIntValue;
+import org.eclipse.core.databinding.observable.value.IObservableIntValue;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableIntValue;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Test;
+
+public class ComputedIntValueTest extends AbstractDefaultRealmTestCase {
+	@Test
+	public void testCalculatesLazily() throws Exception {
+		WritableIntValue a = new WritableIntValue(1);
+		int[] calculations = new int[1];
+		IObservableIntValue doubled = ComputedIntValue.create(() -> {
+			calculations[0]++;
+			return a.getIntValue() * 2;
+		});
+
+		assertEquals(2, doubled.getIntValue());
+		assertEquals(2, doubled.getIntValue());
+		assertEquals(1, calculations[0]);
+
+		a.setIntValue(5);
+		assertEquals("not recomputed until read", 1, calculations[0]);
+		assertEquals(10, doubled.getIntValue());
+		assertEquals(2, calculations[0]);
+	}
+
+	@Test
+	public void testValueChangeEventCarriesNewValue() throws Exception {
+		WritableIntList addends = new WritableIntList(new int[] { 1, 2 });
+		IObservableIntValue sum = ComputedIntValue.create(() -> {
+			int result = 0;
+			for (int i = 0; i < addends.size(); i++) {
+				result += addends.getInt(i);
+			}
+			return result;
+		});
+		List<int[]> events = new ArrayList<>();
+		sum.addIntValueChangeListener(event -> events.add(new int[] { event.oldValue, event.newValue }));
+		List<ValueChangeEvent<? extends Integer>> boxedEvents = new ArrayList<>();
+		sum.addValueChangeListener(boxedEvents::add);
+
+		addends.addInt(10);
+
+		assertEquals(1, events.size());
+		assertEquals(3, events.get(0)[0]);
+		assertEquals(13, events.get(0)[1]);
+		assertEquals(1, boxedEvents.size());
+		assertEquals(Integer.valueOf(13), boxedEvents.get(0).diff.getNewValue());
+	}
+
+	@Test
+	public void testNoValueChangeEventIfValueUnchanged() throws Exception {
+		WritableIntValue a = new WritableIntValue(1);
+		IObservableIntValue parity = ComputedIntValue.create(() -> a.getIntValue() % 2);
+		int[] changeCount = new int[1];
+		int[] valueChangeCount = new int[1];
+		parity.addChangeListener(event -> changeCount[0]++);
+		parity.addIntValueChangeListener(event -> valueChangeCount[0]++);
+
+		a.setIntValue(3);
+		assertEquals(1, changeCount[0]);
+		assertEquals(0, valueChangeCount[0]);
+
+		a.setIntValue(4);
+		assertEquals(2, changeCount[0]);
+		assertEquals(1, valueChangeCount[0]);
+		assertEquals(0, parity.getIntValue());
+	}
+
+	@Test
+	public void testValueType() throws Exception {
+		IObservableIntValue value = ComputedIntValue.create(() -> 1);
+		assertEquals(Integer.TYPE, value.getValueType());
+		assertEquals(Integer.valueOf(1), value.getValue());
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.value;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.list.WritableLongList;
+import org.eclipse.core.databinding.observable.value.ComputedLongValue;
+import org.eclipse.core.databinding.observable.value.IObservableLongValue;
+import org.eclipse.core.databinding.observable.value.LongValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableLongValue;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Test;
+
+public class ComputedLongValueTest extends AbstractDefaultRealmTestCase {
+	@Test
+	public void testCalculatesLazily() throws Exception {
+		WritableLongValue a = new WritableLongValue(1);
+		int[] calculations = new int[1];
+		IObservableLongValue doubled = ComputedLongValue.create(() -> {
+			calculations[0]++;
+			return a.getLongValue() * 2;
+		});
+
+		assertEquals(2, doubled.getLongValue());
+		assertEquals(2, doubled.getLongValue());
+		assertEquals(1, calculations[0]);
+
+		a.setLongValue(5);
+		assertEquals("not recomputed until read", 1, calculations[0]);
+		assertEquals(10, doubled.getLongValue());
+		assertEquals(2, calculations[0]);
+	}
+
+	@Test
+	public void testValueChangeEventCarriesNewValue() throws Exception {
+		WritableLongList addends = new WritableLongList(new long[] { 1, 2 });
+		IObservableLongValue sum = ComputedLongValue.create(() -> {
+			long result = 0;
+			for (int i = 0; i < addends.size(); i++) {
+				result += addends.getLong(i);
+			}
+			return result;
+		});
+		List<long[]> events = new ArrayList<>();
+		sum.addLongValueChangeListener(event -> events.add(new long[] { event.oldValue, event.newValue }));
+		List<ValueChangeEvent<? extends Long>> boxedEvents = new ArrayList<>();
+		sum.addValueChangeListener(boxedEvents::add);
+
+		addends.addLong(10);
+
+		assertEquals(1, events.size());
+		assertEquals(3, events.get(0)[0]);
+		assertEquals(13, events.get(0)[1]);
+		assertEquals(1, boxedEvents.size());
+		assertEquals(Long.valueOf(13), boxedEvents.get(0).diff.getNewValue());
+	}
+
+	@Test
+	public void testNoValueChangeEventIfValueUnchanged() throws Exception {
+		WritableLongValue a = new WritableLongValue(1);
+		IObservableLongValue parity = ComputedLongValue.create(() -> a.getLongValue() % 2);
+		int[] changeCount = new int[1];
+		int[] valueChangeCount = new int[1];
+		parity.addChangeListener(event -> changeCount[0]++);
+		parity.addLongValueChangeListener(event -> valueChangeCount[0]++);
+
+		a.setLongValue(3);
+		assertEquals(1, changeCount[0]);
+		assertEquals(0, valueChangeCount[0]);
+
+		a.setLongValue(4);
+		assertEquals(2, changeCount[0]);
+		assertEquals(1, valueChangeCount[0]);
+		assertEquals(0, parity.getLongValue());
+	}
+
+	@Test
+	public void testValueOutsideIntRange() throws Exception {
+		WritableLongValue a = new WritableLongValue(Integer.MAX_VALUE);
+		IObservableLongValue next = ComputedLongValue.create(() -> a.getLongValue() + 1);
+		List<LongValueChangeEvent> events = new ArrayList<>();
+		next.addLongValueChangeListener(events::add);
+
+		assertEquals(Integer.MAX_VALUE + 1L, next.getLongValue());
+		a.setLongValue(Long.MAX_VALUE - 1);
+		assertEquals(1, events.size());
+		assertEquals(Long.MAX_VALUE, events.get(0).newValue);
+	}
+
+	@Test
+	public void testValueType() throws Exception {
+		IObservableLongValue value = ComputedLongValue.create(() -> 1);
+		assertEquals(Long.TYPE, value.getValueType());
+		assertEquals(Long.valueOf(1), value.getValue());
+	}
+}
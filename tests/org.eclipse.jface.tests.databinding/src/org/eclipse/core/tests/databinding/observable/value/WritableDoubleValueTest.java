@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.Observables;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.value.DoubleValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.IObservableDoubleValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableDoubleValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.jface.databinding.conformance.MutableObservableValueContractTest;
+import org.eclipse.jface.databinding.conformance.delegate.AbstractObservableValueContractDelegate;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class WritableDoubleValueTest extends AbstractDefaultRealmTestCase {
+	@Test
+	public void testValueType() throws Exception {
+		WritableDoubleValue value = new WritableDoubleValue(5.0);
+		assertEquals(Double.TYPE, value.getValueType());
+		assertEquals(5.0, value.getDoubleValue(), 0);
+		assertEquals(Double.valueOf(5.0), value.getValue());
+	}
+
+	@Test
+	public void testSetDoubleValueNotifiesDoubleListeners() throws Exception {
+		WritableDoubleValue value = new WritableDoubleValue(1.0);
+		List<double[]> events = new ArrayList<>();
+		value.addDoubleValueChangeListener(event -> {
+			assertSame(value, event.getObservableDoubleValue());
+			events.add(new double[] { event.oldValue, event.newValue });
+		});
+
+		value.setDoubleValue(2.0);
+		value.setDoubleValue(2.0);
+		value.setValue(Double.valueOf(3.0));
+
+		assertEquals("no event if the value did not change", 2, events.size());
+		assertEquals(1.0, events.get(0)[0], 0);
+		assertEquals(2.0, events.get(0)[1], 0);
+		assertEquals(2.0, events.get(1)[0], 0);
+		assertEquals(3.0, events.get(1)[1], 0);
+	}
+
+	@Test
+	public void testGenericListenersReceiveBoxedValues() throws Exception {
+		WritableDoubleValue value = new WritableDoubleValue(1.0);
+		List<ValueChangeEvent<? extends Double>> events = new ArrayList<>();
+		int[] changeCount = new int[1];
+		value.addValueChangeListener(events::add);
+		value.addChangeListener(event -> changeCount[0]++);
+
+		value.setDoubleValue(7.0);
+
+		assertEquals(1, changeCount[0]);
+		assertEquals(1, events.size());
+		assertEquals(Double.valueOf(1.0), events.get(0).diff.getOldValue());
+		assertEquals(Double.valueOf(7.0), events.get(0).diff.getNewValue());
+	}
+
+	@Test
+	public void testSetNullValue() throws Exception {
+		WritableDoubleValue value = new WritableDoubleValue(1.0);
+		try {
+			value.setValue(null);
+			fail("NullPointerException should have been thrown.");
+		} catch (NullPointerException e) {
+		}
+		assertEquals(1.0, value.getDoubleValue(), 0);
+	}
+
+	@Test
+	public void testNaNIsNotAChange() throws Exception {
+		WritableDoubleValue value = new WritableDoubleValue(Double.NaN);
+		List<DoubleValueChangeEvent> events = new ArrayList<>();
+		value.addDoubleValueChangeListener(events::add);
+
+		value.setDoubleValue(Double.NaN);
+		assertEquals(0, events.size());
+
+		value.setDoubleValue(0.5);
+		assertEquals(1, events.size());
+	}
+
+	@Test
+	public void testDoubleObservableValueAdapter() throws Exception {
+		WritableValue<Double> wrapped = new WritableValue<>(null, Double.class);
+		IObservableDoubleValue value = Observables.doubleObservableValue(wrapped);
+		assertEquals("null is read as 0", 0.0, value.getDoubleValue(), 0);
+
+		List<DoubleValueChangeEvent> events = new ArrayList<>();
+		value.addDoubleValueChangeListener(events::add);
+
+		wrapped.setValue(Double.valueOf(4.0));
+		assertEquals(1, events.size());
+		assertEquals(4.0, value.getDoubleValue(), 0);
+
+		value.setDoubleValue(6.0);
+		assertEquals(Double.valueOf(6.0), wrapped.getValue());
+		assertEquals(2, events.size());
+
+		WritableDoubleValue doubleValue = new WritableDoubleValue();
+		assertSame(doubleValue, Observables.doubleObservableValue(doubleValue));
+	}
+
+	public static void addConformanceTest(TestSuite suite) {
+		suite.addTest(MutableObservableValueContractTest.suite(new Delegate()));
+	}
+
+	/* package */static class Delegate extends AbstractObservableValueContractDelegate {
+		@Override
+		public IObservableValue createObservableValue(Realm realm) {
+			return new WritableDoubleValue(realm, 0.0);
+		}
+
+		@Override
+		public void change(IObservable observable) {
+			IObservableDoubleValue observableValue = (IObservableDoubleValue) observable;
+			observableValue.setDoubleValue(observableValue.getDoubleValue() + 1.0);
+		}
+
+		@Override
+		public Object getValueType(IObservableValue observable) {
+			return Double.TYPE;
+		}
+
+		@Override
+		public Object createValue(IObservableValue observable) {
+			return Double.valueOf(((IObservableDoubleValue) observable).getDoubleValue() + 1.0);
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.Observables;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.value.IObservableIntValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IntValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableIntValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.jface.databinding.conformance.MutableObservableValueContractTest;
+import org.eclipse.jface.databinding.conformance.delegate.AbstractObservableValueContractDelegate;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class WritableIntValueTest extends AbstractDefaultRealmTestCase {
+	@Test
+	public void testValueType() throws Exception {
+		WritableIntValue value = new WritableIntValue(5);
+		assertEquals(Integer.TYPE, value.getValueType());
+		assertEquals(5, value.getIntValue());
+		assertEquals(Integer.valueOf(5), value.getValue());
+	}
+
+	@Test
+	public void testSetIntValueNotifiesIntListeners() throws Exception {
+		WritableIntValue value = new WritableIntValue(1);
+		List<int[]> events = new ArrayList<>();
+		value.addIntValueChangeListener(event -> {
+			assertSame(value, event.getObservableIntValue());
+			events.add(new int[] { event.oldValue, event.newValue });
+		});
+
+		value.setIntValue(2);
+		value.setIntValue(2);
+		value.setValue(Integer.valueOf(3));
+
+		assertEquals("no event if the value did not change", 2, events.size());
+		assertEquals(1, events.get(0)[0]);
+		assertEquals(2, events.get(0)[1]);
+		assertEquals(2, events.get(1)[0]);
+		assertEquals(3, events.get(1)[1]);
+	}
+
+	@Test
+	public void testGenericListenersReceiveBoxedValues() throws Exception {
+		WritableIntValue value = new WritableIntValue(1);
+		List<ValueChangeEvent<? extends Integer>> events = new ArrayList<>();
+		int[] changeCount = new int[1];
+		value.addValueChangeListener(events::add);
+		value.addChangeListener(event -> changeCount[0]++);
+
+		value.setIntValue(7);
+
+		assertEquals(1, changeCount[0]);
+		assertEquals(1, events.size());
+		assertEquals(Integer.valueOf(1), events.get(0).diff.getOldValue());
+		assertEquals(Integer.valueOf(7), events.get(0).diff.getNewValue());
+	}
+
+	@Test
+	public void testSetNullValue() throws Exception {
+		WritableIntValue value = new WritableIntValue(1);
+		try {
+			value.setValue(null);
+			fail("NullPointerException should have been thrown.");
+		} catch (NullPointerException e) {
+		}
+		assertEquals(1, value.getIntValue());
+	}
+
+	@Test
+	public void testIntObservableValueAdapter() throws Exception {
+		WritableValue<Integer> wrapped = new WritableValue<>(null, Integer.class);
+		IObservableIntValue value = Observables.intObservableValue(wrapped);
+		assertEquals("null is read as 0", 0, value.getIntValue());
+
+		List<IntValueChangeEvent> events = new ArrayList<>();
+		value.addIntValueChangeListener(events::add);
+
+		wrapped.setValue(Integer.valueOf(4));
+		assertEquals(1, events.size());
+		assertEquals(4, value.getIntValue());
+
+		value.setIntValue(6);
+		assertEquals(Integer.valueOf(6), wrapped.getValue());
+		assertEquals(2, events.size());
+
+		WritableIntValue intValue = new WritableIntValue();
+		assertSame(intValue, Observables.intObservableValue(intValue));
+	}
+
+	public static void addConformanceTest(TestSuite suite) {
+		suite.addTest(MutableObservableValueContractTest.suite(new Delegate()));
+	}
+
+	/* package */static class Delegate extends AbstractObservableValueContractDelegate {
+		@Override
+		public IObservableValue createObservableValue(Realm realm) {
+			return new WritableIntValue(realm, 0);
+		}
+
+		@Override
+		public void change(IObservable observable) {
+			IObservableIntValue observableValue = (IObservableIntValue) observable;
+			observableValue.setIntValue(observableValue.getIntValue() + 1);
+		}
+
+		@Override
+		public Object getValueType(IObservableValue observable) {
+			return Integer.TYPE;
+		}
+
+		@Override
+		public Object createValue(IObservableValue observable) {
+			return Integer.valueOf(((IObservableIntValue) observable).getIntValue() + 1);
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable.value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.Observables;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.value.IObservableLongValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.LongValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableLongValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.jface.databinding.conformance.MutableObservableValueContractTest;
+import org.eclipse.jface.databinding.conformance.delegate.AbstractObservableValueContractDelegate;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class WritableLongValueTest extends AbstractDefaultRealmTestCase {
+	@Test
+	public void testValueType() throws Exception {
+		WritableLongValue value = new WritableLongValue(5);
+		assertEquals(Long.TYPE, value.getValueType());
+		assertEquals(5, value.getLongValue());
+		assertEquals(Long.valueOf(5), value.getValue());
+	}
+
+	@Test
+	public void testSetLongValueNotifiesLongListeners() throws Exception {
+		WritableLongValue value = new WritableLongValue(1);
+		List<long[]> events = new ArrayList<>();
+		value.addLongValueChangeListener(event -> {
+			assertSame(value, event.getObservableLongValue());
+			events.add(new long[] { event.oldValue, event.newValue });
+		});
+
+		value.setLongValue(2);
+		value.setLongValue(2);
+		value.setValue(Long.valueOf(3));
+
+		assertEquals("no event if the value did not change", 2, events.size());
+		assertEquals(1, events.get(0)[0]);
+		assertEquals(2, events.get(0)[1]);
+		assertEquals(2, events.get(1)[0]);
+		assertEquals(3, events.get(1)[1]);
+	}
+
+	@Test
+	public void testGenericListenersReceiveBoxedValues() throws Exception {
+		WritableLongValue value = new WritableLongValue(1);
+		List<ValueChangeEvent<? extends Long>> events = new ArrayList<>();
+		int[] changeCount = new int[1];
+		value.addValueChangeListener(events::add);
+		value.addChangeListener(event -> changeCount[0]++);
+
+		value.setLongValue(7);
+
+		assertEquals(1, changeCount[0]);
+		assertEquals(1, events.size());
+		assertEquals(Long.valueOf(1), events.get(0).diff.getOldValue());
+		assertEquals(Long.valueOf(7), events.get(0).diff.getNewValue());
+	}
+
+	@Test
+	public void testSetNullValue() throws Exception {
+		WritableLongValue value = new WritableLongValue(1);
+		try {
+			value.setValue(null);
+			fail("NullPointerException should have been thrown.");
+		} catch (NullPointerException e) {
+		}
+		assertEquals(1, value.getLongValue());
+	}
+
+	@Test
+	public void testLongObservableValueAdapter() throws Exception {
+		WritableValue<Long> wrapped = new WritableValue<>(null, Long.class);
+		IObservableLongValue value = Observables.longObservableValue(wrapped);
+		assertEquals("null is read as 0", 0, value.getLongValue());
+
+		List<LongValueChangeEvent> events = new ArrayList<>();
+		value.addLongValueChangeListener(events::add);
+
+		wrapped.setValue(Long.valueOf(4));
+		assertEquals(1, events.size());
+		assertEquals(4, value.getLongValue());
+
+		value.setLongValue(6);
+		assertEquals(Long.valueOf(6), wrapped.getValue());
+		assertEquals(2, events.size());
+
+		WritableLongValue longValue = new WritableLongValue();
+		assertSame(longValue, Observables.longObservableValue(longValue));
+	}
+
+	public static void addConformanceTest(TestSuite suite) {
+		suite.addTest(MutableObservableValueContractTest.suite(new Delegate()));
+	}
+
+	/* package */static class Delegate extends AbstractObservableValueContractDelegate {
+		@Override
+		public IObservableValue createObservableValue(Realm realm) {
+			return new WritableLongValue(realm, 0);
+		}
+
+		@Override
+		public void change(IObservable observable) {
+			IObservableLongValue observableValue = (IObservableLongValue) observable;
+			observableValue.setLongValue(observableValue.getLongValue() + 1);
+		}
+
+		@Override
+		public Object getValueType(IObservableValue observable) {
+			return Long.TYPE;
+		}
+
+		@Override
+		public Object createValue(IObservableValue observable) {
+			return Long.valueOf(((IObservableLongValue) observable).getLongValue() + 1);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.core.tests.databinding.BindingTest;
 import org.eclipse.core.tests.databinding.DatabindingContextTest;
 import org.eclipse.core.tests.databinding.ListBindingTest;
 import org.eclipse.core.tests.databinding.ObservablesManagerTest;
+import org.eclipse.core.tests.databinding.PropagationSchedulerTest;
 import org.eclipse.core.tests.databinding.SideEffectTest;
 import org.eclipse.core.tests.databinding.UpdateListStrategyTest;
 import org.eclipse.core.tests.databinding.UpdateSetStrategyTest;
@@ -45,6 +46,7 @@ import org.eclipse.core.tests.databinding.beans.PojoObservablesTest;
 import org.eclipse.core.tests.databinding.beans.PojoPropertiesTest;
 import org.eclipse.core.tests.databinding.beans.SetOnlyJavaBeanTest;
 import org.eclipse.core.tests.databinding.conversion.NumberToStringConverterTest;
+import org.eclipse.core.tests.databinding.conversion.PrimitiveConverterTest;
 import org.eclipse.core.tests.databinding.conversion.StringToNumberConverterTest;
 import org.eclipse.core.tests.databinding.observable.AbstractObservableTest;
 import org.eclipse.core.tests.databinding.observable.ChangeSupportTest;
@@ -60,7 +62,10 @@ import org.eclipse.core.tests.databinding.observable.list.ListDiffTest;
 import org.eclipse.core.tests.databinding.observable.list.ListDiffVisitorTest;
 import org.eclipse.core.tests.databinding.observable.list.MultiListTest;
 import org.eclipse.core.tests.databinding.observable.list.ObservableListTest;
+import org.eclipse.core.tests.databinding.observable.list.WritableDoubleListTest;
+import org.eclipse.core.tests.databinding.observable.list.WritableIntListTest;
 import org.eclipse.core.tests.databinding.observable.list.WritableListTest;
+import org.eclipse.core.tests.databinding.observable.list.WritableLongListTest;
 import org.eclipse.core.tests.databinding.observable.map.AbstractObservableMapTest;
 import org.eclipse.core.tests.databinding.observable.map.BidiObservableMapTest;
 import org.eclipse.core.tests.databinding.observable.map.CompositeMapTest;
@@ -71,9 +76,15 @@ import org.eclipse.core.tests.databinding.observable.set.ComputedSetTest;
 import org.eclipse.core.tests.databinding.observable.set.WritableSetTest;
 import org.eclipse.core.tests.databinding.observable.value.AbstractObservableValueTest;
 import org.eclipse.core.tests.databinding.observable.value.AbstractVetoableValueTest;
+import org.eclipse.core.tests.databinding.observable.value.ComputedDoubleValueTest;
+import org.eclipse.core.tests.databinding.observable.value.ComputedIntValueTest;
+import org.eclipse.core.tests.databinding.observable.value.ComputedLongValueTest;
 import org.eclipse.core.tests.databinding.observable.value.ComputedValueTest;
 import org.eclipse.core.tests.databinding.observable.value.DateAndTimeObservableValueTest;
 import org.eclipse.core.tests.databinding.observable.value.DuplexingObservableValueTest;
+import org.eclipse.core.tests.databinding.observable.value.WritableDoubleValueTest;
+import org.eclipse.core.tests.databinding.observable.value.WritableIntValueTest;
+import org.eclipse.core.tests.databinding.observable.value.WritableLongValueTest;
 import org.eclipse.core.tests.databinding.observable.value.WritableValueTest;
 import org.eclipse.core.tests.databinding.util.PolicyTest;
 import org.eclipse.core.tests.databinding.validation.MultiValidatorTest;
@@ -233,7 +244,8 @@ import org.junit.runners.Suite.SuiteClasses;
 		CheckableCheckedElementsObservableSetTest.class, CLabelObservableValueTest.class,
 		ComboObservableValueSelectionTest.class, ComboObservableValueTest.class, ComboObservableValueTextTest.class,
 		ComboSingleSelectionObservableValueTest.class, CompositeMapTest.class, ComputedListTest.class,
-		ComputedObservableMapTest.class, ComputedSetTest.class, ComputedValueTest.class,
+		ComputedObservableMapTest.class, ComputedSetTest.class, ComputedDoubleValueTest.class, ComputedIntValueTest.class,
+		ComputedLongValueTest.class, ComputedValueTest.class,
 		ConstantObservableValueTest.class, ControlObservableValueTest.class, ConverterValuePropertyTest.class,
 		DatabindingContextTest.class, DateAndTimeObservableValueTest.class, DateConversionSupportTest.class,
 		DateTimeCalendarObservableValueTest.class, DateTimeDateObservableValueTest.class,
@@ -261,7 +273,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		ObservableMapTest.class, ObservableSetContentProviderTest.class, ObservableSetTreeContentProviderTest.class,
 		ObservablesManagerTest.class, ObservablesTest.class, ObservableTrackerTest.class,
 		ObservableValueEditingSupportTest.class, PojoObservablesTest.class, PojoPropertiesTest.class, PolicyTest.class,
-		PreferencePageSupportTest.class, QueueTest.class, RealmTest.class, ScaleObservableValueMaxTest.class,
+		PreferencePageSupportTest.class, PrimitiveConverterTest.class, PropagationSchedulerTest.class, QueueTest.class, RealmTest.class, ScaleObservableValueMaxTest.class,
 		ScaleObservableValueMinTest.class, ScaleObservableValueSelectionTest.class,
 		SelectionProviderMultiSelectionObservableListTest.class,
 		SelectionProviderSingleSelectionObservableValueTest.class, SetDetailValueObservableMapTest.class,
@@ -284,7 +296,9 @@ import org.junit.runners.Suite.SuiteClasses;
 		ValidationStatusTest.class, ValueBindingTest.class, ViewerElementMapTest.class, ViewerElementSetTest.class,
 		ViewerElementWrapperTest.class, ViewerInputObservableValueTest.class, ViewersObservablesTest.class,
 		ViewerSupportTest.class, WidgetObservableThreadTest.class, WidgetPropertiesTest.class,
-		WizardPageSupportTest.class, WritableListTest.class, WritableMapTest.class, WritableSetTest.class,
+		WizardPageSupportTest.class, WritableDoubleListTest.class, WritableDoubleValueTest.class,
+		WritableIntListTest.class, WritableIntValueTest.class, WritableListTest.class, WritableLongListTest.class,
+		WritableLongValueTest.class, WritableMapTest.class, WritableSetTest.class,
 		WritableValueTest.class })
 public class BindingTestSuite {
 }
\ No newline at end of file
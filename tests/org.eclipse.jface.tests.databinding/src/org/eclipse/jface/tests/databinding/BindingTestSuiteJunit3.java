@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,7 +32,10 @@ import org.eclipse.core.tests.databinding.observable.list.ComputedListTest;
 import org.eclipse.core.tests.databinding.observable.list.DecoratingObservableListTest;
 import org.eclipse.core.tests.databinding.observable.list.MultiListTest;
 import org.eclipse.core.tests.databinding.observable.list.ObservableListTest;
+import org.eclipse.core.tests.databinding.observable.list.WritableDoubleListTest;
+import org.eclipse.core.tests.databinding.observable.list.WritableIntListTest;
 import org.eclipse.core.tests.databinding.observable.list.WritableListTest;
+import org.eclipse.core.tests.databinding.observable.list.WritableLongListTest;
 import org.eclipse.core.tests.databinding.observable.set.AbstractObservableSetTest;
 import org.eclipse.core.tests.databinding.observable.set.ComputedSetTest;
 import org.eclipse.core.tests.databinding.observable.set.DecoratingObservableSetTest;
@@ -41,6 +44,9 @@ import org.eclipse.core.tests.databinding.observable.set.UnionSetTest;
 import org.eclipse.core.tests.databinding.observable.set.WritableSetTest;
 import org.eclipse.core.tests.databinding.observable.value.DecoratingObservableValueTest;
 import org.eclipse.core.tests.databinding.observable.value.SelectObservableValueTest;
+import org.eclipse.core.tests.databinding.observable.value.WritableDoubleValueTest;
+import org.eclipse.core.tests.databinding.observable.value.WritableIntValueTest;
+import org.eclipse.core.tests.databinding.observable.value.WritableLongValueTest;
 import org.eclipse.core.tests.databinding.observable.value.WritableValueTest;
 import org.eclipse.core.tests.internal.databinding.beans.BeanObservableListDecoratorTest;
 import org.eclipse.core.tests.internal.databinding.beans.JavaBeanObservableArrayBasedListTest;
@@ -165,7 +171,13 @@ public class BindingTestSuiteJunit3 {
 		ValidatedObservableSetTest.addConformanceTest(suite);
 		ValidatedObservableValueTest.addConformanceTest(suite);
 		ViewerInputObservableValueTest.addConformanceTest(suite);
+		WritableDoubleListTest.addConformanceTest(suite);
+		WritableDoubleValueTest.addConformanceTest(suite);
+		WritableIntListTest.addConformanceTest(suite);
+		WritableIntValueTest.addConformanceTest(suite);
 		WritableListTest.addConformanceTest(suite);
+		WritableLongListTest.addConformanceTest(suite);
+		WritableLongValueTest.addConformanceTest(suite);
 		WritableSetTest.addConformanceTest(suite);
 		WritableValueTest.addConformanceTest(suite);
 		return suite;
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.tests.performance;
+
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.sideeffect.PropagationScheduler;
+import org.eclipse.core.databinding.observable.value.ComputedValue;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.ui.tests.performance.BasicPerformanceTest;
+
+/**
+ * Measures the propagation of a change through a graph of
+ * {@value #LAYER_COUNT} layers of {@value #LAYER_WIDTH} {@link ComputedValue}s,
+ * each computed from two neighbouring values of the layer above it and read by
+ * a value change listener as soon as it changes, like a binding would. Without
+ * the {@link PropagationScheduler}, a value is recomputed once for each path
+ * from the changed value to it.
+ */
+public class ComputedValuePropagationTest extends BasicPerformanceTest {
+
+	static final int LAYER_COUNT = 10;
+
+	static final int LAYER_WIDTH = 1000;
+
+	private static final int ITERATIONS = 20;
+
+	private final Realm realm = new Realm() {
+		@Override
+		public boolean isCurrent() {
+			return true;
+		}
+	};
+
+	private WritableValue<Integer>[] sources;
+
+	private int recomputations;
+
+	public ComputedValuePropagationTest(String testName) {
+		super(testName);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		Realm.runWithDefault(realm, () -> {
+			sources = new WritableValue[LAYER_WIDTH];
+			for (int i = 0; i < LAYER_WIDTH; i++) {
+				sources[i] = new WritableValue<>(Integer.valueOf(i), Integer.class);
+			}
+			IObservableValue<Integer>[] layer = sources;
+			for (int l = 0; l < LAYER_COUNT; l++) {
+				IObservableValue<Integer>[] parents = layer;
+				IObservableValue<Integer>[] nodes = new IObservableValue[LAYER_WIDTH];
+				for (int i = 0; i < LAYER_WIDTH; i++) {
+					IObservableValue<Integer> left = parents[i];
+					IObservableValue<Integer> right = parents[(i + 1) % LAYER_WIDTH];
+					nodes[i] = new ComputedValue<Integer>(Integer.class) {
+						@Override
+						protected Integer calculate() {
+							recomputations++;
+							return Integer.valueOf(left.getValue().intValue() + right.getValue().intValue());
+						}
+					};
+					nodes[i].addValueChangeListener(event -> event.diff.getNewValue());
+				}
+				layer = nodes;
+			}
+		});
+	}
+
+	/**
+	 * Test the time for propagating a change with the scheduler.
+	 */
+	public void testPropagation() {
+		Realm.runWithDefault(realm, () -> {
+			for (int i = 0; i < ITERATIONS; i++) {
+				recomputations = 0;
+				startMeasuring();
+				int value = -i - 1;
+				PropagationScheduler.propagate(() -> sources[0].setValue(Integer.valueOf(value)));
+				stopMeasuring();
+				// each value computed from the changed one is computed once
+				assertEquals(LAYER_COUNT * (LAYER_COUNT + 3) / 2, recomputations);
+			}
+		});
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for propagating a change without the scheduler.
+	 */
+	public void testPropagationWithoutScheduler() {
+		Realm.runWithDefault(realm, () -> {
+			for (int i = 0; i < ITERATIONS; i++) {
+				startMeasuring();
+				sources[0].setValue(Integer.valueOf(-i - 1));
+				stopMeasuring();
+			}
+		});
+		commitMeasurements();
+		assertPerformance();
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.tests.performance;
+
+import java.util.Comparator;
+
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.deferred.DeferredTreeContentProvider;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.tests.performance.TestRunnable;
+
+/**
+ * Measures expanding all the elements of a virtual {@link TreeViewer} sorted
+ * by a {@link DeferredTreeContentProvider}, with {@value #CHILD_COUNT}
+ * children at each of its three levels for a million leaves.
+ */
+public class DeferredTreeViewerTest extends ViewerTest {
+
+	static final int CHILD_COUNT = 100;
+
+	private static final Comparator<TestElement> BY_TEXT = (e1, e2) -> e1.getText().compareTo(e2.getText());
+
+	private TreeViewer viewer;
+
+	private DeferredTreeContentProvider contentProvider;
+
+	private TestTreeElement input;
+
+	public DeferredTreeViewerTest(String testName, int tagging) {
+		super(testName, tagging);
+	}
+
+	public DeferredTreeViewerTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected StructuredViewer createViewer(Shell shell) {
+		viewer = new TreeViewer(shell, SWT.VIRTUAL | SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+		contentProvider = new DeferredTreeContentProvider(new ITreeContentProvider() {
+			@Override
+			public Object[] getElements(Object inputElement) {
+				return getChildren(inputElement);
+			}
+
+			@Override
+			public Object[] getChildren(Object parentElement) {
+				return ((TestTreeElement) parentElement).children;
+			}
+
+			@Override
+			public Object getParent(Object element) {
+				return ((TestTreeElement) element).parent;
+			}
+
+			@Override
+			public boolean hasChildren(Object element) {
+				return ((TestTreeElement) element).children.length > 0;
+			}
+		}, BY_TEXT);
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(getLabelProvider());
+		return viewer;
+	}
+
+	@Override
+	protected Object getInitialInput() {
+		input = new TestTreeElement(0, null);
+		input.createChildren(CHILD_COUNT);
+		for (TestTreeElement child : input.children) {
+			child.createChildren(CHILD_COUNT);
+			for (TestTreeElement grandChild : child.children) {
+				grandChild.createChildren(CHILD_COUNT);
+			}
+		}
+		return input;
+	}
+
+	/**
+	 * Test the time for setting the input and expanding all the elements.
+	 *
+	 * @throws Throwable
+	 */
+	public void testExpandAll() throws Throwable {
+		openBrowser();
+
+		exercise(new TestRunnable() {
+			@Override
+			public void run() {
+				viewer.setInput(null);
+				processEvents();
+				startMeasuring();
+				viewer.setInput(input);
+				viewer.expandAll();
+				processEvents();
+				stopMeasuring();
+			}
+		}, MIN_ITERATIONS / 4, ITERATIONS / 20,
+				JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for sorting the visible elements in a new order.
+	 *
+	 * @throws Throwable
+	 */
+	public void testSetSortOrder() throws Throwable {
+		openBrowser();
+		processEvents();
+
+		exercise(new TestRunnable() {
+			@Override
+			public void run() {
+				startMeasuring();
+				contentProvider.setSortOrder(BY_TEXT.reversed());
+				processEvents();
+				contentProvider.setSortOrder(BY_TEXT);
+				processEvents();
+				stopMeasuring();
+			}
+		}, MIN_ITERATIONS, ITERATIONS,
+				JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
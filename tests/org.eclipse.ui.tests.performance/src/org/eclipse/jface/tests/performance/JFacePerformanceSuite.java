@@ -51,6 +51,16 @@ public class JFacePerformanceSuite extends FilteredTestSuite {
 		addTest(new ProgressMonitorDialogPerformanceTest("testLongNames"));
 		addTest(new ShrinkingTreeTest("testTreeViewerRefresh"));
 		addTest(new CollatorPerformanceTest("testCollator"));
+		addTest(new TableViewerElementMapTest("testSetInput"));
+		addTest(new TableViewerElementMapTest("testRefresh"));
+		addTest(new TableViewerElementMapTest("testRemoveAndAdd"));
+		addTest(new TreeViewerElementMapTest("testSetInput"));
+		addTest(new TreeViewerElementMapTest("testRefresh"));
+		addTest(new TreeViewerElementMapTest("testRemoveAndAdd"));
+		addTest(new DeferredTreeViewerTest("testExpandAll"));
+		addTest(new DeferredTreeViewerTest("testSetSortOrder"));
+		addTest(new ComputedValuePropagationTest("testPropagation"));
+		addTest(new ComputedValuePropagationTest("testPropagationWithoutScheduler"));
 
 	}
 }
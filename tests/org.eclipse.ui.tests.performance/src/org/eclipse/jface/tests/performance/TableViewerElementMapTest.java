@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.tests.performance;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.tests.performance.TestRunnable;
+
+/**
+ * Measures the time and the heap used by a {@link TableViewer} of
+ * {@value #ELEMENT_COUNT} elements using the hash lookup, when setting the
+ * input, refreshing, and removing and adding elements.
+ */
+public class TableViewerElementMapTest extends ViewerTest {
+
+	static final int ELEMENT_COUNT = 100000;
+
+	static final int BATCH_SIZE = 1000;
+
+	private TableViewer viewer;
+
+	private TestElement[] elements;
+
+	public TableViewerElementMapTest(String testName, int tagging) {
+		super(testName, tagging);
+	}
+
+	public TableViewerElementMapTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected StructuredViewer createViewer(Shell shell) {
+		viewer = new TableViewer(shell);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.setLabelProvider(getLabelProvider());
+		return viewer;
+	}
+
+	@Override
+	protected Object getInitialInput() {
+		elements = new TestElement[ELEMENT_COUNT];
+		for (int i = 0; i < ELEMENT_COUNT; i++) {
+			elements[i] = new TestElement(i);
+		}
+		return elements;
+	}
+
+	/**
+	 * Test the time and heap for mapping all the elements to new items.
+	 *
+	 * @throws Throwable
+	 */
+	public void testSetInput() throws Throwable {
+		openBrowser();
+
+		exercise(new TestRunnable() {
+			@Override
+			public void run() {
+				viewer.setInput(null);
+				processEvents();
+				startMeasuring();
+				viewer.setInput(elements);
+				processEvents();
+				stopMeasuring();
+			}
+		}, MIN_ITERATIONS / 4, ITERATIONS / 10,
+				JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for refreshing all the elements.
+	 *
+	 * @throws Throwable
+	 */
+	public void testRefresh() throws Throwable {
+		openBrowser();
+
+		exercise(new TestRunnable() {
+			@Override
+			public void run() {
+				startMeasuring();
+				viewer.refresh();
+				processEvents();
+				stopMeasuring();
+			}
+		}, MIN_ITERATIONS / 4, ITERATIONS / 10,
+				JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for removing and adding back batches of
+	 * {@value #BATCH_SIZE} elements.
+	 *
+	 * @throws Throwable
+	 */
+	public void testRemoveAndAdd() throws Throwable {
+		openBrowser();
+
+		exercise(new TestRunnable() {
+			@Override
+			public void run() {
+				startMeasuring();
+				for (int i = 0; i < 10; i++) {
+					Object[] batch = new Object[BATCH_SIZE];
+					System.arraycopy(elements, i * ELEMENT_COUNT / 10, batch, 0,
+							BATCH_SIZE);
+					viewer.remove(batch);
+					viewer.add(batch);
+					processEvents();
+				}
+				stopMeasuring();
+			}
+		}, MIN_ITERATIONS / 4, ITERATIONS / 10,
+				JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.tests.performance;
+
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.tests.performance.TestRunnable;
+
+/**
+ * Measures the time and the heap used by a fully expanded {@link TreeViewer}
+ * of {@value #PARENT_COUNT} parents with {@value #CHILD_COUNT} children each,
+ * using the hash lookup, when setting the input, refreshing, and removing and
+ * adding elements.
+ */
+public class TreeViewerElementMapTest extends TreeTest {
+
+	static final int PARENT_COUNT = 100;
+
+	static final int CHILD_COUNT = 1000;
+
+	static final int BATCH_SIZE = 100;
+
+	private TestTreeElement input;
+
+	public TreeViewerElementMapTest(String testName, int tagging) {
+		super(testName, tagging);
+	}
+
+	public TreeViewerElementMapTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected StructuredViewer createViewer(Shell shell) {
+		StructuredViewer structuredViewer = super.createViewer(shell);
+		// measure the element map rather than the sorting
+		structuredViewer.setComparator(null);
+		return structuredViewer;
+	}
+
+	@Override
+	protected Object getInitialInput() {
+		input = new TestTreeElement(0, null);
+		input.createChildren(PARENT_COUNT);
+		for (TestTreeElement parent : input.children) {
+			parent.createChildren(CHILD_COUNT);
+		}
+		return input;
+	}
+
+	@Override
+	protected void openBrowser() {
+		super.openBrowser();
+		viewer.expandAll();
+		processEvents();
+	}
+
+	/**
+	 * Test the time and heap for mapping all the elements to new items.
+	 *
+	 * @throws Throwable
+	 */
+	public void testSetInput() throws Throwable {
+		openBrowser();
+
+		exercise(new TestRunnable() {
+			@Override
+			public void run() {
+				viewer.setInput(null);
+				processEvents();
+				startMeasuring();
+				viewer.setInput(input);
+				viewer.expandAll();
+				processEvents();
+				stopMeasuring();
+			}
+		}, MIN_ITERATIONS / 4, ITERATIONS / 10,
+				JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for refreshing all the elements.
+	 *
+	 * @throws Throwable
+	 */
+	public void testRefresh() throws Throwable {
+		openBrowser();
+
+		exercise(new TestRunnable() {
+			@Override
+			public void run() {
+				startMeasuring();
+				viewer.refresh();
+				processEvents();
+				stopMeasuring();
+			}
+		}, MIN_ITERATIONS / 4, ITERATIONS / 10,
+				JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for removing and adding back batches of
+	 * {@value #BATCH_SIZE} children in each tenth parent.
+	 *
+	 * @throws Throwable
+	 */
+	public void testRemoveAndAdd() throws Throwable {
+		openBrowser();
+
+		exercise(new TestRunnable() {
+			@Override
+			public void run() {
+				startMeasuring();
+				for (int i = 0; i < PARENT_COUNT; i += 10) {
+					TestTreeElement parent = input.children[i];
+					Object[] batch = new Object[BATCH_SIZE];
+					System.arraycopy(parent.children, 0, batch, 0, BATCH_SIZE);
+					viewer.remove(batch);
+					viewer.add(parent, batch);
+					processEvents();
+				}
+				stopMeasuring();
+			}
+		}, MIN_ITERATIONS / 4, ITERATIONS / 10,
+				JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.css.swt.dom.WidgetElement;
+import org.eclipse.e4.ui.css.swt.engine.CSSSWTEngineImpl;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.layout.RowLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.w3c.css.sac.InputSource;
+import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleSheet;
+import org.w3c.dom.stylesheets.StyleSheetList;
+
+/**
+ * Measures theming a synthetic widget tree of {@value #WIDGET_COUNT} widgets
+ * with the dark theme. The computed style lookup is measured both through the
+ * selector index of the {@link ViewCSSImpl} and with a linear scan over all
+ * rules, to compare the rule matching before and after indexing.
+ */
+public class CSSThemingPerformanceTest extends BasicPerformanceTest {
+
+	private static final String DARK_THEME = "platform:/plugin/org.eclipse.ui.themes/css/e4-dark.css";
+
+	private static final int WIDGET_COUNT = 5000;
+	private static final int WIDGETS_PER_COMPOSITE = 100;
+	private static final int ITERATIONS = 10;
+
+	private Shell shell;
+	private CSSEngine engine;
+	private List<Element> elements;
+
+	public CSSThemingPerformanceTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		Display display = Display.getCurrent();
+		if (display == null) {
+			display = new Display();
+		}
+		engine = new CSSSWTEngineImpl(display);
+		URL url = new URL(DARK_THEME);
+		try (InputStream stream = url.openStream()) {
+			InputSource source = new InputSource();
+			source.setURI(url.toString());
+			source.setByteStream(stream);
+			engine.parseStyleSheet(source);
+		}
+
+		shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		elements = new ArrayList<>(WIDGET_COUNT);
+		Composite parent = null;
+		for (int i = 0; i < WIDGET_COUNT; i++) {
+			if (i % WIDGETS_PER_COMPOSITE == 0) {
+				parent = new Composite(shell, SWT.NONE);
+				parent.setLayout(new RowLayout());
+				WidgetElement.setCSSClass(parent, "MPart");
+				elements.add(engine.getElement(parent));
+			}
+			Control control;
+			switch (i % 4) {
+			case 0:
+				control = new Label(parent, SWT.NONE);
+				break;
+			case 1:
+				control = new Button(parent, SWT.PUSH);
+				break;
+			case 2:
+				control = new Text(parent, SWT.BORDER);
+				break;
+			default:
+				control = new Composite(parent, SWT.NONE);
+				WidgetElement.setCSSClass(control, "MPartStack active");
+				break;
+			}
+			elements.add(engine.getElement(control));
+		}
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		super.doTearDown();
+		if (shell != null) {
+			shell.dispose();
+			shell = null;
+		}
+		if (engine != null) {
+			engine.dispose();
+			engine = null;
+		}
+	}
+
+	/**
+	 * Test the time for applying the dark theme to the whole widget tree.
+	 */
+	public void testApplyStyles() {
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			engine.applyStyles(shell, true);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for computing the styles of all widgets through the
+	 * selector index.
+	 */
+	public void testComputedStyleIndexed() {
+		ViewCSSImpl viewCSS = (ViewCSSImpl) engine.getViewCSS();
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			for (Element element : elements) {
+				viewCSS.getComputedStyle(element, null);
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for computing the styles of all widgets by matching every
+	 * selector of every rule, as done before the selector index existed.
+	 */
+	public void testComputedStyleLinearScan() {
+		ViewCSSImpl viewCSS = (ViewCSSImpl) engine.getViewCSS();
+		List<CSSRule> rules = new ArrayList<>();
+		StyleSheetList styleSheets = engine.getDocumentCSS().getStyleSheets();
+		for (int i = 0; i < styleSheets.getLength(); i++) {
+			CSSRuleList ruleList = ((CSSStyleSheet) styleSheets.item(i)).getCssRules();
+			for (int j = 0; j < ruleList.getLength(); j++) {
+				rules.add(ruleList.item(j));
+			}
+		}
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			for (Element element : elements) {
+				viewCSS.getComputedStyle(rules, element, null);
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.e4.ui.internal.workbench.E4BinaryResource;
+import org.eclipse.e4.ui.internal.workbench.E4BinaryResourceFactory;
+import org.eclipse.e4.ui.internal.workbench.E4XMIResource;
+import org.eclipse.e4.ui.internal.workbench.E4XMIResourceFactory;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.ui.advanced.MAdvancedFactory;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartSashContainer;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+/**
+ * Measures saving and loading an application model of about
+ * {@value #ELEMENT_COUNT} elements, in the XMI and in the binary format.
+ */
+public class ModelPersistencePerformanceTest extends BasicPerformanceTest {
+
+	private static final int ELEMENT_COUNT = 50000;
+	private static final int PERSPECTIVES = 100;
+	private static final int STACKS_PER_PERSPECTIVE = 10;
+	private static final int ITERATIONS = 5;
+
+	private File xmiFile;
+	private File binaryFile;
+
+	public ModelPersistencePerformanceTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		xmiFile = File.createTempFile("workbench", ".xmi");
+		binaryFile = File.createTempFile("workbench", "." + E4BinaryResource.FILE_EXTENSION);
+		E4XMIResource xmiResource = (E4XMIResource) createResource(xmiFile);
+		xmiResource.getContents().add((EObject) createApplication());
+		xmiResource.save(null);
+		E4XMIResource binaryResource = (E4XMIResource) createResource(binaryFile);
+		E4BinaryResource.moveContents(xmiResource, binaryResource);
+		binaryResource.save(null);
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		super.doTearDown();
+		xmiFile.delete();
+		binaryFile.delete();
+	}
+
+	/**
+	 * Test the time for loading the model from XMI.
+	 */
+	public void testLoadXMI() throws IOException {
+		measureLoad(xmiFile);
+	}
+
+	/**
+	 * Test the time for loading the model from the binary format.
+	 */
+	public void testLoadBinary() throws IOException {
+		measureLoad(binaryFile);
+	}
+
+	/**
+	 * Test the time for saving the model as XMI.
+	 */
+	public void testSaveXMI() throws IOException {
+		measureSave(xmiFile);
+	}
+
+	/**
+	 * Test the time for saving the model in the binary format.
+	 */
+	public void testSaveBinary() throws IOException {
+		measureSave(binaryFile);
+	}
+
+	private void measureLoad(File file) throws IOException {
+		for (int i = 0; i < ITERATIONS; i++) {
+			Resource resource = createResource(file);
+			startMeasuring();
+			resource.load(null);
+			stopMeasuring();
+			assertTrue(resource.getContents().get(0) instanceof MApplication);
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void measureSave(File file) throws IOException {
+		Resource resource = createResource(file);
+		resource.load(null);
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			resource.save(null);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private Resource createResource(File file) {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
+				.put(Resource.Factory.Registry.DEFAULT_EXTENSION, new E4XMIResourceFactory());
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(E4BinaryResource.FILE_EXTENSION,
+				new E4BinaryResourceFactory());
+		return resourceSet.createResource(URI.createFileURI(file.getAbsolutePath()));
+	}
+
+	/**
+	 * Creates a window with {@value #PERSPECTIVES} perspectives, each holding
+	 * stacks of parts, for a total of about {@value #ELEMENT_COUNT} elements.
+	 */
+	private MApplication createApplication() {
+		MApplication application = MApplicationFactory.INSTANCE.createApplication();
+		MTrimmedWindow window = MBasicFactory.INSTANCE.createTrimmedWindow();
+		application.getChildren().add(window);
+		MPerspectiveStack perspectiveStack = MAdvancedFactory.INSTANCE.createPerspectiveStack();
+		window.getChildren().add(perspectiveStack);
+
+		int partsPerStack = ELEMENT_COUNT / (PERSPECTIVES * STACKS_PER_PERSPECTIVE) - 1;
+		for (int p = 0; p < PERSPECTIVES; p++) {
+			MPerspective perspective = MAdvancedFactory.INSTANCE.createPerspective();
+			perspective.setElementId("perspective." + p);
+			perspectiveStack.getChildren().add(perspective);
+			MPartSashContainer sash = MBasicFactory.INSTANCE.createPartSashContainer();
+			perspective.getChildren().add(sash);
+			for (int s = 0; s < STACKS_PER_PERSPECTIVE; s++) {
+				MPartStack stack = MBasicFactory.INSTANCE.createPartStack();
+				stack.setElementId("stack." + p + '.' + s);
+				sash.getChildren().add(stack);
+				for (int i = 0; i < partsPerStack; i++) {
+					MPart part = MBasicFactory.INSTANCE.createPart();
+					part.setElementId("part." + p + '.' + s + '.' + i);
+					part.setLabel("Part " + i);
+					part.setContributionURI("bundleclass://org.eclipse.ui.tests.performance/Part" + i);
+					part.getTags().add("View");
+					part.getPersistedState().put("memento", "<memento id=\"" + i + "\"/>");
+					stack.getChildren().add(part);
+				}
+			}
+		}
+		return application;
+	}
+}
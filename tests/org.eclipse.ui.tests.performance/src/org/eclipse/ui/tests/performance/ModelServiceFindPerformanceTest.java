@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartSashContainer;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.e4.ui.workbench.modeling.EModelService;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Measures the searches of {@link EModelService} in an application model of
+ * about {@value #ELEMENT_COUNT} elements.
+ */
+public class ModelServiceFindPerformanceTest extends BasicPerformanceTest {
+
+	private static final int ELEMENT_COUNT = 50000;
+	private static final int PERSPECTIVES = 100;
+	private static final int STACKS_PER_PERSPECTIVE = 10;
+	private static final int ITERATIONS = 10;
+	private static final int SEARCHES = 1000;
+	private static final String TAG = "Searched";
+
+	private EModelService modelService;
+	private MApplication application;
+	private MTrimmedWindow window;
+
+	public ModelServiceFindPerformanceTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		modelService = PlatformUI.getWorkbench().getService(EModelService.class);
+		application = createApplication();
+	}
+
+	/**
+	 * Test the time for finding single elements by id with
+	 * {@link EModelService#find(String, org.eclipse.e4.ui.model.application.ui.MUIElement)}.
+	 */
+	public void testFindById() {
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			for (int j = 0; j < SEARCHES; j++) {
+				int p = j % PERSPECTIVES;
+				assertNotNull(modelService.find("part." + p + ".0." + j % 7, window));
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for searching an id which is not in the model.
+	 */
+	public void testFindMissingId() {
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			for (int j = 0; j < SEARCHES; j++) {
+				assertNull(modelService.find("missing." + j, window));
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for finding the elements with a tag.
+	 */
+	public void testFindByTag() {
+		List<String> tags = Collections.singletonList(TAG);
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			for (int j = 0; j < SEARCHES / 10; j++) {
+				assertEquals(PERSPECTIVES, modelService.findElements(window, null, MPart.class, tags,
+						EModelService.IN_ANY_PERSPECTIVE).size());
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for finding the elements of a type.
+	 */
+	public void testFindByType() {
+		for (int i = 0; i < ITERATIONS; i++) {
+			startMeasuring();
+			for (int j = 0; j < SEARCHES / 10; j++) {
+				assertEquals(PERSPECTIVES, modelService.findElements(application, null, MPlaceholder.class, null)
+						.size());
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Creates a window with {@value #PERSPECTIVES} perspectives, each holding
+	 * stacks of parts, for a total of about {@value #ELEMENT_COUNT} elements.
+	 * Each perspective has one tagged part and one placeholder.
+	 */
+	private MApplication createApplication() {
+		MApplication application = modelService.createModelElement(MApplication.class);
+		window = modelService.createModelElement(MTrimmedWindow.class);
+		application.getChildren().add(window);
+		MPerspectiveStack perspectiveStack = modelService.createModelElement(MPerspectiveStack.class);
+		window.getChildren().add(perspectiveStack);
+		MPart sharedPart = modelService.createModelElement(MPart.class);
+		sharedPart.setElementId("shared");
+		window.getSharedElements().add(sharedPart);
+
+		int partsPerStack = ELEMENT_COUNT / (PERSPECTIVES * STACKS_PER_PERSPECTIVE) - 1;
+		for (int p = 0; p < PERSPECTIVES; p++) {
+			MPerspective perspective = modelService.createModelElement(MPerspective.class);
+			perspective.setElementId("perspective." + p);
+			perspectiveStack.getChildren().add(perspective);
+			MPartSashContainer sash = modelService.createModelElement(MPartSashContainer.class);
+			perspective.getChildren().add(sash);
+			MPlaceholder placeholder = modelService.createModelElement(MPlaceholder.class);
+			placeholder.setRef(sharedPart);
+			sash.getChildren().add(placeholder);
+			for (int s = 0; s < STACKS_PER_PERSPECTIVE; s++) {
+				MPartStack stack = modelService.createModelElement(MPartStack.class);
+				stack.setElementId("stack." + p + '.' + s);
+				sash.getChildren().add(stack);
+				for (int i = 0; i < partsPerStack; i++) {
+					MPart part = modelService.createModelElement(MPart.class);
+					part.setElementId("part." + p + '.' + s + '.' + i);
+					if (s == 0 && i == 0) {
+						part.getTags().add(TAG);
+					}
+					stack.getChildren().add(part);
+				}
+			}
+		}
+		return application;
+	}
+}
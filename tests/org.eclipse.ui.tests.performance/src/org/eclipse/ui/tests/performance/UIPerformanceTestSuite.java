@@ -40,5 +40,8 @@ public class UIPerformanceTestSuite extends FilteredTestSuite {
 		addTest(new TestSuite(CommandsPerformanceTest.class));
 		addTest(new LabelProviderTestSuite());
 		addTest(new TestSuite(ProgressReportingTest.class));
+		addTest(new TestSuite(CSSThemingPerformanceTest.class));
+		addTest(new TestSuite(ModelPersistencePerformanceTest.class));
+		addTest(new TestSuite(ModelServiceFindPerformanceTest.class));
 	}
 }
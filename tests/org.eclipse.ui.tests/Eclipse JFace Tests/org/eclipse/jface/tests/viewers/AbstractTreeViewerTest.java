@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,6 +48,53 @@ public abstract class AbstractTreeViewerTest extends StructuredItemViewerTest {
 
     protected abstract int getItemCount(TestElement element); //was IElement
 
+    public void testBatchUpdate() {
+        TestElement first = fRootElement.getFirstChild();
+        TestElement first2 = first.getFirstChild();
+        fTreeViewer.expandToLevel(first, 1);
+        TestElement[] changed = new TestElement[2];
+        fTreeViewer.batchUpdate(() -> {
+            changed[0] = first.addChild(TestModelChange.INSERT);
+            changed[1] = first.addChild(TestModelChange.INSERT);
+            first.deleteChild(changed[1]);
+            first.deleteChild(first2);
+            first.setLabel(first.getLabel() + " changed");
+            assertNull("added child is not visible yet", fViewer.testFindItem(changed[0]));
+            assertNotNull("deleted child is still visible", fViewer.testFindItem(first2));
+        });
+        assertNotNull("added child is visible", fViewer.testFindItem(changed[0]));
+        assertNull("added and deleted child is not visible", fViewer.testFindItem(changed[1]));
+        assertNull("deleted child is not visible", fViewer.testFindItem(first2));
+        assertEquals("changed label", first.getID() + " " + first.getLabel(),
+                ((Item) fViewer.testFindItem(first)).getText());
+    }
+
+    public void testBatchUpdateNested() {
+        TestElement first = fRootElement.getFirstChild();
+        fTreeViewer.expandToLevel(first, 1);
+        TestElement[] added = new TestElement[2];
+        fTreeViewer.batchUpdate(() -> {
+            added[0] = first.addChild(TestModelChange.INSERT);
+            fTreeViewer.batchUpdate(() -> added[1] = first.addChild(TestModelChange.INSERT));
+            assertNull("nested add is not applied yet", fViewer.testFindItem(added[1]));
+            fTreeViewer.refresh(first);
+        });
+        assertNotNull("first added child is visible", fViewer.testFindItem(added[0]));
+        assertNotNull("second added child is visible", fViewer.testFindItem(added[1]));
+    }
+
+    public void testBatchUpdateRemoveThenInsert() {
+        TestElement last = fRootElement.getLastChild();
+        int count = getItemCount();
+        fTreeViewer.batchUpdate(() -> {
+            fTreeViewer.remove(last);
+            fTreeViewer.insert(fRootElement, last, 0);
+        });
+        assertNotNull("moved child is visible", fViewer.testFindItem(last));
+        assertEquals("item count", count, getItemCount());
+        assertEquals("moved child is first", last.getID() + " " + last.getLabel(), getItemText(0));
+    }
+
     public void testBulkExpand() {
         // navigate
         TestElement first = fRootElement.getFirstChild();
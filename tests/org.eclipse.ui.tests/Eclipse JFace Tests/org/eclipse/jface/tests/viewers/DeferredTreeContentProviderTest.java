@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.deferred.DeferredTreeContentProvider;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+
+/**
+ * Tests a TreeViewer with the VIRTUAL style sorted and filtered by a
+ * {@link DeferredTreeContentProvider}.
+ */
+public class DeferredTreeContentProviderTest extends ViewerTestCase {
+
+	private static final Comparator<TestElement> BY_ID_DESCENDING = (e1, e2) -> e2.getID().compareTo(e1.getID());
+
+	/**
+	 * More children than the content provider sorts in the UI thread.
+	 */
+	private static final int LARGE_CHILD_COUNT = 10001;
+
+	private static final long TIMEOUT = 30000;
+
+	private DeferredTreeContentProvider contentProvider;
+
+	public DeferredTreeContentProviderTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected StructuredViewer createViewer(Composite parent) {
+		TreeViewer treeViewer = new TreeViewer(parent, SWT.VIRTUAL | SWT.MULTI);
+		contentProvider = new DeferredTreeContentProvider(new ITreeContentProvider() {
+			@Override
+			public Object[] getElements(Object inputElement) {
+				return getChildren(inputElement);
+			}
+
+			@Override
+			public Object[] getChildren(Object parentElement) {
+				return ((TestElement) parentElement).getChildren();
+			}
+
+			@Override
+			public Object getParent(Object element) {
+				return ((TestElement) element).getContainer();
+			}
+
+			@Override
+			public boolean hasChildren(Object element) {
+				return ((TestElement) element).getChildCount() > 0;
+			}
+		}, BY_ID_DESCENDING);
+		treeViewer.setContentProvider(contentProvider);
+		return treeViewer;
+	}
+
+	private Tree getTree() {
+		return ((TreeViewer) fViewer).getTree();
+	}
+
+	private void assertItems(TreeItem[] items, TestElement[] expected) {
+		assertEquals("item count", expected.length, items.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals("item " + i, expected[i].toString(), items[i].getText());
+		}
+	}
+
+	private TestElement[] sortedChildren(TestElement parent) {
+		TestElement[] children = parent.getChildren();
+		Arrays.sort(children, BY_ID_DESCENDING);
+		return children;
+	}
+
+	public void testSortedElements() {
+		processEvents();
+		assertItems(getTree().getItems(), sortedChildren(fRootElement));
+	}
+
+	public void testSortedChildren() {
+		TestElement first = fRootElement.getFirstChild();
+		((TreeViewer) fViewer).expandToLevel(first, 1);
+		processEvents();
+		TestElement[] sortedRoots = sortedChildren(fRootElement);
+		TreeItem item = getTree().getItem(Arrays.asList(sortedRoots).indexOf(first));
+		assertItems(item.getItems(), sortedChildren(first));
+	}
+
+	public void testFilter() {
+		TestElement first = fRootElement.getFirstChild();
+		contentProvider.setFilter(element -> element != first);
+		processEvents();
+		TestElement[] sortedRoots = sortedChildren(fRootElement);
+		TestElement[] expected = new TestElement[sortedRoots.length - 1];
+		int count = 0;
+		for (TestElement element : sortedRoots) {
+			if (element != first) {
+				expected[count++] = element;
+			}
+		}
+		assertItems(getTree().getItems(), expected);
+	}
+
+	public void testSetSortOrder() {
+		processEvents();
+		contentProvider.setSortOrder(null);
+		processEvents();
+		assertItems(getTree().getItems(), fRootElement.getChildren());
+	}
+
+	public void testRemove() {
+		processEvents();
+		TestElement removed = sortedChildren(fRootElement)[2];
+		fRootElement.basicDeleteChild(removed);
+		((TreeViewer) fViewer).remove(removed);
+		// the items ask for their elements again
+		getTree().clearAll(true);
+		assertItems(getTree().getItems(), sortedChildren(fRootElement));
+	}
+
+	public void testCollapse() {
+		TestElement first = fRootElement.getFirstChild();
+		((TreeViewer) fViewer).expandToLevel(first, 1);
+		processEvents();
+		TreeItem item = getTree().getItem(Arrays.asList(sortedChildren(fRootElement)).indexOf(first));
+		TestElement removed = sortedChildren(first)[0];
+		assertEquals(removed.toString(), item.getItem(0).getText());
+
+		item.setExpanded(false);
+		Event event = new Event();
+		event.item = item;
+		getTree().notifyListeners(SWT.Collapse, event);
+		first.basicDeleteChild(removed);
+		item.clearAll(true);
+		item.setExpanded(true);
+		assertEquals(sortedChildren(first)[0].toString(), item.getItem(0).getText());
+	}
+
+	public void testBackgroundSort() {
+		TestElement[] children = addRootChildren(LARGE_CHILD_COUNT);
+		CountDownLatch sortStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		contentProvider.setSortOrder(blockingSortOrder(sortStarted, release));
+		assertTrue("The children were not sorted in the background",
+				waitUntil(() -> sortStarted.getCount() == 0));
+
+		// the children are shown in the order of the content provider meanwhile
+		assertEquals(LARGE_CHILD_COUNT, getTree().getItemCount());
+		for (int i = 0; i < 10; i++) {
+			assertEquals("item " + i, children[i].toString(), getTree().getItem(i).getText());
+		}
+
+		release.countDown();
+		TestElement[] sorted = sortedChildren(fRootElement);
+		assertTrue("The sorted children were not shown",
+				waitUntil(() -> sorted[0].toString().equals(getTree().getItem(0).getText())));
+		for (int i = 0; i < 10; i++) {
+			assertEquals("item " + i, sorted[i].toString(), getTree().getItem(i).getText());
+		}
+		int last = LARGE_CHILD_COUNT - 1;
+		assertEquals(sorted[last].toString(), getTree().getItem(last).getText());
+	}
+
+	public void testBackgroundSortCancelled() {
+		TestElement[] children = addRootChildren(LARGE_CHILD_COUNT);
+		CountDownLatch sortStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		contentProvider.setSortOrder(blockingSortOrder(sortStarted, release));
+		assertTrue("The children were not sorted in the background",
+				waitUntil(() -> sortStarted.getCount() == 0));
+
+		contentProvider.setSortOrder(null);
+		release.countDown();
+		assertTrue("The background sort did not end", waitUntil(() -> !isSortThreadAlive()));
+		processEvents();
+		for (int i = 0; i < 10; i++) {
+			assertEquals("item " + i, children[i].toString(), getTree().getItem(i).getText());
+		}
+	}
+
+	/**
+	 * Adds children to the root until it has the given number of children.
+	 *
+	 * @return the children of the root
+	 */
+	private TestElement[] addRootChildren(int count) {
+		while (fRootElement.getChildCount() < count) {
+			fRootElement.basicAddChild();
+		}
+		return fRootElement.getChildren();
+	}
+
+	/**
+	 * Returns a sort order which waits until the latch is released when it is
+	 * used outside of the UI thread.
+	 */
+	private static Comparator<TestElement> blockingSortOrder(CountDownLatch started, CountDownLatch release) {
+		Thread uiThread = Thread.currentThread();
+		return (e1, e2) -> {
+			if (Thread.currentThread() != uiThread) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return BY_ID_DESCENDING.compare(e1, e2);
+		};
+	}
+
+	private boolean waitUntil(BooleanSupplier condition) {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > end) {
+				return false;
+			}
+			processEvents();
+			sleep(10);
+		}
+		return true;
+	}
+
+	private static boolean isSortThreadAlive() {
+		String name = JFaceResources.getString("Sorting");
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (name.equals(thread.getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -14,7 +14,12 @@
 package org.eclipse.jface.tests.viewers;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import org.eclipse.jface.util.Policy;
+import org.eclipse.jface.viewers.CellLabelCache;
 import org.eclipse.jface.viewers.ColumnLayoutData;
 import org.eclipse.jface.viewers.ColumnViewer;
 import org.eclipse.jface.viewers.ColumnWeightData;
@@ -23,12 +28,14 @@ import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.TableLayout;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.ViewerColumn;
+import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
 
 public class TableViewerTest extends StructuredItemViewerTest {
 	public static class TableTestLabelProvider extends TestLabelProvider
@@ -196,6 +203,66 @@ public class TableViewerTest extends StructuredItemViewerTest {
 
 	}
 
+	public void testBackgroundRefresh() {
+		TableViewer tableviewer = (TableViewer) fViewer;
+		tableviewer.setBackgroundRefresh(true);
+		assertTrue("background refresh enabled", tableviewer.isBackgroundRefresh());
+		int count = getItemCount();
+		tableviewer.addFilter(new TestLabelFilter());
+		tableviewer.setComparator(new ViewerComparator());
+		new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return getItemCount() < count;
+			}
+		}.waitForCondition(fShell.getDisplay(), 3000);
 
+		List<String> expected = new ArrayList<>();
+		for (TestElement element : fRootElement.getChildren()) {
+			String label = element.getLabel();
+			if (Integer.parseInt(label.substring(label.indexOf('-') + 1)) % 2 == 0) {
+				expected.add(element.toString());
+			}
+		}
+		Collections.sort(expected, Policy.getComparator());
+		assertEquals("filtered item count", expected.size(), getItemCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals("sorted item " + i, expected.get(i), getItemText(i));
+		}
+
+		tableviewer.setBackgroundRefresh(false);
+		assertFalse("background refresh disabled", tableviewer.isBackgroundRefresh());
+		tableviewer.resetFilters();
+		assertEquals("unfiltered item count", count, getItemCount());
+	}
+
+	public void testLabelCache() {
+		TableViewer tableviewer = (TableViewer) fViewer;
+		TableTestLabelProvider provider = (TableTestLabelProvider) tableviewer.getLabelProvider();
+		tableviewer.setLabelCacheSize(1000);
+		CellLabelCache cache = tableviewer.getLabelCache();
+		tableviewer.refresh(true);
+		long missCount = cache.getMissCount();
+		assertTrue("cells cached", cache.size() > 0);
+
+		TestElement first = fRootElement.getFirstChild();
+		provider.fExtended = true;
+		tableviewer.refresh(true);
+		assertEquals("no label computed", missCount, cache.getMissCount());
+		assertTrue("labels from cache", cache.getHitCount() > 0);
+		assertEquals("cached label", first.toString(), getItemText(0));
+
+		tableviewer.update(first, null);
+		assertEquals("updated label", providedString(first), getItemText(0));
+		provider.fExtended = false;
+
+		tableviewer.setLabelCacheSize(2);
+		tableviewer.refresh(true);
+		assertTrue("cache size", tableviewer.getLabelCache().size() <= 2);
+		assertTrue("cells evicted", tableviewer.getLabelCache().getEvictionCount() > 0);
+
+		tableviewer.setLabelCacheSize(0);
+		assertNull("cache disabled", tableviewer.getLabelCache());
+	}
 
 }
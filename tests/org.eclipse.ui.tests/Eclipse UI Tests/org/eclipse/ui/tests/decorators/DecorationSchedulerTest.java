@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.decorators;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
+import org.eclipse.ui.internal.WorkbenchMessages;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.decorators.DecorationScheduler;
+import org.eclipse.ui.internal.decorators.DecoratorManager;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+
+/**
+ * The tests for the jobs of the decoration scheduler. The decoration of a
+ * blocker element holds the {@link SchedulerTestDecorator}, which is not
+ * declarative and so decorates one element at a time, while the elements are
+ * queued.
+ *
+ * @since 3.14
+ */
+public class DecorationSchedulerTest extends UITestCase implements ILabelProviderListener {
+
+	private static final String DECORATOR_ID = "org.eclipse.ui.tests.decorators.schedulerdecorator";
+
+	private static final long TIMEOUT = 30000;
+
+	/**
+	 * The elements decorated by the {@link SchedulerTestDecorator}.
+	 */
+	public static class Element {
+
+		private final String name;
+
+		Element(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	// The label updates that contained elements of the test
+	private int updateCount;
+
+	private final Set<Object> updatedElements = new HashSet<>();
+
+	public DecorationSchedulerTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		SchedulerTestDecorator.decorated.clear();
+		getDecoratorManager().setEnabled(DECORATOR_ID, true);
+		getDecoratorManager().addListener(this);
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		SchedulerTestDecorator.gate.countDown();
+		SchedulerTestDecorator.blocker = null;
+		getDecoratorManager().removeListener(this);
+		getDecoratorManager().setEnabled(DECORATOR_ID, false);
+		super.doTearDown();
+	}
+
+	public void testWorkerPool() {
+		Element blocker = block();
+		Element[] background = queueBackground(2 * DecorationScheduler.WORKER_COUNT);
+
+		assertTrue("The decoration jobs did not start",
+				processEventsUntil(() -> runningDecorationJobs() == DecorationScheduler.WORKER_COUNT, TIMEOUT));
+		assertTrue("Too many decoration jobs", runningDecorationJobs() <= DecorationScheduler.WORKER_COUNT);
+		assertTrue("Decorated while the decorator was busy", SchedulerTestDecorator.decorated.isEmpty());
+
+		release();
+		waitForDecorated(background.length + 1);
+		assertSame(blocker, SchedulerTestDecorator.decorated.get(0));
+		assertEquals(new HashSet<>(Arrays.asList(background)),
+				new HashSet<>(SchedulerTestDecorator.decorated.subList(1, background.length + 1)));
+	}
+
+	public void testShownBeforeBackground() {
+		block();
+		Element[] background = queueBackground(40);
+		Element[] shown = new Element[3];
+		for (int i = 0; i < shown.length; i++) {
+			shown[i] = new Element("shown " + i);
+			queueShown(shown[i]);
+		}
+
+		release();
+		waitForDecorated(background.length + shown.length + 1);
+		for (Element element : shown) {
+			assertDecoratedAmongFirst(element, shown.length);
+		}
+	}
+
+	public void testPromotion() {
+		block();
+		Element[] background = queueBackground(40);
+		Element promoted = background[30];
+		queueShown(promoted);
+
+		release();
+		waitForDecorated(background.length + 1);
+		assertDecoratedAmongFirst(promoted, 1);
+	}
+
+	public void testUpdatesBatched() {
+		block();
+		Element[] background = queueBackground(50);
+		updateCount = 0;
+		updatedElements.clear();
+
+		release();
+		waitForDecorated(background.length + 1);
+		assertTrue("Not all decorated elements were updated", processEventsUntil(
+				() -> updatedElements.containsAll(Arrays.asList(background)), TIMEOUT));
+		assertTrue("The updates were not batched: " + updateCount + " updates",
+				updateCount < background.length / 2);
+	}
+
+	@Override
+	public void labelProviderChanged(LabelProviderChangedEvent event) {
+		Object[] elements = event.getElements();
+		if (elements == null) {
+			return;
+		}
+		boolean update = false;
+		for (Object element : elements) {
+			if (element instanceof Element) {
+				updatedElements.add(element);
+				update = true;
+			}
+		}
+		if (update) {
+			updateCount++;
+		}
+	}
+
+	/**
+	 * Queue the blocker element and wait until its decoration started.
+	 */
+	private Element block() {
+		Element blocker = new Element("blocker");
+		SchedulerTestDecorator.blocker = blocker;
+		SchedulerTestDecorator.blockerStarted = new CountDownLatch(1);
+		SchedulerTestDecorator.gate = new CountDownLatch(1);
+		queueShown(blocker);
+		assertTrue("The blocker was not decorated",
+				processEventsUntil(() -> SchedulerTestDecorator.blockerStarted.getCount() == 0, TIMEOUT));
+		return blocker;
+	}
+
+	private void release() {
+		SchedulerTestDecorator.gate.countDown();
+	}
+
+	/**
+	 * Queue elements that are not known to be shown, as an update of a label
+	 * provider does.
+	 */
+	private Element[] queueBackground(int count) {
+		Element[] elements = new Element[count];
+		for (int i = 0; i < count; i++) {
+			elements[i] = new Element("background " + i);
+		}
+		getDecoratorManager().labelProviderChanged(new LabelProviderChangedEvent(getDecoratorManager(), elements));
+		return elements;
+	}
+
+	/**
+	 * Queue an element shown in a viewer, as a decorating label provider does.
+	 */
+	private void queueShown(Element element) {
+		getDecoratorManager().prepareDecoration(element, element.toString());
+	}
+
+	private void waitForDecorated(int count) {
+		assertTrue("The elements were not decorated",
+				processEventsUntil(() -> SchedulerTestDecorator.decorated.size() >= count, TIMEOUT));
+	}
+
+	/**
+	 * Assert that the element was decorated right after the blocker, apart
+	 * from the elements that the other jobs took from the queue while the
+	 * blocker was decorated and the elements queued at the same priority.
+	 */
+	private void assertDecoratedAmongFirst(Element element, int samePriority) {
+		List<Object> decorated = new ArrayList<>(SchedulerTestDecorator.decorated);
+		int index = decorated.indexOf(element);
+		assertTrue(element + " was not decorated", index > 0);
+		assertTrue(element + " was decorated at " + index,
+				index <= samePriority + 2 * DecorationScheduler.WORKER_COUNT);
+	}
+
+	private static int runningDecorationJobs() {
+		int running = 0;
+		for (Job job : Job.getJobManager().find(DecoratorManager.FAMILY_DECORATE)) {
+			if (job.getState() == Job.RUNNING
+					&& WorkbenchMessages.DecorationScheduler_CalculationJobName.equals(job.getName())) {
+				running++;
+			}
+		}
+		return running;
+	}
+
+	private static DecoratorManager getDecoratorManager() {
+		return WorkbenchPlugin.getDefault().getDecoratorManager();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,9 @@
  *******************************************************************************/
 package org.eclipse.ui.tests.decorators;
 
+import org.eclipse.ui.internal.decorators.DecoratorMetrics;
+import org.eclipse.ui.internal.decorators.LightweightDecoratorManager;
+
 /**
  * @version 1.0
  */
@@ -42,4 +45,64 @@ public class LightweightDecoratorTestCase extends DecoratorEnablementTestCase {
 
 	}
 
+	/**
+	 * Test that the decorations of the test decorator are recorded.
+	 */
+	public void testDecoratorMetrics() {
+		getDecoratorManager().clearCaches();
+		definition.setEnabled(true);
+		getDecoratorManager().updateForEnablementChange();
+
+		DecoratorMetrics metrics = getDecoratorManager().getDecoratorMetrics(definition.getId());
+		assertNotNull("No metrics for the decorator", metrics);
+		long count = metrics.getDecorationCount();
+		getDecoratorManager().getLightweightManager().getDecorationResult(testFile);
+		assertTrue("Decoration not recorded", metrics.getDecorationCount() > count);
+		assertTrue("Maximum time below average", metrics.getMaximumTime() >= metrics.getAverageTime());
+	}
+
+	/**
+	 * Test that the cached decorations of the test decorator are replaced once
+	 * it is updated.
+	 */
+	public void testDecorationCache() {
+		getDecoratorManager().clearCaches();
+		definition.setEnabled(true);
+		getDecoratorManager().updateForEnablementChange();
+
+		LightweightDecoratorManager manager = getDecoratorManager().getLightweightManager();
+		DecoratorMetrics metrics = getDecoratorManager().getDecoratorMetrics(definition.getId());
+		String text = manager.getDecorationResult(testFile).decorateWithText("Default label");
+		assertEquals("Cached decoration differs", text,
+				manager.getDecorationResult(testFile).decorateWithText("Default label"));
+
+		long count = metrics.getDecorationCount();
+		getDecoratorManager().update(definition.getId());
+		assertEquals("Updated decoration differs", text,
+				manager.getDecorationResult(testFile).decorateWithText("Default label"));
+		assertTrue("Not decorated after update", metrics.getDecorationCount() > count);
+	}
+
+	/**
+	 * Test that clearing the caches keeps the cached decorations of the test
+	 * decorator, which did not change.
+	 */
+	public void testClearCachesKeepsDecorations() {
+		getDecoratorManager().clearCaches();
+		definition.setEnabled(true);
+		getDecoratorManager().updateForEnablementChange();
+
+		LightweightDecoratorManager manager = getDecoratorManager().getLightweightManager();
+		DecoratorMetrics metrics = getDecoratorManager().getDecoratorMetrics(definition.getId());
+		String text = manager.getDecorationResult(testFile).decorateWithText("Default label");
+		long count = metrics.getDecorationCount();
+		manager.getDecorationResult(testFile);
+		assertEquals("Cached decoration not used", count, metrics.getDecorationCount());
+
+		getDecoratorManager().clearCaches();
+		assertEquals("Cached decoration differs after clearing the caches", text,
+				manager.getDecorationResult(testFile).decorateWithText("Default label"));
+		assertEquals("Decorated again after clearing the caches", count, metrics.getDecorationCount());
+	}
+
 }
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.decorators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.viewers.IDecoration;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.ILightweightLabelDecorator;
+
+/**
+ * A lightweight decorator that records the order in which the elements of the
+ * {@link DecorationSchedulerTest} are decorated. The decoration of the blocker
+ * element waits until the gate is opened, so that the test can queue elements
+ * while all of the decoration jobs are busy.
+ */
+public class SchedulerTestDecorator implements ILightweightLabelDecorator {
+
+	public static final String SUFFIX = " [scheduled]";
+
+	/** The elements in the order they were decorated. */
+	static final List<Object> decorated = Collections.synchronizedList(new ArrayList<>());
+
+	static volatile Object blocker;
+
+	static volatile CountDownLatch blockerStarted = new CountDownLatch(0);
+
+	static volatile CountDownLatch gate = new CountDownLatch(0);
+
+	@Override
+	public void decorate(Object element, IDecoration decoration) {
+		if (element == blocker) {
+			blockerStarted.countDown();
+			try {
+				gate.await(30, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		decorated.add(element);
+		decoration.addSuffix(SUFFIX);
+	}
+
+	@Override
+	public void addListener(ILabelProviderListener listener) {
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+	@Override
+	public boolean isLabelProperty(Object element, String property) {
+		return false;
+	}
+
+	@Override
+	public void removeListener(ILabelProviderListener listener) {
+	}
+
+}
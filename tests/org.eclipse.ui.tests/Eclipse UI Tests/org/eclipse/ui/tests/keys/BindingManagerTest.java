@@ -14,9 +14,12 @@
  *******************************************************************************/
 package org.eclipse.ui.tests.keys;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -981,4 +984,87 @@ public final class BindingManagerTest extends UITestCase {
 				.getBestActiveBindingFor(console);
 		assertEquals(b3.getTriggerSequence(), bestBinding2);
 	}
+
+	/**
+	 * Verifies that the bindings computed while switching between sets of
+	 * active contexts are the same as the ones computed from scratch by a new
+	 * binding manager.
+	 *
+	 * @throws NotDefinedException
+	 *             If the scheme we try to activate is not defined.
+	 * @throws ParseException
+	 *             If the key sequences can't be parsed.
+	 */
+	public void testContextChanges() throws NotDefinedException,
+			ParseException {
+		contextManager.getContext("base").define("base", "base", null);
+		contextManager.getContext("child").define("child", "child", "base");
+		contextManager.getContext("other").define("other", "other", "base");
+		contextManager.getContext("grandchild").define("grandchild",
+				"grandchild", "child");
+
+		final Scheme scheme = bindingManager.getScheme("na");
+		scheme.define("name", "description", null);
+		bindingManager.setActiveScheme(scheme);
+
+		final String[] contextIds = { "base", "child", "other", "grandchild" };
+		final List<Binding> bindings = new ArrayList<>();
+		final List<ParameterizedCommand> commands = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			final ParameterizedCommand command = new ParameterizedCommand(
+					commandManager.getCommand("command" + i), null);
+			commands.add(command);
+			bindings.add(new KeyBinding(KeySequence.getInstance("ALT+"
+					+ (char) ('A' + i)), command, "na", "base", null, null,
+					null, Binding.SYSTEM));
+		}
+		for (int i = 0; i < contextIds.length; i++) {
+			// one binding per context, and one overriding or conflicting
+			bindings.add(new KeyBinding(KeySequence.getInstance("CTRL+" + i),
+					commands.get(i), "na", contextIds[i], null, null, null,
+					Binding.SYSTEM));
+			bindings.add(new KeyBinding(KeySequence.getInstance("CTRL+X"),
+					commands.get(i), "na", contextIds[i], null, null, null,
+					Binding.SYSTEM));
+		}
+		bindings.add(new KeyBinding(KeySequence.getInstance("CTRL+Y CTRL+1"),
+				commands.get(5), "na", "child", null, null, null,
+				Binding.SYSTEM));
+		bindingManager.setBindings(bindings.toArray(new Binding[bindings
+				.size()]));
+
+		final String[][] activeContextIds = { { "base" },
+				{ "child" }, { "child", "other" }, { "grandchild" },
+				{ "other" }, {}, { "grandchild", "other" }, { "child" } };
+		for (String[] ids : activeContextIds) {
+			contextManager.setActiveContextIds(new HashSet<>(Arrays
+					.asList(ids)));
+
+			final BindingManager expected = new BindingManager(contextManager,
+					commandManager);
+			final Scheme expectedScheme = expected.getScheme("na");
+			expectedScheme.define("name", "description", null);
+			expected.setActiveScheme(expectedScheme);
+			expected.setBindings(bindingManager.getBindings());
+
+			final String state = Arrays.asList(ids).toString();
+			for (Binding binding : bindings) {
+				final TriggerSequence trigger = binding.getTriggerSequence();
+				assertEquals(state, expected.getPerfectMatch(trigger),
+						bindingManager.getPerfectMatch(trigger));
+				assertEquals(state, expected.getConflictsFor(trigger),
+						bindingManager.getConflictsFor(trigger));
+				for (TriggerSequence prefix : trigger.getPrefixes()) {
+					assertEquals(state, expected.getPartialMatches(prefix),
+							bindingManager.getPartialMatches(prefix));
+				}
+			}
+			for (ParameterizedCommand command : commands) {
+				assertEquals(state, new HashSet<>(Arrays.asList(expected
+						.getActiveBindingsFor(command))), new HashSet<>(Arrays
+						.asList(bindingManager.getActiveBindingsFor(command))));
+			}
+			contextManager.removeContextManagerListener(expected);
+		}
+	}
 }
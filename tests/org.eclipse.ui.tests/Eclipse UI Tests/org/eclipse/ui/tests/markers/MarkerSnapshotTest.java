@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.markers;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ui.internal.views.markers.MarkerCreationTimeField;
+import org.eclipse.ui.internal.views.markers.MarkerResourceField;
+import org.eclipse.ui.internal.views.markers.MarkerSupportInternalUtilities;
+import org.eclipse.ui.internal.views.markers.MarkerTypeField;
+import org.eclipse.ui.tests.harness.util.FileUtil;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.eclipse.ui.views.markers.MarkerItem;
+import org.eclipse.ui.views.markers.MarkerViewUtil;
+import org.eclipse.ui.views.markers.internal.MarkerTypesModel;
+
+/**
+ * The tests for the marker entries that read the attributes of their markers
+ * from a snapshot captured at once.
+ *
+ * @since 3.14
+ */
+public class MarkerSnapshotTest extends UITestCase {
+
+	private IProject project;
+
+	private IFile file;
+
+	/**
+	 * Create a new instance of the receiver.
+	 *
+	 * @param testName
+	 */
+	public MarkerSnapshotTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		project = FileUtil.createProject("MarkerSnapshotTest");
+		IFolder folder = project.getFolder("folder");
+		folder.create(true, true, null);
+		file = folder.getFile("file.txt");
+		file.create(new ByteArrayInputStream(new byte[0]), true, null);
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		FileUtil.deleteProject(project);
+		super.doTearDown();
+	}
+
+	public void testCapturedAttributes() throws CoreException {
+		IMarker marker = file.createMarker(IMarker.PROBLEM);
+		marker.setAttributes(
+				new String[] { IMarker.SEVERITY, IMarker.PRIORITY, IMarker.LINE_NUMBER, IMarker.LOCATION,
+						IMarker.MESSAGE },
+				new Object[] { Integer.valueOf(IMarker.SEVERITY_WARNING), Integer.valueOf(IMarker.PRIORITY_HIGH),
+						Integer.valueOf(12), "the location", "the message" });
+
+		MarkerItem item = MarkerSupportInternalUtilities.newMarkerItems(new IMarker[] { marker })[0];
+
+		assertSame(marker, item.getMarker());
+		assertEquals(IMarker.SEVERITY_WARNING, item.getAttributeValue(IMarker.SEVERITY, -1));
+		assertEquals(IMarker.PRIORITY_HIGH, item.getAttributeValue(IMarker.PRIORITY, -1));
+		assertEquals(12, item.getAttributeValue(IMarker.LINE_NUMBER, -1));
+		assertEquals("the location", item.getAttributeValue(IMarker.LOCATION, null));
+		assertEquals("the location", item.getLocation());
+		// attributes outside of the snapshot are read from the marker
+		assertEquals("the message", item.getAttributeValue(IMarker.MESSAGE, null));
+		assertEquals("/MarkerSnapshotTest/folder", item.getPath());
+		assertEquals("file.txt", new MarkerResourceField().getValue(item));
+		assertEquals(String.valueOf(marker.getCreationTime()), new MarkerCreationTimeField().getValue(item));
+		assertEquals(MarkerTypesModel.getInstance().getType(IMarker.PROBLEM).getLabel(),
+				new MarkerTypeField().getValue(item));
+	}
+
+	public void testUnsetAttributes() throws CoreException {
+		IMarker marker = project.createMarker(IMarker.PROBLEM);
+
+		MarkerItem item = MarkerSupportInternalUtilities.newMarkerItems(new IMarker[] { marker })[0];
+
+		assertEquals(-1, item.getAttributeValue(IMarker.SEVERITY, -1));
+		assertEquals(-1, item.getAttributeValue(IMarker.LINE_NUMBER, -1));
+		assertEquals("default", item.getAttributeValue(IMarker.LOCATION, "default"));
+		assertEquals(MarkerSupportInternalUtilities.UNKNOWN_ATRRIBTE_VALUE_STRING, item.getLocation());
+		// the resource of the marker is a project
+		assertEquals(MarkerSupportInternalUtilities.EMPTY_STRING, item.getPath());
+		assertEquals("MarkerSnapshotTest", new MarkerResourceField().getValue(item));
+	}
+
+	public void testPathAndNameOverrides() throws CoreException {
+		IMarker marker = file.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(MarkerViewUtil.PATH_ATTRIBUTE, "the path");
+		marker.setAttribute(MarkerViewUtil.NAME_ATTRIBUTE, "the name");
+
+		MarkerItem item = MarkerSupportInternalUtilities.newMarkerItems(new IMarker[] { marker })[0];
+
+		assertEquals("the path", item.getPath());
+		assertEquals("the name", new MarkerResourceField().getValue(item));
+	}
+
+	public void testEqualStringsAreShared() throws CoreException {
+		IMarker first = file.createMarker(IMarker.PROBLEM);
+		first.setAttribute(IMarker.LOCATION, new String("the location"));
+		IMarker second = project.createMarker(IMarker.PROBLEM);
+		second.setAttribute(IMarker.LOCATION, new String("the location"));
+
+		MarkerItem[] items = MarkerSupportInternalUtilities.newMarkerItems(new IMarker[] { first, second });
+
+		assertSame(items[0].getAttributeValue(IMarker.LOCATION, null),
+				items[1].getAttributeValue(IMarker.LOCATION, null));
+	}
+
+	public void testDeletedMarker() throws CoreException {
+		IMarker deleted = file.createMarker(IMarker.PROBLEM);
+		deleted.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		IMarker kept = file.createMarker(IMarker.PROBLEM);
+		kept.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
+		deleted.delete();
+
+		MarkerItem[] items = MarkerSupportInternalUtilities.newMarkerItems(new IMarker[] { deleted, kept });
+
+		assertSame(deleted, items[0].getMarker());
+		assertEquals(-1, items[0].getAttributeValue(IMarker.SEVERITY, -1));
+		assertEquals(MarkerSupportInternalUtilities.UNKNOWN_ATRRIBTE_VALUE_STRING, items[0].getLocation());
+		assertEquals(MarkerSupportInternalUtilities.EMPTY_STRING, new MarkerCreationTimeField().getValue(items[0]));
+		assertFalse(MarkerTypesModel.getInstance().getType(IMarker.PROBLEM).getLabel()
+				.equals(new MarkerTypeField().getValue(items[0])));
+		// the other rows are captured
+		assertEquals(IMarker.SEVERITY_INFO, items[1].getAttributeValue(IMarker.SEVERITY, -1));
+		assertEquals(String.valueOf(kept.getCreationTime()), new MarkerCreationTimeField().getValue(items[1]));
+	}
+
+	public void testSnapshotIsNotUpdated() throws CoreException {
+		IMarker marker = file.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+
+		MarkerItem item = MarkerSupportInternalUtilities.newMarkerItems(new IMarker[] { marker })[0];
+		marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+
+		// the change is shown by the entry of a new snapshot
+		assertEquals(IMarker.SEVERITY_WARNING, item.getAttributeValue(IMarker.SEVERITY, -1));
+		item = MarkerSupportInternalUtilities.newMarkerItems(new IMarker[] { marker })[0];
+		assertEquals(IMarker.SEVERITY_ERROR, item.getAttributeValue(IMarker.SEVERITY, -1));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.ui.tests.markers;
 import java.util.Arrays;
 import java.util.Comparator;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.ui.internal.views.markers.MarkerSortUtil;
 import org.eclipse.ui.internal.views.markers.MockMarkerEntry;
 import org.eclipse.ui.tests.harness.util.UITestCase;
@@ -48,6 +49,39 @@ public class MarkerSortUtilTest extends UITestCase {
 	public void testCompleteSort() {
 		sortToLimit(ARRAYSIZE,ARRAYSIZE);
 	}
+
+	public void testSmallLimitSort() {
+		sortToLimit(ARRAYSIZE, 100);
+	}
+
+	public void testStableSort() {
+		MockMarkerEntry[] fArray1 = generateArray(ARRAYSIZE);
+		MockMarkerEntry[] fArray2 = fArray1.clone();
+		Comparator<MarkerItem> comparator = (o1, o2) -> Character.compare(((MockMarkerEntry) o1).name.charAt(0),
+				((MockMarkerEntry) o2).name.charAt(0));
+		MarkerSortUtil.sort(fArray1, comparator, 0, fArray1.length - 1, true, new NullProgressMonitor());
+		Arrays.sort(fArray2, comparator);
+
+		for (int i = 0; i < fArray1.length; i++) {
+			assertSame("Incorrect sorting by MarkerSortUtil.sort(...)", fArray2[i], fArray1[i]);
+		}
+	}
+
+	public void testReverseRuns() {
+		MockMarkerEntry[] fArray1 = generateArray(ARRAYSIZE);
+		Comparator<MarkerItem> comparator = (o1, o2) -> ((MockMarkerEntry) o1).name
+				.compareTo(((MockMarkerEntry) o2).name);
+		Comparator<MarkerItem> runComparator = (o1, o2) -> Character
+				.compare(((MockMarkerEntry) o1).name.charAt(0), ((MockMarkerEntry) o2).name.charAt(0));
+		Arrays.sort(fArray1, comparator);
+		MockMarkerEntry[] fArray2 = fArray1.clone();
+		MarkerSortUtil.reverseRuns(fArray1, runComparator, 0, fArray1.length - 1);
+		Arrays.sort(fArray2, runComparator.reversed());
+
+		for (int i = 0; i < fArray1.length; i++) {
+			assertSame("Incorrect sorting by MarkerSortUtil.reverseRuns(...)", fArray2[i], fArray1[i]);
+		}
+	}
 	/**
 	 *
 	 */
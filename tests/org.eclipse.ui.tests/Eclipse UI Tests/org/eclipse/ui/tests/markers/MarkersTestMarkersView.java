@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2008 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,8 +24,11 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeColumn;
+import org.eclipse.ui.internal.views.markers.CachedMarkerBuilder;
 import org.eclipse.ui.internal.views.markers.ExtendedMarkersView;
+import org.eclipse.ui.internal.views.markers.MarkerContentGenerator;
 import org.eclipse.ui.views.markers.MarkerSupportView;
+import org.eclipse.ui.views.markers.internal.MarkerGroup;
 import org.eclipse.ui.views.markers.internal.MarkerSupportRegistry;
 
 /**
@@ -150,4 +153,92 @@ public class MarkersTestMarkersView extends MarkerSupportView {
 		return true;
 	}
 
+	/**
+	 * Return whether the builder applies the marker deltas incrementally.
+	 *
+	 * @return boolean
+	 */
+	public boolean isIncremental() {
+		return ((Boolean) invoke(getBuilder(), CachedMarkerBuilder.class, "isIncremental")).booleanValue();
+	}
+
+	/**
+	 * Return whether an update of the markers is scheduled or running.
+	 *
+	 * @return boolean
+	 */
+	public boolean updatesPending() {
+		return ((Boolean) invoke(getBuilder(), CachedMarkerBuilder.class, "updatesPending")).booleanValue();
+	}
+
+	/**
+	 * Schedule the pending updates to happen quickly.
+	 */
+	public void speedUpPendingUpdates() {
+		invoke(getBuilder(), CachedMarkerBuilder.class, "speedUpPendingUpdates");
+	}
+
+	/**
+	 * Schedule an update that gathers all markers again.
+	 */
+	public void scheduleFullUpdate() {
+		invoke(getBuilder(), CachedMarkerBuilder.class, "scheduleUpdate");
+	}
+
+	/**
+	 * Reverse the sort direction of the primary sort field.
+	 */
+	public void toggleSortDirection() {
+		invoke(this, ExtendedMarkersView.class, "toggleSortDirection");
+	}
+
+	/**
+	 * Return the group used to categorise the markers.
+	 *
+	 * @return MarkerGroup or <code>null</code>
+	 */
+	public MarkerGroup getCategoryGroup() {
+		return (MarkerGroup) invoke(getBuilder(), CachedMarkerBuilder.class, "getCategoryGroup");
+	}
+
+	/**
+	 * Set the group used to categorise the markers.
+	 *
+	 * @param group
+	 *            the group or <code>null</code>
+	 */
+	public void setCategoryGroup(MarkerGroup group) {
+		try {
+			Method method = ExtendedMarkersView.class.getDeclaredMethod("setCategoryGroup", MarkerGroup.class);
+			method.setAccessible(true);
+			method.invoke(this, group);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Enable or disable the limit of the markers shown in each category.
+	 *
+	 * @param enabled
+	 */
+	public void setMarkerLimitsEnabled(boolean enabled) {
+		MarkerContentGenerator generator = (MarkerContentGenerator) invoke(getBuilder(), CachedMarkerBuilder.class,
+				"getGenerator");
+		generator.setMarkerLimitsEnabled(enabled);
+	}
+
+	private CachedMarkerBuilder getBuilder() {
+		return (CachedMarkerBuilder) invoke(this, ExtendedMarkersView.class, "getBuilder");
+	}
+
+	private static Object invoke(Object target, Class<?> declaringClass, String methodName) {
+		try {
+			Method method = declaringClass.getDeclaredMethod(methodName);
+			method.setAccessible(true);
+			return method.invoke(target);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
 }
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.markers;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.internal.ide.IDEInternalPreferences;
+import org.eclipse.ui.internal.ide.IDEWorkbenchPlugin;
+import org.eclipse.ui.tests.harness.util.FileUtil;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.eclipse.ui.views.markers.internal.MarkerGroup;
+
+/**
+ * The tests for the incremental updates of the markers views. Each test
+ * changes the markers, waits for the view to apply the changes, and compares
+ * its contents with the contents it shows after gathering all markers again.
+ *
+ * @since 3.14
+ */
+public class MarkersViewIncrementalUpdateTest extends UITestCase {
+
+	private static final String VIEW_ID = "org.eclipse.ui.tests.markerTests";
+
+	private static final long TIMEOUT = 30000;
+
+	private IProject project;
+
+	private IFile file;
+
+	private MarkersTestMarkersView view;
+
+	private int markerCount;
+
+	/**
+	 * Create a new instance of the receiver.
+	 *
+	 * @param testName
+	 */
+	public MarkersViewIncrementalUpdateTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		project = FileUtil.createProject("MarkersViewIncrementalUpdateTest");
+		file = FileUtil.createFile("markers.txt", project);
+		showView();
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		IWorkbenchPage page = fWorkbench.getActiveWorkbenchWindow().getActivePage();
+		page.hideView(view);
+		FileUtil.deleteProject(project);
+		super.doTearDown();
+	}
+
+	public void testAddChangeAndRemove() throws CoreException {
+		IMarker first = createMarker(IMarker.SEVERITY_WARNING);
+		IMarker second = createMarker(IMarker.SEVERITY_ERROR);
+		settle();
+		assertShown(first, second);
+
+		IMarker third = createMarker(IMarker.SEVERITY_INFO);
+		settle();
+		assertShown(first, second, third);
+		assertSameAsFullUpdate();
+
+		first.setAttribute(IMarker.MESSAGE, "changed " + first.getAttribute(IMarker.MESSAGE));
+		settle();
+		assertSameAsFullUpdate();
+
+		second.delete();
+		settle();
+		assertShown(first, third);
+		assertSameAsFullUpdate();
+	}
+
+	public void testRepeatedAndOutOfOrderUpdates() throws CoreException {
+		IMarker kept = createMarker(IMarker.SEVERITY_WARNING);
+		settle();
+
+		// several deltas for the same markers before the view updates
+		IMarker removed = createMarker(IMarker.SEVERITY_ERROR);
+		removed.setAttribute(IMarker.MESSAGE, "a changed message");
+		kept.setAttribute(IMarker.MESSAGE, "z changed message");
+		removed.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
+		IMarker changedThenRemoved = createMarker(IMarker.SEVERITY_WARNING);
+		removed.delete();
+		changedThenRemoved.setAttribute(IMarker.MESSAGE, "removed");
+		changedThenRemoved.delete();
+		kept.setAttribute(IMarker.MESSAGE, "y changed message");
+		settle();
+		assertShown(kept);
+		assertSameAsFullUpdate();
+
+		// the same marker added and changed in one delta
+		ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			IMarker marker = createMarker(IMarker.SEVERITY_ERROR);
+			marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+			kept.setAttribute(IMarker.MESSAGE, "x changed message");
+		}, null);
+		settle();
+		assertEquals(2, view.getCurrentMarkers().length);
+		assertSameAsFullUpdate();
+	}
+
+	public void testCategoryMove() throws CoreException {
+		IMarker error = createMarker(IMarker.SEVERITY_ERROR);
+		IMarker warning = createMarker(IMarker.SEVERITY_WARNING);
+		IMarker info = createMarker(IMarker.SEVERITY_INFO);
+		settle();
+		assertSameAsFullUpdate();
+
+		info.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		settle();
+		assertShown(error, warning, info);
+		assertSameAsFullUpdate();
+
+		// the last marker of a category moves to another one
+		warning.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
+		settle();
+		assertShown(error, warning, info);
+		assertSameAsFullUpdate();
+	}
+
+	public void testSortDirectionChange() throws CoreException {
+		for (int i = 0; i < 5; i++) {
+			createMarker(IMarker.SEVERITY_WARNING);
+		}
+		settle();
+		List<IMarker> ascending = Arrays.asList(view.getCurrentMarkers());
+
+		view.toggleSortDirection();
+		settle();
+		List<IMarker> descending = Arrays.asList(view.getCurrentMarkers());
+		assertFalse("The sort direction did not change", ascending.equals(descending));
+
+		createMarker(IMarker.SEVERITY_WARNING);
+		createMarker(IMarker.SEVERITY_ERROR);
+		settle();
+		assertSameAsFullUpdate();
+
+		view.toggleSortDirection();
+		settle();
+		createMarker(IMarker.SEVERITY_WARNING);
+		settle();
+		assertSameAsFullUpdate();
+	}
+
+	public void testGroupingChangeRebuilds() throws CoreException {
+		createMarker(IMarker.SEVERITY_ERROR);
+		createMarker(IMarker.SEVERITY_WARNING);
+		settle();
+
+		MarkerGroup group = view.getCategoryGroup();
+		assertNotNull(group);
+		try {
+			view.setCategoryGroup(null);
+			settle();
+			createMarker(IMarker.SEVERITY_INFO);
+			settle();
+			assertEquals(3, view.getCurrentMarkers().length);
+			assertSameAsFullUpdate();
+		} finally {
+			view.setCategoryGroup(group);
+			settle();
+		}
+		createMarker(IMarker.SEVERITY_WARNING);
+		settle();
+		assertEquals(4, view.getCurrentMarkers().length);
+		assertSameAsFullUpdate();
+	}
+
+	public void testLargeDeltaRebuilds() throws CoreException {
+		createMarker(IMarker.SEVERITY_ERROR);
+		settle();
+
+		// more changes than the index applies incrementally
+		int count = 10001;
+		ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			for (int i = 0; i < count; i++) {
+				createMarker(IMarker.SEVERITY_WARNING);
+			}
+		}, null);
+		settle();
+		assertEquals(count + 1, view.getCurrentMarkers().length);
+		assertSameAsFullUpdate();
+	}
+
+	public void testNonIncrementalUpdates() throws Exception {
+		assertTrue(view.isIncremental());
+		IPreferenceStore store = IDEWorkbenchPlugin.getDefault().getPreferenceStore();
+		store.setValue(IDEInternalPreferences.INCREMENTAL_MARKER_UPDATES, false);
+		try {
+			fWorkbench.getActiveWorkbenchWindow().getActivePage().hideView(view);
+			showView();
+			assertFalse(view.isIncremental());
+
+			IMarker first = createMarker(IMarker.SEVERITY_ERROR);
+			IMarker second = createMarker(IMarker.SEVERITY_WARNING);
+			settle();
+			first.delete();
+			settle();
+			assertShown(second);
+			assertSameAsFullUpdate();
+		} finally {
+			store.setToDefault(IDEInternalPreferences.INCREMENTAL_MARKER_UPDATES);
+		}
+	}
+
+	private void showView() throws CoreException {
+		IWorkbenchPage page = fWorkbench.getActiveWorkbenchWindow().getActivePage();
+		view = (MarkersTestMarkersView) page.showView(VIEW_ID);
+		view.setMarkerLimitsEnabled(false);
+		settle();
+	}
+
+	/**
+	 * Create a problem marker with a unique message, so that the markers never
+	 * compare equal.
+	 */
+	private IMarker createMarker(int severity) throws CoreException {
+		IMarker marker = file.createMarker(IMarker.PROBLEM);
+		marker.setAttributes(new String[] { IMarker.SEVERITY, IMarker.MESSAGE },
+				new Object[] { Integer.valueOf(severity), String.format("marker %05d", markerCount++) });
+		return marker;
+	}
+
+	/**
+	 * Wait until the view has applied the pending changes.
+	 */
+	private void settle() {
+		boolean settled = processEventsUntil(() -> {
+			view.speedUpPendingUpdates();
+			return !view.updatesPending();
+		}, TIMEOUT);
+		assertTrue("The markers view did not update in time", settled);
+		// updates scheduled to run shortly do not count as pending
+		processEventsUntil(null, 600);
+		settled = processEventsUntil(() -> !view.updatesPending(), TIMEOUT);
+		assertTrue("The markers view did not update in time", settled);
+	}
+
+	private void assertShown(IMarker... markers) {
+		Set<IMarker> shown = new HashSet<>(Arrays.asList(view.getCurrentMarkers()));
+		assertEquals(new HashSet<>(Arrays.asList(markers)), shown);
+	}
+
+	/**
+	 * Assert that gathering all markers again shows the same markers in the
+	 * same order.
+	 */
+	private void assertSameAsFullUpdate() {
+		List<IMarker> incremental = Arrays.asList(view.getCurrentMarkers());
+		view.scheduleFullUpdate();
+		settle();
+		List<IMarker> full = Arrays.asList(view.getCurrentMarkers());
+		assertEquals(full, incremental);
+	}
+}